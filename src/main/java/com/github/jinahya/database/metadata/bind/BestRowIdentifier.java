@@ -184,6 +184,17 @@ public class BestRowIdentifier implements Serializable {
         this.scope = scope;
     }
 
+    /**
+     * Returns the constant for current value of {@code scope} property.
+     *
+     * @return the constant for current value of {@code scope} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see Scope#valueOf(int)
+     */
+    public Scope getScopeAsEnum() {
+        return Scope.valueOf(scope);
+    }
+
     // ------------------------------------------------------------------------------------------------------ columnName
     public String getColumnName() {
         return columnName;
@@ -247,6 +258,17 @@ public class BestRowIdentifier implements Serializable {
         this.pseudoColumn = pseudoColumn;
     }
 
+    /**
+     * Returns the constant for current value of {@code pseudoColumn} property.
+     *
+     * @return the constant for current value of {@code pseudoColumn} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see PseudoColumn#valueOf(int)
+     */
+    public PseudoColumn getPseudoColumnAsEnum() {
+        return PseudoColumn.valueOf(pseudoColumn);
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
     @XmlElement
     @Bind(label = "SCOPE")
@@ -88,10 +88,24 @@ public class Catalog implements Serializable {//extends AbstractTableDomain {
         return schemas;
     }
 
+    // -------------------------------------------------------------- incomplete
+
+    /**
+     * Indicates whether any list of this catalog has been cut short by a {@link MetadataBudget}.
+     *
+     * @return {@code true} if incomplete; {@code false} otherwise.
+     */
+    public boolean isIncomplete() {
+        return incomplete != null && incomplete;
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     Boolean virtual;
 
+    @XmlAttribute
+    Boolean incomplete;
+
     @XmlElement
     @Bind(label = "TABLE_CAT")
     private String tableCat;
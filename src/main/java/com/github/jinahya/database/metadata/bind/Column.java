@@ -240,6 +240,17 @@ public class Column implements Serializable {
         this.nullable = nullable;
     }
 
+    /**
+     * Returns the constant for current value of {@code nullable} property.
+     *
+     * @return the constant for current value of {@code nullable} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see Nullable#valueOf(int)
+     */
+    public Nullable getNullableAsEnum() {
+        return Nullable.valueOf(nullable);
+    }
+
     // ----------------------------------------------------------------- remarks
     public String getRemarks() {
         return remarks;
@@ -365,6 +376,17 @@ public class Column implements Serializable {
         return columnPrivileges;
     }
 
+    // -------------------------------------------------------------- incomplete
+
+    /**
+     * Indicates whether any list of this column has been cut short by a {@link MetadataBudget}.
+     *
+     * @return {@code true} if incomplete; {@code false} otherwise.
+     */
+    public boolean isIncomplete() {
+        return incomplete != null && incomplete;
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "TABLE_CAT", nillable = true)
@@ -473,4 +495,8 @@ public class Column implements Serializable {
             }
     )
     private List<ColumnPrivilege> columnPrivileges;
+
+    // -------------------------------------------------------------------------
+    @XmlAttribute
+    Boolean incomplete;
 }
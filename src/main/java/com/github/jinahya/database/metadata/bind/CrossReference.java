@@ -152,6 +152,17 @@ public class CrossReference implements Serializable {
         this.updateRule = updateRule;
     }
 
+    /**
+     * Returns the constant for current value of {@code updateRule} property.
+     *
+     * @return the constant for current value of {@code updateRule} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see ImportedKey.Rule#valueOf(int)
+     */
+    public ImportedKey.Rule getUpdateRuleAsEnum() {
+        return ImportedKey.Rule.valueOf(updateRule);
+    }
+
     // -------------------------------------------------------------- deleteRule
     public short getDeleteRule() {
         return deleteRule;
@@ -161,6 +172,17 @@ public class CrossReference implements Serializable {
         this.deleteRule = deleteRule;
     }
 
+    /**
+     * Returns the constant for current value of {@code deleteRule} property.
+     *
+     * @return the constant for current value of {@code deleteRule} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see ImportedKey.Rule#valueOf(int)
+     */
+    public ImportedKey.Rule getDeleteRuleAsEnum() {
+        return ImportedKey.Rule.valueOf(deleteRule);
+    }
+
     // ------------------------------------------------------------------ fnname
     public String getFkName() {
         return fkName;
@@ -188,6 +210,17 @@ public class CrossReference implements Serializable {
         this.deferrability = deferrability;
     }
 
+    /**
+     * Returns the constant for current value of {@code deferrability} property.
+     *
+     * @return the constant for current value of {@code deferrability} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see ImportedKey.Deferrability#valueOf(int)
+     */
+    public ImportedKey.Deferrability getDeferrabilityAsEnum() {
+        return ImportedKey.Deferrability.valueOf(deferrability);
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "PKTABLE_CAT", nillable = true)
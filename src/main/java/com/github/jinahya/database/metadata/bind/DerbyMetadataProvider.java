@@ -0,0 +1,542 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A provider for Apache Derby which reads {@code SYS.SYSTABLES}, {@code SYS.SYSCOLUMNS}, {@code SYS.SYSCONGLOMERATES},
+ * {@code SYS.SYSKEYS}, {@code SYS.SYSFOREIGNKEYS} and {@code SYS.SYSTABLEPERMS} once for each schema.
+ * <p>
+ * Derby's {@link DatabaseMetaData} runs stored queries which call methods of type descriptors and index descriptors;
+ * calls not allowed in user queries. This provider reads those descriptors as objects and decodes them the same way, so
+ * it requires the embedded driver, with which the descriptors are available as objects.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class DerbyMetadataProvider extends QueryMetadataProvider {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final String[] BEST_ROW_IDENTIFIER = {
+            "TABLE_NAME", "SCOPE", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH",
+            "DECIMAL_DIGITS", "PSEUDO_COLUMN"
+    };
+
+    private static final String[] COLUMNS = {
+            "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE",
+            "BUFFER_LENGTH", "DECIMAL_DIGITS", "NUM_PREC_RADIX", "NULLABLE", "REMARKS", "COLUMN_DEF", "SQL_DATA_TYPE",
+            "SQL_DATETIME_SUB", "CHAR_OCTET_LENGTH", "ORDINAL_POSITION", "IS_NULLABLE", "SCOPE_CATALOG", "SCOPE_SCHEMA",
+            "SCOPE_TABLE", "SOURCE_DATA_TYPE", "IS_AUTOINCREMENT", "IS_GENERATEDCOLUMN"
+    };
+
+    private static final String[] COLUMN_PRIVILEGES = {
+            "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "GRANTOR", "GRANTEE", "PRIVILEGE", "IS_GRANTABLE"
+    };
+
+    private static final String[] INDEX_INFO = {
+            "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "NON_UNIQUE", "INDEX_QUALIFIER", "INDEX_NAME", "TYPE",
+            "ORDINAL_POSITION", "COLUMN_NAME", "ASC_OR_DESC", "CARDINALITY", "PAGES", "FILTER_CONDITION"
+    };
+
+    private static final String[] KEYS = {
+            "PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT", "FKTABLE_SCHEM",
+            "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE", "DELETE_RULE", "FK_NAME", "PK_NAME",
+            "DEFERRABILITY"
+    };
+
+    private static final String[] PRIMARY_KEYS = {
+            "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "KEY_SEQ", "PK_NAME"
+    };
+
+    // SQL types whose COLUMN_SIZE is the precision
+    private static final List<Integer> PRECISION_TYPES = Arrays.asList(
+            Types.INTEGER, Types.SMALLINT, Types.TINYINT, Types.BIGINT, Types.REAL, Types.DOUBLE, Types.DECIMAL,
+            Types.NUMERIC, Types.FLOAT);
+
+    // SQL types with DECIMAL_DIGITS, and with 10 for NUM_PREC_RADIX
+    private static final List<Integer> SCALE_TYPES = Arrays.asList(
+            Types.DECIMAL, Types.NUMERIC, Types.INTEGER, Types.SMALLINT, Types.TINYINT, Types.BIGINT, Types.DATE,
+            Types.TIME, Types.TIMESTAMP);
+
+    // SQL types with 2 for NUM_PREC_RADIX
+    private static final List<Integer> BINARY_TYPES = Arrays.asList(Types.REAL, Types.DOUBLE, Types.FLOAT);
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A factory for Apache Derby databases accessed with the embedded driver.
+     */
+    public static class Factory implements MetadataProviderFactory {
+
+        @Override
+        public boolean supports(final String databaseProductName, final String driverName) {
+            return "Apache Derby".equals(databaseProductName) && "Apache Derby Embedded JDBC Driver".equals(driverName);
+        }
+
+        @Override
+        public MetadataProvider create(final Connection connection) {
+            return new DerbyMetadataProvider(connection);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // invokes the public method of given name on given descriptor
+    private static Object invoke(final Object descriptor, final String name, final Object... arguments)
+            throws SQLException {
+        for (final Method method : descriptor.getClass().getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == arguments.length) {
+                try {
+                    return method.invoke(descriptor, arguments);
+                } catch (final ReflectiveOperationException roe) {
+                    throw new SQLException("failed to invoke " + name + " on " + descriptor, roe);
+                }
+            }
+        }
+        throw new SQLException("no method named " + name + " on " + descriptor);
+    }
+
+    // the key column position of given column number in the index of given descriptor; 0 if not a key column
+    private static int position(final Object descriptor, final int column) throws SQLException {
+        return descriptor == null ? 0 : (Integer) invoke(descriptor, "getKeyColumnPosition", column);
+    }
+
+    private static int updateRule(final String rule) {
+        return "S".equals(rule) ? DatabaseMetaData.importedKeyRestrict : DatabaseMetaData.importedKeyNoAction;
+    }
+
+    private static int deleteRule(final String rule) {
+        switch (rule) {
+            case "S":
+                return DatabaseMetaData.importedKeyRestrict;
+            case "C":
+                return DatabaseMetaData.importedKeyCascade;
+            case "U":
+                return DatabaseMetaData.importedKeySetNull;
+            default:
+                return DatabaseMetaData.importedKeyNoAction;
+        }
+    }
+
+    private static int deferrability(final String state) {
+        switch (state) {
+            case "E":
+                return DatabaseMetaData.importedKeyNotDeferrable;
+            case "i":
+                return DatabaseMetaData.importedKeyInitiallyImmediate;
+            default:
+                return DatabaseMetaData.importedKeyInitiallyDeferred;
+        }
+    }
+
+    private static String privilege(final String type) {
+        switch (type.toLowerCase()) {
+            case "s":
+                return "SELECT";
+            case "d":
+                return "DELETE";
+            case "i":
+                return "INSERT";
+            case "u":
+                return "UPDATE";
+            case "r":
+                return "REFERENCES";
+            default:
+                return "TRIGGER";
+        }
+    }
+
+    // sorts given rows by values at given indices, with nulls last as Derby does
+    @SuppressWarnings({"unchecked"})
+    private static List<Object[]> sort(final List<Object[]> rows, final int... indices) {
+        rows.sort((r1, r2) -> {
+            for (final int index : indices) {
+                final Comparable<Object> v1 = (Comparable<Object>) r1[index];
+                final Comparable<Object> v2 = (Comparable<Object>) r2[index];
+                final int result = v1 == null ? (v2 == null ? 0 : 1) : (v2 == null ? -1 : v1.compareTo(v2));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        });
+        return rows;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given connection.
+     *
+     * @param connection the connection to an Apache Derby database
+     */
+    public DerbyMetadataProvider(final Connection connection) {
+        super(connection);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As Derby does for each table, the columns of the primary key are preferred to those of the unique constraint,
+     * those of the unique index, and all columns in that order, and the scope of each row is always {@link
+     * DatabaseMetaData#bestRowSession}.
+     */
+    @Override
+    public ResultSet getSchemaBestRowIdentifier(final String catalog, final String schema, final int scope,
+                                                final boolean nullable)
+            throws SQLException {
+        if (scope < 0 || scope > 2) {
+            throw new SQLException("scope out of range: " + scope, "42XAT");
+        }
+        // the best key of each table keyed by schema and table names; a rank, a number of columns, a look, a descriptor
+        final Map<List<String>, Object[]> keys = new HashMap<>();
+        {
+            final List<Object> parameters = new ArrayList<>();
+            final StringBuilder sql = new StringBuilder(
+                    "SELECT S.SCHEMANAME, T.TABLENAME, G.DESCRIPTOR, G.ISCONSTRAINT, K.TYPE, G.CONGLOMERATENUMBER"
+                    + " FROM SYS.SYSSCHEMAS S, SYS.SYSTABLES T, SYS.SYSCONGLOMERATES G"
+                    + " LEFT OUTER JOIN SYS.SYSKEYS Y ON Y.CONGLOMERATEID = G.CONGLOMERATEID"
+                    + " LEFT OUTER JOIN SYS.SYSCONSTRAINTS K ON K.CONSTRAINTID = Y.CONSTRAINTID"
+                    + " WHERE T.SCHEMAID = S.SCHEMAID AND G.TABLEID = T.TABLEID AND G.ISINDEX");
+            and(sql, "S.SCHEMANAME", schema, parameters);
+            try (ResultSet results = query(sql.toString(), parameters.toArray())) {
+                while (results.next()) {
+                    final Object descriptor = results.getObject(3);
+                    final String type = results.getString(5);
+                    final int rank;
+                    if ("P".equals(type)) {
+                        rank = 0;
+                    } else if ("U".equals(type) && results.getBoolean(4) && descriptor != null) {
+                        rank = 1;
+                    } else if (type == null && !results.getBoolean(4) && descriptor != null
+                               && ((Boolean) invoke(descriptor, "isUnique")
+                                   || (Boolean) invoke(descriptor, "isUniqueDeferrable"))) {
+                        rank = 2;
+                    } else {
+                        continue;
+                    }
+                    // Derby prefers, among unique indexes of the same size, the one created later
+                    final Object[] key = new Object[] {
+                            rank, descriptor == null ? 0 : (Integer) invoke(descriptor, "numberOfOrderedColumns"),
+                            rank == 1 ? Arrays.toString((int[]) invoke(descriptor, "baseColumnPositions"))
+                                      : (Object) (-results.getLong(6)),
+                            descriptor
+                    };
+                    keys.merge(Arrays.asList(results.getString(1), results.getString(2)), key,
+                               (k1, k2) -> sort(new ArrayList<>(Arrays.asList(k1, k2)), 0, 1, 2).get(0));
+                }
+            }
+        }
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT S.SCHEMANAME, T.TABLENAME, C.COLUMNNAME, C.COLUMNNUMBER, C.COLUMNDATATYPE"
+                + " FROM SYS.SYSSCHEMAS S, SYS.SYSTABLES T, SYS.SYSCOLUMNS C"
+                + " WHERE C.REFERENCEID = T.TABLEID AND S.SCHEMAID = T.SCHEMAID");
+        and(sql, "S.SCHEMANAME", schema, parameters);
+        final List<Object[]> rows = new ArrayList<>();
+        try (ResultSet results = query(sql.toString(), parameters.toArray())) {
+            while (results.next()) {
+                final Object[] key = keys.get(Arrays.asList(results.getString(1), results.getString(2)));
+                if (key != null && position(key[3], results.getInt(4)) == 0) {
+                    continue;
+                }
+                final Object type = results.getObject(5);
+                if (!nullable && (key == null || (Integer) key[0] > 0) && (Boolean) invoke(type, "isNullable")) {
+                    continue;
+                }
+                final int dataType = (Integer) invoke(type, "getJDBCTypeId");
+                // Derby puts precisions, rather than scales, as DECIMAL_DIGITS; the last value is for the order which
+                // is of column numbers for unique indexes and of column names for others, as Derby does
+                rows.add(new Object[] {
+                        results.getString(2), (short) DatabaseMetaData.bestRowSession, results.getString(3), dataType,
+                        invoke(type, "getTypeName"), invoke(type, "getMaximumWidth"), null,
+                        SCALE_TYPES.contains(dataType) ? ((Integer) invoke(type, "getPrecision")).shortValue() : null,
+                        (short) DatabaseMetaData.bestRowNotPseudo,
+                        key != null && (Integer) key[0] == 2 ? (Object) results.getInt(4) : results.getString(3)
+                });
+            }
+        }
+        sort(rows, 0, BEST_ROW_IDENTIFIER.length).replaceAll(r -> Arrays.copyOf(r, BEST_ROW_IDENTIFIER.length));
+        return rows(BEST_ROW_IDENTIFIER, rows);
+    }
+
+    @Override
+    public ResultSet getSchemaColumns(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT S.SCHEMANAME, T.TABLENAME, C.COLUMNNAME, C.COLUMNDATATYPE,"
+                + " CASE WHEN C.COLUMNDEFAULT IS NULL THEN (CASE WHEN C.AUTOINCREMENTINC IS NULL"
+                + " THEN CAST(NULL AS VARCHAR(254)) ELSE 'AUTOINCREMENT: start '"
+                + " || RTRIM(CHAR(BIGINT(C.AUTOINCREMENTSTART))) || ' increment '"
+                + " || RTRIM(CHAR(BIGINT(C.AUTOINCREMENTINC))) END) ELSE CAST(C.COLUMNDEFAULT AS VARCHAR(254)) END,"
+                + " C.COLUMNNUMBER,"
+                + " CASE WHEN C.AUTOINCREMENTINC IS NOT NULL THEN 'YES' ELSE 'NO' END,"
+                + " CASE WHEN CAST(C.COLUMNDEFAULT AS VARCHAR(254)) LIKE 'GENERATED ALWAYS AS%'"
+                + " THEN 'YES' ELSE 'NO' END"
+                + " FROM SYS.SYSSCHEMAS S, SYS.SYSTABLES T, SYS.SYSCOLUMNS C"
+                + " WHERE C.REFERENCEID = T.TABLEID AND S.SCHEMAID = T.SCHEMAID");
+        and(sql, "S.SCHEMANAME", schema, parameters);
+        sql.append(" ORDER BY S.SCHEMANAME, T.TABLENAME, C.COLUMNNUMBER");
+        final List<Object[]> rows = new ArrayList<>();
+        try (ResultSet results = query(sql.toString(), parameters.toArray())) {
+            while (results.next()) {
+                final Object type = results.getObject(4);
+                final int dataType = (Integer) invoke(type, "getJDBCTypeId");
+                final int width = (Integer) invoke(type, "getMaximumWidth");
+                final boolean nullable = (Boolean) invoke(type, "isNullable");
+                rows.add(new Object[] {
+                        "", results.getString(1), results.getString(2), results.getString(3), dataType,
+                        invoke(type, "getTypeName"),
+                        PRECISION_TYPES.contains(dataType) ? invoke(type, "getPrecision") : width,
+                        null,
+                        SCALE_TYPES.contains(dataType) ? invoke(type, "getScale") : null,
+                        BINARY_TYPES.contains(dataType)
+                        ? Integer.valueOf(2) : SCALE_TYPES.contains(dataType) ? Integer.valueOf(10) : null,
+                        nullable ? DatabaseMetaData.columnNullable : DatabaseMetaData.columnNoNulls,
+                        "", results.getString(5), null, null,
+                        dataType == Types.CHAR || dataType == Types.VARCHAR
+                        ? (width * 2.0 > Integer.MAX_VALUE ? Integer.MAX_VALUE : width * 2) : null,
+                        results.getInt(6), nullable ? "YES" : "NO", null, null, null, null,
+                        results.getString(7), results.getString(8)
+                });
+            }
+        }
+        return rows(COLUMNS, rows);
+    }
+
+    @Override
+    public ResultSet getSchemaColumnPrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT S.SCHEMANAME, T.TABLENAME, C.COLUMNNAME, C.COLUMNNUMBER, P.GRANTOR, P.GRANTEE, P.TYPE,"
+                + " P.COLUMNS"
+                + " FROM SYS.SYSCOLPERMS P, SYS.SYSCOLUMNS C, SYS.SYSTABLES T, SYS.SYSSCHEMAS S"
+                + " WHERE P.TABLEID = T.TABLEID AND C.REFERENCEID = T.TABLEID AND S.SCHEMAID = T.SCHEMAID");
+        and(sql, "S.SCHEMANAME", schema, parameters);
+        final List<Object[]> rows = new ArrayList<>();
+        try (ResultSet results = query(sql.toString(), parameters.toArray())) {
+            while (results.next()) {
+                if (!(Boolean) invoke(results.getObject(8), "isSet", results.getInt(4) - 1)) {
+                    continue;
+                }
+                final String type = results.getString(7);
+                rows.add(new Object[] {
+                        "", results.getString(1), results.getString(2), results.getString(3), results.getString(5),
+                        results.getString(6), privilege(type), type.equals(type.toLowerCase()) ? "NO" : "YES"
+                });
+            }
+        }
+        return rows(COLUMN_PRIVILEGES, sort(rows, 1, 2, 3, 6));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As Derby does for each table, update rules are decoded from update rules of foreign keys.
+     */
+    @Override
+    public ResultSet getSchemaExportedKeys(final String catalog, final String schema) throws SQLException {
+        return rows(KEYS, sort(keys(schema, "PS.SCHEMANAME", true), 1, 2, 5, 6, 11, 8));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As Derby does for each table, update rules are decoded from delete rules of foreign keys.
+     */
+    @Override
+    public ResultSet getSchemaImportedKeys(final String catalog, final String schema) throws SQLException {
+        return rows(KEYS, sort(keys(schema, "FS.SCHEMANAME", false), 5, 6, 1, 2, 12, 8));
+    }
+
+    @Override
+    public ResultSet getSchemaIndexInfo(final String catalog, final String schema, final boolean unique,
+                                        final boolean approximate)
+            throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT S.SCHEMANAME, T.TABLENAME, G.CONGLOMERATENAME, G.DESCRIPTOR, C.COLUMNNAME, C.COLUMNNUMBER"
+                + " FROM SYS.SYSSCHEMAS S, SYS.SYSTABLES T, SYS.SYSCONGLOMERATES G, SYS.SYSCOLUMNS C"
+                + " WHERE T.TABLEID = G.TABLEID AND T.TABLEID = C.REFERENCEID AND T.SCHEMAID = S.SCHEMAID"
+                + " AND G.ISINDEX");
+        and(sql, "S.SCHEMANAME", schema, parameters);
+        final List<Object[]> rows = new ArrayList<>();
+        try (ResultSet results = query(sql.toString(), parameters.toArray())) {
+            while (results.next()) {
+                final Object descriptor = results.getObject(4);
+                final int position = position(descriptor, results.getInt(6));
+                if (position == 0) {
+                    continue;
+                }
+                final boolean nonUnique = !((Boolean) invoke(descriptor, "isUnique")
+                                            || (Boolean) invoke(descriptor, "isUniqueDeferrable"));
+                if (unique && nonUnique) {
+                    continue;
+                }
+                rows.add(new Object[] {
+                        "", results.getString(1), results.getString(2), nonUnique, "", results.getString(3),
+                        (int) DatabaseMetaData.tableIndexOther, position, results.getString(5),
+                        (Boolean) invoke(descriptor, "isAscending", position) ? "A" : "D", null, null, null
+                });
+            }
+        }
+        return rows(INDEX_INFO, sort(rows, 1, 2, 3, 5, 7));
+    }
+
+    @Override
+    public ResultSet getSchemaPrimaryKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT S.SCHEMANAME, T.TABLENAME, C.COLUMNNAME, C.COLUMNNUMBER, G.DESCRIPTOR, K.CONSTRAINTNAME"
+                + " FROM SYS.SYSTABLES T, SYS.SYSSCHEMAS S, SYS.SYSCONSTRAINTS K, SYS.SYSKEYS Y,"
+                + " SYS.SYSCONGLOMERATES G, SYS.SYSCOLUMNS C"
+                + " WHERE T.SCHEMAID = S.SCHEMAID AND T.TABLEID = C.REFERENCEID AND T.TABLEID = G.TABLEID"
+                + " AND K.TABLEID = T.TABLEID AND K.TYPE = 'P' AND K.CONSTRAINTID = Y.CONSTRAINTID"
+                + " AND Y.CONGLOMERATEID = G.CONGLOMERATEID");
+        and(sql, "S.SCHEMANAME", schema, parameters);
+        final List<Object[]> rows = new ArrayList<>();
+        try (ResultSet results = query(sql.toString(), parameters.toArray())) {
+            while (results.next()) {
+                final int position = position(results.getObject(5), results.getInt(4));
+                if (position == 0) {
+                    continue;
+                }
+                rows.add(new Object[] {
+                        "", results.getString(1), results.getString(2), results.getString(3), position,
+                        results.getString(6)
+                });
+            }
+        }
+        return rows(PRIMARY_KEYS, sort(rows, 1, 2, 3));
+    }
+
+    @Override
+    public ResultSet getSchemaTablePrivileges(final String catalog, final String schema) throws SQLException {
+        final StringBuilder values = new StringBuilder();
+        final StringBuilder privileges = new StringBuilder();
+        for (final String privilege : new String[] {"SELECT", "DELETE", "INSERT", "UPDATE", "REFERENCES", "TRIGGER"}) {
+            for (final String grantable : new String[] {"NO", "YES"}) {
+                values.append(values.length() == 0 ? "" : ", ")
+                        .append("(CAST('").append(privilege).append("' AS VARCHAR(128)), CAST('").append(grantable)
+                        .append("' AS VARCHAR(128)))");
+                privileges.append(privileges.length() == 0 ? "" : " OR ")
+                        .append("(P.").append(privilege).append("PRIV = '").append(grantable.equals("YES") ? "Y" : "y")
+                        .append("' AND X.PRIV = '").append(privilege).append("' AND X.GRANTABLE = '").append(grantable)
+                        .append("')");
+            }
+        }
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT CAST('' AS VARCHAR(128)) AS TABLE_CAT, S.SCHEMANAME AS TABLE_SCHEM, T.TABLENAME AS TABLE_NAME,"
+                + " CAST(P.GRANTOR AS VARCHAR(128)) AS GRANTOR, CAST(P.GRANTEE AS VARCHAR(128)) AS GRANTEE,"
+                + " X.PRIV AS PRIVILEGE, X.GRANTABLE AS IS_GRANTABLE"
+                + " FROM SYS.SYSTABLEPERMS P, SYS.SYSTABLES T, SYS.SYSSCHEMAS S, (VALUES ")
+                .append(values).append(") AS X(PRIV, GRANTABLE)")
+                .append(" WHERE P.TABLEID = T.TABLEID AND S.SCHEMAID = T.SCHEMAID")
+                .append(" AND (").append(privileges).append(")");
+        and(sql, "S.SCHEMANAME", schema, parameters);
+        sql.append(" ORDER BY TABLE_SCHEM, TABLE_NAME, PRIVILEGE");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Reads foreign keys, whose either side is in given schema, along with the columns of the keys they reference.
+     *
+     * @param schema   the schema name; {@code null} for any
+     * @param column   the column of the schema name of the side in given schema
+     * @param exported a flag for decoding update rules from update rules rather than delete rules
+     * @return a list of rows labeled as {@link #KEYS}.
+     * @throws SQLException if a database error occurs.
+     */
+    private List<Object[]> keys(final String schema, final String column, final boolean exported)
+            throws SQLException {
+        final String from = " FROM SYS.SYSFOREIGNKEYS F, SYS.SYSCONSTRAINTS FC, SYS.SYSTABLES FT, SYS.SYSSCHEMAS FS,"
+                            + " SYS.SYSCONSTRAINTS PC, SYS.SYSTABLES PT, SYS.SYSSCHEMAS PS"
+                            + " WHERE F.CONSTRAINTID = FC.CONSTRAINTID AND FC.TABLEID = FT.TABLEID"
+                            + " AND FT.SCHEMAID = FS.SCHEMAID AND F.KEYCONSTRAINTID = PC.CONSTRAINTID"
+                            + " AND PC.TABLEID = PT.TABLEID AND PT.SCHEMAID = PS.SCHEMAID";
+        // columns of referenced keys keyed by constraint ids and key column positions
+        final Map<List<Object>, Object[]> referenced = new HashMap<>();
+        {
+            final List<Object> parameters = new ArrayList<>();
+            final StringBuilder sql = new StringBuilder(
+                    "SELECT PC.CONSTRAINTID, PS.SCHEMANAME, PT.TABLENAME, PC.CONSTRAINTNAME, C.COLUMNNAME,"
+                    + " C.COLUMNNUMBER, G.DESCRIPTOR")
+                    .append(from.replace(" WHERE ", ", SYS.SYSKEYS Y, SYS.SYSCONGLOMERATES G, SYS.SYSCOLUMNS C WHERE "))
+                    .append(" AND Y.CONSTRAINTID = PC.CONSTRAINTID AND Y.CONGLOMERATEID = G.CONGLOMERATEID")
+                    .append(" AND C.REFERENCEID = PT.TABLEID");
+            and(sql, column, schema, parameters);
+            try (ResultSet results = query(sql.toString(), parameters.toArray())) {
+                while (results.next()) {
+                    final int position = position(results.getObject(7), results.getInt(6));
+                    if (position == 0) {
+                        continue;
+                    }
+                    referenced.put(Arrays.asList(results.getString(1), position), new Object[] {
+                            results.getString(2), results.getString(3), results.getString(5), results.getString(4)
+                    });
+                }
+            }
+        }
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT F.KEYCONSTRAINTID, FS.SCHEMANAME, FT.TABLENAME, C.COLUMNNAME, C.COLUMNNUMBER, G.DESCRIPTOR,"
+                + " FC.CONSTRAINTNAME, FC.STATE, F.UPDATERULE, F.DELETERULE");
+        sql.append(from.replace(" WHERE ", ", SYS.SYSCONGLOMERATES G, SYS.SYSCOLUMNS C WHERE "))
+                .append(" AND F.CONGLOMERATEID = G.CONGLOMERATEID AND C.REFERENCEID = FT.TABLEID");
+        and(sql, column, schema, parameters);
+        final List<Object[]> rows = new ArrayList<>();
+        try (ResultSet results = query(sql.toString(), parameters.toArray())) {
+            while (results.next()) {
+                final int position = position(results.getObject(6), results.getInt(5));
+                if (position == 0) {
+                    continue;
+                }
+                final Object[] key = referenced.get(Arrays.asList(results.getString(1), position));
+                if (key == null) {
+                    continue;
+                }
+                rows.add(new Object[] {
+                        "", key[0], key[1], key[2], "", results.getString(2), results.getString(3),
+                        results.getString(4), position,
+                        updateRule(exported ? results.getString(9) : results.getString(10)),
+                        deleteRule(results.getString(10)), results.getString(7), key[3],
+                        deferrability(results.getString(8))
+                });
+            }
+        }
+        return rows;
+    }
+}
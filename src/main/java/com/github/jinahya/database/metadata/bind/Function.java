@@ -122,6 +122,17 @@ public class Function implements Serializable {
         return functionColumns;
     }
 
+    // -------------------------------------------------------------- incomplete
+
+    /**
+     * Indicates whether any list of this function has been cut short by a {@link MetadataBudget}.
+     *
+     * @return {@code true} if incomplete; {@code false} otherwise.
+     */
+    public boolean isIncomplete() {
+        return incomplete != null && incomplete;
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "FUNCTION_CAT", nillable = true)
@@ -158,4 +169,8 @@ public class Function implements Serializable {
             }
     )
     private List<FunctionColumn> functionColumns;
+
+    // -------------------------------------------------------------------------
+    @XmlAttribute
+    Boolean incomplete;
 }
@@ -250,6 +250,17 @@ public class FunctionColumn implements Serializable {
         this.columnType = columnType;
     }
 
+    /**
+     * Returns the constant for current value of {@code columnType} property.
+     *
+     * @return the constant for current value of {@code columnType} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see ColumnType#valueOf(int)
+     */
+    public ColumnType getColumnTypeAsEnum() {
+        return ColumnType.valueOf(columnType);
+    }
+
     // ---------------------------------------------------------------- dataType
     public int getDataType() {
         return dataType;
@@ -313,6 +324,17 @@ public class FunctionColumn implements Serializable {
         this.nullable = nullable;
     }
 
+    /**
+     * Returns the constant for current value of {@code nullable} property.
+     *
+     * @return the constant for current value of {@code nullable} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see Nullable#valueOf(int)
+     */
+    public Nullable getNullableAsEnum() {
+        return Nullable.valueOf(nullable);
+    }
+
     // ----------------------------------------------------------------- remarks
     public String getRemarks() {
         return remarks;
@@ -0,0 +1,204 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A provider for H2 which reads {@code INFORMATION_SCHEMA} once for each schema.
+ * <p>
+ * Queries are the same as those of H2's {@link java.sql.DatabaseMetaData}, without the per-table condition.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class H2MetadataProvider extends QueryMetadataProvider {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // expressions for the labels of DatabaseMetaData#getColumns following TABLE_NAME, qualified with given prefix
+    private static String columns(final String p) {
+        return p + "COLUMN_NAME, " + p + "DATA_TYPE, " + p + "TYPE_NAME, " + p + "CHARACTER_MAXIMUM_LENGTH COLUMN_SIZE, "
+               + p + "CHARACTER_MAXIMUM_LENGTH BUFFER_LENGTH, " + p + "NUMERIC_SCALE DECIMAL_DIGITS, "
+               + p + "NUMERIC_PRECISION_RADIX NUM_PREC_RADIX, " + p + "NULLABLE, " + p + "REMARKS, "
+               + p + "COLUMN_DEFAULT COLUMN_DEF, " + p + "DATA_TYPE SQL_DATA_TYPE, ZERO() SQL_DATETIME_SUB, "
+               + p + "CHARACTER_OCTET_LENGTH CHAR_OCTET_LENGTH, " + p + "ORDINAL_POSITION, "
+               + p + "IS_NULLABLE IS_NULLABLE, CAST(" + p + "SOURCE_DATA_TYPE AS VARCHAR) SCOPE_CATALOG, "
+               + "CAST(" + p + "SOURCE_DATA_TYPE AS VARCHAR) SCOPE_SCHEMA, "
+               + "CAST(" + p + "SOURCE_DATA_TYPE AS VARCHAR) SCOPE_TABLE, " + p + "SOURCE_DATA_TYPE, "
+               + "CASE WHEN " + p + "SEQUENCE_NAME IS NULL THEN CAST('NO' AS VARCHAR) ELSE CAST('YES' AS VARCHAR) END"
+               + " IS_AUTOINCREMENT, "
+               + "CASE WHEN " + p + "IS_COMPUTED THEN CAST('YES' AS VARCHAR) ELSE CAST('NO' AS VARCHAR) END"
+               + " IS_GENERATEDCOLUMN";
+    }
+
+    private static final String KEYS
+            = "SELECT PKTABLE_CATALOG PKTABLE_CAT, PKTABLE_SCHEMA PKTABLE_SCHEM, PKTABLE_NAME PKTABLE_NAME,"
+              + " PKCOLUMN_NAME, FKTABLE_CATALOG FKTABLE_CAT, FKTABLE_SCHEMA FKTABLE_SCHEM, FKTABLE_NAME,"
+              + " FKCOLUMN_NAME, ORDINAL_POSITION KEY_SEQ, UPDATE_RULE, DELETE_RULE, FK_NAME, PK_NAME, DEFERRABILITY"
+              + " FROM INFORMATION_SCHEMA.CROSS_REFERENCES WHERE TRUE";
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A factory for H2 databases.
+     */
+    public static class Factory implements MetadataProviderFactory {
+
+        @Override
+        public boolean supports(final String databaseProductName, final String driverName) {
+            return "H2".equals(databaseProductName);
+        }
+
+        @Override
+        public MetadataProvider create(final Connection connection) {
+            return new H2MetadataProvider(connection);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given connection.
+     *
+     * @param connection the connection to an H2 database
+     */
+    public H2MetadataProvider(final Connection connection) {
+        super(connection);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public ResultSet getSchemaBestRowIdentifier(final String catalog, final String schema, final int scope,
+                                                final boolean nullable)
+            throws SQLException {
+        // H2 ignores both the scope and the nullable; unlike H2, which joins indexes of tables of the same name in any
+        // schema, indexes are joined only with columns of the same table
+        final List<Object> parameters = new ArrayList<>();
+        parameters.add(DatabaseMetaData.bestRowSession);
+        parameters.add(DatabaseMetaData.bestRowNotPseudo);
+        final StringBuilder sql = new StringBuilder(
+                "SELECT C.TABLE_NAME, CAST(? AS SMALLINT) SCOPE, C.COLUMN_NAME, C.DATA_TYPE, C.TYPE_NAME,"
+                + " C.CHARACTER_MAXIMUM_LENGTH COLUMN_SIZE, C.CHARACTER_MAXIMUM_LENGTH BUFFER_LENGTH,"
+                + " CAST(C.NUMERIC_SCALE AS SMALLINT) DECIMAL_DIGITS, CAST(? AS SMALLINT) PSEUDO_COLUMN"
+                + " FROM INFORMATION_SCHEMA.INDEXES I, INFORMATION_SCHEMA.COLUMNS C"
+                + " WHERE C.TABLE_CATALOG = I.TABLE_CATALOG AND C.TABLE_SCHEMA = I.TABLE_SCHEMA"
+                + " AND C.TABLE_NAME = I.TABLE_NAME AND C.COLUMN_NAME = I.COLUMN_NAME AND I.PRIMARY_KEY = TRUE");
+        and(sql, "C.TABLE_CATALOG", catalog, parameters);
+        and(sql, "C.TABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY C.TABLE_NAME, SCOPE");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaColumns(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT * FROM (SELECT s.SYNONYM_CATALOG TABLE_CAT, s.SYNONYM_SCHEMA TABLE_SCHEM,"
+                + " s.SYNONYM_NAME TABLE_NAME, " + columns("c.") + " FROM INFORMATION_SCHEMA.COLUMNS c"
+                + " JOIN INFORMATION_SCHEMA.SYNONYMS s"
+                + " ON s.SYNONYM_FOR = c.TABLE_NAME AND s.SYNONYM_FOR_SCHEMA = c.TABLE_SCHEMA WHERE TRUE");
+        and(sql, "s.SYNONYM_CATALOG", catalog, parameters);
+        and(sql, "s.SYNONYM_SCHEMA", schema, parameters);
+        sql.append(" UNION SELECT TABLE_CATALOG TABLE_CAT, TABLE_SCHEMA TABLE_SCHEM, TABLE_NAME, ").append(columns(""))
+                .append(" FROM INFORMATION_SCHEMA.COLUMNS WHERE TRUE");
+        and(sql, "TABLE_CATALOG", catalog, parameters);
+        and(sql, "TABLE_SCHEMA", schema, parameters);
+        sql.append(") ORDER BY TABLE_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaColumnPrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_CATALOG TABLE_CAT, TABLE_SCHEMA TABLE_SCHEM, TABLE_NAME, COLUMN_NAME, GRANTOR, GRANTEE,"
+                + " PRIVILEGE_TYPE PRIVILEGE, IS_GRANTABLE FROM INFORMATION_SCHEMA.COLUMN_PRIVILEGES WHERE TRUE");
+        and(sql, "TABLE_CATALOG", catalog, parameters);
+        and(sql, "TABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY TABLE_NAME, COLUMN_NAME, PRIVILEGE");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaExportedKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(KEYS);
+        and(sql, "PKTABLE_CATALOG", catalog, parameters);
+        and(sql, "PKTABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY PKTABLE_NAME, FKTABLE_CAT, FKTABLE_SCHEM, FKTABLE_NAME, FK_NAME, KEY_SEQ");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaImportedKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(KEYS);
+        and(sql, "FKTABLE_CATALOG", catalog, parameters);
+        and(sql, "FKTABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY FKTABLE_NAME, PKTABLE_CAT, PKTABLE_SCHEM, PKTABLE_NAME, FK_NAME, KEY_SEQ");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaIndexInfo(final String catalog, final String schema, final boolean unique,
+                                        final boolean approximate)
+            throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_CATALOG TABLE_CAT, TABLE_SCHEMA TABLE_SCHEM, TABLE_NAME, NON_UNIQUE,"
+                + " TABLE_CATALOG INDEX_QUALIFIER, INDEX_NAME, INDEX_TYPE TYPE, ORDINAL_POSITION, COLUMN_NAME,"
+                + " ASC_OR_DESC, CARDINALITY, PAGES, FILTER_CONDITION, SORT_TYPE FROM INFORMATION_SCHEMA.INDEXES"
+                + " WHERE " + (unique ? "NON_UNIQUE = FALSE" : "TRUE"));
+        and(sql, "TABLE_CATALOG", catalog, parameters);
+        and(sql, "TABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY TABLE_NAME, NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaPrimaryKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_CATALOG TABLE_CAT, TABLE_SCHEMA TABLE_SCHEM, TABLE_NAME, COLUMN_NAME,"
+                + " ORDINAL_POSITION KEY_SEQ, IFNULL(CONSTRAINT_NAME, INDEX_NAME) PK_NAME"
+                + " FROM INFORMATION_SCHEMA.INDEXES WHERE PRIMARY_KEY = TRUE");
+        and(sql, "TABLE_CATALOG", catalog, parameters);
+        and(sql, "TABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY TABLE_NAME, COLUMN_NAME");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaTablePrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_CATALOG TABLE_CAT, TABLE_SCHEMA TABLE_SCHEM, TABLE_NAME, GRANTOR, GRANTEE,"
+                + " PRIVILEGE_TYPE PRIVILEGE, IS_GRANTABLE FROM INFORMATION_SCHEMA.TABLE_PRIVILEGES WHERE TRUE");
+        and(sql, "TABLE_CATALOG", catalog, parameters);
+        and(sql, "TABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY TABLE_NAME, PRIVILEGE");
+        return query(sql.toString(), parameters.toArray());
+    }
+}
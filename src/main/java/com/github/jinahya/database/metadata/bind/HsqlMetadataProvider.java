@@ -0,0 +1,149 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A provider for HSQLDB which reads {@code INFORMATION_SCHEMA} once for each schema.
+ * <p>
+ * Queries are the same as those of HSQLDB's {@link java.sql.DatabaseMetaData}, which selects from {@code SYSTEM_*}
+ * tables, without the per-table condition.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class HsqlMetadataProvider extends QueryMetadataProvider {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A factory for HSQLDB databases.
+     */
+    public static class Factory implements MetadataProviderFactory {
+
+        @Override
+        public boolean supports(final String databaseProductName, final String driverName) {
+            return "HSQL Database Engine".equals(databaseProductName);
+        }
+
+        @Override
+        public MetadataProvider create(final Connection connection) {
+            return new HsqlMetadataProvider(connection);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given connection.
+     *
+     * @param connection the connection to an HSQLDB database
+     */
+    public HsqlMetadataProvider(final Connection connection) {
+        super(connection);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public ResultSet getSchemaColumns(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder("SELECT * FROM INFORMATION_SCHEMA.SYSTEM_COLUMNS WHERE TRUE");
+        and(sql, "TABLE_CAT", catalog, parameters);
+        and(sql, "TABLE_SCHEM", schema, parameters);
+        sql.append(" ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaColumnPrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_CATALOG TABLE_CAT, TABLE_SCHEMA TABLE_SCHEM, TABLE_NAME, COLUMN_NAME, GRANTOR, GRANTEE,"
+                + " PRIVILEGE_TYPE PRIVILEGE, IS_GRANTABLE FROM INFORMATION_SCHEMA.COLUMN_PRIVILEGES WHERE TRUE");
+        and(sql, "TABLE_CATALOG", catalog, parameters);
+        and(sql, "TABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME, PRIVILEGE_TYPE");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaExportedKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT * FROM INFORMATION_SCHEMA.SYSTEM_CROSSREFERENCE WHERE TRUE");
+        and(sql, "PKTABLE_CAT", catalog, parameters);
+        and(sql, "PKTABLE_SCHEM", schema, parameters);
+        sql.append(" ORDER BY PKTABLE_CAT, PKTABLE_SCHEM, PKTABLE_NAME")
+                .append(", FKTABLE_CAT, FKTABLE_SCHEM, FKTABLE_NAME, FK_NAME, KEY_SEQ");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaImportedKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT * FROM INFORMATION_SCHEMA.SYSTEM_CROSSREFERENCE WHERE TRUE");
+        and(sql, "FKTABLE_CAT", catalog, parameters);
+        and(sql, "FKTABLE_SCHEM", schema, parameters);
+        sql.append(" ORDER BY FKTABLE_CAT, FKTABLE_SCHEM, FKTABLE_NAME")
+                .append(", PKTABLE_CAT, PKTABLE_SCHEM, PKTABLE_NAME, FK_NAME, KEY_SEQ");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaIndexInfo(final String catalog, final String schema, final boolean unique,
+                                        final boolean approximate)
+            throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT * FROM INFORMATION_SCHEMA.SYSTEM_INDEXINFO WHERE " + (unique ? "NON_UNIQUE = FALSE" : "TRUE"));
+        and(sql, "TABLE_CAT", catalog, parameters);
+        and(sql, "TABLE_SCHEM", schema, parameters);
+        sql.append(" ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaPrimaryKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder("SELECT * FROM INFORMATION_SCHEMA.SYSTEM_PRIMARYKEYS WHERE TRUE");
+        and(sql, "TABLE_CAT", catalog, parameters);
+        and(sql, "TABLE_SCHEM", schema, parameters);
+        sql.append(" ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, COLUMN_NAME");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaTablePrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_CATALOG TABLE_CAT, TABLE_SCHEMA TABLE_SCHEM, TABLE_NAME, GRANTOR, GRANTEE,"
+                + " PRIVILEGE_TYPE PRIVILEGE, IS_GRANTABLE FROM INFORMATION_SCHEMA.TABLE_PRIVILEGES WHERE TRUE");
+        and(sql, "TABLE_CATALOG", catalog, parameters);
+        and(sql, "TABLE_SCHEMA", schema, parameters);
+        sql.append(" ORDER BY TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, PRIVILEGE_TYPE");
+        return query(sql.toString(), parameters.toArray());
+    }
+}
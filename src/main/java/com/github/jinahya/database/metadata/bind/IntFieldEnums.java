@@ -20,27 +20,113 @@ package com.github.jinahya.database.metadata.bind;
  * #L%
  */
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Utilities for {@link IntFieldEnum}s. Constants are looked up with tables computed once for each enum type.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
 final class IntFieldEnums {
 
+    // the maximum span of raw values for which a dense table is used
+    private static final int DENSE = 256;
+
+    /**
+     * A lookup table of constants of an enum type.
+     */
+    private static final class Lookup {
+
+        private Lookup(final Object[] constants, final int[] rawValues) {
+            super();
+            this.rawValues = rawValues;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (final int rawValue : rawValues) {
+                min = Math.min(min, rawValue);
+                max = Math.max(max, rawValue);
+            }
+            if (rawValues.length > 0 && (long) max - min < DENSE) {
+                offset = min;
+                dense = new Object[max - min + 1];
+                sparse = null;
+                for (int i = constants.length - 1; i >= 0; i--) { // the first one wins
+                    dense[rawValues[i] - offset] = constants[i];
+                }
+            } else {
+                offset = 0;
+                dense = null;
+                sparse = new HashMap<>();
+                for (int i = 0; i < constants.length; i++) {
+                    sparse.putIfAbsent(rawValues[i], constants[i]);
+                }
+            }
+        }
+
+        private Object get(final int rawValue) {
+            if (dense != null) {
+                final long index = (long) rawValue - offset;
+                return index >= 0L && index < dense.length ? dense[(int) index] : null;
+            }
+            return sparse.get(rawValue);
+        }
+
+        // raw values in the order of constants
+        private final int[] rawValues;
+
+        // the raw value of the first element of the dense table
+        private final int offset;
+
+        // constants indexed by raw values minus the offset; null if raw values are sparse
+        private final Object[] dense;
+
+        // constants keyed by raw values; null if raw values are dense
+        private final Map<Integer, Object> sparse;
+    }
+
+    private static final ClassValue<Lookup> LOOKUPS = new ClassValue<Lookup>() {
+        @Override
+        protected Lookup computeValue(final Class<?> type) {
+            final Object[] constants = type.getEnumConstants();
+            final int[] rawValues = new int[constants.length];
+            for (int i = 0; i < rawValues.length; i++) {
+                rawValues[i] = ((IntFieldEnum<?>) constants[i]).getRawValue();
+            }
+            return new Lookup(constants, rawValues);
+        }
+    };
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Returns raw values of all constants of given enum type.
+     *
+     * @param enumType the enum type
+     * @param <E>      enum type parameter
+     * @return a new array of raw values in the order of constants.
+     */
     static <E extends Enum<E> & IntFieldEnum<E>> int[] rawValues(
             final Class<E> enumType) {
-        final E[] enumConstants = enumType.getEnumConstants();
-        final int[] rawValues = new int[enumConstants.length];
-        for (int i = 0; i < rawValues.length; i++) {
-            rawValues[i] = enumConstants[i].getRawValue();
-        }
-        return rawValues;
+        return LOOKUPS.get(enumType).rawValues.clone();
     }
 
+    /**
+     * Returns the constant of given enum type whose raw value equals to specified value.
+     *
+     * @param enumType the enum type
+     * @param rawValue the raw value
+     * @param <E>      enum type parameter
+     * @return the constant whose raw value equals to {@code rawValue}.
+     * @throws IllegalArgumentException if no constant matches.
+     */
     static <E extends Enum<E> & IntFieldEnum<E>> E valueOf(
             final Class<E> enumType, final int rawValue) {
-        for (final E enumConstant : enumType.getEnumConstants()) {
-            final int constantFieldValue = enumConstant.getRawValue();
-            if (constantFieldValue == rawValue) {
-                return enumConstant;
-            }
+        final Object constant = LOOKUPS.get(enumType).get(rawValue);
+        if (constant == null) {
+            throw new IllegalArgumentException("unknown raw value: " + rawValue);
         }
-        throw new IllegalArgumentException("unknown raw value: " + rawValue);
+        return enumType.cast(constant);
     }
 
     // -------------------------------------------------------------------------    
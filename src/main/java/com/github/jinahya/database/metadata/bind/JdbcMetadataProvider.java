@@ -0,0 +1,217 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A provider which invokes each per-call method on a {@link DatabaseMetaData}. This provider supports no bulk methods
+ * and is the provider {@link MetadataProviders#load(java.sql.Connection)} falls back to.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class JdbcMetadataProvider implements MetadataProvider {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given metadata.
+     *
+     * @param metadata the metadata on which methods are invoked
+     */
+    public JdbcMetadataProvider(final DatabaseMetaData metadata) {
+        super();
+        this.metadata = requireNonNull(metadata, "metadata is null");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public ResultSet getAttributes(final String catalog, final String schemaPattern, final String typeNamePattern,
+                                   final String attributeNamePattern)
+            throws SQLException {
+        return metadata.getAttributes(catalog, schemaPattern, typeNamePattern, attributeNamePattern);
+    }
+
+    @Override
+    public ResultSet getBestRowIdentifier(final String catalog, final String schema, final String table,
+                                          final int scope, final boolean nullable)
+            throws SQLException {
+        return metadata.getBestRowIdentifier(catalog, schema, table, scope, nullable);
+    }
+
+    @Override
+    public ResultSet getCatalogs() throws SQLException {
+        return metadata.getCatalogs();
+    }
+
+    @Override
+    public ResultSet getClientInfoProperties() throws SQLException {
+        return metadata.getClientInfoProperties();
+    }
+
+    @Override
+    public ResultSet getColumnPrivileges(final String catalog, final String schema, final String table,
+                                         final String columnNamePattern)
+            throws SQLException {
+        return metadata.getColumnPrivileges(catalog, schema, table, columnNamePattern);
+    }
+
+    @Override
+    public ResultSet getColumns(final String catalog, final String schemaPattern, final String tableNamePattern,
+                                final String columnNamePattern)
+            throws SQLException {
+        return metadata.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
+    }
+
+    @Override
+    public ResultSet getCrossReference(final String parentCatalog, final String parentSchema, final String parentTable,
+                                       final String foreignCatalog, final String foreignSchema,
+                                       final String foreignTable)
+            throws SQLException {
+        return metadata.getCrossReference(parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema,
+                                          foreignTable);
+    }
+
+    @Override
+    public ResultSet getExportedKeys(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return metadata.getExportedKeys(catalog, schema, table);
+    }
+
+    @Override
+    public ResultSet getFunctionColumns(final String catalog, final String schemaPattern,
+                                        final String functionNamePattern, final String columnNamePattern)
+            throws SQLException {
+        return metadata.getFunctionColumns(catalog, schemaPattern, functionNamePattern, columnNamePattern);
+    }
+
+    @Override
+    public ResultSet getFunctions(final String catalog, final String schemaPattern, final String functionNamePattern)
+            throws SQLException {
+        return metadata.getFunctions(catalog, schemaPattern, functionNamePattern);
+    }
+
+    @Override
+    public ResultSet getImportedKeys(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return metadata.getImportedKeys(catalog, schema, table);
+    }
+
+    @Override
+    public ResultSet getIndexInfo(final String catalog, final String schema, final String table, final boolean unique,
+                                  final boolean approximate)
+            throws SQLException {
+        return metadata.getIndexInfo(catalog, schema, table, unique, approximate);
+    }
+
+    @Override
+    public ResultSet getPrimaryKeys(final String catalog, final String schema, final String table) throws SQLException {
+        return metadata.getPrimaryKeys(catalog, schema, table);
+    }
+
+    @Override
+    public ResultSet getProcedureColumns(final String catalog, final String schemaPattern,
+                                         final String procedureNamePattern, final String columnNamePattern)
+            throws SQLException {
+        return metadata.getProcedureColumns(catalog, schemaPattern, procedureNamePattern, columnNamePattern);
+    }
+
+    @Override
+    public ResultSet getProcedures(final String catalog, final String schemaPattern, final String procedureNamePattern)
+            throws SQLException {
+        return metadata.getProcedures(catalog, schemaPattern, procedureNamePattern);
+    }
+
+    @Override
+    @IgnoreJRERequirement // getPseudoColumns since 1.7
+    public ResultSet getPseudoColumns(final String catalog, final String schemaPattern, final String tableNamePattern,
+                                      final String columnNamePattern)
+            throws SQLException {
+        return metadata.getPseudoColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
+    }
+
+    @Override
+    public ResultSet getSchemas() throws SQLException {
+        return metadata.getSchemas();
+    }
+
+    @Override
+    public ResultSet getSchemas(final String catalog, final String schemaPattern) throws SQLException {
+        return metadata.getSchemas(catalog, schemaPattern);
+    }
+
+    @Override
+    public ResultSet getSuperTables(final String catalog, final String schemaPattern, final String tableNamePattern)
+            throws SQLException {
+        return metadata.getSuperTables(catalog, schemaPattern, tableNamePattern);
+    }
+
+    @Override
+    public ResultSet getSuperTypes(final String catalog, final String schemaPattern, final String typeNamePattern)
+            throws SQLException {
+        return metadata.getSuperTypes(catalog, schemaPattern, typeNamePattern);
+    }
+
+    @Override
+    public ResultSet getTablePrivileges(final String catalog, final String schemaPattern, final String tableNamePattern)
+            throws SQLException {
+        return metadata.getTablePrivileges(catalog, schemaPattern, tableNamePattern);
+    }
+
+    @Override
+    public ResultSet getTableTypes() throws SQLException {
+        return metadata.getTableTypes();
+    }
+
+    @Override
+    public ResultSet getTables(final String catalog, final String schemaPattern, final String tableNamePattern,
+                               final String[] types)
+            throws SQLException {
+        return metadata.getTables(catalog, schemaPattern, tableNamePattern, types);
+    }
+
+    @Override
+    public ResultSet getTypeInfo() throws SQLException {
+        return metadata.getTypeInfo();
+    }
+
+    @Override
+    public ResultSet getUDTs(final String catalog, final String schemaPattern, final String typeNamePattern,
+                             final int[] types)
+            throws SQLException {
+        return metadata.getUDTs(catalog, schemaPattern, typeNamePattern, types);
+    }
+
+    @Override
+    public ResultSet getVersionColumns(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return metadata.getVersionColumns(catalog, schema, table);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final DatabaseMetaData metadata;
+}
@@ -0,0 +1,304 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A provider for MariaDB and MySQL which reads {@code INFORMATION_SCHEMA} once for each database.
+ * <p>
+ * Queries follow those of MariaDB Connector/J with its default options, without the per-table or per-routine
+ * condition. Databases are catalogs; the {@code schema} argument of each method is ignored. This provider requires
+ * MariaDB 5.5.3 (or MySQL 5.6) or later, for {@code INFORMATION_SCHEMA.PARAMETERS} and {@code DATETIME_PRECISION}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MariadbMetadataProvider extends QueryMetadataProvider {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static final String RULE
+            = " WHEN 'RESTRICT' THEN " + DatabaseMetaData.importedKeyRestrict
+              + " WHEN 'NO ACTION' THEN " + DatabaseMetaData.importedKeyNoAction
+              + " WHEN 'CASCADE' THEN " + DatabaseMetaData.importedKeyCascade
+              + " WHEN 'SET NULL' THEN " + DatabaseMetaData.importedKeySetNull
+              + " WHEN 'SET DEFAULT' THEN " + DatabaseMetaData.importedKeySetDefault + " END";
+
+    private static final String KEYS
+            = "SELECT KCU.REFERENCED_TABLE_SCHEMA PKTABLE_CAT, NULL PKTABLE_SCHEM,"
+              + " KCU.REFERENCED_TABLE_NAME PKTABLE_NAME, KCU.REFERENCED_COLUMN_NAME PKCOLUMN_NAME,"
+              + " KCU.TABLE_SCHEMA FKTABLE_CAT, NULL FKTABLE_SCHEM, KCU.TABLE_NAME FKTABLE_NAME,"
+              + " KCU.COLUMN_NAME FKCOLUMN_NAME, %s KEY_SEQ,"
+              + " CASE RC.UPDATE_RULE" + RULE + " UPDATE_RULE, CASE RC.DELETE_RULE" + RULE + " DELETE_RULE,"
+              + " RC.CONSTRAINT_NAME FK_NAME, NULL PK_NAME, " + DatabaseMetaData.importedKeyNotDeferrable
+              + " DEFERRABILITY"
+              + " FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE KCU"
+              + " INNER JOIN INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS RC"
+              + " ON KCU.CONSTRAINT_SCHEMA = RC.CONSTRAINT_SCHEMA AND KCU.CONSTRAINT_NAME = RC.CONSTRAINT_NAME"
+              + " WHERE TRUE";
+
+    // the size of date/time types, or the precision or the length of others
+    private static final String SIZE
+            = " CASE DATA_TYPE"
+              + " WHEN 'time' THEN IF(DATETIME_PRECISION = 0, 10, CAST(11 + DATETIME_PRECISION AS SIGNED INTEGER))"
+              + " WHEN 'date' THEN 10"
+              + " WHEN 'datetime' THEN IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION AS SIGNED INTEGER))"
+              + " WHEN 'timestamp' THEN IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION AS SIGNED INTEGER))"
+              + " ELSE IF(NUMERIC_PRECISION IS NULL, LEAST(CHARACTER_MAXIMUM_LENGTH, " + Integer.MAX_VALUE + "),"
+              + " NUMERIC_PRECISION) END";
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // the SQL type of DATA_TYPE, with tinyInt1isBit and yearIsDateType
+    private static String dataType(final String type) {
+        return " CASE DATA_TYPE"
+               + " WHEN 'bit' THEN " + Types.BIT
+               + " WHEN 'tinyblob' THEN " + Types.VARBINARY
+               + " WHEN 'mediumblob' THEN " + Types.LONGVARBINARY
+               + " WHEN 'longblob' THEN " + Types.LONGVARBINARY
+               + " WHEN 'blob' THEN " + Types.LONGVARBINARY
+               + " WHEN 'tinytext' THEN " + Types.VARCHAR
+               + " WHEN 'mediumtext' THEN " + Types.LONGVARCHAR
+               + " WHEN 'longtext' THEN " + Types.LONGVARCHAR
+               + " WHEN 'text' THEN " + Types.LONGVARCHAR
+               + " WHEN 'date' THEN " + Types.DATE
+               + " WHEN 'datetime' THEN " + Types.TIMESTAMP
+               + " WHEN 'decimal' THEN " + Types.DECIMAL
+               + " WHEN 'double' THEN " + Types.DOUBLE
+               + " WHEN 'enum' THEN " + Types.VARCHAR
+               + " WHEN 'float' THEN " + Types.REAL
+               + " WHEN 'int' THEN " + Types.INTEGER
+               + " WHEN 'bigint' THEN " + Types.BIGINT
+               + " WHEN 'mediumint' THEN " + Types.INTEGER
+               + " WHEN 'null' THEN " + Types.NULL
+               + " WHEN 'set' THEN " + Types.VARCHAR
+               + " WHEN 'smallint' THEN " + Types.SMALLINT
+               + " WHEN 'varchar' THEN " + Types.VARCHAR
+               + " WHEN 'varbinary' THEN " + Types.VARBINARY
+               + " WHEN 'char' THEN " + Types.CHAR
+               + " WHEN 'binary' THEN " + Types.BINARY
+               + " WHEN 'time' THEN " + Types.TIME
+               + " WHEN 'timestamp' THEN " + Types.TIMESTAMP
+               + " WHEN 'tinyint' THEN IF(" + type + " LIKE 'tinyint(1)%', " + Types.BIT + ", " + Types.TINYINT + ")"
+               + " WHEN 'year' THEN " + Types.DATE
+               + " ELSE " + Types.OTHER + " END";
+    }
+
+    // appends a condition for given catalog; null or empty for the current database
+    private static StringBuilder catalog(final StringBuilder sql, final String column, final String catalog,
+                                         final List<Object> parameters) {
+        if (catalog == null || catalog.isEmpty()) {
+            return sql.append(" AND (ISNULL(database()) OR ").append(column).append(" = database())");
+        }
+        return and(sql, column, catalog, parameters);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A factory for databases accessed with MariaDB Connector/J, whose values this provider mirrors.
+     */
+    public static class Factory implements MetadataProviderFactory {
+
+        @Override
+        public boolean supports(final String databaseProductName, final String driverName) {
+            return "MariaDB Connector/J".equals(driverName);
+        }
+
+        @Override
+        public MetadataProvider create(final Connection connection) {
+            return new MariadbMetadataProvider(connection);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given connection.
+     *
+     * @param connection the connection to a MariaDB or MySQL database
+     */
+    public MariadbMetadataProvider(final Connection connection) {
+        super(connection);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public ResultSet getSchemaColumns(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, COLUMN_NAME,"
+                + dataType("COLUMN_TYPE") + " DATA_TYPE,"
+                + " IF(COLUMN_TYPE LIKE 'tinyint(1)%', 'BIT', UCASE(IF(COLUMN_TYPE LIKE '%(%)%',"
+                + " CONCAT(SUBSTRING(COLUMN_TYPE, 1, LOCATE('(', COLUMN_TYPE) - 1),"
+                + " SUBSTRING(COLUMN_TYPE, 1 + LOCATE(')', COLUMN_TYPE))), COLUMN_TYPE))) TYPE_NAME,"
+                + SIZE + " COLUMN_SIZE, 65535 BUFFER_LENGTH,"
+                + " CONVERT(CASE DATA_TYPE WHEN 'tinyint' THEN 0 ELSE NUMERIC_SCALE END, UNSIGNED INTEGER)"
+                + " DECIMAL_DIGITS,"
+                + " 10 NUM_PREC_RADIX, IF(IS_NULLABLE = 'yes', " + DatabaseMetaData.columnNullable + ", "
+                + DatabaseMetaData.columnNoNulls + ") NULLABLE,"
+                + " COLUMN_COMMENT REMARKS, COLUMN_DEFAULT COLUMN_DEF, 0 SQL_DATA_TYPE, 0 SQL_DATETIME_SUB,"
+                + " LEAST(CHARACTER_OCTET_LENGTH, " + Integer.MAX_VALUE + ") CHAR_OCTET_LENGTH, ORDINAL_POSITION,"
+                + " IS_NULLABLE, NULL SCOPE_CATALOG, NULL SCOPE_SCHEMA, NULL SCOPE_TABLE, NULL SOURCE_DATA_TYPE,"
+                + " IF(EXTRA = 'auto_increment', 'YES', 'NO') IS_AUTOINCREMENT,"
+                + " IF(EXTRA IN ('VIRTUAL', 'PERSISTENT', 'VIRTUAL GENERATED', 'STORED GENERATED'), 'YES', 'NO')"
+                + " IS_GENERATEDCOLUMN"
+                + " FROM INFORMATION_SCHEMA.COLUMNS WHERE TRUE");
+        catalog(sql, "TABLE_SCHEMA", catalog, parameters);
+        sql.append(" ORDER BY TABLE_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaColumnPrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, COLUMN_NAME, NULL AS GRANTOR, GRANTEE,"
+                + " PRIVILEGE_TYPE AS PRIVILEGE, IS_GRANTABLE FROM INFORMATION_SCHEMA.COLUMN_PRIVILEGES WHERE TRUE");
+        catalog(sql, "TABLE_SCHEMA", catalog, parameters);
+        sql.append(" ORDER BY TABLE_NAME, COLUMN_NAME, PRIVILEGE_TYPE");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaExportedKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(String.format(KEYS, "KCU.POSITION_IN_UNIQUE_CONSTRAINT"));
+        catalog(sql, "KCU.REFERENCED_TABLE_SCHEMA", catalog, parameters);
+        sql.append(" ORDER BY PKTABLE_NAME, FKTABLE_CAT, FKTABLE_NAME, KEY_SEQ");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Key sequences are positions in foreign keys, as the driver parses them from {@code SHOW CREATE TABLE}.
+     */
+    @Override
+    public ResultSet getSchemaImportedKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(String.format(KEYS, "KCU.ORDINAL_POSITION"));
+        catalog(sql, "KCU.TABLE_SCHEMA", catalog, parameters);
+        sql.append(" ORDER BY FKTABLE_NAME, PKTABLE_CAT, PKTABLE_NAME, KEY_SEQ");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaIndexInfo(final String catalog, final String schema, final boolean unique,
+                                        final boolean approximate)
+            throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, NON_UNIQUE,"
+                + " TABLE_SCHEMA INDEX_QUALIFIER, INDEX_NAME, " + DatabaseMetaData.tableIndexOther + " TYPE,"
+                + " SEQ_IN_INDEX ORDINAL_POSITION, COLUMN_NAME, COLLATION ASC_OR_DESC, CARDINALITY, NULL PAGES,"
+                + " NULL FILTER_CONDITION FROM INFORMATION_SCHEMA.STATISTICS WHERE TRUE");
+        catalog(sql, "TABLE_SCHEMA", catalog, parameters);
+        if (unique) {
+            sql.append(" AND NON_UNIQUE = 0");
+        }
+        sql.append(" ORDER BY TABLE_NAME, NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaPrimaryKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT A.TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, A.TABLE_NAME, A.COLUMN_NAME,"
+                + " B.SEQ_IN_INDEX KEY_SEQ, B.INDEX_NAME PK_NAME"
+                + " FROM INFORMATION_SCHEMA.COLUMNS A, INFORMATION_SCHEMA.STATISTICS B"
+                + " WHERE A.COLUMN_KEY IN ('PRI', 'pri') AND B.INDEX_NAME = 'PRIMARY'"
+                + " AND A.TABLE_SCHEMA = B.TABLE_SCHEMA AND A.TABLE_NAME = B.TABLE_NAME"
+                + " AND A.COLUMN_NAME = B.COLUMN_NAME");
+        catalog(sql, "A.TABLE_SCHEMA", catalog, parameters);
+        sql.append(" ORDER BY A.TABLE_NAME, A.COLUMN_NAME");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaTablePrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, NULL GRANTOR, GRANTEE,"
+                + " PRIVILEGE_TYPE PRIVILEGE, IS_GRANTABLE FROM INFORMATION_SCHEMA.TABLE_PRIVILEGES WHERE TRUE");
+        catalog(sql, "TABLE_SCHEMA", catalog, parameters);
+        sql.append(" ORDER BY TABLE_SCHEMA, TABLE_NAME, PRIVILEGE_TYPE");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Parameters of functions are included, as the driver does.
+     */
+    @Override
+    public ResultSet getSchemaProcedureColumns(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT SPECIFIC_SCHEMA PROCEDURE_CAT, NULL PROCEDURE_SCHEM, SPECIFIC_NAME PROCEDURE_NAME,"
+                + " PARAMETER_NAME COLUMN_NAME, CASE PARAMETER_MODE"
+                + " WHEN 'IN' THEN " + DatabaseMetaData.procedureColumnIn
+                + " WHEN 'OUT' THEN " + DatabaseMetaData.procedureColumnOut
+                + " WHEN 'INOUT' THEN " + DatabaseMetaData.procedureColumnInOut
+                + " ELSE IF(PARAMETER_MODE IS NULL, " + DatabaseMetaData.procedureColumnReturn + ", "
+                + DatabaseMetaData.procedureColumnUnknown + ") END COLUMN_TYPE,"
+                + dataType("DTD_IDENTIFIER") + " DATA_TYPE, DATA_TYPE TYPE_NAME,"
+                + SIZE + " `PRECISION`," + SIZE + " `LENGTH`,"
+                + " CASE DATA_TYPE WHEN 'time' THEN CAST(DATETIME_PRECISION AS SIGNED INTEGER)"
+                + " WHEN 'datetime' THEN CAST(DATETIME_PRECISION AS SIGNED INTEGER)"
+                + " WHEN 'timestamp' THEN CAST(DATETIME_PRECISION AS SIGNED INTEGER)"
+                + " ELSE NUMERIC_SCALE END `SCALE`,"
+                + " 10 RADIX, " + DatabaseMetaData.procedureNullableUnknown + " NULLABLE, NULL REMARKS,"
+                + " NULL COLUMN_DEF, 0 SQL_DATA_TYPE, 0 SQL_DATETIME_SUB, CHARACTER_OCTET_LENGTH CHAR_OCTET_LENGTH,"
+                + " ORDINAL_POSITION, '' IS_NULLABLE, SPECIFIC_NAME"
+                + " FROM INFORMATION_SCHEMA.PARAMETERS WHERE TRUE");
+        catalog(sql, "SPECIFIC_SCHEMA", catalog, parameters);
+        sql.append(" ORDER BY SPECIFIC_SCHEMA, SPECIFIC_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaFunctionColumns(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT SPECIFIC_SCHEMA FUNCTION_CAT, NULL FUNCTION_SCHEM, SPECIFIC_NAME FUNCTION_NAME,"
+                + " PARAMETER_NAME COLUMN_NAME, CASE PARAMETER_MODE"
+                + " WHEN 'IN' THEN " + DatabaseMetaData.functionColumnIn
+                + " WHEN 'OUT' THEN " + DatabaseMetaData.functionColumnOut
+                + " WHEN 'INOUT' THEN " + DatabaseMetaData.functionColumnInOut
+                + " ELSE " + DatabaseMetaData.functionReturn + " END COLUMN_TYPE,"
+                + dataType("DTD_IDENTIFIER") + " DATA_TYPE, DATA_TYPE TYPE_NAME, NUMERIC_PRECISION `PRECISION`,"
+                + " CHARACTER_MAXIMUM_LENGTH LENGTH, NUMERIC_SCALE SCALE, 10 RADIX, "
+                + DatabaseMetaData.functionNullableUnknown + " NULLABLE, NULL REMARKS,"
+                + " CHARACTER_OCTET_LENGTH CHAR_OCTET_LENGTH, ORDINAL_POSITION, '' IS_NULLABLE, SPECIFIC_NAME"
+                + " FROM INFORMATION_SCHEMA.PARAMETERS WHERE ROUTINE_TYPE = 'FUNCTION'");
+        catalog(sql, "SPECIFIC_SCHEMA", catalog, parameters);
+        sql.append(" ORDER BY FUNCTION_CAT, SPECIFIC_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.nanoTime;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A time budget for crawling with a {@link MetadataContext}.
+ * <p>
+ * A budget has an optional total timeout, which starts when the budget is created, an optional timeout for each call
+ * made on the {@link java.sql.DatabaseMetaData}, and a cancellation flag which may be set from any thread. The call
+ * timeout applies to the time a call takes for fetching and binding its own records; the time of nested calls, e.g.
+ * {@code getColumns} for each record of {@code getTables}, is not counted. The context
+ * checks the budget before each call and between rows of each result. Once the budget is overrun, remaining rows and
+ * calls are skipped and each instance whose lists have been cut short is marked as incomplete.
+ * <pre>{@code
+ * final MetadataBudget budget = new MetadataBudget(30L, 5L, TimeUnit.SECONDS);
+ * context.setBudget(budget);
+ * final List<Catalog> catalogs = getCatalogs(context);
+ * if (budget.getOverruns() > 0) {
+ *     // the graph is partial; see Catalog#isIncomplete(), Table#isIncomplete(), and so on.
+ * }
+ * }</pre>
+ * A top-level call, such as {@link MetadataContext#getTables(String, String, String, String[])}, which is skipped or
+ * cut short has no instance to mark and throws an {@link SQLTimeoutException} instead of returning a partial list.
+ * <p>
+ * Checks are cooperative and the call timeout is checked only between rows; a single call blocked in the driver, e.g.
+ * {@code getIndexInfo} with {@code approximate} of {@code false} on a large table, is not interrupted. Use {@link
+ * java.sql.Connection#setNetworkTimeout(java.util.concurrent.Executor, int)} for bounding such calls, and {@link
+ * QueryMetadataProvider#setQueryTimeout(int)} for queries of providers. A call failed with an {@link
+ * SQLTimeoutException} is counted as an overrun and its instance is marked as incomplete.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataBudget {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given timeouts. A non-positive timeout means no limit.
+     *
+     * @param timeout     the total timeout starts from now
+     * @param callTimeout the timeout for each call
+     * @param unit        the unit of {@code timeout} and {@code callTimeout}
+     */
+    public MetadataBudget(final long timeout, final long callTimeout, final TimeUnit unit) {
+        super();
+        requireNonNull(unit, "unit is null");
+        started = nanoTime();
+        this.timeout = timeout > 0L ? unit.toNanos(timeout) : 0L;
+        this.callTimeout = callTimeout > 0L ? unit.toNanos(callTimeout) : 0L;
+    }
+
+    /**
+     * Creates a new instance with no limits which only can be cancelled.
+     */
+    public MetadataBudget() {
+        this(0L, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return super.toString() + "{"
+               + "timeout=" + timeout
+               + ",callTimeout=" + callTimeout
+               + ",cancelled=" + cancelled
+               + ",overruns=" + overruns
+               + "}";
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Cancels this budget. The crawl using this budget stops at the next check.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Indicates whether this budget has been cancelled.
+     *
+     * @return {@code true} if cancelled; {@code false} otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Indicates whether the total timeout of this budget has been passed.
+     *
+     * @return {@code true} if expired; {@code false} otherwise.
+     */
+    public boolean isExpired() {
+        return timeout > 0L && nanoTime() - started > timeout;
+    }
+
+    /**
+     * Indicates whether this budget has been either cancelled or expired.
+     *
+     * @return {@code true} if exhausted; {@code false} otherwise.
+     */
+    public boolean isExhausted() {
+        return isCancelled() || isExpired();
+    }
+
+    /**
+     * Indicates whether a call which has taken given time of its own should stop.
+     *
+     * @param elapsed the time, in nanoseconds, taken for fetching and binding records of the call, excluding nested
+     *                calls for lists of bound instances
+     * @return {@code true} if the call should stop; {@code false} otherwise.
+     */
+    boolean isExhausted(final long elapsed) {
+        return isExhausted() || (callTimeout > 0L && elapsed > callTimeout);
+    }
+
+    // -------------------------------------------------------------------------------------------------------- overruns
+
+    /**
+     * Returns the number of calls cut short or skipped by this budget.
+     *
+     * @return the number of overruns.
+     */
+    public int getOverruns() {
+        return overruns.get();
+    }
+
+    void overran() {
+        overruns.incrementAndGet();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * An exception thrown by a top-level call skipped or cut short by a budget.
+     */
+    static final class Overrun extends SQLTimeoutException {
+
+        private static final long serialVersionUID = -3106387463612948530L;
+
+        Overrun(final String method) {
+            super("budget overrun; " + method);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final long started;
+
+    private final long timeout;
+
+    private final long callTimeout;
+
+    private volatile boolean cancelled;
+
+    private final AtomicInteger overruns = new AtomicInteger();
+}
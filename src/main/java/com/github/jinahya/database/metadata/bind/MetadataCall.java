@@ -0,0 +1,179 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Represents a single call made on a {@link java.sql.DatabaseMetaData} and the binding of its result.
+ * <p>
+ * The fetch time is the time spent in the driver; the invocation of the method and advancing the cursor of its result.
+ * The bind time is the time spent for creating instances and setting their fields. The wall time also includes the
+ * time of nested calls made for fields annotated with {@link Invoke}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see MetadataCallListener
+ */
+public class MetadataCall {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    MetadataCall(final String method, final Object[] arguments) {
+        super();
+        this.method = method;
+        this.arguments = unmodifiableList(Arrays.asList(arguments.clone()));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return super.toString() + "{"
+               + "method=" + method
+               + ",arguments=" + Arrays.deepToString(arguments.toArray())
+               + ",wallNanos=" + wallNanos
+               + ",fetchNanos=" + fetchNanos
+               + ",bindNanos=" + bindNanos
+               + ",rows=" + rows
+               + ",failure=" + failure
+               + ",incomplete=" + incomplete
+               + "}";
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    void failed(final Throwable failure) {
+        if (this.failure == null) {
+            this.failure = failure;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------------- method
+
+    /**
+     * Returns the name of the method invoked.
+     *
+     * @return the name of the method invoked.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    // ------------------------------------------------------------------------------------------------------- arguments
+
+    /**
+     * Returns the arguments of the method invoked.
+     *
+     * @return an unmodifiable list of arguments.
+     */
+    public List<Object> getArguments() {
+        return arguments;
+    }
+
+    // ------------------------------------------------------------------------------------------------------- wallNanos
+
+    /**
+     * Returns the elapsed time of this call, including nested calls, in nanoseconds.
+     *
+     * @return the elapsed time of this call.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    // ------------------------------------------------------------------------------------------------------ fetchNanos
+
+    /**
+     * Returns the time spent in the driver in nanoseconds.
+     *
+     * @return the time spent in the driver.
+     */
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    // ------------------------------------------------------------------------------------------------------- bindNanos
+
+    /**
+     * Returns the time spent for binding rows in nanoseconds.
+     *
+     * @return the time spent for binding rows.
+     */
+    public long getBindNanos() {
+        return bindNanos;
+    }
+
+    // ------------------------------------------------------------------------------------------------------------ rows
+
+    /**
+     * Returns the number of rows bound.
+     *
+     * @return the number of rows bound.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    // --------------------------------------------------------------------------------------------------------- failure
+
+    /**
+     * Returns the failure of this call.
+     *
+     * @return the failure of this call; {@code null} if succeeded.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    // ------------------------------------------------------------------------------------------------------ incomplete
+
+    /**
+     * Indicates whether the rows of this call have been cut short by a {@link MetadataBudget}.
+     *
+     * @return {@code true} if incomplete; {@code false} otherwise.
+     */
+    public boolean isIncomplete() {
+        return incomplete;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final String method;
+
+    private final List<Object> arguments;
+
+    long wallNanos;
+
+    long fetchNanos;
+
+    long bindNanos;
+
+    int rows;
+
+    private Throwable failure;
+
+    boolean incomplete;
+
+    // the value of System#nanoTime() when this call started
+    long started;
+
+    // an event begun by MetadataEvents#beginCall()
+    Object event;
+}
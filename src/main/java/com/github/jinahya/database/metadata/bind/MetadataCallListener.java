@@ -0,0 +1,38 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * A listener notified with each call made on a {@link java.sql.DatabaseMetaData} by a {@link MetadataContext}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see MetadataContext#addCallListener(MetadataCallListener)
+ */
+@FunctionalInterface
+public interface MetadataCallListener {
+
+    /**
+     * Notified when a call and the binding of its result finished, either successfully or not.
+     *
+     * @param call the call
+     */
+    void called(MetadataCall call);
+}
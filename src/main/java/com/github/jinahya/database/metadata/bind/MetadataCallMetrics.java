@@ -0,0 +1,316 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * An in-memory aggregator of {@link MetadataCall calls} grouped by method names.
+ * <pre>{@code
+ * final MetadataCallMetrics metrics = new MetadataCallMetrics();
+ * context.addCallListener(metrics);
+ * final List<Catalog> catalogs = getCatalogs(context);
+ * logger.info(metrics.report());
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataCallMetrics implements MetadataCallListener {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A histogram of durations with buckets of powers of two in microseconds.
+     */
+    public static class Histogram {
+
+        /**
+         * The number of buckets. The last bucket counts all durations longer than {@code 2^(BUCKETS - 2)}
+         * microseconds.
+         */
+        public static final int BUCKETS = 32;
+
+        /**
+         * Returns the index of the bucket for given duration.
+         *
+         * @param nanos the duration in nanoseconds
+         * @return the index of the bucket.
+         */
+        static int bucket(final long nanos) {
+            final long micros = NANOSECONDS.toMicros(nanos);
+            if (micros <= 0L) {
+                return 0;
+            }
+            return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        }
+
+        /**
+         * Returns the upper bound of the bucket at given index in microseconds.
+         *
+         * @param bucket the index of the bucket
+         * @return the upper bound of the bucket; {@link Long#MAX_VALUE} for the last bucket.
+         */
+        public static long upperBoundMicros(final int bucket) {
+            if (bucket >= BUCKETS - 1) {
+                return Long.MAX_VALUE;
+            }
+            return 1L << bucket;
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        Histogram() {
+            super();
+        }
+
+        Histogram(final Histogram histogram) {
+            this();
+            System.arraycopy(histogram.counts, 0, counts, 0, counts.length);
+            count = histogram.count;
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        @Override
+        public String toString() {
+            return super.toString() + "{"
+                   + "count=" + count
+                   + ",counts=" + Arrays.toString(counts)
+                   + "}";
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        void add(final long nanos) {
+            counts[bucket(nanos)]++;
+            count++;
+        }
+
+        /**
+         * Returns the upper bound, in microseconds, of the bucket containing the value at given percentile.
+         *
+         * @param percentile the percentile between {@code 0.0} and {@code 100.0}
+         * @return the upper bound of the bucket; {@code 0L} if no value has been added.
+         */
+        public long percentileMicros(final double percentile) {
+            if (percentile < .0d || percentile > 100.0d) {
+                throw new IllegalArgumentException("percentile(" + percentile + ") is not between 0.0 and 100.0");
+            }
+            if (count == 0L) {
+                return 0L;
+            }
+            final long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0d));
+            long accumulated = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                accumulated += counts[i];
+                if (accumulated >= rank) {
+                    return upperBoundMicros(i);
+                }
+            }
+            return upperBoundMicros(counts.length - 1);
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns counts of each bucket.
+         *
+         * @return counts of each bucket.
+         */
+        public long[] getCounts() {
+            return counts.clone();
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        private final long[] counts = new long[BUCKETS];
+
+        private long count;
+    }
+
+    /**
+     * Aggregated values of calls of a method.
+     */
+    public static class Statistics {
+
+        // -------------------------------------------------------------------------------------------------------------
+        Statistics() {
+            super();
+            wall = new Histogram();
+        }
+
+        Statistics(final Statistics statistics) {
+            super();
+            calls = statistics.calls;
+            failures = statistics.failures;
+            rows = statistics.rows;
+            wallNanos = statistics.wallNanos;
+            fetchNanos = statistics.fetchNanos;
+            bindNanos = statistics.bindNanos;
+            maxWallNanos = statistics.maxWallNanos;
+            wall = new Histogram(statistics.wall);
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        @Override
+        public String toString() {
+            return super.toString() + "{"
+                   + "calls=" + calls
+                   + ",failures=" + failures
+                   + ",rows=" + rows
+                   + ",wallNanos=" + wallNanos
+                   + ",fetchNanos=" + fetchNanos
+                   + ",bindNanos=" + bindNanos
+                   + ",maxWallNanos=" + maxWallNanos
+                   + ",wall=" + wall
+                   + "}";
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        void add(final MetadataCall call) {
+            calls++;
+            if (call.getFailure() != null) {
+                failures++;
+            }
+            rows += call.getRows();
+            wallNanos += call.getWallNanos();
+            fetchNanos += call.getFetchNanos();
+            bindNanos += call.getBindNanos();
+            maxWallNanos = Math.max(maxWallNanos, call.getWallNanos());
+            wall.add(call.getWallNanos());
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getFetchNanos() {
+            return fetchNanos;
+        }
+
+        public long getBindNanos() {
+            return bindNanos;
+        }
+
+        public long getMaxWallNanos() {
+            return maxWallNanos;
+        }
+
+        /**
+         * Returns the histogram of wall times.
+         *
+         * @return the histogram of wall times.
+         */
+        public Histogram getWall() {
+            return wall;
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        private long calls;
+
+        private long failures;
+
+        private long rows;
+
+        private long wallNanos;
+
+        private long fetchNanos;
+
+        private long bindNanos;
+
+        private long maxWallNanos;
+
+        private final Histogram wall;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public synchronized void called(final MetadataCall call) {
+        statistics.computeIfAbsent(call.getMethod(), k -> new Statistics()).add(call);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Returns a snapshot of statistics mapped to method names.
+     *
+     * @return an unmodifiable map of method names and statistics.
+     */
+    public synchronized Map<String, Statistics> getStatistics() {
+        final Map<String, Statistics> snapshot = new TreeMap<>();
+        statistics.forEach((k, v) -> snapshot.put(k, new Statistics(v)));
+        return unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Clears all aggregated values.
+     */
+    public synchronized void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Returns a human readable report of statistics ordered by the sum of fetch times, descending.
+     *
+     * @return a report.
+     */
+    public String report() {
+        final List<Map.Entry<String, Statistics>> entries = new ArrayList<>(getStatistics().entrySet());
+        entries.sort((e1, e2) -> Long.compare(e2.getValue().getFetchNanos(), e1.getValue().getFetchNanos()));
+        final StringBuilder builder = new StringBuilder(format(Locale.ROOT,
+                "%-28s %8s %8s %10s %12s %12s %10s %10s %10s%n",
+                "method", "calls", "failures", "rows", "fetch(ms)", "bind(ms)", "p50(us)", "p99(us)", "max(ms)"));
+        for (final Map.Entry<String, Statistics> entry : entries) {
+            final Statistics value = entry.getValue();
+            builder.append(format(Locale.ROOT, "%-28s %8d %8d %10d %12.3f %12.3f %10d %10d %10.3f%n",
+                                  entry.getKey(), value.getCalls(), value.getFailures(), value.getRows(),
+                                  value.getFetchNanos() / 1000000.0d, value.getBindNanos() / 1000000.0d,
+                                  value.getWall().percentileMicros(50.0d), value.getWall().percentileMicros(99.0d),
+                                  value.getMaxWallNanos() / 1000000.0d));
+        }
+        return builder.toString();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final Map<String, Statistics> statistics = new LinkedHashMap<>();
+}
@@ -0,0 +1,884 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+import static com.github.jinahya.database.metadata.bind.Utils.fields;
+import static com.github.jinahya.database.metadata.bind.Utils.labels;
+import static com.github.jinahya.database.metadata.bind.Utils.suppressionPath;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.requireNonNull;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * Capabilities of a driver probed by invoking each method of {@link DatabaseMetaData} once, and a crawl plan derived
+ * from them.
+ * <p>
+ * Each method is invoked with {@code null} catalogs and schemas and {@code %} patterns, or, for per-table methods, with
+ * a sample table, and its elapsed time, its number of rows and its column labels missing from those of the bound class
+ * are recorded. Methods throwing {@link SQLFeatureNotSupportedException} or {@link AbstractMethodError} are recorded as
+ * unsupported, while methods throwing any other exception are recorded as failed and probed again later. Per-table
+ * methods are invoked once more with a {@code null} table for checking whether the driver returns all tables of the
+ * schema.
+ * <p>
+ * Capabilities are probed once for each database product and driver, and may be persisted with {@link
+ * #store(OutputStream)} and {@link #load(InputStream)}, or with {@link #of(DatabaseMetaData, Path)}.
+ * <pre>{@code
+ * final MetadataCapabilities capabilities = MetadataCapabilities.of(metadata, directory);
+ * final MetadataContext context = capabilities.apply(new MetadataContext(metadata));
+ * final List<Catalog> catalogs = getCatalogs(context);
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see #apply(MetadataContext)
+ */
+public class MetadataCapabilities {
+
+    private static final Logger logger = getLogger(MetadataCapabilities.class.getName());
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Supports of methods.
+     */
+    public enum Support {
+
+        /**
+         * Indicates the method returned rows.
+         */
+        SUPPORTED,
+
+        /**
+         * Indicates the method returned no rows. Unlike the others, this depends on the data of the probed database
+         * and is never used for suppressing lists.
+         */
+        EMPTY,
+
+        /**
+         * Indicates the method threw a {@link SQLFeatureNotSupportedException} or an {@link AbstractMethodError}.
+         */
+        UNSUPPORTED,
+
+        /**
+         * Indicates the method threw any other exception, which may be transient. Unlike {@link #UNSUPPORTED}, this is
+         * regarded as unknown; it is never used for suppressing lists nor persisted, and the method is probed again.
+         */
+        FAILED
+    }
+
+    /**
+     * A capability of a single method.
+     */
+    public static final class Capability {
+
+        private Capability(final Support support, final long nanos, final long rows, final boolean exhaustive,
+                           final Boolean nullTable, final Set<String> missingLabels) {
+            super();
+            this.support = requireNonNull(support, "support is null");
+            this.nanos = nanos;
+            this.rows = rows;
+            this.exhaustive = exhaustive;
+            this.nullTable = nullTable;
+            this.missingLabels = unmodifiableSet(new TreeSet<>(missingLabels));
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + "{"
+                   + "support=" + support
+                   + ",nanos=" + nanos
+                   + ",rows=" + rows
+                   + ",exhaustive=" + exhaustive
+                   + ",nullTable=" + nullTable
+                   + ",missingLabels=" + missingLabels
+                   + "}";
+        }
+
+        /**
+         * Returns the support of the method.
+         *
+         * @return the support of the method.
+         */
+        public Support getSupport() {
+            return support;
+        }
+
+        /**
+         * Returns the time, in nanoseconds, taken for invoking the method and reading all rows.
+         *
+         * @return the time taken in nanoseconds.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns the number of rows returned.
+         *
+         * @return the number of rows returned.
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Indicates whether the method was invoked for the whole database, rather than for a sample table.
+         *
+         * @return {@code true} if the method was invoked for the whole database; {@code false} otherwise.
+         */
+        public boolean isExhaustive() {
+            return exhaustive;
+        }
+
+        /**
+         * Indicates whether the method returns rows of all tables, or all routines, of a schema when invoked with a
+         * {@code null} table.
+         *
+         * @return {@code true} if the method accepts a {@code null} table; {@code false} if not; {@code null} if not
+         * probed.
+         */
+        public Boolean getNullTable() {
+            return nullTable;
+        }
+
+        /**
+         * Returns the labels of the bound class missing from the columns of the result.
+         *
+         * @return an unmodifiable set of missing labels.
+         */
+        public Set<String> getMissingLabels() {
+            return missingLabels;
+        }
+
+        private final Support support;
+
+        private final long nanos;
+
+        private final long rows;
+
+        private final boolean exhaustive;
+
+        private final Boolean nullTable;
+
+        private final Set<String> missingLabels;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @FunctionalInterface
+    private interface Fetch {
+
+        ResultSet fetch(DatabaseMetaData metadata, String[] table) throws SQLException;
+    }
+
+    private static final class Probe {
+
+        private Probe(final Class<?> type, final boolean exhaustive, final Fetch fetch) {
+            super();
+            this.type = type;
+            this.exhaustive = exhaustive;
+            this.fetch = fetch;
+        }
+
+        private Probe bulk(final String schemaLabel, final Fetch bulk) {
+            this.schemaLabel = schemaLabel;
+            this.bulk = bulk;
+            return this;
+        }
+
+        // the bound class
+        private final Class<?> type;
+
+        // true for methods invoked for the whole database
+        private final boolean exhaustive;
+
+        private final Fetch fetch;
+
+        // the label of schemas of tables being queried
+        private String schemaLabel;
+
+        // invoked with a null table; null for methods not probed
+        private Fetch bulk;
+    }
+
+    // probes keyed by names of methods
+    private static final Map<String, Probe> PROBES;
+
+    static {
+        final Map<String, Probe> probes = new LinkedHashMap<>();
+        probes.put("getAttributes", new Probe(
+                Attribute.class, true, (m, t) -> m.getAttributes(null, null, "%", "%")));
+        probes.put("getBestRowIdentifier", new Probe(
+                BestRowIdentifier.class, false,
+                (m, t) -> m.getBestRowIdentifier(t[0], t[1], t[2], DatabaseMetaData.bestRowSession, true)));
+        probes.put("getCatalogs", new Probe(
+                Catalog.class, true, (m, t) -> m.getCatalogs()));
+        probes.put("getClientInfoProperties", new Probe(
+                ClientInfoProperty.class, true, (m, t) -> m.getClientInfoProperties()));
+        probes.put("getColumnPrivileges", new Probe(
+                ColumnPrivilege.class, false, (m, t) -> m.getColumnPrivileges(t[0], t[1], t[2], "%"))
+                .bulk("TABLE_SCHEM", (m, t) -> m.getColumnPrivileges(t[0], t[1], null, null)));
+        probes.put("getColumns", new Probe(
+                Column.class, true, (m, t) -> m.getColumns(null, null, "%", "%")));
+        probes.put("getCrossReference", new Probe(
+                CrossReference.class, false, (m, t) -> m.getCrossReference(t[0], t[1], t[2], t[0], t[1], t[2])));
+        probes.put("getExportedKeys", new Probe(
+                ExportedKey.class, false, (m, t) -> m.getExportedKeys(t[0], t[1], t[2]))
+                .bulk("PKTABLE_SCHEM", (m, t) -> m.getExportedKeys(t[0], t[1], null)));
+        probes.put("getFunctionColumns", new Probe(
+                FunctionColumn.class, true, (m, t) -> m.getFunctionColumns(null, null, "%", "%")));
+        probes.put("getFunctions", new Probe(
+                Function.class, true, (m, t) -> m.getFunctions(null, null, "%")));
+        probes.put("getImportedKeys", new Probe(
+                ImportedKey.class, false, (m, t) -> m.getImportedKeys(t[0], t[1], t[2]))
+                .bulk("FKTABLE_SCHEM", (m, t) -> m.getImportedKeys(t[0], t[1], null)));
+        probes.put("getIndexInfo", new Probe(
+                IndexInfo.class, false, (m, t) -> m.getIndexInfo(t[0], t[1], t[2], false, false))
+                .bulk("TABLE_SCHEM", (m, t) -> m.getIndexInfo(t[0], t[1], null, false, false)));
+        probes.put("getPrimaryKeys", new Probe(
+                PrimaryKey.class, false, (m, t) -> m.getPrimaryKeys(t[0], t[1], t[2]))
+                .bulk("TABLE_SCHEM", (m, t) -> m.getPrimaryKeys(t[0], t[1], null)));
+        probes.put("getProcedureColumns", new Probe(
+                ProcedureColumn.class, true, (m, t) -> m.getProcedureColumns(null, null, "%", "%")));
+        probes.put("getProcedures", new Probe(
+                Procedure.class, true, (m, t) -> m.getProcedures(null, null, "%")));
+        probes.put("getPseudoColumns", new Probe(
+                PseudoColumn.class, true, (m, t) -> m.getPseudoColumns(null, null, "%", "%")));
+        probes.put("getSchemas", new Probe(
+                Schema.class, true, (m, t) -> m.getSchemas(null, null)));
+        probes.put("getSuperTables", new Probe(
+                SuperTable.class, true, (m, t) -> m.getSuperTables(null, null, "%")));
+        probes.put("getSuperTypes", new Probe(
+                SuperType.class, true, (m, t) -> m.getSuperTypes(null, null, "%")));
+        probes.put("getTablePrivileges", new Probe(
+                TablePrivilege.class, true, (m, t) -> m.getTablePrivileges(null, null, "%")));
+        probes.put("getTableTypes", new Probe(
+                TableType.class, true, (m, t) -> m.getTableTypes()));
+        probes.put("getTables", new Probe(
+                Table.class, true, (m, t) -> m.getTables(null, null, "%", null)));
+        probes.put("getTypeInfo", new Probe(
+                TypeInfo.class, true, (m, t) -> m.getTypeInfo()));
+        probes.put("getUDTs", new Probe(
+                UDT.class, true, (m, t) -> m.getUDTs(null, null, "%", null)));
+        probes.put("getVersionColumns", new Probe(
+                VersionColumn.class, false, (m, t) -> m.getVersionColumns(t[0], t[1], t[2])));
+        PROBES = unmodifiableMap(probes);
+    }
+
+    // pattern methods whose bulk variants are invoked with escaped schemas and null patterns
+    private static final Set<String> PATTERNS = unmodifiableSet(new TreeSet<>(Arrays.asList(
+            "getColumns", "getFunctionColumns", "getProcedureColumns", "getTablePrivileges")));
+
+    // classes of which @Invoke fields are planned
+    private static final List<Class<?>> INVOKERS = Collections.unmodifiableList(Arrays.asList(
+            Catalog.class, Schema.class, Table.class, Column.class, Function.class, Procedure.class, UDT.class));
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // probed capabilities keyed by products and drivers
+    private static final ConcurrentMap<String, MetadataCapabilities> PROBED = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the key of given metadata which identifies the database product and the driver along with their
+     * versions.
+     *
+     * @param metadata the metadata
+     * @return the key of the metadata.
+     * @throws SQLException if a database error occurs.
+     */
+    static String key(final DatabaseMetaData metadata) throws SQLException {
+        return metadata.getDatabaseProductName() + " " + metadata.getDatabaseProductVersion() + "; "
+               + metadata.getDriverName() + " " + metadata.getDriverVersion();
+    }
+
+    /**
+     * Returns capabilities of the driver of given metadata, which are probed only once for each database product and
+     * driver in this JVM. Methods which {@link Support#FAILED failed} are probed again for each invocation until they
+     * succeed or turn out unsupported.
+     *
+     * @param metadata the metadata
+     * @return capabilities of the driver.
+     * @throws SQLException if a database error occurs.
+     */
+    public static MetadataCapabilities of(final DatabaseMetaData metadata) throws SQLException {
+        final String key = key(requireNonNull(metadata, "metadata is null"));
+        final MetadataCapabilities probed = PROBED.get(key);
+        if (probed != null && !probed.failed()) {
+            return probed;
+        }
+        final MetadataCapabilities capabilities = probe(
+                metadata, probed == null ? Collections.emptyMap() : probed.capabilities);
+        if (probed != null) {
+            PROBED.replace(key, probed, capabilities);
+            return capabilities;
+        }
+        final MetadataCapabilities previous = PROBED.putIfAbsent(key, capabilities);
+        return previous == null ? capabilities : previous;
+    }
+
+    /**
+     * Returns capabilities of the driver of given metadata persisted in specified directory. Capabilities are loaded
+     * from a file named after the database product and the driver, if exists, or probed and stored to the file. The
+     * file is not stored while any method {@link Support#FAILED failed}, so that those methods are probed again.
+     *
+     * @param metadata  the metadata
+     * @param directory the directory in which capabilities are persisted
+     * @return capabilities of the driver.
+     * @throws SQLException if a database error occurs.
+     * @throws IOException  if an I/O error occurs.
+     */
+    public static MetadataCapabilities of(final DatabaseMetaData metadata, final Path directory)
+            throws SQLException, IOException {
+        requireNonNull(metadata, "metadata is null");
+        requireNonNull(directory, "directory is null");
+        final String key = key(metadata);
+        final Path path = directory.resolve(key.replaceAll("[^A-Za-z0-9._-]+", "_") + ".properties");
+        if (Files.isRegularFile(path)) {
+            try (InputStream input = Files.newInputStream(path)) {
+                final MetadataCapabilities loaded = load(input);
+                if (key.equals(loaded.getKey())) {
+                    PROBED.putIfAbsent(key, loaded);
+                    return loaded;
+                }
+            }
+        }
+        final MetadataCapabilities capabilities = of(metadata);
+        if (capabilities.failed()) {
+            logger.warning(format("not storing capabilities of %s; some methods failed", key));
+            return capabilities;
+        }
+        Files.createDirectories(directory);
+        try (OutputStream output = Files.newOutputStream(path)) {
+            capabilities.store(output);
+        }
+        return capabilities;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Probes capabilities of the driver of given metadata by invoking each method.
+     *
+     * @param metadata the metadata
+     * @return probed capabilities.
+     * @throws SQLException if a database error occurs.
+     */
+    public static MetadataCapabilities probe(final DatabaseMetaData metadata) throws SQLException {
+        return probe(requireNonNull(metadata, "metadata is null"), Collections.emptyMap());
+    }
+
+    /**
+     * Probes capabilities of the driver of given metadata by invoking each method which is not known yet, or which
+     * failed.
+     *
+     * @param metadata the metadata
+     * @param known    capabilities already known, keyed by names of methods
+     * @return probed capabilities along with known ones.
+     * @throws SQLException if a database error occurs.
+     */
+    private static MetadataCapabilities probe(final DatabaseMetaData metadata, final Map<String, Capability> known)
+            throws SQLException {
+        final String[] sample = sample(metadata);
+        final Map<String, Capability> capabilities = new TreeMap<>(known);
+        for (final Entry<String, Probe> entry : PROBES.entrySet()) {
+            final String name = entry.getKey();
+            final Probe probe = entry.getValue();
+            final Capability previous = known.get(name);
+            if (previous != null && previous.support != Support.FAILED) {
+                continue;
+            }
+            if (!probe.exhaustive && sample == null) {
+                if (logger.isLoggable(FINE)) {
+                    logger.fine(format("skipping %s; no sample table", name));
+                }
+                continue;
+            }
+            final Set<String> missing = new TreeSet<>();
+            final long[] rows = new long[1];
+            final long started = nanoTime();
+            final Support support = probe(metadata, probe.fetch, sample, results -> {
+                final Set<String> labels = labels(results);
+                for (final Bind bind : fields(probe.type, Bind.class).values()) {
+                    if (!labels.contains(bind.label().toUpperCase())) {
+                        missing.add(bind.label());
+                    }
+                }
+                while (results.next()) {
+                    rows[0]++;
+                }
+                return rows[0];
+            });
+            final long nanos = nanoTime() - started;
+            Boolean nullTable = null;
+            if (PATTERNS.contains(name)) {
+                nullTable = support == Support.SUPPORTED || support == Support.EMPTY;
+            } else if (probe.bulk != null && (support == Support.SUPPORTED || support == Support.EMPTY)) {
+                nullTable = nullTable(metadata, probe, sample);
+            }
+            final Capability capability = new Capability(support, nanos, rows[0], probe.exhaustive, nullTable,
+                                                         missing);
+            if (logger.isLoggable(FINE)) {
+                logger.fine(format("probed %s; %s", name, capability));
+            }
+            capabilities.put(name, capability);
+        }
+        return new MetadataCapabilities(key(metadata), capabilities);
+    }
+
+    @FunctionalInterface
+    private interface Reader {
+
+        // returns the number of rows read
+        long read(ResultSet results) throws SQLException;
+    }
+
+    private static Support probe(final DatabaseMetaData metadata, final Fetch fetch, final String[] table,
+                                 final Reader reader) {
+        final ResultSet results;
+        try {
+            results = fetch.fetch(metadata, table);
+        } catch (final SQLFeatureNotSupportedException sqlfnse) {
+            return Support.UNSUPPORTED;
+        } catch (final SQLException | RuntimeException e) {
+            logger.log(FINE, "failed to probe", e);
+            return Support.FAILED;
+        } catch (final AbstractMethodError | NoSuchMethodError e) { // drivers of older versions of JDBC
+            return Support.UNSUPPORTED;
+        }
+        if (results == null) {
+            return Support.UNSUPPORTED;
+        }
+        try {
+            try {
+                return reader.read(results) > 0L ? Support.SUPPORTED : Support.EMPTY;
+            } finally {
+                results.close();
+            }
+        } catch (final SQLFeatureNotSupportedException sqlfnse) {
+            return Support.UNSUPPORTED;
+        } catch (final SQLException | RuntimeException e) {
+            logger.log(FINE, "failed to read", e);
+            return Support.FAILED;
+        }
+    }
+
+    /**
+     * Checks whether given fetch, invoked with a {@code null} table, returns rows of given table's schema only. A
+     * driver which returns no rows is regarded as not accepting {@code null} tables.
+     */
+    private static boolean nullTable(final DatabaseMetaData metadata, final Probe probe, final String[] table) {
+        final boolean[] foreign = new boolean[1];
+        final Support support = probe(metadata, probe.bulk, table, results -> {
+            final boolean labeled = labels(results).contains(probe.schemaLabel);
+            long rows = 0L;
+            while (results.next()) {
+                rows++;
+                if (labeled && table[1] != null) {
+                    final String schema = results.getString(probe.schemaLabel);
+                    if (schema != null && !schema.equals(table[1])) {
+                        foreign[0] = true;
+                    }
+                }
+            }
+            return rows;
+        });
+        return support == Support.SUPPORTED && !foreign[0];
+    }
+
+    /**
+     * Returns the catalog, the schema and the name of the first table of the schema with the most tables.
+     */
+    private static String[] sample(final DatabaseMetaData metadata) {
+        final Map<List<String>, String> firsts = new LinkedHashMap<>();
+        final Map<List<String>, Integer> counts = new HashMap<>();
+        try (ResultSet results = metadata.getTables(null, null, "%", new String[] {"TABLE"})) {
+            while (results.next()) {
+                final List<String> schema = Arrays.asList(results.getString("TABLE_CAT"),
+                                                          results.getString("TABLE_SCHEM"));
+                firsts.putIfAbsent(schema, results.getString("TABLE_NAME"));
+                counts.merge(schema, 1, Integer::sum);
+            }
+        } catch (final SQLException | RuntimeException e) {
+            logger.log(FINE, "failed to sample a table", e);
+            return null;
+        }
+        List<String> sampled = null;
+        for (final List<String> schema : firsts.keySet()) {
+            if (sampled == null || counts.get(schema) > counts.get(sampled)) {
+                sampled = schema;
+            }
+        }
+        return sampled == null ? null : new String[] {sampled.get(0), sampled.get(1), firsts.get(sampled)};
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Loads capabilities from given input stream in the format of {@link Properties}.
+     *
+     * @param input the input stream
+     * @return loaded capabilities.
+     * @throws IOException if an I/O error occurs.
+     * @see #store(OutputStream)
+     */
+    public static MetadataCapabilities load(final InputStream input) throws IOException {
+        final Properties properties = new Properties();
+        properties.load(requireNonNull(input, "input is null"));
+        final String key = properties.getProperty("key");
+        if (key == null) {
+            throw new IOException("no key");
+        }
+        final Map<String, Capability> capabilities = new TreeMap<>();
+        for (final String name : properties.stringPropertyNames()) {
+            if (!name.endsWith(".support")) {
+                continue;
+            }
+            final String method = name.substring(0, name.length() - ".support".length());
+            try {
+                final Support support = Support.valueOf(properties.getProperty(name));
+                if (support == Support.FAILED) {
+                    continue; // unknown
+                }
+                final long nanos = Long.parseLong(properties.getProperty(method + ".nanos", "0"));
+                final long rows = Long.parseLong(properties.getProperty(method + ".rows", "0"));
+                final boolean exhaustive = Boolean.parseBoolean(properties.getProperty(method + ".exhaustive"));
+                final String nullTable = properties.getProperty(method + ".nullTable");
+                final String missingLabels = properties.getProperty(method + ".missingLabels", "");
+                capabilities.put(method, new Capability(
+                        support, nanos, rows, exhaustive, nullTable == null ? null : Boolean.valueOf(nullTable),
+                        missingLabels.isEmpty()
+                        ? Collections.emptySet() : new TreeSet<>(Arrays.asList(missingLabels.split(",")))));
+            } catch (final IllegalArgumentException iae) {
+                throw new IOException("failed to load " + method, iae);
+            }
+        }
+        return new MetadataCapabilities(key, capabilities);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private MetadataCapabilities(final String key, final Map<String, Capability> capabilities) {
+        super();
+        this.key = requireNonNull(key, "key is null");
+        this.capabilities = unmodifiableMap(new TreeMap<>(capabilities));
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "{"
+               + "key=" + key
+               + ",capabilities=" + capabilities
+               + "}";
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Stores these capabilities to given output stream in the format of {@link Properties}. Methods which {@link
+     * Support#FAILED failed} are not stored.
+     *
+     * @param output the output stream
+     * @throws IOException if an I/O error occurs.
+     * @see #load(InputStream)
+     */
+    public void store(final OutputStream output) throws IOException {
+        requireNonNull(output, "output is null");
+        final Properties properties = new Properties();
+        properties.setProperty("key", key);
+        for (final Entry<String, Capability> entry : capabilities.entrySet()) {
+            final String method = entry.getKey();
+            final Capability capability = entry.getValue();
+            if (capability.support == Support.FAILED) {
+                continue;
+            }
+            properties.setProperty(method + ".support", capability.support.name());
+            properties.setProperty(method + ".nanos", Long.toString(capability.nanos));
+            properties.setProperty(method + ".rows", Long.toString(capability.rows));
+            properties.setProperty(method + ".exhaustive", Boolean.toString(capability.exhaustive));
+            if (capability.nullTable != null) {
+                properties.setProperty(method + ".nullTable", capability.nullTable.toString());
+            }
+            if (!capability.missingLabels.isEmpty()) {
+                properties.setProperty(method + ".missingLabels", String.join(",", capability.missingLabels));
+            }
+        }
+        properties.store(output, "capabilities of " + key);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the suppression paths of the crawl plan. Lists of methods which are not supported, and fields bound from
+     * labels missing from results are suppressed. Lists of methods which merely returned no rows, or which failed, are
+     * not suppressed, for being empty depends on the data of the probed database and a failure may be transient rather
+     * than a limit of the driver.
+     *
+     * @return a set of suppression paths.
+     * @see MetadataContext#addSuppressionPaths(String, String...)
+     */
+    public Set<String> getSuppressionPaths() {
+        final Set<String> paths = new TreeSet<>();
+        for (final Class<?> invoker : INVOKERS) {
+            for (final Entry<Field, Invoke> entry : fields(invoker, Invoke.class).entrySet()) {
+                final String name = entry.getValue().name();
+                final Capability capability = capabilities.get(name);
+                if (capability == null) {
+                    continue;
+                }
+                final Support support = capability.support;
+                if (support == Support.UNSUPPORTED) {
+                    paths.add(suppressionPath(invoker, entry.getKey()));
+                }
+            }
+        }
+        for (final Entry<String, Capability> entry : capabilities.entrySet()) {
+            final Probe probe = PROBES.get(entry.getKey());
+            final Set<String> missing = entry.getValue().missingLabels;
+            if (probe == null || missing.isEmpty()) {
+                continue;
+            }
+            for (final Entry<Field, Bind> bfield : fields(probe.type, Bind.class).entrySet()) {
+                if (missing.contains(bfield.getValue().label())) {
+                    paths.add(suppressionPath(probe.type, bfield.getKey()));
+                }
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Returns the names of per-table methods which the crawl plan invokes once for each schema.
+     *
+     * @return a set of names of methods.
+     * @see MetadataProvider#getSchemaColumns(String, String)
+     */
+    public Set<String> getBulkMethods() {
+        final Set<String> methods = new TreeSet<>();
+        for (final Entry<String, Capability> entry : capabilities.entrySet()) {
+            if (Boolean.TRUE.equals(entry.getValue().nullTable)) {
+                methods.add(entry.getKey());
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Returns a provider which invokes per-table methods of given metadata once for each schema, with {@code null}
+     * tables, as planned.
+     *
+     * @param metadata the metadata
+     * @return a provider; {@code null} if no method is planned to be invoked for each schema.
+     * @throws SQLException if a database error occurs.
+     * @see #getBulkMethods()
+     */
+    public MetadataProvider getProvider(final DatabaseMetaData metadata) throws SQLException {
+        requireNonNull(metadata, "metadata is null");
+        final Set<String> methods = getBulkMethods();
+        if (methods.isEmpty()) {
+            return null;
+        }
+        return new Planned(metadata, metadata.getSearchStringEscape(), methods);
+    }
+
+    /**
+     * Applies the crawl plan to given context. Suppression paths are added and, unless the context already has a
+     * provider, a provider invoking per-table methods for each schema is set.
+     *
+     * @param context the context
+     * @return given context.
+     * @throws SQLException if a database error occurs.
+     * @see #getSuppressionPaths()
+     * @see #getProvider(DatabaseMetaData)
+     */
+    public MetadataContext apply(final MetadataContext context) throws SQLException {
+        requireNonNull(context, "context is null");
+        for (final String path : getSuppressionPaths()) {
+            context.addSuppressionPaths(path);
+        }
+        if (context.getProvider() == null) {
+            context.setProvider(getProvider(context.getMetaData()));
+        }
+        return context;
+    }
+
+    // ------------------------------------------------------------------------------------------------------------- key
+
+    /**
+     * Returns the key of these capabilities which identifies the database product and the driver along with their
+     * versions.
+     *
+     * @return the key of these capabilities.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    // ---------------------------------------------------------------------------------------------------- capabilities
+
+    /**
+     * Returns capabilities keyed by names of methods. Per-table methods are absent if no table was found.
+     *
+     * @return an unmodifiable map of capabilities.
+     */
+    public Map<String, Capability> getCapabilities() {
+        return capabilities;
+    }
+
+    // whether any method failed, and is to be probed again
+    private boolean failed() {
+        for (final Capability capability : capabilities.values()) {
+            if (capability.support == Support.FAILED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A provider invoking per-table methods of a metadata with {@code null} tables.
+     */
+    private static final class Planned implements MetadataProvider {
+
+        private Planned(final DatabaseMetaData metadata, final String escape, final Set<String> methods) {
+            super();
+            this.metadata = metadata;
+            this.escape = escape;
+            this.methods = methods;
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+
+        // the pattern matching given schema only; null if not escapable
+        private String pattern(final String schema) {
+            if (schema == null) {
+                return null;
+            }
+            if (escape == null || escape.isEmpty()) {
+                return schema.indexOf('_') < 0 && schema.indexOf('%') < 0 ? schema : null;
+            }
+            final StringBuilder builder = new StringBuilder(schema.length());
+            for (final char c : schema.toCharArray()) {
+                if (c == '_' || c == '%' || escape.indexOf(c) == 0) {
+                    builder.append(escape);
+                }
+                builder.append(c);
+            }
+            return builder.toString();
+        }
+
+        private boolean patterned(final String method, final String schema) {
+            return methods.contains(method) && (schema == null || pattern(schema) != null);
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        @Override
+        public ResultSet getSchemaColumns(final String catalog, final String schema) throws SQLException {
+            return patterned("getColumns", schema) ? metadata.getColumns(catalog, pattern(schema), "%", "%") : null;
+        }
+
+        @Override
+        public ResultSet getSchemaFunctionColumns(final String catalog, final String schema) throws SQLException {
+            return patterned("getFunctionColumns", schema)
+                   ? metadata.getFunctionColumns(catalog, pattern(schema), "%", "%") : null;
+        }
+
+        @Override
+        public ResultSet getSchemaColumnPrivileges(final String catalog, final String schema) throws SQLException {
+            return methods.contains("getColumnPrivileges")
+                   ? metadata.getColumnPrivileges(catalog, schema, null, null) : null;
+        }
+
+        @Override
+        public ResultSet getSchemaExportedKeys(final String catalog, final String schema) throws SQLException {
+            return methods.contains("getExportedKeys") ? metadata.getExportedKeys(catalog, schema, null) : null;
+        }
+
+        @Override
+        public ResultSet getSchemaImportedKeys(final String catalog, final String schema) throws SQLException {
+            return methods.contains("getImportedKeys") ? metadata.getImportedKeys(catalog, schema, null) : null;
+        }
+
+        @Override
+        public ResultSet getSchemaIndexInfo(final String catalog, final String schema, final boolean unique,
+                                            final boolean approximate)
+                throws SQLException {
+            return methods.contains("getIndexInfo")
+                   ? metadata.getIndexInfo(catalog, schema, null, unique, approximate) : null;
+        }
+
+        @Override
+        public ResultSet getSchemaPrimaryKeys(final String catalog, final String schema) throws SQLException {
+            return methods.contains("getPrimaryKeys") ? metadata.getPrimaryKeys(catalog, schema, null) : null;
+        }
+
+        @Override
+        public ResultSet getSchemaProcedureColumns(final String catalog, final String schema) throws SQLException {
+            return patterned("getProcedureColumns", schema)
+                   ? metadata.getProcedureColumns(catalog, pattern(schema), "%", "%") : null;
+        }
+
+        @Override
+        public ResultSet getSchemaTablePrivileges(final String catalog, final String schema) throws SQLException {
+            return patterned("getTablePrivileges", schema)
+                   ? metadata.getTablePrivileges(catalog, pattern(schema), "%") : null;
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        private final DatabaseMetaData metadata;
+
+        private final String escape;
+
+        private final Set<String> methods;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final String key;
+
+    private final Map<String, Capability> capabilities;
+}
@@ -0,0 +1,174 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A structural change between two metadata snapshots.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see MetadataDiff
+ */
+public class MetadataChange implements Serializable {
+
+    private static final long serialVersionUID = -2838457245497154386L;
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Constants for types of changes.
+     */
+    public enum Type {
+
+        CATALOG_ADDED,
+
+        CATALOG_REMOVED,
+
+        SCHEMA_ADDED,
+
+        SCHEMA_REMOVED,
+
+        TABLE_ADDED,
+
+        TABLE_REMOVED,
+
+        TABLE_TYPE_CHANGED,
+
+        COLUMN_ADDED,
+
+        COLUMN_REMOVED,
+
+        COLUMN_TYPE_CHANGED,
+
+        COLUMN_NULLABILITY_CHANGED,
+
+        INDEX_ADDED,
+
+        INDEX_REMOVED,
+
+        INDEX_CHANGED,
+
+        PRIMARY_KEY_ADDED,
+
+        PRIMARY_KEY_REMOVED,
+
+        PRIMARY_KEY_CHANGED,
+
+        FOREIGN_KEY_ADDED,
+
+        FOREIGN_KEY_REMOVED,
+
+        FOREIGN_KEY_CHANGED,
+
+        PRIVILEGE_GRANTED,
+
+        PRIVILEGE_REVOKED
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance.
+     *
+     * @param type   the type of the change
+     * @param path   the qualified names of the changed element; catalog, schema, table and so on.
+     * @param source the element in the source snapshot; {@code null} for an added element.
+     * @param target the element in the target snapshot; {@code null} for a removed element.
+     */
+    public MetadataChange(final Type type, final List<String> path, final Object source, final Object target) {
+        super();
+        this.type = requireNonNull(type, "type is null");
+        this.path = unmodifiableList(new ArrayList<>(requireNonNull(path, "path is null")));
+        this.source = source;
+        this.target = target;
+    }
+
+    MetadataChange(final Type type, final String[] path, final Object source, final Object target) {
+        this(type, Arrays.asList(path), source, target);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return super.toString() + "{"
+               + "type=" + type
+               + ",path=" + path
+               + ",source=" + source
+               + ",target=" + target
+               + "}";
+    }
+
+    // ------------------------------------------------------------------------------------------------------------ type
+    public Type getType() {
+        return type;
+    }
+
+    // ------------------------------------------------------------------------------------------------------------ path
+
+    /**
+     * Returns the qualified names of the changed element, from the catalog down to the element itself.
+     *
+     * @return an unmodifiable list of names.
+     */
+    public List<String> getPath() {
+        return path;
+    }
+
+    // ---------------------------------------------------------------------------------------------------------- source
+
+    /**
+     * Returns the element in the source snapshot. For grouped elements such as indices and keys, the value is a list
+     * of rows.
+     *
+     * @return the source element; {@code null} if the element has been added.
+     */
+    public Object getSource() {
+        return source;
+    }
+
+    // ---------------------------------------------------------------------------------------------------------- target
+
+    /**
+     * Returns the element in the target snapshot. For grouped elements such as indices and keys, the value is a list
+     * of rows.
+     *
+     * @return the target element; {@code null} if the element has been removed.
+     */
+    public Object getTarget() {
+        return target;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final Type type;
+
+    private final List<String> path;
+
+    private final transient Object source;
+
+    private final transient Object target;
+}
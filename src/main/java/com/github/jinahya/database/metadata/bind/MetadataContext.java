@@ -24,20 +24,37 @@ import lombok.NonNull;
 import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.github.jinahya.database.metadata.bind.Invokes.arguments;
 import static com.github.jinahya.database.metadata.bind.Utils.field;
@@ -45,14 +62,20 @@ import static com.github.jinahya.database.metadata.bind.Utils.fields;
 import static com.github.jinahya.database.metadata.bind.Utils.labels;
 import static com.github.jinahya.database.metadata.bind.Utils.suppressionPath;
 import static java.lang.String.format;
+import static java.lang.System.nanoTime;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.SEVERE;
+import static java.util.logging.Level.WARNING;
 import static java.util.logging.Logger.getLogger;
 
 /**
  * A context class for retrieving information from an instance of {@link java.sql.DatabaseMetaData}.
+ * <p>
+ * An instance of this class may be shared by multiple threads as long as the underlying {@link DatabaseMetaData} and
+ * the provider allow concurrent invocations. Bulk results are kept for each thread and the binding metadata of classes
+ * are shared by all instances.
  *
  * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
  */
@@ -61,8 +84,224 @@ public class MetadataContext {
     // -----------------------------------------------------------------------------------------------------------------
     private static final Logger logger = getLogger(MetadataContext.class.getName());
 
+    private static final MetadataEvents events = MetadataEvents.get();
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A function returns a result set from a {@link MetadataProvider}.
+     */
+    @FunctionalInterface
+    private interface Fetch {
+
+        ResultSet fetch(MetadataProvider provider) throws SQLException;
+    }
+
+    /**
+     * A function accepts each instance bound from the current row of a result set.
+     *
+     * @param <T> instance type parameter
+     */
+    @FunctionalInterface
+    private interface Sink<T> {
+
+        void accept(ResultSet results, T instance) throws SQLException;
+    }
+
+    /**
+     * A function returns the value for a field annotated with {@link Bind}.
+     */
+    @FunctionalInterface
+    private interface Values {
+
+        Object value(int index, Field field, String label) throws SQLException;
+    }
+
+    /**
+     * A function returns a bulk result set from a {@link MetadataProvider}.
+     */
+    @FunctionalInterface
+    private interface BulkFetch {
+
+        ResultSet fetch(MetadataProvider provider, Object[] arguments) throws SQLException;
+    }
+
+    /**
+     * A bulk variant of a per-table method whose rows are partitioned by the values of per-table arguments.
+     */
+    private static final class Bulk {
+
+        private Bulk(final String method, final int[] indices, final String[] labels, final BulkFetch fetch) {
+            super();
+            this.method = method;
+            this.indices = indices;
+            this.labels = labels;
+            this.fetch = fetch;
+        }
+
+        // the name of the bulk method
+        private final String method;
+
+        // indices of per-table arguments
+        private final int[] indices;
+
+        // labels of columns corresponding to the per-table arguments
+        private final String[] labels;
+
+        private final BulkFetch fetch;
+    }
+
+    // bulk variants keyed by names of per-table methods
+    private static final Map<String, Bulk> BULKS;
+
+    static {
+        final Map<String, Bulk> bulks = new HashMap<>();
+        bulks.put("getBestRowIdentifier", new Bulk(
+                "getSchemaBestRowIdentifier", new int[] {2}, new String[] {"TABLE_NAME"},
+                (p, a) -> p.getSchemaBestRowIdentifier((String) a[0], (String) a[1], (Integer) a[3], (Boolean) a[4])));
+        bulks.put("getColumns", new Bulk(
+                "getSchemaColumns", new int[] {2}, new String[] {"TABLE_NAME"},
+                (p, a) -> a[3] == null ? p.getSchemaColumns((String) a[0], (String) a[1]) : null));
+        bulks.put("getColumnPrivileges", new Bulk(
+                "getSchemaColumnPrivileges", new int[] {2, 3}, new String[] {"TABLE_NAME", "COLUMN_NAME"},
+                (p, a) -> p.getSchemaColumnPrivileges((String) a[0], (String) a[1])));
+        bulks.put("getExportedKeys", new Bulk(
+                "getSchemaExportedKeys", new int[] {2}, new String[] {"PKTABLE_NAME"},
+                (p, a) -> p.getSchemaExportedKeys((String) a[0], (String) a[1])));
+        bulks.put("getImportedKeys", new Bulk(
+                "getSchemaImportedKeys", new int[] {2}, new String[] {"FKTABLE_NAME"},
+                (p, a) -> p.getSchemaImportedKeys((String) a[0], (String) a[1])));
+        bulks.put("getFunctionColumns", new Bulk(
+                "getSchemaFunctionColumns", new int[] {2}, new String[] {"FUNCTION_NAME"},
+                (p, a) -> a[3] == null ? p.getSchemaFunctionColumns((String) a[0], (String) a[1]) : null));
+        bulks.put("getIndexInfo", new Bulk(
+                "getSchemaIndexInfo", new int[] {2}, new String[] {"TABLE_NAME"},
+                (p, a) -> p.getSchemaIndexInfo((String) a[0], (String) a[1], (Boolean) a[3], (Boolean) a[4])));
+        bulks.put("getPrimaryKeys", new Bulk(
+                "getSchemaPrimaryKeys", new int[] {2}, new String[] {"TABLE_NAME"},
+                (p, a) -> p.getSchemaPrimaryKeys((String) a[0], (String) a[1])));
+        bulks.put("getProcedureColumns", new Bulk(
+                "getSchemaProcedureColumns", new int[] {2}, new String[] {"PROCEDURE_NAME"},
+                (p, a) -> a[3] == null ? p.getSchemaProcedureColumns((String) a[0], (String) a[1]) : null));
+        bulks.put("getTablePrivileges", new Bulk(
+                "getSchemaTablePrivileges", new int[] {2}, new String[] {"TABLE_NAME"},
+                (p, a) -> p.getSchemaTablePrivileges((String) a[0], (String) a[1])));
+        BULKS = unmodifiableMap(bulks);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // fields with @Bind
+    private static final ClassValue<Map<Field, Bind>> BFIELDS = new ClassValue<Map<Field, Bind>>() {
+        @Override
+        protected Map<Field, Bind> computeValue(final Class<?> type) {
+            return accessible(fields(type, Bind.class));
+        }
+    };
+
+    // fields with @Invoke
+    private static final ClassValue<Map<Field, Invoke>> IFIELDS = new ClassValue<Map<Field, Invoke>>() {
+        @Override
+        protected Map<Field, Invoke> computeValue(final Class<?> type) {
+            return accessible(fields(type, Invoke.class));
+        }
+    };
+
+    // fields marking instances as incomplete; null for classes without
+    private static final ClassValue<Field> INCOMPLETE = new ClassValue<Field>() {
+        @Override
+        protected Field computeValue(final Class<?> type) {
+            for (Class<?> klass = type; klass != null; klass = klass.getSuperclass()) {
+                try {
+                    final Field field = klass.getDeclaredField("incomplete");
+                    field.setAccessible(true);
+                    return field;
+                } catch (final NoSuchFieldException nsfe) {
+                    // try the superclass
+                }
+            }
+            return null;
+        }
+    };
+
+    // parameterized types of java.util.List fields
+    private static final Map<Field, Class<?>> PTYPES = new ConcurrentHashMap<>();
+
+    private static <T> Map<Field, T> accessible(final Map<Field, T> fields) {
+        for (final Field field : fields.keySet()) {
+            if (!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+        }
+        return unmodifiableMap(fields);
+    }
+
+    /**
+     * The state of a chain of calls made by a thread.
+     */
+    private static final class Crawl {
+
+        // partitioned bulk results keyed by per-table method names and masked arguments; null for unsupported
+        private final Map<List<Object>, Map<List<Object>, List<Object>>> partitions = new HashMap<>();
+
+        // keys of partitioned bulk results cut short by the budget
+        private final Set<List<Object>> incompletePartitions = new HashSet<>();
+
+        // the depth of public method calls; bulk results are cleared when it reaches zero
+        private int depth;
+
+        // a flag for a pipeline running with this state; results are bound inline while set
+        private volatile boolean pipelined;
+    }
+
+    /**
+     * A configuration of pipelined binding.
+     */
+    private static final class Pipeline {
+
+        private Pipeline(final Executor executor, final int batch, final int capacity) {
+            super();
+            this.executor = executor;
+            this.batch = batch;
+            this.capacity = capacity;
+        }
+
+        // the executor on which batches are bound
+        private final Executor executor;
+
+        // the number of records in each batch
+        private final int batch;
+
+        // the maximum number of batches in flight
+        private final int capacity;
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
 
+    /**
+     * A function returns a list of instances from a context.
+     *
+     * @param <T> instance type parameter
+     */
+    @FunctionalInterface
+    private interface Getter<T> {
+
+        List<T> get() throws SQLException;
+    }
+
+    /**
+     * Adds instances from given function to specified list, or marks given owner as incomplete if the function is
+     * skipped or cut short by the budget.
+     */
+    private static <T> void add(final Object owner, final List<? super T> list, final Getter<T> getter)
+            throws SQLException {
+        try {
+            list.addAll(getter.get());
+        } catch (final MetadataBudget.Overrun overrun) {
+            incomplete(owner);
+        }
+    }
+
     /**
      * Invokes {@link #getSchemas(java.lang.String, java.lang.String)} on given {@code context} with given {@code
      * catalog}.
@@ -83,20 +322,20 @@ public class MetadataContext {
             schema.setTableCatalog(catalog);
             schema.setTableSchem("");
             if (!context.isSuppressionPath("schema/functions")) {
-                schema.getFunctions().addAll(context.getFunctions(
-                        schema.getTableCatalog(), schema.getTableSchem(), null));
+                add(schema, schema.getFunctions(),
+                    () -> context.getFunctions(schema.getTableCatalog(), schema.getTableSchem(), null));
             }
             if (!context.isSuppressionPath("schema/procedures")) {
-                schema.getProcedures().addAll(context.getProcedures(
-                        schema.getTableCatalog(), schema.getTableSchem(), null));
+                add(schema, schema.getProcedures(),
+                    () -> context.getProcedures(schema.getTableCatalog(), schema.getTableSchem(), null));
             }
             if (!context.isSuppressionPath("schema/tables")) {
-                schema.getTables().addAll(context.getTables(
-                        schema.getTableCatalog(), schema.getTableSchem(), null, null));
+                add(schema, schema.getTables(),
+                    () -> context.getTables(schema.getTableCatalog(), schema.getTableSchem(), null, null));
             }
             if (!context.isSuppressionPath("schema/UDTs")) {
-                schema.getUDTs().addAll(context.getUDTs(
-                        schema.getTableCatalog(), schema.getTableSchem(), null, null));
+                add(schema, schema.getUDTs(),
+                    () -> context.getUDTs(schema.getTableCatalog(), schema.getTableSchem(), null, null));
             }
             schemas.add(schema);
         }
@@ -125,7 +364,7 @@ public class MetadataContext {
             catalog.setTableCat("");
             catalogs.add(catalog);
             if (!context.isSuppressionPath("catalog/schemas")) {
-                catalog.getSchemas().addAll(context.getSchemas(catalog.getTableCat(), ""));
+                add(catalog, catalog.getSchemas(), () -> context.getSchemas(catalog.getTableCat(), ""));
             }
         }
         if (!context.isSuppressionPath("catalog/schemas")) {
@@ -139,7 +378,7 @@ public class MetadataContext {
             if (allempty) {
                 logger.warning("schemas are all empty");
                 for (final Catalog catalog : catalogs) {
-                    catalog.getSchemas().addAll(getSchemas(context, catalog.getTableCat(), true));
+                    add(catalog, catalog.getSchemas(), () -> getSchemas(context, catalog.getTableCat(), true));
                 }
             }
         }
@@ -160,12 +399,13 @@ public class MetadataContext {
     public MetadataContext(final DatabaseMetaData metadata) {
         super();
         this.databaseMetadata = requireNonNull(metadata, "databaseMetadata is null");
+        this.jdbc = new JdbcMetadataProvider(databaseMetadata);
     }
 
     // -----------------------------------------------------------------------------------------------------------------
 
     /**
-     * Binds given instance from specified record.
+     * Binds fields annotated with {@link Bind} of given instance from the current record of specified result set.
      *
      * @param <T>      instance type parameter
      * @param results  the result set from which the instance is bound
@@ -174,9 +414,34 @@ public class MetadataContext {
      * @return given instance
      * @throws SQLException if a database error occurs.
      */
-    private <T> T bind(final ResultSet results, final Class<T> type, final T instance) throws SQLException {
+    private <T> T bindFields(final ResultSet results, final Class<T> type, final T instance) throws SQLException {
         final Set<String> labels = labels(results);
+        bindFields(labels, (i, f, l) -> Utils.value(f, results, l), type, instance);
+        for (String label : labels) {
+            final Object value = results.getObject(label);
+            if (logger.isLoggable(FINE)) {
+                logger.fine(format("unhandled; klass=%s, label=%s, value=%s", type, label, value));
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Binds fields annotated with {@link Bind} of given instance with values from specified function.
+     *
+     * @param <T>      instance type parameter
+     * @param labels   a set of available labels from which labels of bound fields are removed
+     * @param values   the function returns values
+     * @param type     the type of the instance
+     * @param instance the instance
+     * @return given instance
+     * @throws SQLException if a database error occurs.
+     */
+    private <T> T bindFields(final Set<String> labels, final Values values, final Class<T> type, final T instance)
+            throws SQLException {
+        int index = -1;
         for (final Entry<Field, Bind> bfield : bfields(type).entrySet()) {
+            index++;
             final Field field = bfield.getKey();
             final Bind bind = bfield.getValue();
             String label = bind.label();
@@ -192,27 +457,32 @@ public class MetadataContext {
             if (bind.unused()) {
                 continue;
             }
-            final Object value = results.getObject(label);
-            if (value == null) {
-                if (!bind.nillable() && !bind.unused() && !bind.reserved()) {
-                    logger.warning(format("null value; %s", formatted));
-                }
-                if (field.getType().isPrimitive()) {
-                    logger.warning(format("null value; %s", formatted));
-                }
+            final Object value = values.value(index, field, label);
+            if (value == null && (field.getType().isPrimitive() || (!bind.nillable() && !bind.reserved()))) {
+                logger.warning(format("null value; %s", formatted));
             }
             try {
-                field(field, instance, results, label);
+                field(field, instance, value, label);
             } catch (final ReflectiveOperationException roe) {
                 logger.log(SEVERE, format("failed to set %s with %s on %s", field, value, instance), roe);
             }
         }
-        for (String label : labels) {
-            final Object value = results.getObject(label);
-            if (logger.isLoggable(FINE)) {
-                logger.fine(format("unhandled; klass=%s, label=%s, value=%s", type, label, value));
-            }
-        }
+        return instance;
+    }
+
+    /**
+     * Binds fields annotated with {@link Invoke} of given instance by invoking corresponding methods of {@link
+     * DatabaseMetaData}.
+     *
+     * @param <T>      instance type parameter
+     * @param type     the type of the instance
+     * @param instance the instance
+     * @return given instance
+     * @throws SQLException if a database error occurs.
+     */
+    private <T> T bindInvokes(final Class<T> type, final T instance) throws SQLException {
+        final MetadataBudget budget = this.budget;
+        final MetadataProvider provider = this.provider;
         for (final Entry<Field, Invoke> ifield : ifields(type).entrySet()) {
             final Field field = ifield.getKey();
             if (!field.getType().equals(List.class)) {
@@ -232,7 +502,7 @@ public class MetadataContext {
             final Class<?>[] types = invoke.types();
             final Method method;
             try {
-                method = DatabaseMetaData.class.getMethod(name, types);
+                method = MetadataProvider.class.getMethod(name, types);
             } catch (final NoSuchMethodException nsme) {
                 logger.log(SEVERE, format("unknown method; %1$s", formatted), nsme);
                 continue;
@@ -242,8 +512,31 @@ public class MetadataContext {
             }
             final List<Object> fvalue = new ArrayList<>();
             final Class<?> ptype = ptype(field);
-            for (final Literals parameters : invoke.parameters()) {
+            boolean exhausted = false;
+            final Literals[] sets = invoke.parameters();
+            final int[] scopes = mergingBestRowScopes && bestRowScopesMergeable != Boolean.FALSE
+                                 && "getBestRowIdentifier".equals(name) ? scopes(sets) : null;
+            final int widest = scopes == null ? -1 : widest(scopes);
+            // merged scopes are trusted only once the separate calls for an instance are the same as those derived
+            final int[] bounds = scopes != null && bestRowScopesMergeable == null ? new int[sets.length + 1] : null;
+            for (int i = 0; i < sets.length; i++) {
+                if (bounds != null) {
+                    bounds[i] = fvalue.size();
+                } else if (scopes != null && i != widest) {
+                    continue;
+                }
+                final Literals parameters = sets[i];
+                if (budget != null && budget.isExhausted()) {
+                    exhausted = true;
+                    break;
+                }
                 final String[] literals = parameters.value();
+                final String signature = name + Arrays.toString(literals);
+                final AtomicLong skipped = unsupportedMethods.get(signature);
+                if (skipped != null) {
+                    skipped.incrementAndGet();
+                    continue;
+                }
                 final Object[] arguments;
                 try {
                     arguments = arguments(type, instance, types, literals);
@@ -251,31 +544,92 @@ public class MetadataContext {
                     logger.severe(format("failed to convert arguments from %s on %s", Arrays.toString(literals), type));
                     continue;
                 }
+                final List<Object> partition = bulk(provider, name, arguments, ptype, instance);
+                if (partition != null) {
+                    fvalue.addAll(partition);
+                    continue;
+                }
+                final MetadataCall call = new MetadataCall(name, arguments);
+                call.event = events.beginCall();
+                final long started = call.started = nanoTime();
                 final Object result;
                 try {
-                    result = method.invoke(databaseMetadata, arguments);
+                    final Object provided = provider == null ? null : method.invoke(provider, arguments);
+                    result = provided == null ? method.invoke(jdbc, arguments) : provided;
                 } catch (final Exception e) { // NoSuchMethod
+                    call.fetchNanos += nanoTime() - started;
+                    final Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+                    call.failed(cause);
+                    called(call, started);
+                    if (unsupported(cause)) {
+                        unsupported(signature, cause);
+                        continue;
+                    }
+                    if (cause instanceof SQLTimeoutException) {
+                        if (budget != null) {
+                            budget.overran();
+                        }
+                        incomplete(instance);
+                        logger.log(WARNING, format("timed out; %s with %s", formatted, Arrays.toString(arguments)), e);
+                        continue;
+                    }
                     logger.log(SEVERE, format("failed to invoke %s with %s", formatted, Arrays.toString(arguments)), e);
                     continue;
                 } catch (final Error e) { // NoSuchMethod/AbstractMethod
+                    call.fetchNanos += nanoTime() - started;
+                    call.failed(e);
+                    called(call, started);
+                    if (unsupported(e)) {
+                        unsupported(signature, e);
+                        continue;
+                    }
                     logger.log(SEVERE, format("failed to invoke %s with %s", formatted, Arrays.toString(arguments)), e);
                     continue;
                 }
+                call.fetchNanos += nanoTime() - started;
+                if (result == null) { // e.g. getPseudoColumns of H2 1.4
+                    called(call, started);
+                    unsupported(signature, null);
+                    continue;
+                }
                 if (!(result instanceof ResultSet)) {
+                    called(call, started);
                     logger.severe(format("wrong result; %s for %s", result, formatted));
                     continue;
                 }
                 try {
-                    bind((ResultSet) result, ptype, fvalue);
+                    bind((ResultSet) result, ptype, fvalue, call);
+                } catch (final SQLException | RuntimeException e) {
+                    call.failed(e);
+                    throw e;
                 } finally {
-                    ((ResultSet) result).close();
+                    try {
+                        ((ResultSet) result).close();
+                    } finally {
+                        called(call, started);
+                    }
                 }
+                if (call.incomplete) {
+                    incomplete(instance);
+                }
+            }
+            if (bounds != null && !exhausted) {
+                bounds[sets.length] = fvalue.size();
+                verify(fvalue, bounds, scopes, widest);
             }
             try {
-                field.set(instance, fvalue);
+                field.set(instance, scopes == null || bounds != null ? fvalue : scoped(fvalue, scopes));
             } catch (final ReflectiveOperationException roe) {
                 logger.severe(format("failed to set %s with %s on %s", field, fvalue, instance));
             }
+            if (exhausted) {
+                budget.overran();
+                incomplete(instance);
+                if (logger.isLoggable(FINE)) {
+                    logger.fine(format("budget exhausted; %s", formatted));
+                }
+                break;
+            }
         } // end-of-invoke-field-loop
         return instance;
     }
@@ -287,10 +641,43 @@ public class MetadataContext {
      * @param results   the records to bind
      * @param klass     the type of instances
      * @param instances a list to which instances are added
+     * @param call      the call whose times and rows are accumulated
      * @return given list
      * @throws SQLException if a database error occurs.
      */
-    private <T> List<? super T> bind(final ResultSet results, final Class<T> klass, final List<? super T> instances)
+    private <T> List<? super T> bind(final ResultSet results, final Class<T> klass, final List<? super T> instances,
+                                     final MetadataCall call)
+            throws SQLException {
+        if (instances == null) {
+            throw new NullPointerException("instances is null");
+        }
+        final Pipeline pipeline = this.pipeline;
+        final Crawl crawl = crawls.get();
+        if (pipeline != null && !crawl.pipelined) {
+            crawl.pipelined = true;
+            try {
+                pipeline(pipeline, crawl, results, klass, instances, call);
+            } finally {
+                crawl.pipelined = false;
+            }
+            return instances;
+        }
+        bind(results, klass, call, (r, i) -> instances.add(i));
+        return instances;
+    }
+
+    /**
+     * Binds all records as given type and passes them to specified sink.
+     *
+     * @param <T>     binding type parameter
+     * @param results the records to bind
+     * @param klass   the type of instances
+     * @param call    the call whose times and rows are accumulated
+     * @param sink    the sink to which instances are passed along with the result set on the corresponding record
+     * @throws SQLException if a database error occurs.
+     */
+    private <T> void bind(final ResultSet results, final Class<T> klass, final MetadataCall call,
+                          final Sink<? super T> sink)
             throws SQLException {
         if (results == null) {
             throw new NullPointerException("results is null");
@@ -298,10 +685,45 @@ public class MetadataContext {
         if (klass == null) {
             throw new NullPointerException("klass is null");
         }
-        if (instances == null) {
-            throw new NullPointerException("instances is null");
+        final MetadataBudget budget = this.budget;
+        final Object batch = events.beginBatch();
+        final int rows = call.rows;
+        while (next(results, klass, call, budget, sink)) {
+            // empty
         }
-        while (results.next()) {
+        events.commitBatch(batch, klass, call.rows - rows);
+    }
+
+    /**
+     * Binds the next record as given type and passes it to specified sink.
+     *
+     * @param <T>     binding type parameter
+     * @param results the records to bind
+     * @param klass   the type of instances
+     * @param call    the call whose times and rows are accumulated
+     * @param budget  the budget to check; may be {@code null}
+     * @param sink    the sink to which the instance is passed along with the result set on the corresponding record
+     * @return {@code true} if a record is bound; {@code false} if no more records or the budget is exhausted.
+     * @throws SQLException if a database error occurs.
+     */
+    private <T> boolean next(final ResultSet results, final Class<T> klass, final MetadataCall call,
+                             final MetadataBudget budget, final Sink<? super T> sink)
+            throws SQLException {
+        while (true) {
+            final long fetching = nanoTime();
+            final boolean next = results.next();
+            final long binding = nanoTime();
+            call.fetchNanos += binding - fetching;
+            if (!next) {
+                return false;
+            }
+            // checked only when a record remains so that a result bound to the end is not marked as incomplete; nested
+            // calls of previous records are not counted
+            if (budget != null && budget.isExhausted(call.fetchNanos + call.bindNanos)) {
+                budget.overran();
+                call.incomplete = true;
+                return false;
+            }
             final T instance;
             try {
                 instance = klass.newInstance();
@@ -309,119 +731,570 @@ public class MetadataContext {
                 logger.log(SEVERE, format("failed to create new instance of %s", klass), roe);
                 continue;
             }
-            instances.add(bind(results, klass, instance));
+            bindFields(results, klass, instance);
+            call.bindNanos += nanoTime() - binding;
+            call.rows++;
+            final Object phase = klass == Catalog.class || klass == Schema.class || klass == Table.class
+                                 ? events.beginPhase() : null;
+            bindInvokes(klass, instance);
+            final Consumer<Object> observer = observers.get();
+            if (observer != null) {
+                observer.accept(instance);
+            }
+            sink.accept(results, instance);
+            events.commitPhase(phase, instance);
+            return true;
         }
-        return instances;
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getAttributes(java.lang.String, java.lang.String, java.lang.String,
-     * java.lang.String)} with given arguments and returns bound information.
+     * Binds all records as given type in a pipeline. The current thread copies values of each record into batches and
+     * hands them over to the executor on which instances are bound along with their lists. Instances are added to the
+     * list on the current thread in the order of records.
      *
-     * @param catalog              the value for {@code catalog} parameter.
-     * @param schemaPattern        the value for {@code schemaPattern} parameter.
-     * @param typeNamePattern      the value for {@code typeNamePattern} parameter.
-     * @param attributeNamePattern the value for {@code attributeNamePattern} parameter.
-     * @return a list of attributes.
+     * @param <T>       binding type parameter
+     * @param pipeline  the configuration of the pipeline
+     * @param crawl     the state shared with the executor
+     * @param results   the records to bind
+     * @param klass     the type of instances
+     * @param instances a list to which instances are added
+     * @param call      the call whose times and rows are accumulated
      * @throws SQLException if a database error occurs.
      */
-    public List<Attribute> getAttributes(final String catalog, final String schemaPattern, final String typeNamePattern,
-                                         final String attributeNamePattern)
+    private <T> void pipeline(final Pipeline pipeline, final Crawl crawl, final ResultSet results,
+                              final Class<T> klass, final List<? super T> instances, final MetadataCall call)
             throws SQLException {
-        final List<Attribute> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getAttributes(
-                catalog, schemaPattern, typeNamePattern, attributeNamePattern)) {
-            if (results != null) {
-                bind(results, Attribute.class, list);
+        final MetadataBudget budget = this.budget;
+        final Consumer<Object> observer = observers.get();
+        final Thread reader = Thread.currentThread();
+        final Set<String> labels = labels(results);
+        final List<Entry<Field, Bind>> bfields = new ArrayList<>(bfields(klass).entrySet());
+        final boolean[] read = new boolean[bfields.size()];
+        for (int i = 0; i < read.length; i++) {
+            final Entry<Field, Bind> bfield = bfields.get(i);
+            read[i] = labels.contains(bfield.getValue().label()) && !bfield.getValue().unused()
+                      && !isSuppressionPath(suppressionPath(klass, bfield.getKey()));
+        }
+        final AtomicLong bindNanos = new AtomicLong();
+        final Object batch = events.beginBatch();
+        final int rows = call.rows;
+        final Deque<FutureTask<List<T>>> pending = new ArrayDeque<>();
+        boolean completed = false;
+        try {
+            List<Object[]> values = new ArrayList<>(pipeline.batch);
+            while (true) {
+                final long fetching = nanoTime();
+                boolean next = results.next();
+                if (next && budget != null
+                    && budget.isExhausted(call.fetchNanos + nanoTime() - fetching + bindNanos.get())) {
+                    budget.overran();
+                    call.incomplete = true;
+                    next = false; // binds rows already copied
+                }
+                if (next) {
+                    final Object[] row = new Object[read.length];
+                    for (int i = 0; i < read.length; i++) {
+                        if (read[i]) {
+                            final Entry<Field, Bind> bfield = bfields.get(i);
+                            row[i] = Utils.value(bfield.getKey(), results, bfield.getValue().label());
+                        }
+                    }
+                    values.add(row);
+                }
+                call.fetchNanos += nanoTime() - fetching;
+                if (!next || values.size() == pipeline.batch) {
+                    if (!values.isEmpty()) {
+                        final List<Object[]> submitted = values;
+                        final FutureTask<List<T>> task = new FutureTask<>(() -> {
+                            if (Thread.currentThread() == reader) {
+                                return bind(submitted, labels, klass, bindNanos);
+                            }
+                            crawls.set(crawl);
+                            observe(observer);
+                            try {
+                                return bind(submitted, labels, klass, bindNanos);
+                            } finally {
+                                crawls.remove();
+                                observe(null);
+                            }
+                        });
+                        pending.add(task);
+                        pipeline.executor.execute(task);
+                        values = new ArrayList<>(pipeline.batch);
+                    }
+                    while (!pending.isEmpty() && (!next || pending.size() >= pipeline.capacity)) {
+                        final List<T> drained = drain(pending.removeFirst());
+                        call.rows += drained.size();
+                        instances.addAll(drained);
+                    }
+                }
+                if (!next) {
+                    break;
+                }
+            }
+            while (!pending.isEmpty()) {
+                final List<T> drained = drain(pending.removeFirst());
+                call.rows += drained.size();
+                instances.addAll(drained);
             }
+            completed = true;
+        } finally {
+            if (!completed) { // let batches in flight finish before the state is released
+                for (final FutureTask<List<T>> task : pending) {
+                    task.cancel(false);
+                    try {
+                        task.get();
+                    } catch (final Exception e) {
+                        // empty
+                    }
+                }
+            }
+            call.bindNanos += bindNanos.get();
         }
-        return list;
+        events.commitBatch(batch, klass, call.rows - rows);
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getBestRowIdentifier(java.lang.String, java.lang.String, java.lang.String, int,
-     * boolean)} with given arguments and returns bound information.
+     * Binds given values, copied from records, as specified type along with their lists.
      *
-     * @param catalog  the value for {@code catalog} parameter
-     * @param schema   the value for {@code schema} parameter
-     * @param table    the value for {@code table} parameter
-     * @param scope    the value for {@code scope} parameter
-     * @param nullable the value for {@code nullable} parameter
-     * @return a list of best row identifies
+     * @param <T>       binding type parameter
+     * @param values    the values of records
+     * @param labels    the labels of the records
+     * @param klass     the type of instances
+     * @param bindNanos the accumulator of binding times
+     * @return a list of bound instances
      * @throws SQLException if a database error occurs.
-     * @see DatabaseMetaData#getBestRowIdentifier(String, String, String, int, boolean)
      */
-    public List<BestRowIdentifier> getBestRowIdentifier(final String catalog, final String schema, final String table,
-                                                        final int scope, final boolean nullable)
+    private <T> List<T> bind(final List<Object[]> values, final Set<String> labels, final Class<T> klass,
+                             final AtomicLong bindNanos)
             throws SQLException {
-        final List<BestRowIdentifier> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getBestRowIdentifier(catalog, schema, table, scope, nullable)) {
-            if (results != null) {
-                bind(results, BestRowIdentifier.class, list);
+        final List<T> instances = new ArrayList<>(values.size());
+        for (final Object[] row : values) {
+            final long binding = nanoTime();
+            final T instance;
+            try {
+                instance = klass.newInstance();
+            } catch (final ReflectiveOperationException roe) {
+                logger.log(SEVERE, format("failed to create new instance of %s", klass), roe);
+                continue;
+            }
+            bindFields(new HashSet<>(labels), (i, f, l) -> row[i], klass, instance);
+            bindNanos.addAndGet(nanoTime() - binding);
+            final Object phase = klass == Catalog.class || klass == Schema.class || klass == Table.class
+                                 ? events.beginPhase() : null;
+            bindInvokes(klass, instance);
+            final Consumer<Object> observer = observers.get();
+            if (observer != null) {
+                observer.accept(instance);
             }
+            events.commitPhase(phase, instance);
+            instances.add(instance);
+        }
+        return instances;
+    }
+
+    private static <T> List<T> drain(final FutureTask<List<T>> task) throws SQLException {
+        try {
+            return task.get();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted while binding", ie);
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
         }
-        return list;
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getCatalogs()} and returns bound information.
+     * Returns instances for given per-table invocation from a partition of the corresponding bulk result, fetching the
+     * bulk result from the provider for the first time.
      *
-     * @return a list of catalogs
+     * @param provider  the provider of the bulk result; may be {@code null}
+     * @param name      the name of the per-table method
+     * @param arguments the arguments of the per-table method
+     * @param ptype     the type of instances
+     * @param instance  the instance being bound
+     * @return a list of instances; {@code null} if no bulk result is available.
      * @throws SQLException if a database error occurs.
-     * @see DatabaseMetaData#getCatalogs()
      */
-    public List<Catalog> getCatalogs() throws SQLException {
-        final List<Catalog> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getCatalogs()) {
-            if (results != null) {
-                bind(results, Catalog.class, list);
+    private List<Object> bulk(final MetadataProvider provider, final String name, final Object[] arguments,
+                              final Class<?> ptype, final Object instance)
+            throws SQLException {
+        final Bulk bulk = BULKS.get(name);
+        if (provider == null || bulk == null) {
+            return null;
+        }
+        final Object[] masked = arguments.clone();
+        final List<Object> partition = new ArrayList<>(bulk.indices.length);
+        for (final int index : bulk.indices) {
+            partition.add(arguments[index]);
+            masked[index] = null;
+        }
+        final List<Object> key = new ArrayList<>(masked.length + 1);
+        key.add(name);
+        key.addAll(Arrays.asList(masked));
+        final Crawl crawl = crawls.get();
+        final List<Object> values;
+        synchronized (crawl) { // shared by pipelined threads
+            if (!crawl.partitions.containsKey(key)) {
+                crawl.partitions.put(key, partition(provider, bulk, masked, ptype, key, crawl));
             }
+            final Map<List<Object>, List<Object>> partitioned = crawl.partitions.get(key);
+            if (partitioned == null) {
+                return null;
+            }
+            if (crawl.incompletePartitions.contains(key)) {
+                incomplete(instance);
+            }
+            values = partitioned.remove(partition);
         }
-        return list;
+        return values == null ? new ArrayList<>() : values;
+    }
+
+    private Map<List<Object>, List<Object>> partition(final MetadataProvider provider, final Bulk bulk,
+                                                      final Object[] arguments, final Class<?> ptype,
+                                                      final List<Object> key, final Crawl crawl)
+            throws SQLException {
+        final MetadataCall call = new MetadataCall(bulk.method, arguments);
+        call.event = events.beginCall();
+        final long started = call.started = nanoTime();
+        final ResultSet results;
+        try {
+            results = bulk.fetch.fetch(provider, arguments);
+        } catch (final SQLException | RuntimeException e) {
+            call.fetchNanos += nanoTime() - started;
+            call.failed(e);
+            called(call, started);
+            logger.log(WARNING, format("failed to fetch %s with %s; falling back", bulk.method, key), e);
+            return null;
+        }
+        call.fetchNanos += nanoTime() - started;
+        if (results == null) {
+            return null;
+        }
+        final Map<List<Object>, List<Object>> partitioned = new HashMap<>();
+        try (ResultSet closing = results) {
+            bind(closing, ptype, call, (r, i) -> {
+                final List<Object> partition = new ArrayList<>(bulk.labels.length);
+                for (final String label : bulk.labels) {
+                    partition.add(r.getString(label));
+                }
+                List<Object> values = partitioned.get(partition);
+                if (values == null) {
+                    values = new ArrayList<>();
+                    partitioned.put(partition, values);
+                }
+                values.add(i);
+            });
+        } catch (final SQLException | RuntimeException e) {
+            call.failed(e);
+            throw e;
+        } finally {
+            called(call, started);
+        }
+        if (call.incomplete) {
+            crawl.incompletePartitions.add(key);
+        }
+        return partitioned;
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getClientInfoProperties()} and returns bound information.
+     * Fetches a result set with given function from the provider, or from the {@link DatabaseMetaData} if the provider
+     * is not set or doesn't support.
      *
-     * @return a list of client info properties
+     * @param fetch the function returns a result set
+     * @return the result set
      * @throws SQLException if a database error occurs.
-     * @see DatabaseMetaData#getClientInfoProperties()
      */
-    public List<ClientInfoProperty> getClientInfoProperties() throws SQLException {
-        final List<ClientInfoProperty> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getClientInfoProperties()) {
+    private ResultSet fetch(final Fetch fetch) throws SQLException {
+        final MetadataProvider provider = this.provider;
+        if (provider != null) {
+            final ResultSet results = fetch.fetch(provider);
             if (results != null) {
-                bind(results, ClientInfoProperty.class, list);
+                return results;
             }
         }
-        return list;
+        return fetch.fetch(jdbc);
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getColumns(java.lang.String, java.lang.String, java.lang.String,
-     * java.lang.String)} with given arguments and returns bound information.
+     * Fetches a result set with given function and binds all records as specified type.
      *
-     * @param catalog           the value for {@code catalog} parameter
-     * @param schemaPattern     the value for {@code schemaPattern} parameter
-     * @param tableNamePattern  the value for {@code tableNameSchema} parameter
-     * @param columnNamePattern the value for {@code columnNamePattern} parameter
-     * @return a list of columns
+     * @param <T>       binding type parameter
+     * @param klass     the type of instances
+     * @param method    the name of the method of {@link DatabaseMetaData} being invoked
+     * @param arguments the arguments of the method
+     * @param fetch     the function returns a result set
+     * @return a list of bound instances
      * @throws SQLException if a database error occurs.
-     * @see DatabaseMetaData#getColumns(String, String, String, String)
      */
-    public List<Column> getColumns(final String catalog, final String schemaPattern, final String tableNamePattern,
-                                   final String columnNamePattern)
+    private <T> List<T> bind(final Class<T> klass, final String method, final Object[] arguments, final Fetch fetch)
             throws SQLException {
-        final List<Column> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getColumns(
-                catalog, schemaPattern, tableNamePattern, columnNamePattern)) {
+        final List<T> list = new ArrayList<>();
+        final MetadataBudget budget = this.budget;
+        if (budget != null && budget.isExhausted()) {
+            budget.overran();
+            throw new MetadataBudget.Overrun(method);
+        }
+        final MetadataCall call = new MetadataCall(method, arguments);
+        call.event = events.beginCall();
+        final long started = call.started = nanoTime();
+        final Crawl crawl = crawls.get();
+        crawl.depth++;
+        try {
+            final ResultSet results;
+            try {
+                results = fetch(fetch);
+            } finally {
+                call.fetchNanos += nanoTime() - started;
+            }
             if (results != null) {
-                bind(results, Column.class, list);
+                try (ResultSet closing = results) {
+                    bind(closing, klass, list, call);
+                }
             }
+        } catch (final SQLException | RuntimeException | Error e) {
+            call.failed(e);
+            throw e;
+        } finally {
+            if (--crawl.depth == 0) {
+                crawls.remove();
+            }
+            called(call, started);
+        }
+        if (call.incomplete) {
+            throw new MetadataBudget.Overrun(method);
         }
         return list;
     }
 
+    /**
+     * Fetches a result set with given function and returns a stream which binds each record as specified type when
+     * advanced. The result set is closed when the stream is exhausted or closed. An {@link SQLException} occurred
+     * while advancing is thrown wrapped in a {@link RuntimeException}.
+     *
+     * @param <T>       binding type parameter
+     * @param klass     the type of instances
+     * @param method    the name of the method of {@link DatabaseMetaData} being invoked
+     * @param arguments the arguments of the method
+     * @param fetch     the function returns a result set
+     * @return a stream of bound instances
+     * @throws SQLException if a database error occurs.
+     */
+    private <T> Stream<T> stream(final Class<T> klass, final String method, final Object[] arguments,
+                                 final Fetch fetch)
+            throws SQLException {
+        final MetadataBudget budget = this.budget;
+        if (budget != null && budget.isExhausted()) {
+            budget.overran();
+            throw new MetadataBudget.Overrun(method);
+        }
+        final MetadataCall call = new MetadataCall(method, arguments);
+        call.event = events.beginCall();
+        final long started = call.started = nanoTime();
+        final ResultSet results;
+        try {
+            results = fetch(fetch);
+        } catch (final SQLException | RuntimeException | Error e) {
+            call.fetchNanos += nanoTime() - started;
+            call.failed(e);
+            called(call, started);
+            throw e;
+        }
+        call.fetchNanos += nanoTime() - started;
+        if (results == null) {
+            called(call, started);
+            return Stream.empty();
+        }
+        final Cursor<T> cursor = new Cursor<>(results, klass, call, budget);
+        return StreamSupport.stream(cursor, false).onClose(cursor);
+    }
+
+    /**
+     * A spliterator binds each record of a result set when advanced, and closes the result set when exhausted or run.
+     *
+     * @param <T> binding type parameter
+     */
+    private final class Cursor<T> extends AbstractSpliterator<T> implements Runnable {
+
+        private Cursor(final ResultSet results, final Class<T> klass, final MetadataCall call,
+                       final MetadataBudget budget) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL | IMMUTABLE);
+            this.results = results;
+            this.klass = klass;
+            this.call = call;
+            this.budget = budget;
+            this.batch = events.beginBatch();
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            // bulk results are kept across records unless the stream is advanced within a chain of calls
+            if (crawls.get().depth == 0) {
+                crawls.set(crawl);
+            }
+            final Crawl current = crawls.get();
+            current.depth++;
+            final List<T> bound = new ArrayList<>(1);
+            final boolean advanced;
+            try {
+                advanced = next(results, klass, call, budget, (r, i) -> bound.add(i));
+            } catch (final SQLException sqle) {
+                call.failed(sqle);
+                run();
+                throw new RuntimeException(sqle);
+            } catch (final RuntimeException | Error e) {
+                call.failed(e);
+                run();
+                throw e;
+            } finally {
+                if (--current.depth == 0) {
+                    crawls.remove();
+                }
+            }
+            if (!advanced) {
+                run();
+                if (call.incomplete) {
+                    throw new RuntimeException(new MetadataBudget.Overrun(call.getMethod()));
+                }
+                return false;
+            }
+            action.accept(bound.get(0));
+            return true;
+        }
+
+        /**
+         * Closes the result set and notifies the call, if not already closed.
+         */
+        @Override
+        public void run() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            crawl.partitions.clear();
+            crawl.incompletePartitions.clear();
+            try {
+                results.close();
+            } catch (final SQLException sqle) {
+                logger.log(WARNING, format("failed to close results of %s", call.getMethod()), sqle);
+            } finally {
+                events.commitBatch(batch, klass, call.rows);
+                called(call, call.started);
+            }
+        }
+
+        private final ResultSet results;
+
+        private final Class<T> klass;
+
+        private final MetadataCall call;
+
+        private final MetadataBudget budget;
+
+        private final Object batch;
+
+        // the state of calls made while binding records; shared across records
+        private final Crawl crawl = new Crawl();
+
+        private boolean closed;
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getAttributes(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String)} with given arguments and returns bound information.
+     *
+     * @param catalog              the value for {@code catalog} parameter.
+     * @param schemaPattern        the value for {@code schemaPattern} parameter.
+     * @param typeNamePattern      the value for {@code typeNamePattern} parameter.
+     * @param attributeNamePattern the value for {@code attributeNamePattern} parameter.
+     * @return a list of attributes.
+     * @throws SQLException if a database error occurs.
+     */
+    public List<Attribute> getAttributes(final String catalog, final String schemaPattern, final String typeNamePattern,
+                                         final String attributeNamePattern)
+            throws SQLException {
+        return bind(Attribute.class, "getAttributes",
+                    new Object[] {catalog, schemaPattern, typeNamePattern, attributeNamePattern},
+                    p -> p.getAttributes(catalog, schemaPattern, typeNamePattern, attributeNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getBestRowIdentifier(java.lang.String, java.lang.String, java.lang.String, int,
+     * boolean)} with given arguments and returns bound information.
+     *
+     * @param catalog  the value for {@code catalog} parameter
+     * @param schema   the value for {@code schema} parameter
+     * @param table    the value for {@code table} parameter
+     * @param scope    the value for {@code scope} parameter
+     * @param nullable the value for {@code nullable} parameter
+     * @return a list of best row identifies
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getBestRowIdentifier(String, String, String, int, boolean)
+     */
+    public List<BestRowIdentifier> getBestRowIdentifier(final String catalog, final String schema, final String table,
+                                                        final int scope, final boolean nullable)
+            throws SQLException {
+        return bind(BestRowIdentifier.class, "getBestRowIdentifier",
+                    new Object[] {catalog, schema, table, scope, nullable},
+                    p -> p.getBestRowIdentifier(catalog, schema, table, scope, nullable));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getCatalogs()} and returns bound information.
+     *
+     * @return a list of catalogs
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getCatalogs()
+     */
+    public List<Catalog> getCatalogs() throws SQLException {
+        return bind(Catalog.class, "getCatalogs", new Object[0], MetadataProvider::getCatalogs);
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getClientInfoProperties()} and returns bound information.
+     *
+     * @return a list of client info properties
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getClientInfoProperties()
+     */
+    public List<ClientInfoProperty> getClientInfoProperties() throws SQLException {
+        return bind(ClientInfoProperty.class, "getClientInfoProperties", new Object[0],
+                    MetadataProvider::getClientInfoProperties);
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getColumns(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String)} with given arguments and returns bound information.
+     *
+     * @param catalog           the value for {@code catalog} parameter
+     * @param schemaPattern     the value for {@code schemaPattern} parameter
+     * @param tableNamePattern  the value for {@code tableNameSchema} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern} parameter
+     * @return a list of columns
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getColumns(String, String, String, String)
+     */
+    public List<Column> getColumns(final String catalog, final String schemaPattern, final String tableNamePattern,
+                                   final String columnNamePattern)
+            throws SQLException {
+        return bind(Column.class, "getColumns",
+                    new Object[] {catalog, schemaPattern, tableNamePattern, columnNamePattern},
+                    p -> p.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern));
+    }
+
     /**
      * Invokes {@link DatabaseMetaData#getColumnPrivileges(java.lang.String, java.lang.String, java.lang.String,
      * java.lang.String)} with given arguments and returns bound information.
@@ -437,13 +1310,9 @@ public class MetadataContext {
     public List<ColumnPrivilege> getColumnPrivileges(final String catalog, final String schema, final String table,
                                                      final String columnNamePattern)
             throws SQLException {
-        final List<ColumnPrivilege> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getColumnPrivileges(catalog, schema, table, columnNamePattern)) {
-            if (results != null) {
-                bind(results, ColumnPrivilege.class, list);
-            }
-        }
-        return list;
+        return bind(ColumnPrivilege.class, "getColumnPrivileges",
+                    new Object[] {catalog, schema, table, columnNamePattern},
+                    p -> p.getColumnPrivileges(catalog, schema, table, columnNamePattern));
     }
 
     /**
@@ -463,14 +1332,10 @@ public class MetadataContext {
                                                    final String parentTable, final String foreignCatalog,
                                                    final String foreignSchema, final String foreignTable)
             throws SQLException {
-        final List<CrossReference> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getCrossReference(
-                parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable)) {
-            if (results != null) {
-                bind(results, CrossReference.class, list);
-            }
-        }
-        return list;
+        return bind(CrossReference.class, "getCrossReference",
+                    new Object[] {parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable},
+                    p -> p.getCrossReference(parentCatalog, parentSchema, parentTable,
+                                             foreignCatalog, foreignSchema, foreignTable));
     }
 
     /**
@@ -487,14 +1352,9 @@ public class MetadataContext {
     public List<FunctionColumn> getFunctionColumns(final String catalog, final String schemaPattern,
                                                    final String functionNamePattern, final String columnNamePattern)
             throws SQLException {
-        final List<FunctionColumn> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getFunctionColumns(
-                catalog, schemaPattern, functionNamePattern, columnNamePattern)) {
-            if (results != null) {
-                bind(results, FunctionColumn.class, list);
-            }
-        }
-        return list;
+        return bind(FunctionColumn.class, "getFunctionColumns",
+                    new Object[] {catalog, schemaPattern, functionNamePattern, columnNamePattern},
+                    p -> p.getFunctionColumns(catalog, schemaPattern, functionNamePattern, columnNamePattern));
     }
 
     /**
@@ -511,13 +1371,8 @@ public class MetadataContext {
     public List<Function> getFunctions(final String catalog, final String schemaPattern,
                                        final String functionNamePattern)
             throws SQLException {
-        final List<Function> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getFunctions(catalog, schemaPattern, functionNamePattern)) {
-            if (results != null) {
-                bind(results, Function.class, list);
-            }
-        }
-        return list;
+        return bind(Function.class, "getFunctions", new Object[] {catalog, schemaPattern, functionNamePattern},
+                    p -> p.getFunctions(catalog, schemaPattern, functionNamePattern));
     }
 
     /**
@@ -532,13 +1387,8 @@ public class MetadataContext {
      */
     public List<ExportedKey> getExportedKeys(final String catalog, final String schema, final String table)
             throws SQLException {
-        final List<ExportedKey> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getExportedKeys(catalog, schema, table)) {
-            if (results != null) {
-                bind(results, ExportedKey.class, list);
-            }
-        }
-        return list;
+        return bind(ExportedKey.class, "getExportedKeys", new Object[] {catalog, schema, table},
+                    p -> p.getExportedKeys(catalog, schema, table));
     }
 
     /**
@@ -553,13 +1403,8 @@ public class MetadataContext {
      */
     public List<ImportedKey> getImportedKeys(final String catalog, final String schema, final String table)
             throws SQLException {
-        final List<ImportedKey> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getImportedKeys(catalog, schema, table)) {
-            if (results != null) {
-                bind(results, ImportedKey.class, list);
-            }
-        }
-        return list;
+        return bind(ImportedKey.class, "getImportedKeys", new Object[] {catalog, schema, table},
+                    p -> p.getImportedKeys(catalog, schema, table));
     }
 
     /**
@@ -577,13 +1422,8 @@ public class MetadataContext {
     public List<IndexInfo> getIndexInfo(final String catalog, final String schema, final String table,
                                         final boolean unique, final boolean approximate)
             throws SQLException {
-        final List<IndexInfo> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getIndexInfo(catalog, schema, table, unique, approximate)) {
-            if (results != null) {
-                bind(results, IndexInfo.class, list);
-            }
-        }
-        return list;
+        return bind(IndexInfo.class, "getIndexInfo", new Object[] {catalog, schema, table, unique, approximate},
+                    p -> p.getIndexInfo(catalog, schema, table, unique, approximate));
     }
 
     /**
@@ -598,13 +1438,8 @@ public class MetadataContext {
      */
     public List<PrimaryKey> getPrimaryKeys(final String catalog, final String schema, final String table)
             throws SQLException {
-        final List<PrimaryKey> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getPrimaryKeys(catalog, schema, table)) {
-            if (results != null) {
-                bind(results, PrimaryKey.class, list);
-            }
-        }
-        return list;
+        return bind(PrimaryKey.class, "getPrimaryKeys", new Object[] {catalog, schema, table},
+                    p -> p.getPrimaryKeys(catalog, schema, table));
     }
 
     /**
@@ -621,14 +1456,9 @@ public class MetadataContext {
     public List<ProcedureColumn> getProcedureColumns(final String catalog, final String schemaPattern,
                                                      final String procedureNamePattern, final String columnNamePattern)
             throws SQLException {
-        final List<ProcedureColumn> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getProcedureColumns(
-                catalog, schemaPattern, procedureNamePattern, columnNamePattern)) {
-            if (results != null) {
-                bind(results, ProcedureColumn.class, list);
-            }
-        }
-        return list;
+        return bind(ProcedureColumn.class, "getProcedureColumns",
+                    new Object[] {catalog, schemaPattern, procedureNamePattern, columnNamePattern},
+                    p -> p.getProcedureColumns(catalog, schemaPattern, procedureNamePattern, columnNamePattern));
     }
 
     /**
@@ -644,13 +1474,8 @@ public class MetadataContext {
     public List<Procedure> getProcedures(final String catalog, final String schemaPattern,
                                          final String procedureNamePattern)
             throws SQLException {
-        final List<Procedure> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getProcedures(catalog, schemaPattern, procedureNamePattern)) {
-            if (results != null) {
-                bind(results, Procedure.class, list);
-            }
-        }
-        return list;
+        return bind(Procedure.class, "getProcedures", new Object[] {catalog, schemaPattern, procedureNamePattern},
+                    p -> p.getProcedures(catalog, schemaPattern, procedureNamePattern));
     }
 
     /**
@@ -668,14 +1493,9 @@ public class MetadataContext {
     public List<PseudoColumn> getPseudoColumns(final String catalog, final String schemaPattern,
                                                final String tableNamePattern, final String columnNamePattern)
             throws SQLException {
-        final List<PseudoColumn> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getPseudoColumns(
-                catalog, schemaPattern, tableNamePattern, columnNamePattern)) {
-            if (results != null) {
-                bind(results, PseudoColumn.class, list);
-            }
-        }
-        return list;
+        return bind(PseudoColumn.class, "getPseudoColumns",
+                    new Object[] {catalog, schemaPattern, tableNamePattern, columnNamePattern},
+                    p -> p.getPseudoColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern));
     }
 
     /**
@@ -685,13 +1505,7 @@ public class MetadataContext {
      * @throws SQLException if a database error occurs.
      */
     public List<SchemaName> getSchemas() throws SQLException {
-        final List<SchemaName> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getSchemas()) {
-            if (results != null) {
-                bind(results, SchemaName.class, list);
-            }
-        }
-        return list;
+        return bind(SchemaName.class, "getSchemas", new Object[0], MetadataProvider::getSchemas);
     }
 
     /**
@@ -705,13 +1519,8 @@ public class MetadataContext {
      */
     public List<Schema> getSchemas(final String catalog, final String schemaPattern)
             throws SQLException {
-        final List<Schema> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getSchemas(catalog, schemaPattern)) {
-            if (results != null) {
-                bind(results, Schema.class, list);
-            }
-        }
-        return list;
+        return bind(Schema.class, "getSchemas", new Object[] {catalog, schemaPattern},
+                    p -> p.getSchemas(catalog, schemaPattern));
     }
 
     /**
@@ -728,13 +1537,8 @@ public class MetadataContext {
     public List<Table> getTables(final String catalog, final String schemaPattern, final String tableNamePattern,
                                  final String[] types)
             throws SQLException {
-        final List<Table> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getTables(catalog, schemaPattern, tableNamePattern, types)) {
-            if (results != null) {
-                bind(results, Table.class, list);
-            }
-        }
-        return list;
+        return bind(Table.class, "getTables", new Object[] {catalog, schemaPattern, tableNamePattern, types},
+                    p -> p.getTables(catalog, schemaPattern, tableNamePattern, types));
     }
 
     /**
@@ -750,13 +1554,8 @@ public class MetadataContext {
     public List<TablePrivilege> getTablePrivileges(final String catalog, final String schemaPattern,
                                                    final String tableNamePattern)
             throws SQLException {
-        final List<TablePrivilege> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getTablePrivileges(catalog, schemaPattern, tableNamePattern)) {
-            if (results != null) {
-                bind(results, TablePrivilege.class, list);
-            }
-        }
-        return list;
+        return bind(TablePrivilege.class, "getTablePrivileges", new Object[] {catalog, schemaPattern, tableNamePattern},
+                    p -> p.getTablePrivileges(catalog, schemaPattern, tableNamePattern));
     }
 
     /**
@@ -766,13 +1565,7 @@ public class MetadataContext {
      * @throws SQLException if a database error occurs.
      */
     public List<TableType> getTableTypes() throws SQLException {
-        final List<TableType> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getTableTypes()) {
-            if (results != null) {
-                bind(results, TableType.class, list);
-            }
-        }
-        return list;
+        return bind(TableType.class, "getTableTypes", new Object[0], MetadataProvider::getTableTypes);
     }
 
     /**
@@ -782,13 +1575,7 @@ public class MetadataContext {
      * @throws SQLException if a database error occurs.
      */
     public List<TypeInfo> getTypeInfo() throws SQLException {
-        final List<TypeInfo> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getTypeInfo()) {
-            if (results != null) {
-                bind(results, TypeInfo.class, list);
-            }
-        }
-        return list;
+        return bind(TypeInfo.class, "getTypeInfo", new Object[0], MetadataProvider::getTypeInfo);
     }
 
     /**
@@ -805,13 +1592,8 @@ public class MetadataContext {
     public List<UDT> getUDTs(final String catalog, final String schemaPattern,
                              final String typeNamePattern, final int[] types)
             throws SQLException {
-        final List<UDT> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getUDTs(catalog, schemaPattern, typeNamePattern, types)) {
-            if (results != null) {
-                bind(results, UDT.class, list);
-            }
-        }
-        return list;
+        return bind(UDT.class, "getUDTs", new Object[] {catalog, schemaPattern, typeNamePattern, types},
+                    p -> p.getUDTs(catalog, schemaPattern, typeNamePattern, types));
     }
 
     /**
@@ -826,90 +1608,779 @@ public class MetadataContext {
      */
     public List<VersionColumn> getVersionColumns(final String catalog, final String schema, final String table)
             throws SQLException {
-        final List<VersionColumn> list = new ArrayList<>();
-        try (ResultSet results = databaseMetadata.getVersionColumns(catalog, schema, table)) {
-            if (results != null) {
-                bind(results, VersionColumn.class, list);
-            }
-        }
-        return list;
-    }
-
-    // ------------------------------------------------------------------------------------------------ databaseMetadata
-    @Deprecated
-    private DatabaseMetaData getMetaData() {
-        return databaseMetadata;
+        return bind(VersionColumn.class, "getVersionColumns", new Object[] {catalog, schema, table},
+                    p -> p.getVersionColumns(catalog, schema, table));
     }
 
-    // ------------------------------------------------------------------------------------------------- suppressedPaths
-    private Set<String> getSuppressedPaths() {
-        if (suppressedPaths == null) {
-            suppressedPaths = new HashSet<>();
-        }
-        return suppressedPaths;
-    }
+    // -----------------------------------------------------------------------------------------------------------------
 
-    private void addSuppressionPath(@NonNull final String suppressionPath) {
-        getSuppressedPaths().add(suppressionPath);
+    /**
+     * Invokes {@link DatabaseMetaData#getAttributes(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String)} with given arguments and returns a stream of bound information.
+     *
+     * @param catalog              the value for {@code catalog} parameter.
+     * @param schemaPattern        the value for {@code schemaPattern} parameter.
+     * @param typeNamePattern      the value for {@code typeNamePattern} parameter.
+     * @param attributeNamePattern the value for {@code attributeNamePattern} parameter.
+     * @return a stream of attributes.
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<Attribute> streamAttributes(final String catalog, final String schemaPattern,
+                                              final String typeNamePattern, final String attributeNamePattern)
+            throws SQLException {
+        return stream(Attribute.class, "getAttributes",
+                      new Object[] {catalog, schemaPattern, typeNamePattern, attributeNamePattern},
+                      p -> p.getAttributes(catalog, schemaPattern, typeNamePattern, attributeNamePattern));
     }
 
     /**
-     * Adds suppression paths and returns this instance.
+     * Invokes {@link DatabaseMetaData#getBestRowIdentifier(java.lang.String, java.lang.String, java.lang.String, int,
+     * boolean)} with given arguments and returns a stream of bound information.
      *
-     * @param suppressionPath the first suppression suppressionPath
-     * @param otherPaths      other suppression paths
-     * @return this instance
+     * @param catalog  the value for {@code catalog} parameter
+     * @param schema   the value for {@code schema} parameter
+     * @param table    the value for {@code table} parameter
+     * @param scope    the value for {@code scope} parameter
+     * @param nullable the value for {@code nullable} parameter
+     * @return a stream of best row identifies
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getBestRowIdentifier(String, String, String, int, boolean)
      */
-    public MetadataContext addSuppressionPaths(@NonNull final String suppressionPath,
-                                               @NonNull final String... otherPaths) {
-        addSuppressionPath(suppressionPath);
-        for (final String otherPath : otherPaths) {
-            addSuppressionPath(otherPath);
-        }
-        return this;
+    public Stream<BestRowIdentifier> streamBestRowIdentifier(final String catalog, final String schema,
+                                                             final String table, final int scope,
+                                                             final boolean nullable)
+            throws SQLException {
+        return stream(BestRowIdentifier.class, "getBestRowIdentifier",
+                      new Object[] {catalog, schema, table, scope, nullable},
+                      p -> p.getBestRowIdentifier(catalog, schema, table, scope, nullable));
     }
 
-    private boolean isSuppressionPath(@NonNull final String suppressionPath) {
-        return getSuppressedPaths().contains(suppressionPath);
+    /**
+     * Invokes {@link DatabaseMetaData#getCatalogs()} and returns a stream of bound information.
+     *
+     * @return a stream of catalogs
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getCatalogs()
+     */
+    public Stream<Catalog> streamCatalogs() throws SQLException {
+        return stream(Catalog.class, "getCatalogs", new Object[0], MetadataProvider::getCatalogs);
     }
 
-    // --------------------------------------------------------------------------------------------------------- bfields
-    private Map<Field, Bind> bfields(@NonNull final Class<?> klass) {
-        Map<Field, Bind> value = bfields.get(klass);
-        if (value == null) {
-            value = fields(klass, Bind.class);
-            for (Field field : value.keySet()) {
-                if (!field.isAccessible()) {
-                    field.setAccessible(true);
-                }
-            }
-            bfields.put(klass, unmodifiableMap(value));
-        }
-        return value;
+    /**
+     * Invokes {@link DatabaseMetaData#getClientInfoProperties()} and returns a stream of bound information.
+     *
+     * @return a stream of client info properties
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getClientInfoProperties()
+     */
+    public Stream<ClientInfoProperty> streamClientInfoProperties() throws SQLException {
+        return stream(ClientInfoProperty.class, "getClientInfoProperties", new Object[0],
+                      MetadataProvider::getClientInfoProperties);
     }
 
-    // --------------------------------------------------------------------------------------------------------- ifields
-    private Map<Field, Invoke> ifields(@NonNull final Class<?> klass) {
-        Map<Field, Invoke> value = ifields.get(klass);
-        if (value == null) {
-            value = fields(klass, Invoke.class);
-            for (Field field : value.keySet()) {
-                if (!field.isAccessible()) {
-                    field.setAccessible(true);
+    /**
+     * Invokes {@link DatabaseMetaData#getColumns(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String)} with given arguments and returns a stream of bound information.
+     *
+     * @param catalog           the value for {@code catalog} parameter
+     * @param schemaPattern     the value for {@code schemaPattern} parameter
+     * @param tableNamePattern  the value for {@code tableNameSchema} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern} parameter
+     * @return a stream of columns
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getColumns(String, String, String, String)
+     */
+    public Stream<Column> streamColumns(final String catalog, final String schemaPattern, final String tableNamePattern,
+                                        final String columnNamePattern)
+            throws SQLException {
+        return stream(Column.class, "getColumns",
+                      new Object[] {catalog, schemaPattern, tableNamePattern, columnNamePattern},
+                      p -> p.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getColumnPrivileges(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String)} with given arguments and returns a stream of bound information.
+     *
+     * @param catalog           the value for {@code catalog} parameter
+     * @param schema            the value for {@code schema} parameter
+     * @param table             the value for {@code table} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern} parameter
+     * @return a stream of column privileges
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getColumnPrivileges(String, String, String, String)
+     */
+    public Stream<ColumnPrivilege> streamColumnPrivileges(final String catalog, final String schema, final String table,
+                                                          final String columnNamePattern)
+            throws SQLException {
+        return stream(ColumnPrivilege.class, "getColumnPrivileges",
+                      new Object[] {catalog, schema, table, columnNamePattern},
+                      p -> p.getColumnPrivileges(catalog, schema, table, columnNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getCrossReference(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String, java.lang.String, java.lang.String)} with given arguments and returns a stream of bound
+     * information.
+     *
+     * @param parentCatalog  the value for {@code parentCatalog} parameter
+     * @param parentSchema   the value for {@code parentSchema} parameter
+     * @param parentTable    the value for {@code parentTable} parameter
+     * @param foreignCatalog the value for {@code foreignCatalog} parameter
+     * @param foreignSchema  the value for {@code foreignSchema} parameter
+     * @param foreignTable   the value for {@code foreignTable} parameter
+     * @return a stream of cross references
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<CrossReference> streamCrossReferences(final String parentCatalog, final String parentSchema,
+                                                        final String parentTable, final String foreignCatalog,
+                                                        final String foreignSchema, final String foreignTable)
+            throws SQLException {
+        return stream(CrossReference.class, "getCrossReference",
+                      new Object[] {parentCatalog, parentSchema, parentTable,
+                                    foreignCatalog, foreignSchema, foreignTable},
+                      p -> p.getCrossReference(parentCatalog, parentSchema, parentTable,
+                                               foreignCatalog, foreignSchema, foreignTable));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getFunctionColumns(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String)} with given arguments and returns a stream of bound information.
+     *
+     * @param catalog             the value for {@code catalog} parameter
+     * @param schemaPattern       the value for {@code schemaPattern} parameter
+     * @param functionNamePattern the value for {@code functionNamePattern} parameter
+     * @param columnNamePattern   the value for {@code columnNamePattern} parameter
+     * @return a stream of function columns
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<FunctionColumn> streamFunctionColumns(final String catalog, final String schemaPattern,
+                                                        final String functionNamePattern,
+                                                        final String columnNamePattern)
+            throws SQLException {
+        return stream(FunctionColumn.class, "getFunctionColumns",
+                      new Object[] {catalog, schemaPattern, functionNamePattern, columnNamePattern},
+                      p -> p.getFunctionColumns(catalog, schemaPattern, functionNamePattern, columnNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getFunctions(java.lang.String, java.lang.String, java.lang.String)} with given
+     * arguments and returns a stream of bound information.
+     *
+     * @param catalog             the value for {@code catalog} parameter
+     * @param schemaPattern       the value for {@code schemaPattern} parameter
+     * @param functionNamePattern the value for {@code functionNamePattern} parameter
+     * @return a stream of functions
+     * @throws SQLException if a database error occurs.
+     * @see DatabaseMetaData#getFunctions(String, String, String)
+     */
+    public Stream<Function> streamFunctions(final String catalog, final String schemaPattern,
+                                            final String functionNamePattern)
+            throws SQLException {
+        return stream(Function.class, "getFunctions", new Object[] {catalog, schemaPattern, functionNamePattern},
+                      p -> p.getFunctions(catalog, schemaPattern, functionNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getExportedKeys(java.lang.String, java.lang.String, java.lang.String)} with given
+     * arguments and returns a stream of bound information.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema  the value for {@code schema} parameter
+     * @param table   the value for {@code table} parameter
+     * @return a stream of exported keys
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<ExportedKey> streamExportedKeys(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return stream(ExportedKey.class, "getExportedKeys", new Object[] {catalog, schema, table},
+                      p -> p.getExportedKeys(catalog, schema, table));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getImportedKeys(java.lang.String, java.lang.String, java.lang.String)} with given
+     * arguments and returns a stream of bound information.
+     *
+     * @param catalog catalog the value for {@code catalog} parameter
+     * @param schema  schema the value for {@code schema} parameter
+     * @param table   table the value for {@code table} parameter
+     * @return a stream of imported keys
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<ImportedKey> streamImportedKeys(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return stream(ImportedKey.class, "getImportedKeys", new Object[] {catalog, schema, table},
+                      p -> p.getImportedKeys(catalog, schema, table));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getIndexInfo(java.lang.String, java.lang.String, java.lang.String, boolean,
+     * boolean)} with given arguments and returns a stream of bound information.
+     *
+     * @param catalog     catalog the value for {@code catalog} parameter
+     * @param schema      schema the value for {@code schema} parameter
+     * @param table       table the value for {@code table} parameter
+     * @param unique      unique the value for {@code unique} parameter
+     * @param approximate approximate the value for {@code approximage} parameter
+     * @return a stream of index info
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<IndexInfo> streamIndexInfo(final String catalog, final String schema, final String table,
+                                             final boolean unique, final boolean approximate)
+            throws SQLException {
+        return stream(IndexInfo.class, "getIndexInfo", new Object[] {catalog, schema, table, unique, approximate},
+                      p -> p.getIndexInfo(catalog, schema, table, unique, approximate));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getPrimaryKeys(java.lang.String, java.lang.String, java.lang.String)} with given
+     * arguments and returns a stream of bound information.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema  the value for {@code schema} parameter
+     * @param table   the value for {@code table} parameter
+     * @return a stream of primary keys
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<PrimaryKey> streamPrimaryKeys(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return stream(PrimaryKey.class, "getPrimaryKeys", new Object[] {catalog, schema, table},
+                      p -> p.getPrimaryKeys(catalog, schema, table));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getProcedureColumns(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String)} with given arguments and returns a stream of bound information.
+     *
+     * @param catalog              the value for {@code catalog} parameter
+     * @param schemaPattern        the value for {@code schemaPattern} parameter
+     * @param procedureNamePattern the value for {@code procedureNamePattern} parameter
+     * @param columnNamePattern    the value for {@code columnNamePattern} parameter
+     * @return a stream of procedure columns
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<ProcedureColumn> streamProcedureColumns(final String catalog, final String schemaPattern,
+                                                          final String procedureNamePattern,
+                                                          final String columnNamePattern)
+            throws SQLException {
+        return stream(ProcedureColumn.class, "getProcedureColumns",
+                      new Object[] {catalog, schemaPattern, procedureNamePattern, columnNamePattern},
+                      p -> p.getProcedureColumns(catalog, schemaPattern, procedureNamePattern, columnNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getProcedures(java.lang.String, java.lang.String, java.lang.String)} with given
+     * arguments and returns a stream of bound information.
+     *
+     * @param catalog              the value for {@code catalog} parameter
+     * @param schemaPattern        the value for {@code schemaPattern} parameter
+     * @param procedureNamePattern the value for {@code procedureNamePattern} parameter
+     * @return a stream of procedures
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<Procedure> streamProcedures(final String catalog, final String schemaPattern,
+                                              final String procedureNamePattern)
+            throws SQLException {
+        return stream(Procedure.class, "getProcedures", new Object[] {catalog, schemaPattern, procedureNamePattern},
+                      p -> p.getProcedures(catalog, schemaPattern, procedureNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getPseudoColumns(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String)} with given arguments and returns a stream of bound information.
+     *
+     * @param catalog           a value for {@code catalog} parameter.
+     * @param schemaPattern     a value for {@code schemaPattern} parameter.
+     * @param tableNamePattern  a value for {@code tableNamePattern} parameter.
+     * @param columnNamePattern a value for {@code columnNamePattern} parameter.
+     * @return a stream of pseudo columns
+     * @throws SQLException if a database error occurs.
+     */
+    @IgnoreJRERequirement // getPseudoColumns since 1.7
+    public Stream<PseudoColumn> streamPseudoColumns(final String catalog, final String schemaPattern,
+                                                    final String tableNamePattern, final String columnNamePattern)
+            throws SQLException {
+        return stream(PseudoColumn.class, "getPseudoColumns",
+                      new Object[] {catalog, schemaPattern, tableNamePattern, columnNamePattern},
+                      p -> p.getPseudoColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getSchemas()} and returns a stream of bound information.
+     *
+     * @return a stream of schemas
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<SchemaName> streamSchemas() throws SQLException {
+        return stream(SchemaName.class, "getSchemas", new Object[0], MetadataProvider::getSchemas);
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getSchemas(java.lang.String, java.lang.String)} with given arguments and returns
+     * a stream of bound information.
+     *
+     * @param catalog       the value for {@code catalog} parameter.
+     * @param schemaPattern the value for {@code schemaPattern} parameter.
+     * @return a stream of schemas
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<Schema> streamSchemas(final String catalog, final String schemaPattern)
+            throws SQLException {
+        return stream(Schema.class, "getSchemas", new Object[] {catalog, schemaPattern},
+                      p -> p.getSchemas(catalog, schemaPattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getTables(java.lang.String, java.lang.String, java.lang.String,
+     * java.lang.String[])} with given arguments and returns a stream of bound information.
+     *
+     * @param catalog          the value for {@code catalog} parameter
+     * @param schemaPattern    the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @param types            the value for {@code types} parameter
+     * @return a stream of tables
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<Table> streamTables(final String catalog, final String schemaPattern, final String tableNamePattern,
+                                      final String[] types)
+            throws SQLException {
+        return stream(Table.class, "getTables", new Object[] {catalog, schemaPattern, tableNamePattern, types},
+                      p -> p.getTables(catalog, schemaPattern, tableNamePattern, types));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getTablePrivileges(java.lang.String, java.lang.String, java.lang.String)} with
+     * given arguments and returns a stream of bound information.
+     *
+     * @param catalog          the value for {@code catalog} parameter
+     * @param schemaPattern    the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @return a stream of table privileges
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<TablePrivilege> streamTablePrivileges(final String catalog, final String schemaPattern,
+                                                        final String tableNamePattern)
+            throws SQLException {
+        return stream(TablePrivilege.class, "getTablePrivileges",
+                      new Object[] {catalog, schemaPattern, tableNamePattern},
+                      p -> p.getTablePrivileges(catalog, schemaPattern, tableNamePattern));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getTableTypes()} and returns a stream of bound information.
+     *
+     * @return a stream of table types
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<TableType> streamTableTypes() throws SQLException {
+        return stream(TableType.class, "getTableTypes", new Object[0], MetadataProvider::getTableTypes);
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getTypeInfo()} and returns a stream of bound information.
+     *
+     * @return a stream of type info
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<TypeInfo> streamTypeInfo() throws SQLException {
+        return stream(TypeInfo.class, "getTypeInfo", new Object[0], MetadataProvider::getTypeInfo);
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getUDTs(java.lang.String, java.lang.String, java.lang.String, int[])} with given
+     * arguments and returns a stream of bound information.
+     *
+     * @param catalog         the value for {@code catalog} parameter.
+     * @param schemaPattern   the value for {@code schemaPattern} parameter
+     * @param typeNamePattern the value for {@code typeNamePattern} parameter.
+     * @param types           the value for {@code type} parameter
+     * @return a stream of UDTs
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<UDT> streamUDTs(final String catalog, final String schemaPattern,
+                                  final String typeNamePattern, final int[] types)
+            throws SQLException {
+        return stream(UDT.class, "getUDTs", new Object[] {catalog, schemaPattern, typeNamePattern, types},
+                      p -> p.getUDTs(catalog, schemaPattern, typeNamePattern, types));
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getVersionColumns(java.lang.String, java.lang.String, java.lang.String)} with
+     * given arguments and returns a stream of bound information.
+     *
+     * @param catalog catalog the value for {@code catalog} parameter
+     * @param schema  schema the value for {@code schema} parameter
+     * @param table   table the value for {@code table} parameter
+     * @return a stream of version columns
+     * @throws SQLException if a database access error occurs.
+     */
+    public Stream<VersionColumn> streamVersionColumns(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return stream(VersionColumn.class, "getVersionColumns", new Object[] {catalog, schema, table},
+                      p -> p.getVersionColumns(catalog, schema, table));
+    }
+
+    // ------------------------------------------------------------------------------------------------ databaseMetadata
+    DatabaseMetaData getMetaData() {
+        return databaseMetadata;
+    }
+
+    // ---------------------------------------------------------------------------------------------------------- budget
+
+    /**
+     * Returns the budget of this context.
+     *
+     * @return the budget of this context; {@code null} if not set.
+     */
+    public MetadataBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the budget of this context. Once given budget is overrun, results are cut short and instances whose lists
+     * are cut short are marked as incomplete. Getters of this context, which have no instance to mark, throw an {@link
+     * SQLTimeoutException} instead.
+     *
+     * @param budget the budget; {@code null} for no limits.
+     * @return this instance
+     */
+    public MetadataContext setBudget(final MetadataBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    private static void incomplete(final Object instance) {
+        final Field field = INCOMPLETE.get(instance.getClass());
+        if (field == null) {
+            return;
+        }
+        try {
+            field.set(instance, Boolean.TRUE);
+        } catch (final IllegalAccessException iae) {
+            logger.log(FINE, format("failed to mark %s as incomplete", instance), iae);
+        }
+    }
+
+    // --------------------------------------------------------------------------------------------------- bestRowScopes
+
+    /**
+     * Returns scopes of given parameters of {@link #getBestRowIdentifier(String, String, String, int, boolean)}.
+     *
+     * @param sets the parameters
+     * @return an array of scopes; {@code null} if any scope is not a literal.
+     */
+    private static int[] scopes(final Literals[] sets) {
+        final int[] scopes = new int[sets.length];
+        for (int i = 0; i < sets.length; i++) {
+            final String[] literals = sets[i].value();
+            try {
+                scopes[i] = Integer.parseInt(literals[3]);
+            } catch (final ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                return null;
+            }
+        }
+        return scopes;
+    }
+
+    /**
+     * Verifies whether identifiers of each scope, bound with separate calls, are the same as those derived from the
+     * widest scope, and records the result unless no identifier is found.
+     *
+     * @param identifiers the identifiers bound for all scopes, in order
+     * @param bounds      the start index of each scope in {@code identifiers}, followed by the size
+     * @param scopes      the scopes
+     * @param widest      the index of the widest scope
+     */
+    private void verify(final List<Object> identifiers, final int[] bounds, final int[] scopes, final int widest) {
+        final List<Object> derived = scoped(identifiers.subList(bounds[widest], bounds[widest + 1]), scopes);
+        if (derived.isEmpty() && identifiers.isEmpty()) {
+            return; // nothing to tell
+        }
+        boolean same = derived.size() == identifiers.size();
+        for (int i = 0; same && i < derived.size(); i++) {
+            final BestRowIdentifier d = (BestRowIdentifier) derived.get(i);
+            final BestRowIdentifier s = (BestRowIdentifier) identifiers.get(i);
+            same = d.getScope() == s.getScope() && d.getPseudoColumn() == s.getPseudoColumn()
+                   && Objects.equals(d.getColumnName(), s.getColumnName());
+        }
+        if (bestRowScopesMergeable == null) {
+            bestRowScopesMergeable = same;
+            if (!same) {
+                logger.warning("best row identifiers differ by scope; not merging scopes");
+            }
+        }
+    }
+
+    // the index of the widest scope; the first one if duplicates
+    private static int widest(final int[] scopes) {
+        int widest = 0;
+        for (int i = 1; i < scopes.length; i++) {
+            if (scopes[i] > scopes[widest]) {
+                widest = i;
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * Derives, from given identifiers of the widest scope, identifiers of each of specified scopes. An identifier is
+     * included for each scope not wider than its {@code SCOPE}. Derived lists share instances.
+     *
+     * @param widest the identifiers of the widest scope
+     * @param scopes the scopes to derive
+     * @return a list of identifiers derived for each scope, in order.
+     */
+    private static List<Object> scoped(final List<Object> widest, final int[] scopes) {
+        final List<Object> scoped = new ArrayList<>(widest.size() * scopes.length);
+        for (final int scope : scopes) {
+            for (final Object identifier : widest) {
+                if (((BestRowIdentifier) identifier).getScope() >= scope) {
+                    scoped.add(identifier);
                 }
             }
-            ifields.put(klass, unmodifiableMap(value));
         }
-        return value;
+        return scoped;
+    }
+
+    // ----------------------------------------------------------------------------------------------------- unsupported
+
+    /**
+     * Checks whether given throwable indicates a method is not supported by the driver.
+     *
+     * @param thrown the throwable thrown by a method
+     * @return {@code true} if the method is not supported; {@code false} otherwise.
+     */
+    private static boolean unsupported(final Throwable thrown) {
+        return thrown instanceof SQLFeatureNotSupportedException || thrown instanceof AbstractMethodError
+               || thrown instanceof NoSuchMethodError;
+    }
+
+    /**
+     * Records given method, with given literal parameters, as not supported so that the method is skipped with the
+     * same parameters for all further instances. Only the first record of each key is logged.
+     *
+     * @param key    the name of the method followed by its literal parameters
+     * @param thrown the throwable thrown by the method; {@code null} if the method returned {@code null}
+     */
+    private void unsupported(final String key, final Throwable thrown) {
+        if (unsupportedMethods.putIfAbsent(key, new AtomicLong()) == null) {
+            logger.log(WARNING, format("unsupported method; %s; skipping for further instances", key), thrown);
+        }
+    }
+
+    /**
+     * Returns the names of methods which have been found not supported by the driver, or by the provider, mapped to
+     * the numbers of calls skipped since. A method is regarded as not supported once it throws a {@link
+     * SQLFeatureNotSupportedException}, an {@link AbstractMethodError} or a {@link NoSuchMethodError}, or returns
+     * {@code null}. A method is regarded as not supported only for the set of literal parameters it failed with, e.g.
+     * a single scope of {@link #getBestRowIdentifier(String, String, String, int, boolean)}; other sets of the method
+     * are still invoked. Each method is invoked, and logged, only for the first instance with each failed set and
+     * results of the set are left unbound for further instances.
+     *
+     * @return a map of names of unsupported methods and numbers of skipped calls, summed for all failed sets.
+     * @see #addSuppressionPaths(String, String...)
+     */
+    public Map<String, Long> getUnsupportedMethods() {
+        final Map<String, Long> summary = new TreeMap<>();
+        for (final Entry<String, AtomicLong> entry : unsupportedMethods.entrySet()) {
+            final String key = entry.getKey();
+            summary.merge(key.substring(0, key.indexOf('[')), entry.getValue().get(), Long::sum);
+        }
+        return summary;
+    }
+
+    // -------------------------------------------------------------------------------------------------------- provider
+
+    /**
+     * Returns the provider of this context.
+     *
+     * @return the provider of this context; {@code null} if not set.
+     */
+    public MetadataProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * Sets the provider of this context. Once set, methods supported by given provider are invoked on it instead of
+     * the {@link DatabaseMetaData}, and per-table methods with bulk variants supported by given provider are invoked
+     * once for each schema and their results are partitioned by table names.
+     *
+     * @param provider the provider; {@code null} for invoking methods of the {@link DatabaseMetaData} only.
+     * @return this instance
+     * @see MetadataProvider
+     */
+    public MetadataContext setProvider(final MetadataProvider provider) {
+        this.provider = provider;
+        return this;
+    }
+
+    // ------------------------------------------------------------------------------------------------------- observers
+
+    /**
+     * Sets the observer of the current thread which is passed with each instance, at any depth, once the instance and
+     * its lists are bound.
+     *
+     * @param observer the observer; {@code null} for removing
+     * @see MetadataPublisher
+     */
+    void observe(final Consumer<Object> observer) {
+        if (observer == null) {
+            observers.remove();
+            return;
+        }
+        observers.set(observer);
+    }
+
+    // -------------------------------------------------------------------------------------------------------- pipeline
+
+    /**
+     * Sets the executor on which records are bound in a pipeline. Once set, the thread reading a result set only
+     * copies values of each record into batches, and instances are bound along with their lists on given executor,
+     * concurrently with reading. Lists of instances are bound in place on the executor. The provider and the
+     * {@link DatabaseMetaData} should allow concurrent invocations.
+     *
+     * @param executor the executor; {@code null} for binding on the reading thread
+     * @param batch    the number of records in each batch
+     * @param capacity the maximum number of batches in flight
+     * @return this instance
+     */
+    public MetadataContext setPipeline(final Executor executor, final int batch, final int capacity) {
+        if (batch <= 0) {
+            throw new IllegalArgumentException("batch(" + batch + ") <= 0");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity(" + capacity + ") <= 0");
+        }
+        pipeline = executor == null ? null : new Pipeline(executor, batch, capacity);
+        return this;
+    }
+
+    /**
+     * Sets the executor on which records are bound in a pipeline with default batch size and capacity.
+     *
+     * @param executor the executor; {@code null} for binding on the reading thread
+     * @return this instance
+     * @see #setPipeline(Executor, int, int)
+     */
+    public MetadataContext setPipeline(final Executor executor) {
+        return setPipeline(executor, 64, 16);
+    }
+
+    // --------------------------------------------------------------------------------------------------- bestRowScopes
+
+    /**
+     * Indicates whether {@link Table#getBestRowIdentifiers() best row identifiers} of tables are bound with a single
+     * call of the widest scope.
+     *
+     * @return {@code true} if scopes are merged; {@code false} otherwise.
+     * @see #setMergingBestRowScopes(boolean)
+     */
+    public boolean isMergingBestRowScopes() {
+        return mergingBestRowScopes;
+    }
+
+    /**
+     * Sets whether {@link Table#getBestRowIdentifiers() best row identifiers} of tables are bound with a single call
+     * of the widest scope, rather than with a call for each scope. Once set, identifiers of narrower scopes are derived
+     * from the {@code SCOPE} of each identifier of the widest scope, which is valid for all narrower scopes, and lists
+     * share the same instances. The result is the same as that of separate calls only for drivers which ignore the
+     * {@code scope} argument, as most do; a driver may report identifiers, e.g. a {@code ROWID}, only for narrower
+     * scopes. Hence scopes are still called separately until a table with any identifier is found, and merged for
+     * further tables only if the separate results of the table are the same as those derived; otherwise scopes are
+     * never merged by this context. Drivers which differ by scope only for some tables are not detected.
+     *
+     * @param mergingBestRowScopes {@code true} for merging scopes; {@code false} for a call for each scope
+     * @return this instance
+     */
+    public MetadataContext setMergingBestRowScopes(final boolean mergingBestRowScopes) {
+        this.mergingBestRowScopes = mergingBestRowScopes;
+        bestRowScopesMergeable = null;
+        return this;
+    }
+
+    // --------------------------------------------------------------------------------------------------- callListeners
+
+    /**
+     * Adds given listener which is notified with each call made on the {@link DatabaseMetaData}.
+     *
+     * @param listener the listener to add
+     * @return this instance
+     * @see MetadataCallMetrics
+     */
+    public MetadataContext addCallListener(@NonNull final MetadataCallListener listener) {
+        callListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Removes given listener.
+     *
+     * @param listener the listener to remove
+     * @return this instance
+     */
+    public MetadataContext removeCallListener(@NonNull final MetadataCallListener listener) {
+        callListeners.remove(listener);
+        return this;
+    }
+
+    private void called(final MetadataCall call, final long started) {
+        call.wallNanos = nanoTime() - started;
+        events.commitCall(call.event, call);
+        for (final MetadataCallListener listener : callListeners) {
+            try {
+                listener.called(call);
+            } catch (final RuntimeException re) {
+                logger.log(WARNING, format("listener failed; %s", listener), re);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------- suppressedPaths
+    private Set<String> getSuppressedPaths() {
+        return suppressedPaths;
+    }
+
+    private void addSuppressionPath(@NonNull final String suppressionPath) {
+        getSuppressedPaths().add(suppressionPath);
+    }
+
+    /**
+     * Adds suppression paths and returns this instance.
+     *
+     * @param suppressionPath the first suppression suppressionPath
+     * @param otherPaths      other suppression paths
+     * @return this instance
+     */
+    public MetadataContext addSuppressionPaths(@NonNull final String suppressionPath,
+                                               @NonNull final String... otherPaths) {
+        addSuppressionPath(suppressionPath);
+        for (final String otherPath : otherPaths) {
+            addSuppressionPath(otherPath);
+        }
+        return this;
+    }
+
+    private boolean isSuppressionPath(@NonNull final String suppressionPath) {
+        return getSuppressedPaths().contains(suppressionPath);
+    }
+
+    // --------------------------------------------------------------------------------------------------------- bfields
+    private static Map<Field, Bind> bfields(@NonNull final Class<?> klass) {
+        return BFIELDS.get(klass);
+    }
+
+    // --------------------------------------------------------------------------------------------------------- ifields
+    private static Map<Field, Invoke> ifields(@NonNull final Class<?> klass) {
+        return IFIELDS.get(klass);
     }
 
     // ---------------------------------------------------------------------------------------------------------- ptypes
-    private Class<?> ptype(@NonNull final Field field) {
-        Class<?> ptype = ptypes.get(field);
+    private static Class<?> ptype(@NonNull final Field field) {
+        Class<?> ptype = PTYPES.get(field);
         if (ptype == null) {
             final ParameterizedType parameterizedType = (ParameterizedType) field.getGenericType();
             ptype = (Class<?>) parameterizedType.getActualTypeArguments()[0];
-            ptypes.put(field, ptype);
+            PTYPES.put(field, ptype);
         }
         return ptype;
     }
@@ -917,15 +2388,36 @@ public class MetadataContext {
     // -----------------------------------------------------------------------------------------------------------------
     private final DatabaseMetaData databaseMetadata;
 
+    // the provider invoked for methods the provider doesn't support
+    private final MetadataProvider jdbc;
+
     // suppression paths
-    private Set<String> suppressedPaths;
+    private final Set<String> suppressedPaths = ConcurrentHashMap.newKeySet();
 
-    // fields with @Bind
-    private final transient Map<Class<?>, Map<Field, Bind>> bfields = new HashMap<>();
+    // methods found unsupported, keyed by names and literal parameters, mapped to the numbers of calls skipped since
+    private final Map<String, AtomicLong> unsupportedMethods = new ConcurrentHashMap<>();
 
-    // fields with @Invoke
-    private final transient Map<Class<?>, Map<Field, Invoke>> ifields = new HashMap<>();
+    // the budget checked before each call and between rows
+    private volatile MetadataBudget budget;
 
-    // parameterized types of java.util.List fields
-    private final transient Map<Field, Class<?>> ptypes = new HashMap<>();
+    // the provider of bulk results
+    private volatile MetadataProvider provider;
+
+    // the configuration of pipelined binding
+    private volatile Pipeline pipeline;
+
+    // true for binding best row identifiers with a single call of the widest scope
+    private volatile boolean mergingBestRowScopes;
+
+    // whether identifiers of narrower scopes are verified to be derivable from the widest; null until verified
+    private volatile Boolean bestRowScopesMergeable;
+
+    // the states of chains of calls made by each thread
+    private final ThreadLocal<Crawl> crawls = ThreadLocal.withInitial(Crawl::new);
+
+    // observers of bound instances for each thread
+    private final ThreadLocal<Consumer<Object>> observers = new ThreadLocal<>();
+
+    // listeners notified with each call
+    private final List<MetadataCallListener> callListeners = new CopyOnWriteArrayList<>();
 }
@@ -0,0 +1,371 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.CATALOG_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.CATALOG_REMOVED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.COLUMN_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.COLUMN_NULLABILITY_CHANGED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.COLUMN_REMOVED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.COLUMN_TYPE_CHANGED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.FOREIGN_KEY_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.FOREIGN_KEY_CHANGED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.FOREIGN_KEY_REMOVED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.INDEX_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.INDEX_CHANGED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.INDEX_REMOVED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.PRIMARY_KEY_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.PRIMARY_KEY_CHANGED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.PRIMARY_KEY_REMOVED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.PRIVILEGE_GRANTED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.PRIVILEGE_REVOKED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.SCHEMA_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.SCHEMA_REMOVED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.TABLE_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.TABLE_REMOVED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.TABLE_TYPE_CHANGED;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A utility class for finding structural changes between two lists of catalogs.
+ * <p>
+ * Elements are matched by their qualified names with hash-based joins at each level, so the cost is linear to the
+ * number of elements.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see MetadataChange
+ */
+public final class MetadataDiff {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private interface Key<T> {
+
+        String of(T element);
+    }
+
+    private interface Matched<T> {
+
+        void accept(String[] path, T source, T target);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Finds changes from given source catalogs to given target catalogs and accepts each of them to specified
+     * consumer.
+     *
+     * @param source   the source catalogs; e.g. the previous snapshot.
+     * @param target   the target catalogs; e.g. the current snapshot.
+     * @param consumer the consumer accepts changes.
+     */
+    public static void diff(final List<Catalog> source, final List<Catalog> target,
+                            final Consumer<? super MetadataChange> consumer) {
+        diff(source, target, null, consumer);
+    }
+
+    /**
+     * Finds changes from given source catalogs to given target catalogs, skipping catalogs, schemas and tables whose
+     * hashes are the same, and accepts each of them to specified consumer. Reuse the same {@code fingerprint} for
+     * diffing a snapshot multiple times so that the hashes of the snapshot are computed only once.
+     *
+     * @param source      the source catalogs; e.g. the previous snapshot.
+     * @param target      the target catalogs; e.g. the current snapshot.
+     * @param fingerprint the fingerprint for comparing subtrees; {@code null} for comparing all subtrees.
+     * @param consumer    the consumer accepts changes.
+     */
+    public static void diff(final List<Catalog> source, final List<Catalog> target,
+                            final MetadataFingerprint fingerprint, final Consumer<? super MetadataChange> consumer) {
+        requireNonNull(source, "source is null");
+        requireNonNull(target, "target is null");
+        requireNonNull(consumer, "consumer is null");
+        join(new String[0], index(source, Catalog::getTableCat), index(target, Catalog::getTableCat),
+             CATALOG_REMOVED, CATALOG_ADDED, (p, s, t) -> catalog(p, s, t, fingerprint, consumer), consumer);
+    }
+
+    /**
+     * Finds changes from given source catalogs to given target catalogs.
+     *
+     * @param source the source catalogs; e.g. the previous snapshot.
+     * @param target the target catalogs; e.g. the current snapshot.
+     * @return a list of changes.
+     */
+    public static List<MetadataChange> diff(final List<Catalog> source, final List<Catalog> target) {
+        final List<MetadataChange> changes = new ArrayList<>();
+        diff(source, target, changes::add);
+        return changes;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static boolean same(final MetadataFingerprint fingerprint, final Object source, final Object target) {
+        return fingerprint != null && fingerprint.same(source, target);
+    }
+
+    private static void catalog(final String[] path, final Catalog source, final Catalog target,
+                                final MetadataFingerprint fingerprint,
+                                final Consumer<? super MetadataChange> consumer) {
+        if (same(fingerprint, source, target)) {
+            return;
+        }
+        join(path, index(source.getSchemas(), Schema::getTableSchem), index(target.getSchemas(), Schema::getTableSchem),
+             SCHEMA_REMOVED, SCHEMA_ADDED, (p, s, t) -> schema(p, s, t, fingerprint, consumer), consumer);
+    }
+
+    private static void schema(final String[] path, final Schema source, final Schema target,
+                               final MetadataFingerprint fingerprint, final Consumer<? super MetadataChange> consumer) {
+        if (same(fingerprint, source, target)) {
+            return;
+        }
+        join(path, index(source.getTables(), Table::getTableName), index(target.getTables(), Table::getTableName),
+             TABLE_REMOVED, TABLE_ADDED, (p, s, t) -> table(p, s, t, fingerprint, consumer), consumer);
+    }
+
+    private static void table(final String[] path, final Table source, final Table target,
+                              final MetadataFingerprint fingerprint, final Consumer<? super MetadataChange> consumer) {
+        if (same(fingerprint, source, target)) {
+            return;
+        }
+        if (!Objects.equals(source.getTableType(), target.getTableType())) {
+            consumer.accept(new MetadataChange(TABLE_TYPE_CHANGED, path, source, target));
+        }
+        join(path, index(source.getColumns(), Column::getColumnName), index(target.getColumns(), Column::getColumnName),
+             COLUMN_REMOVED, COLUMN_ADDED, (p, s, t) -> column(p, s, t, consumer), consumer);
+        // indices; the rows without names are statistics
+        compare(path, group(source.getIndexInfo(), IndexInfo::getIndexName),
+                group(target.getIndexInfo(), IndexInfo::getIndexName),
+                INDEX_REMOVED, INDEX_ADDED, INDEX_CHANGED, MetadataDiff::index, consumer);
+        // primary key; compared as a whole
+        final List<Object> sourcePrimaryKey = primaryKey(source.getPrimaryKeys());
+        final List<Object> targetPrimaryKey = primaryKey(target.getPrimaryKeys());
+        if (source.getPrimaryKeys().isEmpty() && !target.getPrimaryKeys().isEmpty()) {
+            consumer.accept(new MetadataChange(
+                    PRIMARY_KEY_ADDED, path, null, target.getPrimaryKeys()));
+        } else if (!source.getPrimaryKeys().isEmpty() && target.getPrimaryKeys().isEmpty()) {
+            consumer.accept(new MetadataChange(
+                    PRIMARY_KEY_REMOVED, path, source.getPrimaryKeys(), null));
+        } else if (!sourcePrimaryKey.equals(targetPrimaryKey)) {
+            consumer.accept(new MetadataChange(
+                    PRIMARY_KEY_CHANGED, path, source.getPrimaryKeys(), target.getPrimaryKeys()));
+        }
+        // foreign keys; the keys without names are identified by their parent tables and their columns
+        compare(path, foreignKeys(source.getImportedKeys()), foreignKeys(target.getImportedKeys()),
+                FOREIGN_KEY_REMOVED, FOREIGN_KEY_ADDED, FOREIGN_KEY_CHANGED, MetadataDiff::foreignKey, consumer);
+        join(path, index(source.getTablePrivileges(), MetadataDiff::privilege),
+             index(target.getTablePrivileges(), MetadataDiff::privilege),
+             PRIVILEGE_REVOKED, PRIVILEGE_GRANTED, null, consumer);
+    }
+
+    private static void column(final String[] path, final Column source, final Column target,
+                               final Consumer<? super MetadataChange> consumer) {
+        if (source.getDataType() != target.getDataType()
+            || !Objects.equals(source.getTypeName(), target.getTypeName())
+            || source.getColumnSize() != target.getColumnSize()
+            || !Objects.equals(source.getDecimalDigits(), target.getDecimalDigits())) {
+            consumer.accept(new MetadataChange(COLUMN_TYPE_CHANGED, path, source, target));
+        }
+        if (source.getNullable() != target.getNullable()) {
+            consumer.accept(new MetadataChange(COLUMN_NULLABILITY_CHANGED, path, source, target));
+        }
+        join(path, index(source.getColumnPrivileges(), MetadataDiff::privilege),
+             index(target.getColumnPrivileges(), MetadataDiff::privilege),
+             PRIVILEGE_REVOKED, PRIVILEGE_GRANTED, null, consumer);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static List<Object> index(final List<IndexInfo> rows) {
+        final List<IndexInfo> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingInt(IndexInfo::getOrdinalPosition));
+        final List<Object> signature = new ArrayList<>();
+        for (final IndexInfo row : sorted) {
+            signature.add(Arrays.asList(row.isNonUnique(), row.getType(), row.getColumnName(), row.getAscOrDesc(),
+                                        row.getFilterCondition()));
+        }
+        return signature;
+    }
+
+    private static List<Object> primaryKey(final List<PrimaryKey> rows) {
+        final List<PrimaryKey> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingInt(PrimaryKey::getKeySeq));
+        final List<Object> signature = new ArrayList<>();
+        for (final PrimaryKey row : sorted) {
+            signature.add(Arrays.asList(row.getPkName(), row.getColumnName()));
+        }
+        return signature;
+    }
+
+    /**
+     * Groups given rows into foreign keys keyed by their names. Rows without names, or with empty names as SQLite
+     * reports, are split into keys of distinct key sequences in their order, and each key is named by its parent table
+     * followed by its columns.
+     *
+     * @param rows the rows to group
+     * @return a map of foreign key names and their rows.
+     */
+    private static Map<String, List<ImportedKey>> foreignKeys(final List<ImportedKey> rows) {
+        final Map<String, List<ImportedKey>> named = new LinkedHashMap<>(capacity(rows.size()));
+        final Map<String, List<List<ImportedKey>>> unnamed = new LinkedHashMap<>();
+        for (final ImportedKey row : rows) {
+            if (row.getFkName() != null && !row.getFkName().isEmpty()) {
+                named.computeIfAbsent(row.getFkName(), k -> new ArrayList<>()).add(row);
+                continue;
+            }
+            final List<List<ImportedKey>> keys = unnamed.computeIfAbsent(
+                    key(row.getPktableCat(), row.getPktableSchem(), row.getPktableName()), k -> new ArrayList<>());
+            List<ImportedKey> key = null;
+            for (final List<ImportedKey> candidate : keys) {
+                if (candidate.stream().noneMatch(r -> r.getKeySeq() == row.getKeySeq())) {
+                    key = candidate;
+                    break;
+                }
+            }
+            if (key == null) {
+                key = new ArrayList<>();
+                keys.add(key);
+            }
+            key.add(row);
+        }
+        for (final Entry<String, List<List<ImportedKey>>> entry : unnamed.entrySet()) {
+            for (final List<ImportedKey> key : entry.getValue()) {
+                key.sort(Comparator.comparingInt(ImportedKey::getKeySeq));
+                final List<String> columns = new ArrayList<>(key.size());
+                key.forEach(r -> columns.add(r.getFkcolumnName()));
+                named.put(entry.getKey() + "(" + String.join(",", columns) + ")", key);
+            }
+        }
+        return named;
+    }
+
+    private static List<Object> foreignKey(final List<ImportedKey> rows) {
+        final List<ImportedKey> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingInt(ImportedKey::getKeySeq));
+        final List<Object> signature = new ArrayList<>();
+        for (final ImportedKey row : sorted) {
+            signature.add(Arrays.asList(row.getPktableCat(), row.getPktableSchem(), row.getPktableName(),
+                                        row.getPkcolumnName(), row.getFkcolumnName(), row.getUpdateRule(),
+                                        row.getDeleteRule(), row.getDeferrability()));
+        }
+        return signature;
+    }
+
+    private static String privilege(final TablePrivilege privilege) {
+        return key(privilege.getGrantor(), privilege.getGrantee(), privilege.getPrivilege(),
+                   privilege.getIsGrantable());
+    }
+
+    private static String privilege(final ColumnPrivilege privilege) {
+        return key(privilege.getGrantor(), privilege.getGrantee(), privilege.getPrivilege(),
+                   privilege.getIsGrantable());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static String key(final String... names) {
+        if (names.length == 1) {
+            return names[0] == null ? "" : names[0];
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                builder.append('.');
+            }
+            builder.append(names[i] == null ? "" : names[i]);
+        }
+        return builder.toString();
+    }
+
+    private static String[] path(final String[] parent, final String name) {
+        final String[] path = Arrays.copyOf(parent, parent.length + 1);
+        path[parent.length] = name;
+        return path;
+    }
+
+    private static int capacity(final int size) {
+        return Math.max(16, (int) (size / .75f) + 1);
+    }
+
+    private static <T> Map<String, T> index(final List<? extends T> elements, final Key<? super T> naming) {
+        final Map<String, T> index = new LinkedHashMap<>(capacity(elements.size()));
+        for (final T element : elements) {
+            index.put(key(naming.of(element)), element);
+        }
+        return index;
+    }
+
+    private static <T> Map<String, List<T>> group(final List<? extends T> elements, final Key<? super T> naming) {
+        final Map<String, List<T>> group = new LinkedHashMap<>(capacity(elements.size()));
+        for (final T element : elements) {
+            final String name = naming.of(element);
+            if (name == null) {
+                continue;
+            }
+            group.computeIfAbsent(name, k -> new ArrayList<>()).add(element);
+        }
+        return group;
+    }
+
+    private static <T> void join(final String[] parent, final Map<String, T> source, final Map<String, T> target,
+                                 final MetadataChange.Type removed, final MetadataChange.Type added,
+                                 final Matched<T> matched, final Consumer<? super MetadataChange> consumer) {
+        for (final Entry<String, T> entry : source.entrySet()) {
+            final String[] path = path(parent, entry.getKey());
+            final T other = target.get(entry.getKey());
+            if (other == null) {
+                consumer.accept(new MetadataChange(removed, path, entry.getValue(), null));
+                continue;
+            }
+            if (matched != null) {
+                matched.accept(path, entry.getValue(), other);
+            }
+        }
+        for (final Entry<String, T> entry : target.entrySet()) {
+            if (!source.containsKey(entry.getKey())) {
+                consumer.accept(new MetadataChange(added, path(parent, entry.getKey()), null, entry.getValue()));
+            }
+        }
+    }
+
+    private static <T> void compare(final String[] parent, final Map<String, List<T>> source,
+                                    final Map<String, List<T>> target, final MetadataChange.Type removed,
+                                    final MetadataChange.Type added, final MetadataChange.Type changed,
+                                    final java.util.function.Function<List<T>, List<Object>> signature,
+                                    final Consumer<? super MetadataChange> consumer) {
+        join(parent, source, target, removed, added, (p, s, t) -> {
+            if (!signature.apply(s).equals(signature.apply(t))) {
+                consumer.accept(new MetadataChange(changed, p, Collections.unmodifiableList(s),
+                                                   Collections.unmodifiableList(t)));
+            }
+        }, consumer);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private MetadataDiff() {
+        super();
+    }
+}
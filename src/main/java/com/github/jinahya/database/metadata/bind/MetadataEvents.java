@@ -0,0 +1,382 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * A compatibility layer for emitting JDK Flight Recorder events.
+ * <p>
+ * The {@code jdk.jfr} module is not a part of the Java 8 platform. Hence this class refers to none of its types; the
+ * implementation based on it defines event types with {@code jdk.jfr.EventFactory} and drives them entirely through
+ * reflection, and is used only when the module is available; otherwise, an implementation which does nothing is used.
+ * Each {@code begin...} method returns {@code null} when the corresponding event is not enabled, and each {@code
+ * commit...} method ignores a {@code null} event, so that callers pay nothing but a check while no recording is in
+ * progress.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+abstract class MetadataEvents {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final String CATEGORY = "Database Metadata Bind";
+
+    private static final String PREFIX = "com.github.jinahya.database.metadata.bind.";
+
+    /**
+     * The name of the event of a call made on a {@link java.sql.DatabaseMetaData}.
+     */
+    static final String METADATA_CALL = PREFIX + "MetadataCall";
+
+    /**
+     * The name of the event of binding all records of a result set.
+     */
+    static final String BIND_BATCH = PREFIX + "BindBatch";
+
+    /**
+     * The name of the event of crawling children of a catalog, a schema or a table.
+     */
+    static final String CRAWL_PHASE = PREFIX + "CrawlPhase";
+
+    /**
+     * An implementation emits events to the JDK Flight Recorder.
+     */
+    static class FlightRecorder extends MetadataEvents {
+
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        @IgnoreJRERequirement // com.sun.management
+        private static long allocated() {
+            if (THREADS instanceof com.sun.management.ThreadMXBean) {
+                return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(
+                        Thread.currentThread().getId());
+            }
+            return -1L;
+        }
+
+        /**
+         * Creates a new instance which defines event types.
+         *
+         * @throws ReflectiveOperationException if the {@code jdk.jfr} module is not available.
+         */
+        FlightRecorder() throws ReflectiveOperationException {
+            super();
+            final ClassLoader loader = MetadataEvents.class.getClassLoader();
+            final Class<?> elementClass = Class.forName("jdk.jfr.AnnotationElement", true, loader);
+            element = elementClass.getConstructor(Class.class, Object.class);
+            final Class<?> descriptorClass = Class.forName("jdk.jfr.ValueDescriptor", true, loader);
+            descriptor = descriptorClass.getConstructor(Class.class, String.class, List.class);
+            final Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory", true, loader);
+            create = factoryClass.getMethod("create", List.class, List.class);
+            newEvent = factoryClass.getMethod("newEvent");
+            final Method getEventType = factoryClass.getMethod("getEventType");
+            isEnabled = Class.forName("jdk.jfr.EventType", true, loader).getMethod("isEnabled");
+            final Class<?> eventClass = Class.forName("jdk.jfr.Event", true, loader);
+            begin = eventClass.getMethod("begin");
+            end = eventClass.getMethod("end");
+            shouldCommit = eventClass.getMethod("shouldCommit");
+            commit = eventClass.getMethod("commit");
+            set = eventClass.getMethod("set", int.class, Object.class);
+            callEvents = type(METADATA_CALL, "Metadata Call",
+                              "A call made on a java.sql.DatabaseMetaData and the binding of its result",
+                              value(String.class, "method", "Method"),
+                              value(String.class, "arguments", "Arguments"),
+                              value(int.class, "rows", "Rows"),
+                              value(long.class, "fetchNanos", "Fetch Nanos"),
+                              value(long.class, "bindNanos", "Bind Nanos"),
+                              value(String.class, "failure", "Failure"));
+            batchEvents = type(BIND_BATCH, "Bind Batch",
+                               "Binding all records of a result set, including nested calls",
+                               value(Class.class, "type", "Class"),
+                               value(int.class, "rows", "Rows"),
+                               value(long.class, "allocated", "Allocated",
+                                     annotation("jdk.jfr.DataAmount", "BYTES")));
+            phaseEvents = type(CRAWL_PHASE, "Crawl Phase",
+                               "Crawling children of a catalog, a schema or a table",
+                               value(String.class, "phase", "Phase"),
+                               value(String.class, "name", "Name"));
+            callType = getEventType.invoke(callEvents);
+            batchType = getEventType.invoke(batchEvents);
+            phaseType = getEventType.invoke(phaseEvents);
+        }
+
+        // ---------------------------------------------------------------------------------------------------- types
+
+        // an annotation element of given type and value
+        private Object annotation(final String type, final Object value) throws ReflectiveOperationException {
+            return element.newInstance(
+                    Class.forName(type, true, MetadataEvents.class.getClassLoader()).asSubclass(Annotation.class),
+                    value);
+        }
+
+        // a field of an event type
+        private Object value(final Class<?> type, final String name, final String label, final Object... annotations)
+                throws ReflectiveOperationException {
+            final List<Object> elements = new ArrayList<>(Arrays.asList(annotations));
+            elements.add(annotation("jdk.jfr.Label", label));
+            return descriptor.newInstance(type, name, elements);
+        }
+
+        // a factory of events of a new event type
+        private Object type(final String name, final String label, final String description, final Object... values)
+                throws ReflectiveOperationException {
+            final List<Object> annotations = Arrays.asList(
+                    annotation("jdk.jfr.Name", name),
+                    annotation("jdk.jfr.Label", label),
+                    annotation("jdk.jfr.Description", description),
+                    annotation("jdk.jfr.Category", new String[] {CATEGORY}),
+                    annotation("jdk.jfr.StackTrace", Boolean.FALSE));
+            return create.invoke(null, annotations, Collections.unmodifiableList(Arrays.asList(values)));
+        }
+
+        // ---------------------------------------------------------------------------------------------------- events
+
+        // a new event of given factory begun, if its type is enabled; null otherwise
+        private Object begin(final Object factory, final Object type) {
+            try {
+                if (!(Boolean) isEnabled.invoke(type)) {
+                    return null;
+                }
+                final Object event = newEvent.invoke(factory);
+                begin.invoke(event);
+                return event;
+            } catch (final IllegalAccessException | InvocationTargetException e) {
+                logger.log(FINE, "failed to begin an event", e);
+                return null;
+            }
+        }
+
+        // ends given event and returns true if it should be committed
+        private boolean end(final Object event) {
+            try {
+                end.invoke(event);
+                return (Boolean) shouldCommit.invoke(event);
+            } catch (final IllegalAccessException | InvocationTargetException e) {
+                logger.log(FINE, "failed to end an event", e);
+                return false;
+            }
+        }
+
+        // sets given values, in order, to given event and commits it
+        private void commit(final Object event, final Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    set.invoke(event, i, values[i]);
+                }
+                commit.invoke(event);
+            } catch (final IllegalAccessException | InvocationTargetException e) {
+                logger.log(FINE, "failed to commit an event", e);
+            }
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        @Override
+        Object beginCall() {
+            return begin(callEvents, callType);
+        }
+
+        @Override
+        void commitCall(final Object event, final MetadataCall call) {
+            if (event == null || !end(event)) {
+                return;
+            }
+            commit(event, call.getMethod(), Arrays.deepToString(call.getArguments().toArray()), call.getRows(),
+                   call.getFetchNanos(), call.getBindNanos(),
+                   call.getFailure() == null ? null : call.getFailure().toString());
+        }
+
+        @Override
+        Object beginBatch() {
+            final Object event = begin(batchEvents, batchType);
+            return event == null ? null : new Object[] {event, allocated()};
+        }
+
+        @Override
+        void commitBatch(final Object event, final Class<?> type, final int rows) {
+            if (event == null) {
+                return;
+            }
+            final Object[] begun = (Object[]) event;
+            if (!end(begun[0])) {
+                return;
+            }
+            final long allocated = (Long) begun[1];
+            commit(begun[0], type, rows, allocated < 0L ? -1L : allocated() - allocated);
+        }
+
+        @Override
+        Object beginPhase() {
+            return begin(phaseEvents, phaseType);
+        }
+
+        @Override
+        void commitPhase(final Object event, final Object instance) {
+            if (event == null || !end(event)) {
+                return;
+            }
+            String phase = null;
+            String name = null;
+            if (instance instanceof Catalog) {
+                phase = "catalog";
+                name = ((Catalog) instance).getTableCat();
+            } else if (instance instanceof Schema) {
+                phase = "schema";
+                name = ((Schema) instance).getTableCatalog() + "." + ((Schema) instance).getTableSchem();
+            } else if (instance instanceof Table) {
+                phase = "table";
+                name = ((Table) instance).getTableSchem() + "." + ((Table) instance).getTableName();
+            }
+            commit(event, phase, name);
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        private final Constructor<?> element;
+
+        private final Constructor<?> descriptor;
+
+        private final Method create;
+
+        private final Method newEvent;
+
+        private final Method isEnabled;
+
+        private final Method begin;
+
+        private final Method end;
+
+        private final Method shouldCommit;
+
+        private final Method commit;
+
+        private final Method set;
+
+        // factories of events; referenced for keeping their types registered
+        private final Object callEvents;
+
+        private final Object batchEvents;
+
+        private final Object phaseEvents;
+
+        private final Object callType;
+
+        private final Object batchType;
+
+        private final Object phaseType;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final Logger logger = getLogger(MetadataEvents.class.getName());
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final MetadataEvents INSTANCE;
+
+    static {
+        MetadataEvents instance = new MetadataEvents() {
+        };
+        try {
+            instance = new FlightRecorder();
+        } catch (final ReflectiveOperationException | RuntimeException | LinkageError e) {
+            logger.log(FINE, "flight recorder events not available", e);
+        }
+        INSTANCE = instance;
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class.
+     */
+    static MetadataEvents get() {
+        return INSTANCE;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Begins an event for a call made on a {@link java.sql.DatabaseMetaData}.
+     *
+     * @return an event; {@code null} if not enabled.
+     */
+    Object beginCall() {
+        return null;
+    }
+
+    /**
+     * Commits given event with specified call.
+     *
+     * @param event the event begun by {@link #beginCall()}; may be {@code null}.
+     * @param call  the call
+     */
+    void commitCall(final Object event, final MetadataCall call) {
+    }
+
+    /**
+     * Begins an event for binding all records of a result set.
+     *
+     * @return an event; {@code null} if not enabled.
+     */
+    Object beginBatch() {
+        return null;
+    }
+
+    /**
+     * Commits given event with specified values.
+     *
+     * @param event the event begun by {@link #beginBatch()}; may be {@code null}.
+     * @param type  the type of bound instances
+     * @param rows  the number of bound records
+     */
+    void commitBatch(final Object event, final Class<?> type, final int rows) {
+    }
+
+    /**
+     * Begins an event for crawling children of an instance of {@link Catalog}, {@link Schema} or {@link Table}.
+     *
+     * @return an event; {@code null} if not enabled.
+     */
+    Object beginPhase() {
+        return null;
+    }
+
+    /**
+     * Commits given event with specified instance.
+     *
+     * @param event    the event begun by {@link #beginPhase()}; may be {@code null}.
+     * @param instance the instance whose children have been crawled
+     */
+    void commitPhase(final Object event, final Object instance) {
+    }
+}
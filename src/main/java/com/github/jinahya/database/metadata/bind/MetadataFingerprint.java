@@ -0,0 +1,235 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.github.jinahya.database.metadata.bind.Utils.fields;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Computes content hashes of bound entities bottom-up.
+ * <p>
+ * The hash of an entity digests values of its {@link Bind @Bind} fields, ordered by their labels, and hashes of
+ * elements of its {@link Invoke @Invoke} fields. Hashes of elements are sorted before digested so that the order of
+ * results does not matter. Two subtrees with the same hash are regarded as identical.
+ * <p>
+ * Computed hashes are cached by the identity of each entity so that an instance should not be used with entities
+ * modified after their hashes are computed. This class is not thread-safe.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see MetadataDiff#diff(List, List, MetadataFingerprint, java.util.function.Consumer)
+ */
+public class MetadataFingerprint {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final Comparator<byte[]> DIGEST_COMPARATOR = (d1, d2) -> {
+        for (int i = 0; i < d1.length && i < d2.length; i++) {
+            final int c = Integer.compare(d1[i] & 0xFF, d2[i] & 0xFF);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(d1.length, d2.length);
+    };
+
+    static String hex(final byte[] digest) {
+        final char[] chars = new char[digest.length << 1];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i << 1] = HEX[(digest[i] >> 4) & 0x0F];
+            chars[(i << 1) + 1] = HEX[digest[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the hash of given entity as a hexadecimal string.
+     *
+     * @param entity the entity
+     * @return the hash of the entity
+     */
+    public String of(final Object entity) {
+        return hex(digest(requireNonNull(entity, "entity is null")));
+    }
+
+    /**
+     * Returns the hash of given collection of entities, such as a list of catalogs, as a hexadecimal string. The order
+     * of elements does not matter.
+     *
+     * @param entities the entities
+     * @return the hash of entities.
+     */
+    public String of(final Collection<?> entities) {
+        return hex(digest(requireNonNull(entities, "entities is null")));
+    }
+
+    /**
+     * Checks whether given two entities have the same hash.
+     *
+     * @param entity1 the first entity
+     * @param entity2 the second entity
+     * @return {@code true} if both entities have the same hash; {@code false} otherwise.
+     */
+    public boolean same(final Object entity1, final Object entity2) {
+        return MessageDigest.isEqual(digest(requireNonNull(entity1, "entity1 is null")),
+                                     digest(requireNonNull(entity2, "entity2 is null")));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    byte[] digest(final Object entity) {
+        if (entity instanceof Collection) {
+            return digest((Collection<?>) entity);
+        }
+        byte[] digest = digests.get(entity);
+        if (digest == null) {
+            digest = compute(entity);
+            digests.put(entity, digest);
+        }
+        return digest;
+    }
+
+    private byte[] digest(final Collection<?> entities) {
+        final List<byte[]> digests = new ArrayList<>(entities.size());
+        for (final Object entity : entities) {
+            digests.add(digest(entity));
+        }
+        digests.sort(DIGEST_COMPARATOR);
+        final MessageDigest messageDigest = messageDigest();
+        for (final byte[] digest : digests) {
+            messageDigest.update(digest);
+        }
+        return messageDigest.digest();
+    }
+
+    private byte[] compute(final Object entity) {
+        final Class<?> klass = entity.getClass();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(baos)) {
+            write(dos, klass.getSimpleName());
+            for (final Entry<String, Field> bfield : bfields(klass)) {
+                write(dos, bfield.getKey());
+                write(dos, bfield.getValue().get(entity));
+            }
+            for (final Entry<String, Field> ifield : ifields(klass)) {
+                final Object value = ifield.getValue().get(entity);
+                if (value == null) {
+                    continue;
+                }
+                write(dos, ifield.getKey());
+                dos.write(digest((Collection<?>) value));
+            }
+        } catch (final IOException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+        final MessageDigest messageDigest = messageDigest();
+        return messageDigest.digest(baos.toByteArray());
+    }
+
+    private static void write(final DataOutputStream dos, final Object value) throws IOException {
+        if (value == null) {
+            dos.writeByte(0);
+            return;
+        }
+        final byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        dos.writeByte(value instanceof String ? 1 : 2);
+        dos.writeInt(bytes.length);
+        dos.write(bytes);
+    }
+
+    private MessageDigest messageDigest() {
+        if (messageDigest == null) {
+            try {
+                messageDigest = MessageDigest.getInstance(ALGORITHM);
+            } catch (final NoSuchAlgorithmException nsae) {
+                throw new RuntimeException(nsae); // every implementation of the Java platform supports SHA-256
+            }
+        }
+        messageDigest.reset();
+        return messageDigest;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private List<Entry<String, Field>> bfields(final Class<?> klass) {
+        List<Entry<String, Field>> value = bfields.get(klass);
+        if (value == null) {
+            final Map<String, Field> map = new HashMap<>();
+            for (final Entry<Field, Bind> entry : fields(klass, Bind.class).entrySet()) {
+                if (entry.getValue().unused()) {
+                    continue;
+                }
+                entry.getKey().setAccessible(true);
+                map.put(entry.getValue().label(), entry.getKey());
+            }
+            value = sorted(map);
+            bfields.put(klass, value);
+        }
+        return value;
+    }
+
+    private List<Entry<String, Field>> ifields(final Class<?> klass) {
+        List<Entry<String, Field>> value = ifields.get(klass);
+        if (value == null) {
+            final Map<String, Field> map = new HashMap<>();
+            for (final Field field : fields(klass, Invoke.class).keySet()) {
+                field.setAccessible(true);
+                map.put(field.getName(), field);
+            }
+            value = sorted(map);
+            ifields.put(klass, value);
+        }
+        return value;
+    }
+
+    private static List<Entry<String, Field>> sorted(final Map<String, Field> map) {
+        final List<Entry<String, Field>> list = new ArrayList<>(map.entrySet());
+        list.sort(Entry.comparingByKey());
+        return list;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final Map<Object, byte[]> digests = new IdentityHashMap<>();
+
+    private final Map<Class<?>, List<Entry<String, Field>>> bfields = new HashMap<>();
+
+    private final Map<Class<?>, List<Entry<String, Field>>> ifields = new HashMap<>();
+
+    private MessageDigest messageDigest;
+}
@@ -0,0 +1,771 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+import static java.util.logging.Level.WARNING;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * A fleet crawls many databases, each with its own {@link MetadataContext}, and stores their catalogs.
+ * <p>
+ * At most {@code concurrency} targets are crawled at once, and at most {@link #setGroupConcurrency(int) a number} of
+ * targets of each {@link Target#group(String) group}, such as databases sharing a server. Of pending targets, those
+ * with higher priorities are crawled first, and those of equal priorities are served in turns of their groups so that
+ * a group with many targets does not starve others. Failed targets are retried with exponential backoff.
+ * <pre>{@code
+ * try (MetadataFleet fleet = new MetadataFleet(executor, 16, (target, catalogs) -> save(target, catalogs))) {
+ *     fleet.setMaxAttempts(3).setBackoff(1L, 60L, TimeUnit.SECONDS);
+ *     for (final String name : names) {
+ *         fleet.submit(new MetadataFleet.Target(name, dataSource(name)).group(host(name)));
+ *     }
+ *     while (!fleet.await(10L, TimeUnit.SECONDS)) {
+ *         logger.info(fleet.getProgress().toString());
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataFleet implements AutoCloseable {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final Logger logger = getLogger(MetadataFleet.class.getName());
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A store of crawled catalogs.
+     */
+    @FunctionalInterface
+    public interface Store {
+
+        /**
+         * Stores given catalogs of specified target. A failure is regarded as a failure of the target.
+         *
+         * @param target   the target
+         * @param catalogs the catalogs crawled
+         * @throws IOException if an I/O error occurs.
+         */
+        void store(Target target, List<Catalog> catalogs) throws IOException;
+    }
+
+    /**
+     * A function crawls with a context.
+     */
+    @FunctionalInterface
+    public interface Crawl {
+
+        /**
+         * Crawls with given context on specified connection. The connection is closed by the fleet.
+         *
+         * @param connection the connection of the context
+         * @param context    the context
+         * @return a list of catalogs crawled.
+         * @throws SQLException if a database error occurs.
+         */
+        List<Catalog> crawl(Connection connection, MetadataContext context) throws SQLException;
+    }
+
+    /**
+     * A database to crawl.
+     */
+    public static final class Target {
+
+        /**
+         * Creates a new instance with given name and data source.
+         *
+         * @param name       the name of the target
+         * @param dataSource the data source of the target
+         */
+        public Target(final String name, final DataSource dataSource) {
+            super();
+            this.name = requireNonNull(name, "name is null");
+            this.dataSource = requireNonNull(dataSource, "dataSource is null");
+            this.group = name;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + "{"
+                   + "name=" + name
+                   + ",group=" + group
+                   + ",priority=" + priority
+                   + "}";
+        }
+
+        /**
+         * Sets the group of this target. The default group is the name. A target already submitted stays in the group
+         * it had when submitted.
+         *
+         * @param group the group
+         * @return this target.
+         * @see #setGroupConcurrency(int)
+         */
+        public Target group(final String group) {
+            this.group = requireNonNull(group, "group is null");
+            return this;
+        }
+
+        /**
+         * Sets the priority of this target. Targets of higher priorities are crawled first. The default priority is
+         * {@code 0}. A target already submitted keeps the priority it had when submitted.
+         *
+         * @param priority the priority
+         * @return this target.
+         */
+        public Target priority(final int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Returns the name of this target.
+         *
+         * @return the name of this target.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the data source of this target.
+         *
+         * @return the data source of this target.
+         */
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Returns the group of this target.
+         *
+         * @return the group of this target.
+         */
+        public String getGroup() {
+            return group;
+        }
+
+        /**
+         * Returns the priority of this target.
+         *
+         * @return the priority of this target.
+         */
+        public int getPriority() {
+            return priority;
+        }
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile String group;
+
+        private volatile int priority;
+    }
+
+    /**
+     * A snapshot of the progress of a fleet.
+     */
+    public static final class Progress {
+
+        private Progress(final int submitted, final int pending, final int running, final int succeeded,
+                         final int failed, final long attempts, final long retries, final long calls, final long rows,
+                         final long elapsedNanos) {
+            super();
+            this.submitted = submitted;
+            this.pending = pending;
+            this.running = running;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.attempts = attempts;
+            this.retries = retries;
+            this.calls = calls;
+            this.rows = rows;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + "{"
+                   + "submitted=" + submitted
+                   + ",pending=" + pending
+                   + ",running=" + running
+                   + ",succeeded=" + succeeded
+                   + ",failed=" + failed
+                   + ",attempts=" + attempts
+                   + ",retries=" + retries
+                   + ",calls=" + calls
+                   + ",rows=" + rows
+                   + ",elapsedNanos=" + elapsedNanos
+                   + ",targetsPerSecond=" + format(Locale.ROOT, "%.3f", getTargetsPerSecond())
+                   + ",rowsPerSecond=" + format(Locale.ROOT, "%.1f", getRowsPerSecond())
+                   + "}";
+        }
+
+        /**
+         * Returns the number of targets submitted.
+         *
+         * @return the number of targets submitted.
+         */
+        public int getSubmitted() {
+            return submitted;
+        }
+
+        /**
+         * Returns the number of targets waiting to be crawled, including those waiting for retries.
+         *
+         * @return the number of pending targets.
+         */
+        public int getPending() {
+            return pending;
+        }
+
+        /**
+         * Returns the number of targets being crawled.
+         *
+         * @return the number of running targets.
+         */
+        public int getRunning() {
+            return running;
+        }
+
+        /**
+         * Returns the number of targets crawled and stored.
+         *
+         * @return the number of succeeded targets.
+         */
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * Returns the number of targets failed in all attempts.
+         *
+         * @return the number of failed targets.
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * Returns the number of attempts made for all targets.
+         *
+         * @return the number of attempts.
+         */
+        public long getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * Returns the number of retries scheduled.
+         *
+         * @return the number of retries.
+         */
+        public long getRetries() {
+            return retries;
+        }
+
+        /**
+         * Returns the number of calls made on {@link java.sql.DatabaseMetaData}s of all targets.
+         *
+         * @return the number of calls.
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * Returns the number of rows bound from all targets.
+         *
+         * @return the number of rows.
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Returns the time elapsed since the first target was submitted, in nanoseconds.
+         *
+         * @return the elapsed time in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the number of targets finished, either succeeded or failed, per second.
+         *
+         * @return the number of targets finished per second.
+         */
+        public double getTargetsPerSecond() {
+            return elapsedNanos == 0L ? 0.0d : (succeeded + failed) / (elapsedNanos / 1_000_000_000.0d);
+        }
+
+        /**
+         * Returns the number of rows bound per second.
+         *
+         * @return the number of rows bound per second.
+         */
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0L ? 0.0d : rows / (elapsedNanos / 1_000_000_000.0d);
+        }
+
+        private final int submitted;
+
+        private final int pending;
+
+        private final int running;
+
+        private final int succeeded;
+
+        private final int failed;
+
+        private final long attempts;
+
+        private final long retries;
+
+        private final long calls;
+
+        private final long rows;
+
+        private final long elapsedNanos;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final class Job {
+
+        private Job(final Target target, final long sequence) {
+            super();
+            this.target = target;
+            this.sequence = sequence;
+            group = target.getGroup();
+            priority = target.getPriority();
+        }
+
+        private final Target target;
+
+        // the group and the priority of the target when submitted
+        private final String group;
+
+        private final int priority;
+
+        // the order of submission
+        private final long sequence;
+
+        private int attempts;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance.
+     *
+     * @param executor    the executor on which targets are crawled
+     * @param concurrency the maximum number of targets crawled at once
+     * @param store       the store of crawled catalogs
+     */
+    public MetadataFleet(final Executor executor, final int concurrency, final Store store) {
+        super();
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency(" + concurrency + ") <= 0");
+        }
+        this.executor = requireNonNull(executor, "executor is null");
+        this.concurrency = concurrency;
+        this.store = requireNonNull(store, "store is null");
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "metadata-fleet-retries");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cancels all pending targets and retries. Targets being crawled are not interrupted.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        synchronized (this) {
+            closed = true;
+            pending.clear();
+            delayed = 0;
+            notifyAll();
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Submits given target.
+     *
+     * @param target the target to crawl
+     * @return this fleet.
+     */
+    public MetadataFleet submit(final Target target) {
+        requireNonNull(target, "target is null");
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("closed");
+            }
+            if (submitted == 0) {
+                started = nanoTime();
+            }
+            pending.add(new Job(target, submitted++));
+        }
+        dispatch();
+        return this;
+    }
+
+    /**
+     * Submits all given targets.
+     *
+     * @param targets the targets to crawl
+     * @return this fleet.
+     */
+    public MetadataFleet submitAll(final Collection<Target> targets) {
+        for (final Target target : requireNonNull(targets, "targets is null")) {
+            submit(target);
+        }
+        return this;
+    }
+
+    /**
+     * Waits until all submitted targets are finished, either succeeded or failed, or given time elapses.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of {@code timeout}
+     * @return {@code true} if all targets are finished; {@code false} if the time elapsed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public synchronized boolean await(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = nanoTime() + unit.toNanos(timeout);
+        while (!pending.isEmpty() || running > 0 || delayed > 0) {
+            final long remaining = deadline - nanoTime();
+            if (remaining <= 0L) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Returns a snapshot of the progress of this fleet.
+     *
+     * @return a snapshot of the progress.
+     */
+    public synchronized Progress getProgress() {
+        long calls = 0L;
+        long rows = 0L;
+        for (final MetadataCallMetrics.Statistics statistics : metrics.getStatistics().values()) {
+            calls += statistics.getCalls();
+            rows += statistics.getRows();
+        }
+        return new Progress(submitted, pending.size() + delayed, running, succeeded, failed, attempts, retries,
+                            calls, rows, submitted == 0 ? 0L : nanoTime() - started);
+    }
+
+    /**
+     * Returns the last failures of targets failed in all attempts, keyed by their names.
+     *
+     * @return a map of names of failed targets and their last failures.
+     */
+    public synchronized Map<String, Throwable> getFailures() {
+        return unmodifiableMap(new TreeMap<>(failures));
+    }
+
+    /**
+     * Returns the metrics of calls made on {@link java.sql.DatabaseMetaData}s of all targets.
+     *
+     * @return the metrics of calls.
+     */
+    public MetadataCallMetrics getMetrics() {
+        return metrics;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Starts crawling pending targets as many as limits allow.
+     */
+    private void dispatch() {
+        final List<Job> dispatched = new ArrayList<>();
+        synchronized (this) {
+            while (running < concurrency) {
+                final Job job = next();
+                if (job == null) {
+                    break;
+                }
+                pending.remove(job);
+                running++;
+                runningGroups.merge(job.group, 1, Integer::sum);
+                servedGroups.put(job.group, ++serves);
+                job.attempts++;
+                attempts++;
+                dispatched.add(job);
+            }
+        }
+        for (final Job job : dispatched) {
+            try {
+                executor.execute(() -> run(job));
+            } catch (final RejectedExecutionException ree) {
+                finish(job, ree, false);
+            }
+        }
+    }
+
+    /**
+     * Finds the pending job to crawl next; the one of the highest priority, of the group served least recently, and
+     * submitted first.
+     *
+     * @return the job to crawl next; {@code null} if none is allowed.
+     */
+    private Job next() {
+        Job next = null;
+        long nextServed = 0L;
+        for (final Job job : pending) {
+            if (runningGroups.getOrDefault(job.group, 0) >= groupConcurrency) {
+                continue;
+            }
+            final long served = servedGroups.getOrDefault(job.group, 0L);
+            if (next == null) {
+                next = job;
+                nextServed = served;
+                continue;
+            }
+            if (job.priority > next.priority
+                || (job.priority == next.priority
+                    && (served < nextServed || (served == nextServed && job.sequence < next.sequence)))) {
+                next = job;
+                nextServed = served;
+            }
+        }
+        return next;
+    }
+
+    private void run(final Job job) {
+        final Target target = job.target;
+        try (Connection connection = target.getDataSource().getConnection()) {
+            final MetadataContext context = new MetadataContext(connection.getMetaData());
+            context.addCallListener(metrics);
+            final List<Catalog> catalogs = crawl.crawl(connection, context);
+            store.store(target, catalogs);
+        } catch (final SQLException | IOException | RuntimeException e) {
+            finish(job, e, true);
+            return;
+        } catch (final Error e) {
+            finish(job, e, false);
+            throw e;
+        }
+        finish(job, null, false);
+    }
+
+    private void finish(final Job job, final Throwable thrown, final boolean retryable) {
+        final Target target = job.target;
+        synchronized (this) {
+            running--;
+            runningGroups.merge(job.group, -1, Integer::sum);
+            if (thrown == null) {
+                succeeded++;
+            } else if (retryable && job.attempts < maxAttempts && !closed) {
+                final long delay = Math.min(backoffNanos << Math.min(job.attempts - 1, 30), maxBackoffNanos);
+                logger.log(WARNING, format("failed to crawl %s; retrying in %d ns", target.getName(), delay), thrown);
+                retries++;
+                delayed++;
+                try {
+                    scheduler.schedule(() -> retry(job), delay, TimeUnit.NANOSECONDS);
+                } catch (final RejectedExecutionException ree) { // closed
+                    delayed--;
+                    failed(job, thrown);
+                }
+            } else {
+                logger.log(WARNING, format("failed to crawl %s", target.getName()), thrown);
+                failed(job, thrown);
+            }
+            notifyAll();
+        }
+        dispatch();
+    }
+
+    private void failed(final Job job, final Throwable thrown) {
+        assert Thread.holdsLock(this);
+        failed++;
+        failures.put(job.target.getName(), thrown);
+    }
+
+    private void retry(final Job job) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            delayed--;
+            pending.add(job);
+        }
+        dispatch();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Sets the maximum number of targets of each group crawled at once. The default value is {@code 1}.
+     *
+     * @param groupConcurrency the maximum number of targets of each group crawled at once
+     * @return this fleet.
+     * @see Target#group(String)
+     */
+    public MetadataFleet setGroupConcurrency(final int groupConcurrency) {
+        if (groupConcurrency <= 0) {
+            throw new IllegalArgumentException("groupConcurrency(" + groupConcurrency + ") <= 0");
+        }
+        synchronized (this) {
+            this.groupConcurrency = groupConcurrency;
+        }
+        dispatch();
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of attempts for each target. The default value is {@code 3}.
+     *
+     * @param maxAttempts the maximum number of attempts
+     * @return this fleet.
+     */
+    public synchronized MetadataFleet setMaxAttempts(final int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts(" + maxAttempts + ") <= 0");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Sets the delays before retries. The delay before the {@code n}th retry is {@code backoff * 2^(n - 1)}, but no
+     * longer than {@code maxBackoff}. The default values are {@code 1} and {@code 60} seconds.
+     *
+     * @param backoff    the delay before the first retry
+     * @param maxBackoff the maximum delay
+     * @param unit       the unit of {@code backoff} and {@code maxBackoff}
+     * @return this fleet.
+     */
+    public synchronized MetadataFleet setBackoff(final long backoff, final long maxBackoff, final TimeUnit unit) {
+        if (backoff < 0L) {
+            throw new IllegalArgumentException("backoff(" + backoff + ") < 0");
+        }
+        if (maxBackoff < backoff) {
+            throw new IllegalArgumentException("maxBackoff(" + maxBackoff + ") < backoff(" + backoff + ")");
+        }
+        backoffNanos = unit.toNanos(backoff);
+        maxBackoffNanos = unit.toNanos(maxBackoff);
+        return this;
+    }
+
+    /**
+     * Sets the function crawling each target. The default function invokes {@link
+     * MetadataContext#getCatalogs(MetadataContext, boolean)} with {@code true}. Contexts may be configured, with
+     * suppression paths, providers or budgets, in the function.
+     *
+     * @param crawl the function crawling each target
+     * @return this fleet.
+     */
+    public MetadataFleet setCrawl(final Crawl crawl) {
+        this.crawl = requireNonNull(crawl, "crawl is null");
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final Executor executor;
+
+    private final int concurrency;
+
+    private final Store store;
+
+    // schedules retries
+    private final ScheduledExecutorService scheduler;
+
+    private final MetadataCallMetrics metrics = new MetadataCallMetrics();
+
+    private volatile Crawl crawl = (connection, context) -> getCatalogs(context, true);
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // guarded by this
+
+    private int groupConcurrency = 1;
+
+    private int maxAttempts = 3;
+
+    private long backoffNanos = TimeUnit.SECONDS.toNanos(1L);
+
+    private long maxBackoffNanos = TimeUnit.SECONDS.toNanos(60L);
+
+    private final List<Job> pending = new ArrayList<>();
+
+    // numbers of running targets of each group
+    private final Map<String, Integer> runningGroups = new HashMap<>();
+
+    // the last values of serves when each group is served
+    private final Map<String, Long> servedGroups = new HashMap<>();
+
+    private long serves;
+
+    private final Map<String, Throwable> failures = new HashMap<>();
+
+    private boolean closed;
+
+    private long started;
+
+    private int submitted;
+
+    private int running;
+
+    // the number of jobs waiting for retries
+    private int delayed;
+
+    private int succeeded;
+
+    private int failed;
+
+    private long attempts;
+
+    private long retries;
+}
@@ -0,0 +1,604 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A provider of results which a {@link MetadataContext} binds in place of those of {@link java.sql.DatabaseMetaData}.
+ * <p>
+ * Per-call methods, such as {@link #getTables(String, String, String, String[])}, mirror the methods of {@link
+ * java.sql.DatabaseMetaData} and return results with the same labels, or {@code null} if not supported, in which case
+ * the context invokes the {@link java.sql.DatabaseMetaData} instead.
+ * <p>
+ * Bulk methods, such as {@link #getSchemaColumns(String, String)}, cover all tables, or all routines, of a schema at
+ * once. Each returns a result set with the same labels and values as the corresponding method of {@link
+ * java.sql.DatabaseMetaData} would return for each table (or routine) in the schema, or {@code null} if the method is
+ * not supported. Rows of a table should be in the same order as the corresponding method returns. A {@link
+ * MetadataContext} with a provider partitions these rows by table (or routine) names and binds them into {@link
+ * Table}s, {@link Column}s, {@link Procedure}s and {@link Function}s without invoking per-table methods.
+ * <pre>{@code
+ * try (MetadataProvider provider = MetadataProviders.load(connection)) {
+ *     final MetadataContext context = new MetadataContext(connection.getMetaData()).setProvider(provider);
+ * }
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see MetadataContext#setProvider(MetadataProvider)
+ * @see MetadataProviders#load(java.sql.Connection)
+ */
+public interface MetadataProvider extends AutoCloseable {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Closes this provider. The default implementation does nothing.
+     *
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    default void close() throws SQLException {
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Returns attributes as {@link java.sql.DatabaseMetaData#getAttributes(String, String, String, String)} does.
+     *
+     * @param catalog              the value for {@code catalog} parameter
+     * @param schemaPattern        the value for {@code schemaPattern} parameter
+     * @param typeNamePattern      the value for {@code typeNamePattern} parameter
+     * @param attributeNamePattern the value for {@code attributeNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getAttributes(String, String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getAttributes(final String catalog, final String schemaPattern, final String typeNamePattern,
+                                    final String attributeNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns best row identifiers as {@link java.sql.DatabaseMetaData#getBestRowIdentifier(String, String, String,
+     * int, boolean)} does.
+     *
+     * @param catalog  the value for {@code catalog} parameter
+     * @param schema   the value for {@code schema} parameter
+     * @param table    the value for {@code table} parameter
+     * @param scope    the value for {@code scope} parameter
+     * @param nullable the value for {@code nullable} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getBestRowIdentifier(String, String, String,
+     * int, boolean)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getBestRowIdentifier(final String catalog, final String schema, final String table,
+                                           final int scope, final boolean nullable)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns catalogs as {@link java.sql.DatabaseMetaData#getCatalogs()} does.
+     *
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getCatalogs()}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getCatalogs() throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns client info properties as {@link java.sql.DatabaseMetaData#getClientInfoProperties()} does.
+     *
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getClientInfoProperties()}; {@code null} if not
+     * supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getClientInfoProperties() throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns column privileges as {@link java.sql.DatabaseMetaData#getColumnPrivileges(String, String, String,
+     * String)} does.
+     *
+     * @param catalog           the value for {@code catalog} parameter
+     * @param schema            the value for {@code schema} parameter
+     * @param table             the value for {@code table} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getColumnPrivileges(String, String, String,
+     * String)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getColumnPrivileges(final String catalog, final String schema, final String table,
+                                          final String columnNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns columns as {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)} does.
+     *
+     * @param catalog           the value for {@code catalog} parameter
+     * @param schemaPattern     the value for {@code schemaPattern} parameter
+     * @param tableNamePattern  the value for {@code tableNamePattern} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getColumns(final String catalog, final String schemaPattern, final String tableNamePattern,
+                                 final String columnNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns cross references as {@link java.sql.DatabaseMetaData#getCrossReference(String, String, String, String,
+     * String, String)} does.
+     *
+     * @param parentCatalog  the value for {@code parentCatalog} parameter
+     * @param parentSchema   the value for {@code parentSchema} parameter
+     * @param parentTable    the value for {@code parentTable} parameter
+     * @param foreignCatalog the value for {@code foreignCatalog} parameter
+     * @param foreignSchema  the value for {@code foreignSchema} parameter
+     * @param foreignTable   the value for {@code foreignTable} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getCrossReference(String, String, String,
+     * String, String, String)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getCrossReference(final String parentCatalog, final String parentSchema, final String parentTable,
+                                        final String foreignCatalog, final String foreignSchema,
+                                        final String foreignTable)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns exported keys as {@link java.sql.DatabaseMetaData#getExportedKeys(String, String, String)} does.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema  the value for {@code schema} parameter
+     * @param table   the value for {@code table} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getExportedKeys(String, String, String)}; {@code
+     * null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getExportedKeys(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns function columns as {@link java.sql.DatabaseMetaData#getFunctionColumns(String, String, String, String)}
+     * does.
+     *
+     * @param catalog             the value for {@code catalog} parameter
+     * @param schemaPattern       the value for {@code schemaPattern} parameter
+     * @param functionNamePattern the value for {@code functionNamePattern} parameter
+     * @param columnNamePattern   the value for {@code columnNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getFunctionColumns(String, String, String,
+     * String)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getFunctionColumns(final String catalog, final String schemaPattern,
+                                         final String functionNamePattern, final String columnNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns functions as {@link java.sql.DatabaseMetaData#getFunctions(String, String, String)} does.
+     *
+     * @param catalog             the value for {@code catalog} parameter
+     * @param schemaPattern       the value for {@code schemaPattern} parameter
+     * @param functionNamePattern the value for {@code functionNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getFunctions(String, String, String)}; {@code
+     * null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getFunctions(final String catalog, final String schemaPattern, final String functionNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns imported keys as {@link java.sql.DatabaseMetaData#getImportedKeys(String, String, String)} does.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema  the value for {@code schema} parameter
+     * @param table   the value for {@code table} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getImportedKeys(String, String, String)}; {@code
+     * null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getImportedKeys(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns index information as {@link java.sql.DatabaseMetaData#getIndexInfo(String, String, String, boolean,
+     * boolean)} does.
+     *
+     * @param catalog     the value for {@code catalog} parameter
+     * @param schema      the value for {@code schema} parameter
+     * @param table       the value for {@code table} parameter
+     * @param unique      the value for {@code unique} parameter
+     * @param approximate the value for {@code approximate} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getIndexInfo(String, String, String, boolean,
+     * boolean)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getIndexInfo(final String catalog, final String schema, final String table, final boolean unique,
+                                   final boolean approximate)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns primary keys as {@link java.sql.DatabaseMetaData#getPrimaryKeys(String, String, String)} does.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema  the value for {@code schema} parameter
+     * @param table   the value for {@code table} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getPrimaryKeys(String, String, String)}; {@code
+     * null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getPrimaryKeys(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns procedure columns as {@link java.sql.DatabaseMetaData#getProcedureColumns(String, String, String,
+     * String)} does.
+     *
+     * @param catalog              the value for {@code catalog} parameter
+     * @param schemaPattern        the value for {@code schemaPattern} parameter
+     * @param procedureNamePattern the value for {@code procedureNamePattern} parameter
+     * @param columnNamePattern    the value for {@code columnNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getProcedureColumns(String, String, String,
+     * String)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getProcedureColumns(final String catalog, final String schemaPattern,
+                                          final String procedureNamePattern, final String columnNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns procedures as {@link java.sql.DatabaseMetaData#getProcedures(String, String, String)} does.
+     *
+     * @param catalog              the value for {@code catalog} parameter
+     * @param schemaPattern        the value for {@code schemaPattern} parameter
+     * @param procedureNamePattern the value for {@code procedureNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getProcedures(String, String, String)}; {@code
+     * null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getProcedures(final String catalog, final String schemaPattern, final String procedureNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns pseudo columns as {@link java.sql.DatabaseMetaData#getPseudoColumns(String, String, String, String)}
+     * does.
+     *
+     * @param catalog           the value for {@code catalog} parameter
+     * @param schemaPattern     the value for {@code schemaPattern} parameter
+     * @param tableNamePattern  the value for {@code tableNamePattern} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getPseudoColumns(String, String, String,
+     * String)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getPseudoColumns(final String catalog, final String schemaPattern, final String tableNamePattern,
+                                       final String columnNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns schemas as {@link java.sql.DatabaseMetaData#getSchemas()} does.
+     *
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getSchemas()}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemas() throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns schemas as {@link java.sql.DatabaseMetaData#getSchemas(String, String)} does.
+     *
+     * @param catalog       the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getSchemas(String, String)}; {@code null} if not
+     * supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemas(final String catalog, final String schemaPattern) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns super tables as {@link java.sql.DatabaseMetaData#getSuperTables(String, String, String)} does.
+     *
+     * @param catalog          the value for {@code catalog} parameter
+     * @param schemaPattern    the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getSuperTables(String, String, String)}; {@code
+     * null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSuperTables(final String catalog, final String schemaPattern, final String tableNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns super types as {@link java.sql.DatabaseMetaData#getSuperTypes(String, String, String)} does.
+     *
+     * @param catalog         the value for {@code catalog} parameter
+     * @param schemaPattern   the value for {@code schemaPattern} parameter
+     * @param typeNamePattern the value for {@code typeNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getSuperTypes(String, String, String)}; {@code
+     * null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSuperTypes(final String catalog, final String schemaPattern, final String typeNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns table privileges as {@link java.sql.DatabaseMetaData#getTablePrivileges(String, String, String)} does.
+     *
+     * @param catalog          the value for {@code catalog} parameter
+     * @param schemaPattern    the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getTablePrivileges(String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getTablePrivileges(final String catalog, final String schemaPattern,
+                                         final String tableNamePattern)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns table types as {@link java.sql.DatabaseMetaData#getTableTypes()} does.
+     *
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getTableTypes()}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getTableTypes() throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns tables as {@link java.sql.DatabaseMetaData#getTables(String, String, String, String[])} does.
+     *
+     * @param catalog          the value for {@code catalog} parameter
+     * @param schemaPattern    the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @param types            the value for {@code types} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getTables(String, String, String, String[])};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getTables(final String catalog, final String schemaPattern, final String tableNamePattern,
+                                final String[] types)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns type information as {@link java.sql.DatabaseMetaData#getTypeInfo()} does.
+     *
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getTypeInfo()}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getTypeInfo() throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns UDTs as {@link java.sql.DatabaseMetaData#getUDTs(String, String, String, int[])} does.
+     *
+     * @param catalog         the value for {@code catalog} parameter
+     * @param schemaPattern   the value for {@code schemaPattern} parameter
+     * @param typeNamePattern the value for {@code typeNamePattern} parameter
+     * @param types           the value for {@code types} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getUDTs(String, String, String, int[])}; {@code
+     * null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getUDTs(final String catalog, final String schemaPattern, final String typeNamePattern,
+                              final int[] types)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns version columns as {@link java.sql.DatabaseMetaData#getVersionColumns(String, String, String)} does.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema  the value for {@code schema} parameter
+     * @param table   the value for {@code table} parameter
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getVersionColumns(String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getVersionColumns(final String catalog, final String schema, final String table)
+            throws SQLException {
+        return null;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Returns best row identifiers of all tables in specified schema. Unlike {@link
+     * java.sql.DatabaseMetaData#getBestRowIdentifier(String, String, String, int, boolean)}, each row should have an
+     * additional {@code TABLE_NAME} column by which rows are partitioned.
+     *
+     * @param catalog  the catalog name; {@code null} for any
+     * @param schema   the schema name
+     * @param scope    the scope of interest
+     * @param nullable a flag for including columns that are nullable
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getBestRowIdentifier(String, String, String,
+     * int, boolean)} along with {@code TABLE_NAME}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaBestRowIdentifier(final String catalog, final String schema, final int scope,
+                                                 final boolean nullable)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns columns of all tables in specified schema.
+     *
+     * @param catalog the catalog name; {@code null} for any
+     * @param schema  the schema name
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaColumns(final String catalog, final String schema) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns columns of all functions in specified schema.
+     *
+     * @param catalog the catalog name; {@code null} for any
+     * @param schema  the schema name
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getFunctionColumns(String, String, String,
+     * String)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaFunctionColumns(final String catalog, final String schema) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns column privileges of all tables in specified schema.
+     *
+     * @param catalog the catalog name; {@code null} for any
+     * @param schema  the schema name
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getColumnPrivileges(String, String, String,
+     * String)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaColumnPrivileges(final String catalog, final String schema) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns exported keys of all tables in specified schema.
+     *
+     * @param catalog the catalog name; {@code null} for any
+     * @param schema  the schema name
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getExportedKeys(String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaExportedKeys(final String catalog, final String schema) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns imported keys of all tables in specified schema.
+     *
+     * @param catalog the catalog name; {@code null} for any
+     * @param schema  the schema name
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getImportedKeys(String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaImportedKeys(final String catalog, final String schema) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns index information of all tables in specified schema.
+     *
+     * @param catalog     the catalog name; {@code null} for any
+     * @param schema      the schema name
+     * @param unique      a flag for unique indices only
+     * @param approximate a flag for approximate values
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getIndexInfo(String, String, String, boolean,
+     * boolean)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaIndexInfo(final String catalog, final String schema, final boolean unique,
+                                         final boolean approximate)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns primary keys of all tables in specified schema.
+     *
+     * @param catalog the catalog name; {@code null} for any
+     * @param schema  the schema name
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getPrimaryKeys(String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaPrimaryKeys(final String catalog, final String schema) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns columns of all procedures in specified schema.
+     *
+     * @param catalog the catalog name; {@code null} for any
+     * @param schema  the schema name
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getProcedureColumns(String, String, String,
+     * String)}; {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaProcedureColumns(final String catalog, final String schema) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns table privileges of all tables in specified schema.
+     *
+     * @param catalog the catalog name; {@code null} for any
+     * @param schema  the schema name
+     * @return a result set labeled as {@link java.sql.DatabaseMetaData#getTablePrivileges(String, String, String)};
+     * {@code null} if not supported.
+     * @throws SQLException if a database error occurs.
+     */
+    default ResultSet getSchemaTablePrivileges(final String catalog, final String schema) throws SQLException {
+        return null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A service which creates {@link MetadataProvider}s for databases it supports. Implementations are discovered with
+ * {@link java.util.ServiceLoader} and should be listed in {@code
+ * META-INF/services/com.github.jinahya.database.metadata.bind.MetadataProviderFactory}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see MetadataProviders#load(Connection)
+ */
+public interface MetadataProviderFactory {
+
+    /**
+     * Indicates whether this factory supports a database of given product name accessed with specified driver.
+     *
+     * @param databaseProductName the value of {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+     * @param driverName          the value of {@link java.sql.DatabaseMetaData#getDriverName()}
+     * @return {@code true} if supported; {@code false} otherwise.
+     */
+    boolean supports(String databaseProductName, String driverName);
+
+    /**
+     * Creates a new provider for given connection.
+     *
+     * @param connection the connection to a supported database
+     * @return a new provider.
+     * @throws SQLException if a database error occurs.
+     */
+    MetadataProvider create(Connection connection) throws SQLException;
+}
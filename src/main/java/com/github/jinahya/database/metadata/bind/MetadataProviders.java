@@ -0,0 +1,73 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ServiceLoader;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * Utilities for {@link MetadataProvider}s.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public final class MetadataProviders {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final Logger logger = getLogger(MetadataProviders.class.getName());
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Loads a provider for given connection. This method creates a provider with the first {@link
+     * MetadataProviderFactory} which supports the database product name and the driver name of the connection, or a
+     * {@link JdbcMetadataProvider} if none does.
+     *
+     * @param connection the connection
+     * @return a provider for the connection.
+     * @throws SQLException if a database error occurs.
+     */
+    public static MetadataProvider load(final Connection connection) throws SQLException {
+        final DatabaseMetaData metadata = connection.getMetaData();
+        final String databaseProductName = metadata.getDatabaseProductName();
+        final String driverName = metadata.getDriverName();
+        for (final MetadataProviderFactory factory : ServiceLoader.load(MetadataProviderFactory.class)) {
+            if (factory.supports(databaseProductName, driverName)) {
+                if (logger.isLoggable(FINE)) {
+                    logger.fine(format("loading with %s for %s/%s", factory, databaseProductName, driverName));
+                }
+                return factory.create(connection);
+            }
+        }
+        return new JdbcMetadataProvider(metadata);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private MetadataProviders() {
+        super();
+    }
+}
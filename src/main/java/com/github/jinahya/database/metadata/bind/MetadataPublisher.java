@@ -0,0 +1,316 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.logging.Level.WARNING;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * A publisher emits instances, such as {@link Table}s and {@link Column}s, as they are bound while crawling with a
+ * {@link MetadataContext}.
+ * <p>
+ * Each subscription runs its own crawl on the executor. An instance is emitted once the instance and its lists are
+ * bound, thus children precede their parents. The crawl pauses, holding the current result set open, whenever the
+ * demand of the subscriber is zero, and aborts when the subscription is cancelled.
+ * <pre>{@code
+ * new MetadataPublisher(context, executor).subscribe(new MetadataPublisher.Subscriber<Object>() {
+ *     public void onSubscribe(final MetadataPublisher.Subscription subscription) {
+ *         (this.subscription = subscription).request(1L);
+ *     }
+ *     public void onNext(final Object item) {
+ *         index(item);
+ *         subscription.request(1L);
+ *     }
+ *     ...
+ * });
+ * }</pre>
+ * The {@link Subscriber} and {@link Subscription} interfaces have the same shapes as those of the Reactive Streams, so
+ * that adapters to {@code org.reactivestreams} or {@code java.util.concurrent.Flow} are straightforward.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataPublisher {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final Logger logger = getLogger(MetadataPublisher.class.getName());
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A receiver of emitted instances.
+     *
+     * @param <T> item type parameter
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * Invoked once before any other methods.
+         *
+         * @param subscription the subscription
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Invoked with each item, no more than requested.
+         *
+         * @param item the item
+         */
+        void onNext(T item);
+
+        /**
+         * Invoked once when the crawl failed.
+         *
+         * @param throwable the failure
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Invoked once when the crawl completed.
+         */
+        void onComplete();
+    }
+
+    /**
+     * A link between a publisher and a subscriber.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds given number of items to the demand.
+         *
+         * @param n the number of items; must be positive
+         */
+        void request(long n);
+
+        /**
+         * Cancels the crawl.
+         */
+        void cancel();
+    }
+
+    /**
+     * A function crawls with a context.
+     */
+    @FunctionalInterface
+    public interface Crawl {
+
+        /**
+         * Crawls with given context.
+         *
+         * @param context the context
+         * @throws SQLException if a database error occurs.
+         */
+        void crawl(MetadataContext context) throws SQLException;
+    }
+
+    // thrown by the observer to abort the crawl of a cancelled subscription
+    private static final class Cancellation extends RuntimeException {
+
+        private static final long serialVersionUID = -2364471532981357095L;
+
+        private Cancellation() {
+            super(null, null, false, false);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given context, executor and crawl.
+     *
+     * @param context  the context
+     * @param executor the executor on which crawls run
+     * @param crawl    the crawl
+     */
+    public MetadataPublisher(final MetadataContext context, final Executor executor, final Crawl crawl) {
+        super();
+        this.context = requireNonNull(context, "context is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        this.crawl = requireNonNull(crawl, "crawl is null");
+    }
+
+    /**
+     * Creates a new instance which crawls catalogs, with virtual ones if none, and all their descendants.
+     *
+     * @param context  the context
+     * @param executor the executor on which crawls run
+     * @see MetadataContext#getCatalogs(MetadataContext, boolean)
+     */
+    public MetadataPublisher(final MetadataContext context, final Executor executor) {
+        this(context, executor, c -> getCatalogs(c, true));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Subscribes given subscriber. The crawl starts on the executor once the subscriber requests.
+     *
+     * @param subscriber the subscriber
+     */
+    public void subscribe(final Subscriber<Object> subscriber) {
+        requireNonNull(subscriber, "subscriber is null");
+        final Link link = new Link(subscriber);
+        subscriber.onSubscribe(link);
+        executor.execute(link);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A subscription which runs the crawl.
+     */
+    private final class Link implements Subscription, Runnable {
+
+        private Link(final Subscriber<Object> subscriber) {
+            super();
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            lock.lock();
+            try {
+                if (n <= 0L) {
+                    if (failure == null) {
+                        failure = new IllegalArgumentException("non-positive request: " + n);
+                    }
+                    cancelled = true;
+                } else {
+                    demand = demand + n < 0L ? Long.MAX_VALUE : demand + n;
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                await(false);
+                context.observe(this::emit);
+                try {
+                    crawl.crawl(context);
+                } finally {
+                    context.observe(null);
+                }
+            } catch (final Cancellation c) {
+                // empty
+            } catch (final Throwable t) {
+                if (!isCancelled()) {
+                    subscriber.onError(t);
+                    return;
+                }
+                logger.log(WARNING, format("failed after cancelled; %s", subscriber), t);
+            }
+            final Throwable failure = failure();
+            if (failure != null) {
+                subscriber.onError(failure);
+                return;
+            }
+            if (!isCancelled()) {
+                subscriber.onComplete();
+            }
+        }
+
+        // serialized for instances bound in a pipeline
+        private synchronized void emit(final Object item) {
+            await(true);
+            subscriber.onNext(item);
+        }
+
+        // waits for a demand and, optionally, takes one from it
+        private void await(final boolean take) {
+            lock.lock();
+            try {
+                while (demand == 0L && !cancelled) {
+                    changed.awaitUninterruptibly();
+                }
+                if (cancelled) {
+                    throw new Cancellation();
+                }
+                if (take && demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isCancelled() {
+            lock.lock();
+            try {
+                return cancelled;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Throwable failure() {
+            lock.lock();
+            try {
+                return failure;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private final Subscriber<Object> subscriber;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Condition changed = lock.newCondition();
+
+        private long demand;
+
+        private boolean cancelled;
+
+        // the failure to signal instead of completion, such as a non-positive request
+        private Throwable failure;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final MetadataContext context;
+
+    private final Executor executor;
+
+    private final Crawl crawl;
+}
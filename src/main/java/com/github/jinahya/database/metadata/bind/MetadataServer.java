@@ -0,0 +1,607 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static com.github.jinahya.database.metadata.bind.Utils.fields;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * An embeddable HTTP server which serves a cached snapshot of catalogs as JSON, so that many clients read metadata of
+ * a database without connecting to it.
+ * <p>
+ * The snapshot is crawled once when the server starts and refreshed in the background. Each response carries the
+ * {@link MetadataFingerprint fingerprint} of the snapshot as its {@code ETag} and a request with a matching {@code
+ * If-None-Match} is answered with {@code 304 Not Modified}. Rendered responses are cached, up to {@link
+ * #setCacheSize(int) a number}, until the snapshot changes.
+ * <table>
+ * <caption>Resources</caption>
+ * <tr><th>Path</th><th>Parameters</th><th>Content</th></tr>
+ * <tr><td>{@code /snapshot}</td><td></td><td>the fingerprint, the time crawled and counts</td></tr>
+ * <tr><td>{@code /tables}</td><td>{@code catalog}, {@code schema}, {@code table}</td><td>tables</td></tr>
+ * <tr><td>{@code /columns}</td><td>{@code catalog}, {@code schema}, {@code table}</td><td>columns of tables</td></tr>
+ * <tr><td>{@code /keys}</td><td>{@code catalog}, {@code schema}, {@code table}</td>
+ * <td>primary, imported and exported keys of tables</td></tr>
+ * <tr><td>{@code /search}</td><td>{@code q}, {@code limit}</td><td>tables and columns whose names start with {@code q},
+ * case-insensitively</td></tr>
+ * </table>
+ * Parameters filter exactly; absent parameters match any.
+ * <pre>{@code
+ * final MetadataServer server = new MetadataServer(new InetSocketAddress(8080), () -> {
+ *     try (Connection connection = dataSource.getConnection()) {
+ *         return getCatalogs(new MetadataContext(connection.getMetaData()), true);
+ *     }
+ * });
+ * server.setRefreshInterval(10L, TimeUnit.MINUTES).start();
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataServer implements AutoCloseable {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final Logger logger = getLogger(MetadataServer.class.getName());
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A function crawls catalogs for each snapshot.
+     */
+    @FunctionalInterface
+    public interface Crawl {
+
+        /**
+         * Crawls catalogs.
+         *
+         * @return a list of catalogs.
+         * @throws SQLException if a database error occurs.
+         */
+        List<Catalog> crawl() throws SQLException;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // labels and fields with @Bind, sorted by labels
+    private static final ClassValue<Map<String, Field>> BFIELDS = new ClassValue<Map<String, Field>>() {
+        @Override
+        protected Map<String, Field> computeValue(final Class<?> type) {
+            final Map<String, Field> bfields = new TreeMap<>();
+            for (final Entry<Field, Bind> entry : fields(type, Bind.class).entrySet()) {
+                if (entry.getValue().unused()) {
+                    continue;
+                }
+                entry.getKey().setAccessible(true);
+                bfields.put(entry.getValue().label(), entry.getKey());
+            }
+            return Collections.unmodifiableMap(bfields);
+        }
+    };
+
+    /**
+     * An immutable snapshot of catalogs with indices.
+     */
+    private static final class Snapshot {
+
+        private Snapshot(final List<Catalog> catalogs) {
+            super();
+            fingerprint = new MetadataFingerprint().of(catalogs);
+            crawled = System.currentTimeMillis();
+            for (final Catalog catalog : catalogs) {
+                for (final Schema schema : catalog.getSchemas()) {
+                    for (final Table table : schema.getTables()) {
+                        tables.add(table);
+                        index(table.getTableName(), table);
+                        for (final Column column : table.getColumns()) {
+                            index(column.getColumnName(), column);
+                            columns++;
+                        }
+                    }
+                }
+            }
+        }
+
+        private void index(final String name, final Object entity) {
+            if (name != null) {
+                names.computeIfAbsent(name.toUpperCase(), k -> new ArrayList<>()).add(entity);
+            }
+        }
+
+        private final String fingerprint;
+
+        private final long crawled;
+
+        private final List<Table> tables = new ArrayList<>();
+
+        private int columns;
+
+        // tables and columns keyed by upper-cased names
+        private final NavigableMap<String, List<Object>> names = new TreeMap<>();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance.
+     *
+     * @param address the address to bind
+     * @param crawl   the function crawling catalogs for each snapshot
+     */
+    public MetadataServer(final InetSocketAddress address, final Crawl crawl) {
+        super();
+        this.address = requireNonNull(address, "address is null");
+        this.crawl = requireNonNull(crawl, "crawl is null");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Starts this server. Requests are answered with {@code 503 Service Unavailable} until the first snapshot is
+     * crawled, unless {@link #refresh()} has been invoked.
+     *
+     * @return this server.
+     * @throws IOException if failed to bind.
+     */
+    public synchronized MetadataServer start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("already started");
+        }
+        server = HttpServer.create(address, 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            final Thread thread = new Thread(r, "metadata-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "metadata-server-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (final SQLException | RuntimeException e) {
+                logger.log(WARNING, "failed to refresh; serving the previous snapshot", e);
+            }
+        }, snapshot == null ? 0L : refreshNanos, refreshNanos, TimeUnit.NANOSECONDS);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Stops this server.
+     */
+    @Override
+    public synchronized void close() {
+        if (server == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+        server = null;
+    }
+
+    /**
+     * Returns the address this server is bound to.
+     *
+     * @return the address this server is bound to; {@code null} if not started.
+     */
+    public synchronized InetSocketAddress getAddress() {
+        return server == null ? null : server.getAddress();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Crawls a new snapshot and replaces the current one. Concurrent invocations, including those of the background
+     * refresh, are serialized.
+     *
+     * @return {@code true} if the fingerprint of the snapshot changed; {@code false} otherwise.
+     * @throws SQLException if a database error occurs.
+     */
+    public boolean refresh() throws SQLException {
+        synchronized (refreshing) {
+            final Snapshot refreshed = new Snapshot(crawl.crawl());
+            final Snapshot previous = snapshot;
+            if (previous != null && previous.fingerprint.equals(refreshed.fingerprint)) {
+                if (logger.isLoggable(FINE)) {
+                    logger.fine(format("snapshot not changed; %s", previous.fingerprint));
+                }
+                return false;
+            }
+            synchronized (responses) {
+                snapshot = refreshed;
+                responses.clear();
+            }
+            if (logger.isLoggable(FINE)) {
+                logger.fine(format("snapshot changed; %s", refreshed.fingerprint));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the fingerprint of the current snapshot.
+     *
+     * @return the fingerprint of the current snapshot; {@code null} if not crawled yet.
+     */
+    public String getFingerprint() {
+        final Snapshot snapshot = this.snapshot;
+        return snapshot == null ? null : snapshot.fingerprint;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, null);
+                return;
+            }
+            final Snapshot snapshot = this.snapshot;
+            if (snapshot == null) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 503, null);
+                return;
+            }
+            final String etag = '"' + snapshot.fingerprint + '"';
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                send(exchange, 304, null);
+                return;
+            }
+            final String path = exchange.getRequestURI().getPath();
+            final String query = exchange.getRequestURI().getRawQuery();
+            final String key = query == null ? path : path + '?' + query;
+            byte[] body;
+            synchronized (responses) {
+                body = this.snapshot == snapshot ? responses.get(key) : null;
+            }
+            if (body == null) {
+                final StringBuilder json = new StringBuilder();
+                if (!render(snapshot, path, parameters(query), json)) {
+                    send(exchange, 404, null);
+                    return;
+                }
+                body = json.toString().getBytes(StandardCharsets.UTF_8);
+                synchronized (responses) {
+                    if (this.snapshot == snapshot) {
+                        responses.put(key, body);
+                    }
+                }
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            send(exchange, 200, body);
+        } catch (final IllegalArgumentException iae) {
+            send(exchange, 400, null);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body == null ? -1L : body.length);
+        if (body != null) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    private static boolean matches(final String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> parameters(final String query) {
+        final Map<String, String> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (final String pair : query.split("&")) {
+            final int i = pair.indexOf('=');
+            try {
+                parameters.put(URLDecoder.decode(i < 0 ? pair : pair.substring(0, i), "UTF-8"),
+                               i < 0 ? "" : URLDecoder.decode(pair.substring(i + 1), "UTF-8"));
+            } catch (final UnsupportedEncodingException uee) {
+                throw new AssertionError(uee);
+            }
+        }
+        return parameters;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Renders the resource of given path.
+     *
+     * @return {@code true} if rendered; {@code false} if the path is unknown.
+     */
+    private static boolean render(final Snapshot snapshot, final String path, final Map<String, String> parameters,
+                                  final StringBuilder json) {
+        switch (path) {
+            case "/snapshot":
+                json.append("{\"fingerprint\":");
+                value(snapshot.fingerprint, json);
+                json.append(",\"crawled\":").append(snapshot.crawled)
+                        .append(",\"tables\":").append(snapshot.tables.size())
+                        .append(",\"columns\":").append(snapshot.columns).append('}');
+                return true;
+            case "/tables":
+                array(tables(snapshot, parameters), json);
+                return true;
+            case "/columns": {
+                final List<Object> columns = new ArrayList<>();
+                for (final Table table : tables(snapshot, parameters)) {
+                    columns.addAll(table.getColumns());
+                }
+                array(columns, json);
+                return true;
+            }
+            case "/keys": {
+                final List<Object> primaryKeys = new ArrayList<>();
+                final List<Object> importedKeys = new ArrayList<>();
+                final List<Object> exportedKeys = new ArrayList<>();
+                for (final Table table : tables(snapshot, parameters)) {
+                    primaryKeys.addAll(table.getPrimaryKeys());
+                    importedKeys.addAll(table.getImportedKeys());
+                    exportedKeys.addAll(table.getExportedKeys());
+                }
+                json.append("{\"primaryKeys\":");
+                array(primaryKeys, json);
+                json.append(",\"importedKeys\":");
+                array(importedKeys, json);
+                json.append(",\"exportedKeys\":");
+                array(exportedKeys, json);
+                json.append('}');
+                return true;
+            }
+            case "/search": {
+                final String q = parameters.get("q");
+                if (q == null || q.isEmpty()) {
+                    throw new IllegalArgumentException("no q");
+                }
+                final int limit = Integer.parseInt(parameters.getOrDefault("limit", "100"));
+                final String prefix = q.toUpperCase();
+                final List<Object> found = new ArrayList<>();
+                for (final List<Object> entities
+                        : snapshot.names.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                    if (found.size() >= limit) {
+                        break;
+                    }
+                    found.addAll(entities.subList(0, Math.min(entities.size(), limit - found.size())));
+                }
+                json.append('[');
+                for (int i = 0; i < found.size(); i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    final Object entity = found.get(i);
+                    json.append("{\"kind\":");
+                    value(entity instanceof Table ? "table" : "column", json);
+                    json.append(",\"entity\":");
+                    object(entity, json);
+                    json.append('}');
+                }
+                json.append(']');
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    private static List<Table> tables(final Snapshot snapshot, final Map<String, String> parameters) {
+        final String catalog = parameters.get("catalog");
+        final String schema = parameters.get("schema");
+        final String name = parameters.get("table");
+        final List<Table> tables = new ArrayList<>();
+        for (final Table table : snapshot.tables) {
+            if ((catalog == null || catalog.equals(table.getTableCat()))
+                && (schema == null || schema.equals(table.getTableSchem()))
+                && (name == null || name.equals(table.getTableName()))) {
+                tables.add(table);
+            }
+        }
+        return tables;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static void array(final Collection<?> entities, final StringBuilder json) {
+        json.append('[');
+        boolean first = true;
+        for (final Object entity : entities) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            object(entity, json);
+        }
+        json.append(']');
+    }
+
+    // renders values of @Bind fields labeled with their labels
+    private static void object(final Object entity, final StringBuilder json) {
+        json.append('{');
+        boolean first = true;
+        for (final Entry<String, Field> bfield : BFIELDS.get(entity.getClass()).entrySet()) {
+            final Object value;
+            try {
+                value = bfield.getValue().get(entity);
+            } catch (final IllegalAccessException iae) {
+                throw new RuntimeException(iae);
+            }
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            value(bfield.getKey(), json);
+            json.append(':');
+            value(value, json);
+        }
+        json.append('}');
+    }
+
+    private static void value(final Object value, final StringBuilder json) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+            return;
+        }
+        final String string = value.toString();
+        json.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Sets the interval between the end of a refresh and the start of the next. The default value is {@code 5}
+     * minutes. It takes effect when this server starts.
+     *
+     * @param interval the interval
+     * @param unit     the unit of {@code interval}
+     * @return this server.
+     */
+    public synchronized MetadataServer setRefreshInterval(final long interval, final TimeUnit unit) {
+        if (interval <= 0L) {
+            throw new IllegalArgumentException("interval(" + interval + ") <= 0");
+        }
+        refreshNanos = unit.toNanos(interval);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of rendered responses cached for the current snapshot. The least recently used response
+     * is evicted first. The default value is {@code 256}.
+     *
+     * @param cacheSize the maximum number of cached responses; {@code 0} for not caching
+     * @return this server.
+     */
+    public MetadataServer setCacheSize(final int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize(" + cacheSize + ") < 0");
+        }
+        synchronized (responses) {
+            this.cacheSize = cacheSize;
+            responses.clear();
+        }
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final InetSocketAddress address;
+
+    private final Crawl crawl;
+
+    private volatile Snapshot snapshot;
+
+    // serializes refreshes; not this instance, whose lock guards the server and the scheduler
+    private final Object refreshing = new Object();
+
+    // rendered responses of the current snapshot keyed by paths and queries; guarded by itself
+    private final Map<String, byte[]> responses = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+        private static final long serialVersionUID = 5735946339519466917L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<String, byte[]> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    private int cacheSize = 256;
+
+    private long refreshNanos = TimeUnit.MINUTES.toNanos(5L);
+
+    private HttpServer server;
+
+    private ScheduledExecutorService scheduler;
+}
@@ -0,0 +1,389 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A provider for PostgreSQL which reads {@code pg_catalog} once for each schema.
+ * <p>
+ * Queries follow those of the PostgreSQL JDBC driver, without the per-table condition. Values which the driver
+ * computes on the client side, such as {@code DATA_TYPE}, {@code COLUMN_SIZE} and privileges parsed from ACLs, are
+ * computed on the server side in the same way. This provider requires PostgreSQL 9.2 or later.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class PostgresqlMetadataProvider extends QueryMetadataProvider {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // the value of the driver's default unknownLength property
+    private static final int UNKNOWN_LENGTH = Integer.MAX_VALUE;
+
+    // oids of the driver's core types and their SQL types; see TypeInfoCache
+    private static final int[][] CORE_TYPES = {
+            {21, Types.SMALLINT, 1005}, // int2
+            {23, Types.INTEGER, 1007}, // int4
+            {26, Types.BIGINT, 1028}, // oid
+            {20, Types.BIGINT, 1016}, // int8
+            {790, Types.DOUBLE, 791}, // money
+            {1700, Types.NUMERIC, 1231}, // numeric
+            {700, Types.REAL, 1021}, // float4
+            {701, Types.DOUBLE, 1022}, // float8
+            {18, Types.CHAR, 1002}, // char
+            {1042, Types.CHAR, 1014}, // bpchar
+            {1043, Types.VARCHAR, 1015}, // varchar
+            {25, Types.VARCHAR, 1009}, // text
+            {19, Types.VARCHAR, 1003}, // name
+            {17, Types.BINARY, 1001}, // bytea
+            {16, Types.BIT, 1000}, // bool
+            {1560, Types.BIT, 1561}, // bit
+            {1082, Types.DATE, 1182}, // date
+            {1083, Types.TIME, 1183}, // time
+            {1266, Types.TIME, 1270}, // timetz
+            {1114, Types.TIMESTAMP, 1115}, // timestamp
+            {1184, Types.TIMESTAMP, 1185}, // timestamptz
+            {1790, Types.REF_CURSOR, 2201}, // refcursor
+            {114, Types.OTHER, 199}, // json
+            {600, Types.OTHER, 1017} // point
+    };
+
+    private static final String RULE
+            = " WHEN 'c' THEN " + DatabaseMetaData.importedKeyCascade
+              + " WHEN 'n' THEN " + DatabaseMetaData.importedKeySetNull
+              + " WHEN 'd' THEN " + DatabaseMetaData.importedKeySetDefault
+              + " WHEN 'r' THEN " + DatabaseMetaData.importedKeyRestrict
+              + " WHEN 'p' THEN " + DatabaseMetaData.importedKeyRestrict
+              + " WHEN 'a' THEN " + DatabaseMetaData.importedKeyNoAction
+              + " ELSE NULL END";
+
+    private static final String KEYS
+            = "SELECT NULL::text AS PKTABLE_CAT, pkn.nspname AS PKTABLE_SCHEM, pkc.relname AS PKTABLE_NAME,"
+              + " pka.attname AS PKCOLUMN_NAME, NULL::text AS FKTABLE_CAT, fkn.nspname AS FKTABLE_SCHEM,"
+              + " fkc.relname AS FKTABLE_NAME, fka.attname AS FKCOLUMN_NAME, pos.n AS KEY_SEQ,"
+              + " CASE con.confupdtype" + RULE + " AS UPDATE_RULE,"
+              + " CASE con.confdeltype" + RULE + " AS DELETE_RULE,"
+              + " con.conname AS FK_NAME, pkic.relname AS PK_NAME,"
+              + " CASE WHEN con.condeferrable AND con.condeferred THEN "
+              + DatabaseMetaData.importedKeyInitiallyDeferred
+              + " WHEN con.condeferrable THEN " + DatabaseMetaData.importedKeyInitiallyImmediate
+              + " ELSE " + DatabaseMetaData.importedKeyNotDeferrable + " END AS DEFERRABILITY"
+              + " FROM pg_catalog.pg_namespace pkn, pg_catalog.pg_class pkc, pg_catalog.pg_attribute pka,"
+              + " pg_catalog.pg_namespace fkn, pg_catalog.pg_class fkc, pg_catalog.pg_attribute fka,"
+              + " pg_catalog.pg_constraint con,"
+              + " pg_catalog.generate_series(1, current_setting('max_index_keys')::integer) pos(n),"
+              + " pg_catalog.pg_class pkic"
+              + " WHERE pkn.oid = pkc.relnamespace AND pkc.oid = pka.attrelid AND pka.attnum = con.confkey[pos.n]"
+              + " AND con.confrelid = pkc.oid AND fkn.oid = fkc.relnamespace AND fkc.oid = fka.attrelid"
+              + " AND fka.attnum = con.conkey[pos.n] AND con.conrelid = fkc.oid AND con.contype = 'f'"
+              + " AND pkic.relkind = 'i' AND pkic.oid = con.conindid";
+
+    // privileges of an ACL exploded as p, on a relation c, with the owner o
+    private static final String PRIVILEGES
+            = " g.rolname AS GRANTOR, CASE WHEN p.grantee = 0 THEN 'PUBLIC' ELSE e.rolname END AS GRANTEE,"
+              + " p.privilege_type AS PRIVILEGE,"
+              + " CASE WHEN e.rolname = o.rolname OR p.is_grantable THEN 'YES' ELSE 'NO' END AS IS_GRANTABLE";
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // the SQL type of a type t, in the namespace tn, as the driver's TypeInfoCache#getSQLType(int) does
+    private static String sqlType(final String t, final String tn) {
+        final StringBuilder builder = new StringBuilder("CASE ").append(t).append(".oid");
+        final StringBuilder arrays = new StringBuilder();
+        for (final int[] type : CORE_TYPES) {
+            builder.append(" WHEN ").append(type[0]).append(" THEN ").append(type[1]);
+            arrays.append(arrays.length() == 0 ? "" : ", ").append(type[2]);
+        }
+        return builder.append(" ELSE CASE")
+                .append(" WHEN ").append(t).append(".oid IN (").append(arrays).append(") THEN ").append(Types.ARRAY)
+                .append(" WHEN ").append(tn).append(".nspname <> ALL(current_schemas(true)) THEN ").append(Types.OTHER)
+                .append(" WHEN ").append(t).append(".typinput = 'array_in'::regproc THEN ").append(Types.ARRAY)
+                .append(" WHEN ").append(t).append(".typtype = 'c' THEN ").append(Types.STRUCT)
+                .append(" WHEN ").append(t).append(".typtype = 'd' THEN ").append(Types.DISTINCT)
+                .append(" ELSE ").append(Types.OTHER).append(" END END")
+                .toString();
+    }
+
+    // the oid of the element type of known array types; see TypeInfoCache#convertArrayToBaseOid(int)
+    private static String baseOid(final String oid) {
+        final StringBuilder builder = new StringBuilder("CASE ").append(oid);
+        for (final int[] type : CORE_TYPES) {
+            builder.append(" WHEN ").append(type[2]).append(" THEN ").append(type[0]);
+        }
+        return builder.append(" ELSE ").append(oid).append(" END").toString();
+    }
+
+    // see TypeInfoCache#getDisplaySize(int, int)
+    private static String displaySize(final String oid, final String typmod) {
+        final String seconds = "CASE " + typmod + " WHEN -1 THEN 7 WHEN 0 THEN 0 WHEN 1 THEN 3 ELSE " + typmod
+                               + " + 1 END";
+        final String unknown = "CASE WHEN " + typmod + " = -1 THEN " + UNKNOWN_LENGTH;
+        return "CASE " + oid
+               + " WHEN 21 THEN 6 WHEN 23 THEN 11 WHEN 26 THEN 10 WHEN 20 THEN 20 WHEN 700 THEN 15 WHEN 701 THEN 25"
+               + " WHEN 18 THEN 1 WHEN 16 THEN 1 WHEN 1082 THEN 13"
+               + " WHEN 1083 THEN 8 + " + seconds + " WHEN 1266 THEN 14 + " + seconds
+               + " WHEN 1114 THEN 22 + " + seconds + " WHEN 1184 THEN 28 + " + seconds
+               + " WHEN 1186 THEN 49"
+               + " WHEN 1043 THEN " + unknown + " ELSE " + typmod + " - 4 END"
+               + " WHEN 1042 THEN " + unknown + " ELSE " + typmod + " - 4 END"
+               + " WHEN 1700 THEN CASE WHEN " + typmod + " = -1 THEN 131089 ELSE 1 + (((" + typmod
+               + " - 4) >> 16) & 65535) + CASE WHEN ((" + typmod + " - 4) & 65535) <> 0 THEN 1 ELSE 0 END END"
+               + " WHEN 1560 THEN " + typmod
+               + " WHEN 1562 THEN " + unknown + " ELSE " + typmod + " END"
+               + " ELSE " + UNKNOWN_LENGTH + " END";
+    }
+
+    // see TypeInfoCache#getPrecision(int, int)
+    private static String precision(final String oid, final String typmod) {
+        final String unknown = "CASE WHEN " + typmod + " = -1 THEN " + UNKNOWN_LENGTH;
+        return "CASE " + oid
+               + " WHEN 21 THEN 5 WHEN 26 THEN 10 WHEN 23 THEN 10 WHEN 20 THEN 19 WHEN 700 THEN 8 WHEN 701 THEN 17"
+               + " WHEN 1700 THEN CASE WHEN " + typmod + " = -1 THEN 0 ELSE ((" + typmod + " - 4) & -65536) >> 16 END"
+               + " WHEN 18 THEN 1 WHEN 16 THEN 1"
+               + " WHEN 1042 THEN " + unknown + " ELSE " + typmod + " - 4 END"
+               + " WHEN 1043 THEN " + unknown + " ELSE " + typmod + " - 4 END"
+               + " WHEN 1082 THEN " + displaySize(oid, typmod) + " WHEN 1083 THEN " + displaySize(oid, typmod)
+               + " WHEN 1266 THEN " + displaySize(oid, typmod) + " WHEN 1186 THEN " + displaySize(oid, typmod)
+               + " WHEN 1114 THEN " + displaySize(oid, typmod) + " WHEN 1184 THEN " + displaySize(oid, typmod)
+               + " WHEN 1560 THEN " + typmod
+               + " WHEN 1562 THEN " + unknown + " ELSE " + typmod + " END"
+               + " ELSE " + UNKNOWN_LENGTH + " END";
+    }
+
+    // see TypeInfoCache#getScale(int, int)
+    private static String scale(final String oid, final String typmod) {
+        return "CASE " + oid
+               + " WHEN 700 THEN 8 WHEN 701 THEN 17"
+               + " WHEN 1700 THEN CASE WHEN " + typmod + " = -1 THEN 0 ELSE (" + typmod + " - 4) & 65535 END"
+               + " WHEN 1083 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " END"
+               + " WHEN 1266 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " END"
+               + " WHEN 1114 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " END"
+               + " WHEN 1184 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " END"
+               + " WHEN 1186 THEN CASE WHEN " + typmod + " = -1 THEN 6 ELSE " + typmod + " & 65535 END"
+               + " ELSE 0 END";
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A factory for PostgreSQL databases accessed with the PostgreSQL JDBC driver, whose values this provider
+     * mirrors.
+     */
+    public static class Factory implements MetadataProviderFactory {
+
+        @Override
+        public boolean supports(final String databaseProductName, final String driverName) {
+            return "PostgreSQL".equals(databaseProductName) && driverName != null
+                   && driverName.startsWith("PostgreSQL");
+        }
+
+        @Override
+        public MetadataProvider create(final Connection connection) {
+            return new PostgresqlMetadataProvider(connection);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given connection.
+     *
+     * @param connection the connection to a PostgreSQL database
+     */
+    public PostgresqlMetadataProvider(final Connection connection) {
+        super(connection);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public ResultSet getSchemaColumns(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final String size = precision("c.baseoid", "c.atttypmod");
+        final StringBuilder sql = new StringBuilder(
+                "SELECT NULL::text AS TABLE_CAT, c.nspname AS TABLE_SCHEM, c.relname AS TABLE_NAME,"
+                + " c.attname AS COLUMN_NAME, c.sqltype AS DATA_TYPE,"
+                + " CASE WHEN c.atttypid = 23 AND c.adsrc LIKE '%nextval(%' THEN 'serial'"
+                + " WHEN c.atttypid = 20 AND c.adsrc LIKE '%nextval(%' THEN 'bigserial' ELSE c.pgtype END AS TYPE_NAME,"
+                + " CASE WHEN " + size + " = 0 THEN " + displaySize("c.baseoid", "c.atttypmod") + " ELSE " + size
+                + " END AS COLUMN_SIZE,"
+                + " NULL::text AS BUFFER_LENGTH, " + scale("c.baseoid", "c.atttypmod") + " AS DECIMAL_DIGITS,"
+                + " CASE WHEN c.atttypid IN (1560, 1562) THEN 2 ELSE 10 END AS NUM_PREC_RADIX,"
+                + " CASE WHEN c.attnotnull THEN " + DatabaseMetaData.columnNoNulls + " ELSE "
+                + DatabaseMetaData.columnNullable + " END AS NULLABLE,"
+                + " c.description AS REMARKS, c.adsrc AS COLUMN_DEF, NULL::integer AS SQL_DATA_TYPE,"
+                + " NULL::integer AS SQL_DATETIME_SUB,"
+                + " (CASE WHEN " + size + " = 0 THEN " + displaySize("c.baseoid", "c.atttypmod") + " ELSE " + size
+                + " END)::text AS CHAR_OCTET_LENGTH,"
+                + " c.attnum AS ORDINAL_POSITION, CASE WHEN c.attnotnull THEN 'NO' ELSE 'YES' END AS IS_NULLABLE,"
+                + " NULL::text AS SCOPE_CATALOG, NULL::text AS SCOPE_SCHEMA, NULL::text AS SCOPE_TABLE,"
+                + " c.sourcetype AS SOURCE_DATA_TYPE,"
+                + " CASE WHEN c.adsrc LIKE '%nextval(%' OR c.attidentity IS NOT NULL THEN 'YES' ELSE 'NO' END"
+                + " AS IS_AUTOINCREMENT"
+                + " FROM (SELECT n.nspname, c.relname, a.attname, a.atttypid, a.atttypmod,"
+                + " a.attnotnull OR (t.typtype = 'd' AND t.typnotnull) AS attnotnull,"
+                + " row_number() OVER (PARTITION BY a.attrelid ORDER BY a.attnum) AS attnum,"
+                + (getConnection().getMetaData().getDatabaseMajorVersion() >= 10
+                   ? " nullif(a.attidentity, '') AS attidentity," : " NULL AS attidentity,")
+                + " pg_catalog.pg_get_expr(def.adbin, def.adrelid) AS adsrc, dsc.description,"
+                + " " + baseOid("a.atttypid") + " AS baseoid,"
+                + " CASE t.typtype WHEN 'c' THEN " + Types.STRUCT + " WHEN 'd' THEN " + Types.DISTINCT
+                + " WHEN 'e' THEN " + Types.VARCHAR + " ELSE " + sqlType("t", "tn") + " END AS sqltype,"
+                + " CASE WHEN tn.nspname = ANY(current_schemas(true)) THEN t.typname"
+                + " ELSE '\"' || tn.nspname || '\".\"' || t.typname || '\"' END AS pgtype,"
+                + " CASE WHEN t.typbasetype = 0 THEN NULL ELSE " + sqlType("bt", "btn") + " END AS sourcetype"
+                + " FROM pg_catalog.pg_namespace n"
+                + " JOIN pg_catalog.pg_class c ON (c.relnamespace = n.oid)"
+                + " JOIN pg_catalog.pg_attribute a ON (a.attrelid = c.oid)"
+                + " JOIN pg_catalog.pg_type t ON (a.atttypid = t.oid)"
+                + " JOIN pg_catalog.pg_namespace tn ON (t.typnamespace = tn.oid)"
+                + " LEFT JOIN pg_catalog.pg_type bt ON (t.typbasetype = bt.oid)"
+                + " LEFT JOIN pg_catalog.pg_namespace btn ON (bt.typnamespace = btn.oid)"
+                + " LEFT JOIN pg_catalog.pg_attrdef def ON (a.attrelid = def.adrelid AND a.attnum = def.adnum)"
+                + " LEFT JOIN pg_catalog.pg_description dsc ON (c.oid = dsc.objoid AND a.attnum = dsc.objsubid)"
+                + " LEFT JOIN pg_catalog.pg_class dc ON (dc.oid = dsc.classoid AND dc.relname = 'pg_class')"
+                + " LEFT JOIN pg_catalog.pg_namespace dn ON (dc.relnamespace = dn.oid AND dn.nspname = 'pg_catalog')"
+                + " WHERE c.relkind IN ('r', 'p', 'v', 'f', 'm') AND a.attnum > 0 AND NOT a.attisdropped");
+        and(sql, "n.nspname", schema, parameters);
+        sql.append(") c ORDER BY c.relname, c.attnum");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaColumnPrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "WITH c AS (SELECT n.nspname, c.relname, c.relowner, c.relacl, a.attname, a.attacl"
+                + " FROM pg_catalog.pg_namespace n, pg_catalog.pg_class c, pg_catalog.pg_attribute a"
+                + " WHERE c.relnamespace = n.oid AND c.oid = a.attrelid AND c.relkind = 'r'"
+                + " AND a.attnum > 0 AND NOT a.attisdropped");
+        and(sql, "n.nspname", schema, parameters);
+        sql.append("), ca AS (SELECT c.*, (aclexplode(coalesce(c.attacl, acldefault('r', c.relowner)))).* FROM c)"
+                   // the driver puts column privileges over table privileges of the same names
+                   + ", cr AS (SELECT c.*, (aclexplode(coalesce(c.relacl, acldefault('r', c.relowner)))).* FROM c)"
+                   + " SELECT NULL::text AS TABLE_CAT, p.nspname AS TABLE_SCHEM, p.relname AS TABLE_NAME,"
+                   + " p.attname AS COLUMN_NAME," + PRIVILEGES
+                   + " FROM (SELECT * FROM ca UNION ALL SELECT * FROM cr WHERE NOT EXISTS (SELECT 1 FROM ca"
+                   + " WHERE ca.relname = cr.relname AND ca.attname = cr.attname"
+                   + " AND ca.privilege_type = cr.privilege_type)) p"
+                   + " JOIN pg_catalog.pg_roles o ON (o.oid = p.relowner)"
+                   + " LEFT JOIN pg_catalog.pg_roles g ON (g.oid = p.grantor)"
+                   + " LEFT JOIN pg_catalog.pg_roles e ON (e.oid = p.grantee)"
+                   + " ORDER BY p.relname, p.attname, PRIVILEGE");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaExportedKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(KEYS);
+        and(sql, "pkn.nspname", schema, parameters);
+        sql.append(" ORDER BY pkc.relname, fkn.nspname, fkc.relname, con.conname, pos.n");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaImportedKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(KEYS);
+        and(sql, "fkn.nspname", schema, parameters);
+        sql.append(" ORDER BY fkc.relname, pkn.nspname, pkc.relname, con.conname, pos.n");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaIndexInfo(final String catalog, final String schema, final boolean unique,
+                                        final boolean approximate)
+            throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final DatabaseMetaData metadata = getConnection().getMetaData();
+        final int major = metadata.getDatabaseMajorVersion();
+        final String order = major > 9 || (major == 9 && metadata.getDatabaseMinorVersion() >= 6)
+                             ? "CASE am.amname WHEN 'btree'" : "CASE am.amcanorder WHEN true";
+        final StringBuilder sql = new StringBuilder(
+                "SELECT NULL AS TABLE_CAT, n.nspname AS TABLE_SCHEM, ct.relname AS TABLE_NAME,"
+                + " NOT i.indisunique AS NON_UNIQUE, NULL AS INDEX_QUALIFIER, ci.relname AS INDEX_NAME,"
+                + " CASE i.indisclustered WHEN true THEN " + DatabaseMetaData.tableIndexClustered
+                + " ELSE CASE am.amname WHEN 'hash' THEN " + DatabaseMetaData.tableIndexHashed
+                + " ELSE " + DatabaseMetaData.tableIndexOther + " END END AS TYPE,"
+                + " (i.keys).n AS ORDINAL_POSITION,"
+                + " trim(both '\"' from pg_catalog.pg_get_indexdef(ci.oid, (i.keys).n, false)) AS COLUMN_NAME,"
+                + " " + order + " THEN CASE i.indoption[(i.keys).n - 1] & 1 WHEN 1 THEN 'D' ELSE 'A' END"
+                + " ELSE NULL END AS ASC_OR_DESC,"
+                + " ci.reltuples AS CARDINALITY, ci.relpages AS PAGES,"
+                + " pg_catalog.pg_get_expr(i.indpred, i.indrelid) AS FILTER_CONDITION"
+                + " FROM pg_catalog.pg_class ct"
+                + " JOIN pg_catalog.pg_namespace n ON (ct.relnamespace = n.oid)"
+                + " JOIN (SELECT i.indexrelid, i.indrelid, i.indoption, i.indisunique, i.indisclustered, i.indpred,"
+                + " i.indexprs, information_schema._pg_expandarray(i.indkey) AS keys FROM pg_catalog.pg_index i) i"
+                + " ON (ct.oid = i.indrelid)"
+                + " JOIN pg_catalog.pg_class ci ON (ci.oid = i.indexrelid)"
+                + " JOIN pg_catalog.pg_am am ON (ci.relam = am.oid)"
+                + " WHERE true");
+        and(sql, "n.nspname", schema, parameters);
+        if (unique) {
+            sql.append(" AND i.indisunique");
+        }
+        sql.append(" ORDER BY TABLE_NAME, NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaPrimaryKeys(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT NULL AS TABLE_CAT, n.nspname AS TABLE_SCHEM, ct.relname AS TABLE_NAME,"
+                + " a.attname AS COLUMN_NAME, (i.keys).n AS KEY_SEQ, ci.relname AS PK_NAME"
+                + " FROM pg_catalog.pg_class ct"
+                + " JOIN pg_catalog.pg_attribute a ON (ct.oid = a.attrelid)"
+                + " JOIN pg_catalog.pg_namespace n ON (ct.relnamespace = n.oid)"
+                + " JOIN (SELECT i.indexrelid, i.indrelid, i.indisprimary,"
+                + " information_schema._pg_expandarray(i.indkey) AS keys FROM pg_catalog.pg_index i) i"
+                + " ON (a.attnum = (i.keys).x AND a.attrelid = i.indrelid)"
+                + " JOIN pg_catalog.pg_class ci ON (ci.oid = i.indexrelid)"
+                + " WHERE i.indisprimary");
+        and(sql, "n.nspname", schema, parameters);
+        sql.append(" ORDER BY TABLE_NAME, PK_NAME, KEY_SEQ");
+        return query(sql.toString(), parameters.toArray());
+    }
+
+    @Override
+    public ResultSet getSchemaTablePrivileges(final String catalog, final String schema) throws SQLException {
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(
+                "SELECT NULL::text AS TABLE_CAT, n.nspname AS TABLE_SCHEM, c.relname AS TABLE_NAME," + PRIVILEGES
+                + " FROM pg_catalog.pg_namespace n"
+                + " JOIN pg_catalog.pg_class c ON (c.relnamespace = n.oid)"
+                + " JOIN pg_catalog.pg_roles o ON (o.oid = c.relowner)"
+                + " CROSS JOIN aclexplode(coalesce(c.relacl, acldefault('r', c.relowner))) p"
+                + " LEFT JOIN pg_catalog.pg_roles g ON (g.oid = p.grantor)"
+                + " LEFT JOIN pg_catalog.pg_roles e ON (e.oid = p.grantee)"
+                + " WHERE c.relkind IN ('r', 'p')");
+        and(sql, "n.nspname", schema, parameters);
+        sql.append(" ORDER BY c.relname, PRIVILEGE");
+        return query(sql.toString(), parameters.toArray());
+    }
+}
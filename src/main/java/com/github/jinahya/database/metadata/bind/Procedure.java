@@ -120,6 +120,17 @@ public class Procedure implements Serializable {
         return procedureColumns;
     }
 
+    // -------------------------------------------------------------- incomplete
+
+    /**
+     * Indicates whether any list of this procedure has been cut short by a {@link MetadataBudget}.
+     *
+     * @return {@code true} if incomplete; {@code false} otherwise.
+     */
+    public boolean isIncomplete() {
+        return incomplete != null && incomplete;
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "PROCEDURE_CAT", nillable = true)
@@ -155,4 +166,8 @@ public class Procedure implements Serializable {
             }
     )
     private List<ProcedureColumn> procedureColumns;
+
+    // -------------------------------------------------------------------------
+    @XmlAttribute
+    Boolean incomplete;
 }
@@ -211,6 +211,17 @@ public class ProcedureColumn implements Serializable {
         this.columnType = columnType;
     }
 
+    /**
+     * Returns the constant for current value of {@code columnType} property.
+     *
+     * @return the constant for current value of {@code columnType} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see ColumnType#valueOf(int)
+     */
+    public ColumnType getColumnTypeAsEnum() {
+        return ColumnType.valueOf(columnType);
+    }
+
     // ---------------------------------------------------------------- dataType
     public int getDataType() {
         return dataType;
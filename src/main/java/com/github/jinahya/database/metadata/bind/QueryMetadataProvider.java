@@ -0,0 +1,270 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An abstract provider which executes vendor specific queries on a connection.
+ * <p>
+ * Prepared statements are cached by their queries and reused across schemas. A statement is reused only after the
+ * result set it returned last is closed so that an instance may be shared by threads as long as the connection allows,
+ * and statements of a query never outnumber its result sets open at once. They are closed when this provider is
+ * closed; the connection itself is not.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public abstract class QueryMetadataProvider implements MetadataProvider {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A prepared statement along with the result set it returned last.
+     */
+    private static final class Prepared {
+
+        private Prepared(final PreparedStatement statement) {
+            super();
+            this.statement = statement;
+        }
+
+        // guarded by the list of statements of the same query
+        private boolean idle() {
+            if (claimed) {
+                return false;
+            }
+            try {
+                return results == null || results.isClosed();
+            } catch (final SQLException | AbstractMethodError e) { // not supported by the driver
+                return false;
+            }
+        }
+
+        private final PreparedStatement statement;
+
+        private boolean claimed;
+
+        private ResultSet results;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given connection.
+     *
+     * @param connection the connection on which queries are executed
+     */
+    protected QueryMetadataProvider(final Connection connection) {
+        super();
+        this.connection = requireNonNull(connection, "connection is null");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Closes all prepared statements cached by this provider.
+     *
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public void close() throws SQLException {
+        final List<PreparedStatement> closing = new ArrayList<>();
+        for (final List<Prepared> prepared : statements.values()) {
+            synchronized (prepared) {
+                for (final Prepared p : prepared) {
+                    closing.add(p.statement);
+                }
+                prepared.clear();
+            }
+        }
+        statements.clear();
+        SQLException thrown = null;
+        for (final PreparedStatement statement : closing) {
+            try {
+                statement.close();
+            } catch (final SQLException sqle) {
+                if (thrown == null) {
+                    thrown = sqle;
+                } else {
+                    thrown.addSuppressed(sqle);
+                }
+            }
+        }
+        if (thrown != null) {
+            throw thrown;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Executes given query with specified parameters. Callers are responsible for closing the result set.
+     *
+     * @param sql        the query to execute
+     * @param parameters the parameters of the query
+     * @return the result set of the query.
+     * @throws SQLException if a database error occurs.
+     */
+    protected ResultSet query(final String sql, final Object... parameters) throws SQLException {
+        final List<Prepared> prepared = statements.computeIfAbsent(sql, k -> new ArrayList<>());
+        Prepared claimed = null;
+        synchronized (prepared) {
+            for (final Prepared p : prepared) {
+                if (p.idle()) {
+                    claimed = p;
+                    break;
+                }
+            }
+            if (claimed == null) {
+                claimed = new Prepared(connection.prepareStatement(sql));
+                prepared.add(claimed);
+            }
+            claimed.claimed = true;
+            claimed.results = null;
+        }
+        ResultSet results = null;
+        try {
+            final PreparedStatement statement = claimed.statement;
+            statement.setQueryTimeout(queryTimeout);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            results = statement.executeQuery();
+            return results;
+        } finally {
+            synchronized (prepared) {
+                claimed.results = results;
+                claimed.claimed = false;
+            }
+        }
+    }
+
+    /**
+     * Returns a result set of given rows. Providers which decode values in Java, rather than in queries, return their
+     * results with this method.
+     *
+     * @param labels the column labels
+     * @param rows   the rows, each of which holds values in the order of {@code labels}
+     * @return a result set of given rows.
+     * @throws SQLException if a database error occurs.
+     */
+    protected static ResultSet rows(final String[] labels, final List<Object[]> rows) throws SQLException {
+        final RowSetMetaDataImpl metadata = new RowSetMetaDataImpl();
+        metadata.setColumnCount(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            metadata.setColumnLabel(i + 1, labels[i]);
+            metadata.setColumnName(i + 1, labels[i]);
+            metadata.setColumnType(i + 1, Types.JAVA_OBJECT);
+            metadata.setNullable(i + 1, ResultSetMetaData.columnNullable);
+        }
+        final CachedRowSet results = RowSetProvider.newFactory().createCachedRowSet();
+        results.setMetaData(metadata);
+        for (final Object[] row : rows) {
+            results.moveToInsertRow();
+            for (int i = 0; i < row.length; i++) {
+                results.updateObject(i + 1, row[i]);
+            }
+            results.insertRow();
+        }
+        results.moveToCurrentRow();
+        results.beforeFirst();
+        return results;
+    }
+
+    /**
+     * Appends a condition for given column to specified query. The condition is appended only if {@code value} is not
+     * {@code null}, in which case the value is added to {@code parameters}.
+     *
+     * @param sql        the query to which the condition is appended
+     * @param column     the column name
+     * @param value      the value; {@code null} for any
+     * @param parameters a list of parameters to which the value is added
+     * @return given query.
+     */
+    protected static StringBuilder and(final StringBuilder sql, final String column, final Object value,
+                                       final List<Object> parameters) {
+        if (value != null) {
+            sql.append(" AND ").append(column).append(" = ?");
+            parameters.add(value);
+        }
+        return sql;
+    }
+
+    // ---------------------------------------------------------------------------------------------------- queryTimeout
+
+    /**
+     * Returns the timeout of each query of this provider.
+     *
+     * @return the timeout in seconds; {@code 0} for no limit.
+     */
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    /**
+     * Sets the timeout of each query of this provider. A query which exceeds the timeout fails with an {@link
+     * java.sql.SQLTimeoutException}, if the driver supports, and the instance being bound is marked as incomplete. The
+     * default value is {@code 0}.
+     *
+     * @param queryTimeout the timeout in seconds; {@code 0} for no limit
+     * @see java.sql.Statement#setQueryTimeout(int)
+     * @see MetadataBudget
+     */
+    public void setQueryTimeout(final int queryTimeout) {
+        if (queryTimeout < 0) {
+            throw new IllegalArgumentException("queryTimeout(" + queryTimeout + ") < 0");
+        }
+        this.queryTimeout = queryTimeout;
+    }
+
+    // ------------------------------------------------------------------------------------------------------ connection
+
+    /**
+     * Returns the connection of this provider.
+     *
+     * @return the connection of this provider.
+     */
+    protected Connection getConnection() {
+        return connection;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final Connection connection;
+
+    private volatile int queryTimeout;
+
+    // prepared statements keyed by their queries; each list is guarded by itself
+    private final Map<String, List<Prepared>> statements = new ConcurrentHashMap<>();
+}
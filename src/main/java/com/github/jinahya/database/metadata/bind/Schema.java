@@ -114,10 +114,24 @@ public class Schema implements Serializable {//extends AbstractTableDomain {
         return UDTs;
     }
 
+    // -------------------------------------------------------------- incomplete
+
+    /**
+     * Indicates whether any list of this schema has been cut short by a {@link MetadataBudget}.
+     *
+     * @return {@code true} if incomplete; {@code false} otherwise.
+     */
+    public boolean isIncomplete() {
+        return incomplete != null && incomplete;
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     Boolean virtual;
 
+    @XmlAttribute
+    Boolean incomplete;
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "TABLE_CATALOG", nillable = true)
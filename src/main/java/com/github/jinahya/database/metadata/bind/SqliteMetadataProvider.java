@@ -0,0 +1,204 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * A provider for SQLite which reads all tables of a database with table-valued pragma functions, such as {@code
+ * pragma_table_info(name)}, joined against {@code sqlite_master}.
+ * <p>
+ * Values follow those of the SQLite JDBC driver, which runs pragmas table by table. Constraint names, which the driver
+ * parses out of {@code CREATE TABLE} statements and pragmas don't expose, are reported as the driver reports them for
+ * unnamed constraints; {@code null} for primary keys and empty for foreign keys. This provider requires SQLite 3.16.0
+ * or later.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class SqliteMetadataProvider extends QueryMetadataProvider {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // tables and views, as the driver's getTables(String, String, String, String[]) lists by default
+    private static final String TABLES
+            = "SELECT name, sql FROM sqlite_master WHERE type IN ('table', 'view') AND name NOT LIKE 'sqlite_%'";
+
+    private static final String RULE
+            = " WHEN 'NO ACTION' THEN " + DatabaseMetaData.importedKeyNoAction
+              + " WHEN 'CASCADE' THEN " + DatabaseMetaData.importedKeyCascade
+              + " WHEN 'RESTRICT' THEN " + DatabaseMetaData.importedKeyRestrict
+              + " WHEN 'SET NULL' THEN " + DatabaseMetaData.importedKeySetNull
+              + " WHEN 'SET DEFAULT' THEN " + DatabaseMetaData.importedKeySetDefault + " END";
+
+    // constraint names, which pragmas don't expose, and the deferrability the driver reports
+    private static final String NAMES
+            = " '' AS FK_NAME, '' AS PK_NAME, " + DatabaseMetaData.importedKeyInitiallyDeferred + " AS DEFERRABILITY";
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    // the SQL type of an upper-cased declared type, by the affinity rules the driver applies
+    private static String dataType(final String type) {
+        return "CASE"
+               + " WHEN instr(" + type + ", 'INT') OR instr(" + type + ", 'BOOL') THEN " + Types.INTEGER
+               + " WHEN instr(" + type + ", 'CHAR') OR instr(" + type + ", 'CLOB') OR instr(" + type + ", 'TEXT')"
+               + " OR instr(" + type + ", 'BLOB') THEN " + Types.VARCHAR
+               + " WHEN instr(" + type + ", 'REAL') OR instr(" + type + ", 'FLOA') OR instr(" + type + ", 'DOUB')"
+               + " OR instr(" + type + ", 'DEC') OR instr(" + type + ", 'NUM') THEN " + Types.FLOAT
+               + " ELSE " + Types.VARCHAR + " END";
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A factory for SQLite databases accessed with the SQLite JDBC driver, whose values this provider mirrors.
+     */
+    public static class Factory implements MetadataProviderFactory {
+
+        @Override
+        public boolean supports(final String databaseProductName, final String driverName) {
+            return "SQLite".equals(databaseProductName) && "SQLite JDBC".equals(driverName);
+        }
+
+        @Override
+        public MetadataProvider create(final Connection connection) {
+            return new SqliteMetadataProvider(connection);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given connection.
+     *
+     * @param connection the connection to an SQLite database
+     */
+    public SqliteMetadataProvider(final Connection connection) {
+        super(connection);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Override
+    public ResultSet getSchemaColumns(final String catalog, final String schema) throws SQLException {
+        return query(
+                "SELECT NULL AS TABLE_CAT, NULL AS TABLE_SCHEM, c.tbl AS TABLE_NAME, c.name AS COLUMN_NAME,"
+                + " " + dataType("c.type") + " AS DATA_TYPE, c.type AS TYPE_NAME, 2000000000 AS COLUMN_SIZE,"
+                + " 2000000000 AS BUFFER_LENGTH, 10 AS DECIMAL_DIGITS, 10 AS NUM_PREC_RADIX,"
+                + " CASE c.\"notnull\" WHEN 0 THEN " + DatabaseMetaData.columnNullable + " ELSE "
+                + DatabaseMetaData.columnNoNulls + " END AS NULLABLE,"
+                + " NULL AS REMARKS, c.dflt_value AS COLUMN_DEF, 0 AS SQL_DATA_TYPE, 0 AS SQL_DATETIME_SUB,"
+                + " 2000000000 AS CHAR_OCTET_LENGTH, c.cid + 1 AS ORDINAL_POSITION,"
+                + " CASE c.\"notnull\" WHEN 0 THEN 'YES' ELSE 'NO' END AS IS_NULLABLE,"
+                + " NULL AS SCOPE_CATALOG, NULL AS SCOPE_SCHEMA, NULL AS SCOPE_TABLE, NULL AS SOURCE_DATA_TYPE,"
+                + " CASE WHEN c.pk = 1 AND lower(c.sql) LIKE '%autoincrement%' THEN 'YES' ELSE 'NO' END"
+                + " AS IS_AUTOINCREMENT, '' AS IS_GENERATEDCOLUMN"
+                + " FROM (SELECT t.name AS tbl, t.sql, p.cid, p.name, upper(coalesce(p.type, 'TEXT')) AS type,"
+                + " p.\"notnull\", p.dflt_value, p.pk FROM (" + TABLES + ") t, pragma_table_info(t.name) p) c"
+                + " ORDER BY TABLE_NAME, ORDINAL_POSITION");
+    }
+
+    @Override
+    public ResultSet getSchemaColumnPrivileges(final String catalog, final String schema) throws SQLException {
+        return query("SELECT NULL AS TABLE_CAT, NULL AS TABLE_SCHEM, NULL AS TABLE_NAME, NULL AS COLUMN_NAME,"
+                     + " NULL AS GRANTOR, NULL AS GRANTEE, NULL AS PRIVILEGE, NULL AS IS_GRANTABLE LIMIT 0");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As the driver does, keys are exported only by tables with primary keys, and missing referenced columns are
+     * reported as empty.
+     */
+    @Override
+    public ResultSet getSchemaExportedKeys(final String catalog, final String schema) throws SQLException {
+        return query(
+                "SELECT ? AS PKTABLE_CAT, ? AS PKTABLE_SCHEM, t.name AS PKTABLE_NAME,"
+                + " coalesce(k.\"to\", '') AS PKCOLUMN_NAME, ? AS FKTABLE_CAT, ? AS FKTABLE_SCHEM,"
+                + " f.name AS FKTABLE_NAME, coalesce(k.\"from\", '') AS FKCOLUMN_NAME, k.seq + 1 AS KEY_SEQ,"
+                + " CASE k.on_update" + RULE + " AS UPDATE_RULE, CASE k.on_delete" + RULE + " AS DELETE_RULE,"
+                + NAMES
+                + " FROM sqlite_master t, sqlite_master f, pragma_foreign_key_list(f.name) k"
+                + " WHERE t.type = 'table' AND f.type = 'table' AND lower(k.\"table\") = lower(t.name)"
+                + " AND EXISTS (SELECT 1 FROM pragma_table_info(t.name) p WHERE p.pk > 0)"
+                + " ORDER BY PKTABLE_NAME, FKTABLE_NAME, KEY_SEQ, k.id DESC",
+                catalog, schema, catalog, schema);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As the driver does, missing referenced columns are reported as the first column of referenced primary keys.
+     */
+    @Override
+    public ResultSet getSchemaImportedKeys(final String catalog, final String schema) throws SQLException {
+        return query(
+                "SELECT ? AS PKTABLE_CAT, ? AS PKTABLE_SCHEM, k.\"table\" AS PKTABLE_NAME,"
+                + " coalesce(k.\"to\", (SELECT p.name FROM pragma_table_info(k.\"table\") p WHERE p.pk > 0"
+                + " ORDER BY p.pk LIMIT 1)) AS PKCOLUMN_NAME, ? AS FKTABLE_CAT, ? AS FKTABLE_SCHEM,"
+                + " f.name AS FKTABLE_NAME, k.\"from\" AS FKCOLUMN_NAME, k.seq + 1 AS KEY_SEQ,"
+                + " CASE k.on_update" + RULE + " AS UPDATE_RULE, CASE k.on_delete" + RULE + " AS DELETE_RULE,"
+                + NAMES
+                + " FROM (" + TABLES + ") f, pragma_foreign_key_list(f.name) k"
+                + " ORDER BY FKTABLE_NAME, PKTABLE_NAME, KEY_SEQ, k.id",
+                catalog, schema, catalog, schema);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As the driver does, all indices are reported regardless of {@code unique}.
+     */
+    @Override
+    public ResultSet getSchemaIndexInfo(final String catalog, final String schema, final boolean unique,
+                                        final boolean approximate)
+            throws SQLException {
+        return query(
+                "SELECT NULL AS TABLE_CAT, NULL AS TABLE_SCHEM, t.name AS TABLE_NAME, 1 - l.\"unique\" AS NON_UNIQUE,"
+                + " NULL AS INDEX_QUALIFIER, l.name AS INDEX_NAME, " + DatabaseMetaData.tableIndexOther + " AS TYPE,"
+                + " i.seqno + 1 AS ORDINAL_POSITION, i.name AS COLUMN_NAME, NULL AS ASC_OR_DESC, 0 AS CARDINALITY,"
+                + " 0 AS PAGES, NULL AS FILTER_CONDITION"
+                + " FROM (" + TABLES + ") t, pragma_index_list(t.name) l, pragma_index_info(l.name) i"
+                + " ORDER BY t.name, l.seq, i.seqno");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As the driver does, columns are ordered by their names.
+     */
+    @Override
+    public ResultSet getSchemaPrimaryKeys(final String catalog, final String schema) throws SQLException {
+        return query(
+                "SELECT NULL AS TABLE_CAT, NULL AS TABLE_SCHEM, t.name AS TABLE_NAME, p.name AS COLUMN_NAME,"
+                + " p.pk AS KEY_SEQ, NULL AS PK_NAME"
+                + " FROM (" + TABLES + ") t, pragma_table_info(t.name) p WHERE p.pk > 0"
+                + " ORDER BY TABLE_NAME, COLUMN_NAME");
+    }
+
+    @Override
+    public ResultSet getSchemaTablePrivileges(final String catalog, final String schema) throws SQLException {
+        return query("SELECT NULL AS TABLE_CAT, NULL AS TABLE_SCHEM, NULL AS TABLE_NAME, NULL AS GRANTOR,"
+                     + " NULL AS GRANTEE, NULL AS PRIVILEGE, NULL AS IS_GRANTABLE LIMIT 0");
+    }
+}
@@ -289,6 +289,17 @@ public class Table implements Serializable {
         return versionColumns;
     }
 
+    // ------------------------------------------------------------------------------------------------------ incomplete
+
+    /**
+     * Indicates whether any list of this table has been cut short by a {@link MetadataBudget}.
+     *
+     * @return {@code true} if incomplete; {@code false} otherwise.
+     */
+    public boolean isIncomplete() {
+        return incomplete != null && incomplete;
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "TABLE_CAT", nillable = true)
@@ -435,4 +446,8 @@ public class Table implements Serializable {
             }
     )
     private List<VersionColumn> versionColumns;
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @XmlAttribute
+    Boolean incomplete;
 }
@@ -146,6 +146,17 @@ abstract class TableKey implements Serializable {
         this.updateRule = updateRule;
     }
 
+    /**
+     * Returns the constant for current value of {@code updateRule} property.
+     *
+     * @return the constant for current value of {@code updateRule} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see ImportedKey.Rule#valueOf(int)
+     */
+    public ImportedKey.Rule getUpdateRuleAsEnum() {
+        return ImportedKey.Rule.valueOf(updateRule);
+    }
+
     // ------------------------------------------------------------------------------------------------------ deleteRule
     public short getDeleteRule() {
         return deleteRule;
@@ -155,6 +166,17 @@ abstract class TableKey implements Serializable {
         this.deleteRule = deleteRule;
     }
 
+    /**
+     * Returns the constant for current value of {@code deleteRule} property.
+     *
+     * @return the constant for current value of {@code deleteRule} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see ImportedKey.Rule#valueOf(int)
+     */
+    public ImportedKey.Rule getDeleteRuleAsEnum() {
+        return ImportedKey.Rule.valueOf(deleteRule);
+    }
+
     // ---------------------------------------------------------------------------------------------------------- fnname
     public String getFkName() {
         return fkName;
@@ -182,6 +204,17 @@ abstract class TableKey implements Serializable {
         this.deferrability = deferrability;
     }
 
+    /**
+     * Returns the constant for current value of {@code deferrability} property.
+     *
+     * @return the constant for current value of {@code deferrability} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see ImportedKey.Deferrability#valueOf(int)
+     */
+    public ImportedKey.Deferrability getDeferrabilityAsEnum() {
+        return ImportedKey.Deferrability.valueOf(deferrability);
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "PKTABLE_CAT", nillable = true)
@@ -205,7 +238,7 @@ abstract class TableKey implements Serializable {
     private String fktableCat;
 
     @XmlElement(nillable = true)
-    @Bind(label = "FKTABLE_NAME", nillable = true)
+    @Bind(label = "FKTABLE_SCHEM", nillable = true)
     private String fktableSchem;
 
     @XmlElement
@@ -217,7 +250,7 @@ abstract class TableKey implements Serializable {
     private String fkcolumnName;
 
     @XmlElement
-    @Bind(label = "FKCOLUMN_NAME")
+    @Bind(label = "KEY_SEQ")
     private short keySeq;
 
     @XmlElement
@@ -200,6 +200,17 @@ public class TypeInfo implements Serializable {
         this.nullable = nullable;
     }
 
+    /**
+     * Returns the constant for current value of {@code nullable} property.
+     *
+     * @return the constant for current value of {@code nullable} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see Nullable#valueOf(int)
+     */
+    public Nullable getNullableAsEnum() {
+        return Nullable.valueOf(nullable);
+    }
+
     // ----------------------------------------------------------- caseSensitive
     public boolean getCaseSensitive() {
         return caseSensitive;
@@ -137,6 +137,17 @@ public class UDT implements Serializable {
         return superTypes;
     }
 
+    // -------------------------------------------------------------- incomplete
+
+    /**
+     * Indicates whether any list of this udt has been cut short by a {@link MetadataBudget}.
+     *
+     * @return {@code true} if incomplete; {@code false} otherwise.
+     */
+    public boolean isIncomplete() {
+        return incomplete != null && incomplete;
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "TYPE_CAT", nillable = true)
@@ -184,4 +195,8 @@ public class UDT implements Serializable {
             }
     )
     private List<SuperType> superTypes;
+
+    // -------------------------------------------------------------------------
+    @XmlAttribute
+    Boolean incomplete;
 }
@@ -212,44 +212,67 @@ final class Utils {
         }
     }
 
+    /**
+     * Reads the value for given field from the current record of specified result set. Values for primitive fields
+     * are read with corresponding typed getters.
+     *
+     * @param field   the field
+     * @param results the result set
+     * @param label   the column label
+     * @return the value; {@code null} for SQL {@code NULL} or for fields of unsupported primitive types.
+     * @throws SQLException if a database error occurs.
+     */
+    static Object value(final Field field, final ResultSet results, final String label) throws SQLException {
+        final Class<?> type = field.getType();
+        if (!type.isPrimitive()) {
+            return results.getObject(label);
+        }
+        final Object value;
+        if (type == boolean.class) {
+            value = results.getBoolean(label);
+        } else if (type == byte.class) {
+            value = results.getByte(label);
+        } else if (type == char.class) {
+            logger.severe("field type char.class!!!");
+            return null;
+        } else if (type == double.class) {
+            value = results.getDouble(label);
+        } else if (type == float.class) {
+            value = results.getFloat(label);
+        } else if (type == int.class) {
+            value = results.getInt(label);
+        } else if (type == long.class) {
+            value = results.getLong(label);
+        } else if (type == short.class) {
+            value = results.getShort(label);
+        } else {
+            return null;
+        }
+        return results.wasNull() ? null : value;
+    }
+
     static void field(final Field field, final Object obj, final ResultSet results, final String label)
             throws SQLException, ReflectiveOperationException {
+        field(field, obj, value(field, results, label), label);
+    }
+
+    /**
+     * Sets given value, read with {@link #value(Field, ResultSet, String)}, to specified field.
+     *
+     * @param field the field
+     * @param obj   the object whose field is set
+     * @param value the value
+     * @param label the column label from which the value is read
+     * @throws ReflectiveOperationException if failed to set.
+     */
+    static void field(final Field field, final Object obj, final Object value, final String label)
+            throws ReflectiveOperationException {
         final Class<?> type = field.getType();
-        final Object value = results.getObject(label);
         if (type.isPrimitive()) {
-            if (type == boolean.class) {
-                //field.setBoolean(obj, results.getBoolean(label));
-                return;
-            } else if (type == byte.class) {
-                field.setByte(obj, results.getByte(label));
-                return;
-            } else if (type == char.class) {
-                logger.severe("field type char.class!!!");
-                return;
-            } else if (type == double.class) {
-                field.setDouble(obj, results.getDouble(label));
-                return;
-            } else if (type == float.class) {
-                field.setFloat(obj, results.getFloat(label));
-                return;
-            } else if (type == int.class) {
-                field.setInt(obj, results.getInt(label));
-                return;
-            } else if (type == long.class) {
-                field.setLong(obj, results.getLong(label));
-//                if (value instanceof Number) {
-//                    field.setLong(obj, ((Number) value).longValue());
-//                    return;
-//                }
-                return;
-            } else if (type == short.class) {
-                field.setShort(obj, results.getShort(label));
-//                if (value instanceof Number) {
-//                    field.setShort(obj, ((Number) value).shortValue());
-//                    return;
-//                }
-                return;
+            if (value != null) {
+                field.set(obj, value);
             }
+            return;
         }
         assert !type.isPrimitive();
         try {
@@ -212,6 +212,17 @@ public class VersionColumn implements Serializable {
         this.pseudoColumn = pseudoColumn;
     }
 
+    /**
+     * Returns the constant for current value of {@code pseudoColumn} property.
+     *
+     * @return the constant for current value of {@code pseudoColumn} property.
+     * @throws IllegalArgumentException if current value is unknown.
+     * @see PseudoColumn#valueOf(int)
+     */
+    public PseudoColumn getPseudoColumnAsEnum() {
+        return PseudoColumn.valueOf(pseudoColumn);
+    }
+
     // -------------------------------------------------------------------------
     @XmlElement(nillable = true)
     @Bind(label = "SCOPE", unused = true)
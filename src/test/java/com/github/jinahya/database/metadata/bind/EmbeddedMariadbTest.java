@@ -28,11 +28,15 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
 import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static com.github.jinahya.database.metadata.bind.MetadataEquivalence.assertEquivalentCrawl;
 import static java.sql.DriverManager.getConnection;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * Test with MariaDB4j.
@@ -71,19 +75,49 @@ public class EmbeddedMariadbTest {
         DB__ = null;
     }
 
+    // -----------------------------------------------------------------------------------------------------------------
+    // paths suppressed for values which the driver does not report
+    private static final List<String> SUPPRESSION_PATHS = unmodifiableList(asList(
+            "column/charOctetLength", // null value
+            "indexInfo/cardinality", // null value
+            "indexInfo/pages" // null value
+    ));
+
+    private static MetadataContext context(final Connection connection) throws SQLException {
+        final MetadataContext context = new MetadataContext(connection.getMetaData());
+        SUPPRESSION_PATHS.forEach(context::addSuppressionPaths);
+        return context;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
     @Test
     public void store() throws Exception {
         try (Connection connection = getConnection(URL, USER, PASSWORD)) {
             log.debug("connection: {}", connection);
-            final DatabaseMetaData metadata = connection.getMetaData();
-            final MetadataContext context = new MetadataContext(metadata);
-            context.addSuppressionPaths(
-                    "column/charOctetLength", // null value
-                    "indexInfo/cardinality", //t null value
-                    "indexInfo/pages" // null value
-            );
+            final MetadataContext context = context(connection);
             final List<Catalog> catalogs = getCatalogs(context, true);
             JaxbTests.store(Catalog.class, catalogs, "embedded.mariadb.catalogs");
         }
     }
+
+    @Test
+    public void provider() throws Exception {
+        try (Connection connection = getConnection(URL, USER, PASSWORD)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE parent (id INT PRIMARY KEY, name VARCHAR(255) NOT NULL,"
+                                  + " amount DECIMAL(10, 2), created DATETIME(3), flag TINYINT(1))");
+                statement.execute("CREATE UNIQUE INDEX idx_parent_name ON parent (name)");
+                statement.execute("CREATE TABLE child (id INT AUTO_INCREMENT, seq INT, parent_id INT,"
+                                  + " PRIMARY KEY (id, seq), CONSTRAINT fk_child_parent FOREIGN KEY (parent_id)"
+                                  + " REFERENCES parent (id) ON DELETE CASCADE)");
+                statement.execute("CREATE PROCEDURE touch (IN p_id INT, OUT p_name VARCHAR(255))"
+                                  + " SELECT name INTO p_name FROM parent WHERE id = p_id");
+                statement.execute("CREATE FUNCTION twice (p_value INT) RETURNS INT RETURN p_value * 2");
+            }
+            try (MariadbMetadataProvider provider = new MariadbMetadataProvider(connection)) {
+                assertEquivalentCrawl(connection, SUPPRESSION_PATHS, c -> getCatalogs(c, true),
+                                      c -> c.setProvider(provider), "getColumns", "getProcedureColumns");
+            }
+        }
+    }
 }
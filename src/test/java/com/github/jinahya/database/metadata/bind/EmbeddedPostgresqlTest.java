@@ -27,10 +27,14 @@ import org.testng.annotations.Test;
 import ru.yandex.qatools.embed.postgresql.EmbeddedPostgres;
 
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
+import static com.github.jinahya.database.metadata.bind.MetadataEquivalence.assertEquivalentCrawl;
 import static java.sql.DriverManager.getConnection;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * Test with Embedded PostgreSQL Server.
@@ -62,38 +66,68 @@ public class EmbeddedPostgresqlTest {
         log.debug("embedded postgres stopped");
     }
 
+    // -----------------------------------------------------------------------------------------------------------------
+    // paths suppressed for values which the driver does not report, or does not implement yet
+    private static final List<String> SUPPRESSION_PATHS = unmodifiableList(asList(
+            "column/isGeneratedcolumn", // null value
+            "column/scopeCatalog", // null value
+            "schema/functions",
+            "procedureColumn/charOctetLength", // null value
+            "procedureColumn/length", // null value
+            "procedureColumn/precision", // null value
+            "procedureColumn/radix", // null value
+            "procedureColumn/remarks", // null value
+            "table/pseudoColumns", // not yet implemented
+            "table/refGeneration", // not yet implemented
+            "table/selfReferencingColName", // not yet implemented
+            "table/superTables", // not yet implemented
+            "table/typeCat", // null value
+            "table/typeName", // null value
+            "table/typeSchem", // not yet implemented
+            "UDT/attributes", // not yet implemented
+            "UDT/className", // null value
+            "UDT/remarks", // null value
+            "UDT/superTypes", // not yet implemented
+            "versionColumn/bufferLength", // null value
+            "versionColumn/columnSize" // null value
+    ));
+
+    private static MetadataContext context(final Connection connection) throws SQLException {
+        final MetadataContext context = new MetadataContext(connection.getMetaData());
+        SUPPRESSION_PATHS.forEach(context::addSuppressionPaths);
+        return context;
+    }
+
     // -------------------------------------------------------------------------
     @Test(enabled = true)
     public void store() throws Exception {
         try (Connection connection = getConnection(URL)) {
             log.debug("connection: {}", connection);
-            final DatabaseMetaData metadata = connection.getMetaData();
-            final MetadataContext context = new MetadataContext(metadata);
-            context.addSuppressionPaths(
-                    "column/isGeneratedcolumn", // null value
-                    "column/scopeCatalog", // null value
-                    "schema/functions",
-                    "procedureColumn/charOctetLength", // null value
-                    "procedureColumn/length", // null value
-                    "procedureColumn/precision", // null value
-                    "procedureColumn/radix", // null value
-                    "procedureColumn/remarks", // null value
-                    "table/pseudoColumns", // not yet implemented
-                    "table/refGeneration", // not yet implemented
-                    "table/selfReferencingColName", // not yet implemented
-                    "table/superTables", // not yet implemented
-                    "table/typeCat", // null value
-                    "table/typeName", // null value
-                    "table/typeSchem", // not yet implemented
-                    "UDT/attributes", // not yet implemented
-                    "UDT/className", // null value
-                    "UDT/remarks", // null value
-                    "UDT/superTypes", // not yet implemented
-                    "versionColumn/bufferLength", // null value
-                    "versionColumn/columnSize" // null value
-            );
+            final MetadataContext context = context(connection);
             final List<Catalog> catalogs = MetadataContext.getCatalogs(context, true);
             JaxbTests.store(Catalog.class, catalogs, "embedded.postresql.catalogs");
         }
     }
+
+    @Test(enabled = true)
+    public void provider() throws Exception {
+        try (Connection connection = getConnection(URL)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE parent (id INT PRIMARY KEY, name VARCHAR(255) NOT NULL,"
+                                  + " amount NUMERIC(10, 2), created TIMESTAMP(3) WITH TIME ZONE, tags TEXT[])");
+                statement.execute("CREATE UNIQUE INDEX idx_parent_name ON parent (name DESC)");
+                statement.execute("CREATE TABLE child (id SERIAL, seq INT, parent_id INT,"
+                                  + " PRIMARY KEY (id, seq), FOREIGN KEY (parent_id) REFERENCES parent (id)"
+                                  + " ON DELETE CASCADE)");
+                statement.execute("COMMENT ON COLUMN child.seq IS 'sequence'");
+                statement.execute("CREATE ROLE reader");
+                statement.execute("GRANT SELECT ON parent TO reader");
+                statement.execute("GRANT UPDATE (name) ON parent TO reader");
+            }
+            try (PostgresqlMetadataProvider provider = new PostgresqlMetadataProvider(connection)) {
+                assertEquivalentCrawl(connection, SUPPRESSION_PATHS, c -> MetadataContext.getCatalogs(c, true),
+                                      c -> c.setProvider(provider), "getColumns", "getIndexInfo");
+            }
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Test for {@link IntFieldEnums}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class IntFieldEnumsTest {
+
+    /**
+     * An enum whose raw values are too sparse for a dense table.
+     */
+    private enum Sparse implements IntFieldEnum<Sparse> {
+
+        MIN(Integer.MIN_VALUE),
+
+        ZERO(0),
+
+        MAX(Integer.MAX_VALUE);
+
+        Sparse(final int rawValue) {
+            this.rawValue = rawValue;
+        }
+
+        @Override
+        public int getRawValue() {
+            return rawValue;
+        }
+
+        private final int rawValue;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @DataProvider
+    public Object[][] types() {
+        return new Object[][] {
+                {Attribute.Nullable.class},
+                {BestRowIdentifier.PseudoColumn.class},
+                {BestRowIdentifier.Scope.class},
+                {Column.Nullable.class},
+                {FunctionColumn.ColumnType.class},
+                {FunctionColumn.Nullable.class},
+                {ImportedKey.Deferrability.class},
+                {ImportedKey.Rule.class},
+                {ProcedureColumn.ColumnType.class},
+                {TypeInfo.Nullable.class},
+                {VersionColumn.PseudoColumn.class},
+                {Sparse.class}
+        };
+    }
+
+    @Test(dataProvider = "types")
+    public <E extends Enum<E> & IntFieldEnum<E>> void valueOf(final Class<E> type) {
+        final int[] rawValues = IntFieldEnums.rawValues(type);
+        final E[] constants = type.getEnumConstants();
+        assertEquals(rawValues.length, constants.length);
+        for (int i = 0; i < constants.length; i++) {
+            assertEquals(rawValues[i], constants[i].getRawValue());
+            final E found = IntFieldEnums.valueOf(type, rawValues[i]);
+            assertEquals(found.getRawValue(), rawValues[i]);
+            assertSame(IntFieldEnums.valueOf(type, rawValues[i]), found);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void valueOfUnknownDense() {
+        IntFieldEnums.valueOf(Column.Nullable.class, 1024);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void valueOfUnknownSparse() {
+        IntFieldEnums.valueOf(Sparse.class, 1);
+    }
+
+    @Test
+    public void getAsEnum() {
+        final Column column = new Column();
+        column.setNullable(Column.Nullable.COLUMN_NULLABLE.getRawValue());
+        assertSame(column.getNullableAsEnum(), Column.Nullable.COLUMN_NULLABLE);
+        final ImportedKey importedKey = new ImportedKey();
+        importedKey.setDeleteRule((short) ImportedKey.Rule.IMPORTED_KEY_CASCADE.getRawValue());
+        assertSame(importedKey.getDeleteRuleAsEnum(), ImportedKey.Rule.IMPORTED_KEY_CASCADE);
+    }
+}
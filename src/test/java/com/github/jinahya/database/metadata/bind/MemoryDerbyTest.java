@@ -28,12 +28,20 @@ import org.testng.annotations.Test;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
 import static com.github.jinahya.database.metadata.bind.JaxbTests.store;
 import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static com.github.jinahya.database.metadata.bind.MetadataEquivalence.assertEquivalentCrawl;
 import static java.sql.DriverManager.getConnection;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
 import static org.testng.Assert.fail;
 
 /**
@@ -60,6 +68,11 @@ public class MemoryDerbyTest extends MemoryTest {
 
     private static final String CONNECTION_URL = "jdbc:derby:memory:test";
 
+    // paths suppressed for values which the provider does not report and for methods unsupported by the driver
+    private static final List<String> SUPPRESSION_PATHS = unmodifiableList(asList(
+            "indexInfo/cardinality", "indexInfo/pages", "schema/functions", "schema/procedures", "schema/UDTs",
+            "table/pseudoColumns"));
+
     // -----------------------------------------------------------------------------------------------------------------
     @BeforeClass
     private static void beforeClass() throws SQLException {
@@ -122,6 +135,105 @@ public class MemoryDerbyTest extends MemoryTest {
         }
     }
 
+    /**
+     * Asserts that a {@link DerbyMetadataProvider} binds the same information as {@link DatabaseMetaData} does.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void provider() throws Exception {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE PARENT (ID INT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,"
+                                  + " NAME VARCHAR(255) NOT NULL, RATE DOUBLE DEFAULT 1.5, CREATED DATE)");
+                statement.execute("CREATE UNIQUE INDEX IDX_PARENT_NAME ON PARENT (NAME DESC, RATE)");
+                statement.execute("CREATE TABLE CHILD (ID INT, SEQ INT, PARENT_ID INT, AMOUNT DECIMAL(10, 2),"
+                                  + " PRIMARY KEY (SEQ, ID),"
+                                  + " FOREIGN KEY (PARENT_ID) REFERENCES PARENT (ID) ON DELETE CASCADE)");
+            }
+            try (DerbyMetadataProvider provider = new DerbyMetadataProvider(connection)) {
+                final List<Catalog> actual = assertEquivalentCrawl(
+                        connection, SUPPRESSION_PATHS, c -> getCatalogs(c, true), c -> c.setProvider(provider),
+                        "getBestRowIdentifier", "getColumns", "getIndexInfo");
+                // values which the provider derives from type descriptors
+                assertEquals(column(actual, "PARENT", "NAME").getCharOctetLength(), 510);
+                assertEquals(column(actual, "PARENT", "ID").getNumPrecRadix(), 10);
+                assertEquals(column(actual, "PARENT", "RATE").getNumPrecRadix(), 2);
+                assertEquals(column(actual, "PARENT", "CREATED").getNumPrecRadix(), 10);
+                assertEquals(column(actual, "CHILD", "AMOUNT").getNumPrecRadix(), 10);
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE CHILD");
+                    statement.execute("DROP TABLE PARENT");
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that a {@link DerbyMetadataProvider} decodes column privileges as {@link DatabaseMetaData} does.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void columnPrivileges() throws Exception {
+        // privileges can be granted only in databases with SQL authorization, which takes effect when rebooted
+        final String url = "jdbc:derby:memory:privileges";
+        try (Connection connection = getConnection(url + ";create=true;user=OWNER");
+             Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CALL SYSCS_UTIL.SYSCS_SET_DATABASE_PROPERTY('derby.database.sqlAuthorization', 'true')");
+        }
+        expectThrows(SQLException.class, () -> getConnection(url + ";shutdown=true"));
+        try (Connection connection = getConnection(url + ";user=OWNER")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE GRANTED (A INT, B INT, C INT)");
+                statement.execute("GRANT SELECT (A, C) ON GRANTED TO READER");
+                statement.execute("GRANT UPDATE (B), REFERENCES (A) ON GRANTED TO WRITER");
+            }
+            try (DerbyMetadataProvider provider = new DerbyMetadataProvider(connection)) {
+                final List<Catalog> actual = assertEquivalentCrawl(
+                        connection, SUPPRESSION_PATHS, c -> getCatalogs(c, true), c -> c.setProvider(provider));
+                final List<String> privileges = new ArrayList<>();
+                for (final String name : new String[] {"A", "B", "C"}) {
+                    for (final ColumnPrivilege privilege : column(actual, "GRANTED", name).getColumnPrivileges()) {
+                        privileges.add(String.join(" ", name, privilege.getGrantor(), privilege.getGrantee(),
+                                                   privilege.getPrivilege(), privilege.getIsGrantable()));
+                    }
+                }
+                assertEquals(privileges, asList("A OWNER WRITER REFERENCES NO", "A OWNER READER SELECT NO",
+                                                "B OWNER WRITER UPDATE NO", "C OWNER READER SELECT NO"));
+            }
+        } finally {
+            expectThrows(SQLException.class, () -> getConnection(url + ";drop=true"));
+        }
+    }
+
+    // finds the column of given names in given catalogs
+    private static Column column(final List<Catalog> catalogs, final String table, final String column) {
+        return catalogs.stream()
+                .flatMap(c -> c.getSchemas().stream())
+                .flatMap(s -> s.getTables().stream())
+                .filter(t -> table.equals(t.getTableName()))
+                .flatMap(t -> t.getColumns().stream())
+                .filter(c -> column.equals(c.getColumnName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no column " + table + "." + column));
+    }
+
+    /**
+     * Asserts that {@link MetadataProviders#load(Connection)} loads a {@link DerbyMetadataProvider}.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void load() throws Exception {
+        try (Connection connection = getConnection(CONNECTION_URL);
+             MetadataProvider provider = MetadataProviders.load(connection)) {
+            assertTrue(provider instanceof DerbyMetadataProvider);
+        }
+    }
+
     @Test(enabled = false)
     public void pattern() throws Exception {
         try (Connection connection = getConnection(CONNECTION_URL)) {
@@ -25,16 +25,40 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.stream.Stream;
 
 import static com.github.jinahya.database.metadata.bind.JaxbTests.store;
 import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static com.github.jinahya.database.metadata.bind.MetadataEquivalence.assertEquivalent;
+import static com.github.jinahya.database.metadata.bind.MetadataEquivalence.assertEquivalentCrawl;
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.sql.DriverManager.getConnection;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
@@ -43,6 +67,14 @@ public class MemoryH2Test extends MemoryTest {
 
     private static final Logger logger = getLogger(lookup().lookupClass());
 
+    // paths suppressed when crawls on H2 1.4 are compared
+    private static final List<String> SUPPRESSION_PATHS = unmodifiableList(asList(
+            "column/isGeneratedcolumn", "schema/functions", "table/pseudoColumns"));
+
+    // H2 mixes best row identifiers of tables of the same name in other schemas; see sameNamedBestRowIdentifiers
+    private static final List<String> SUPPRESSION_PATHS_OF_SAME_NAMES = unmodifiableList(asList(
+            "column/isGeneratedcolumn", "schema/functions", "table/bestRowIdentifiers", "table/pseudoColumns"));
+
     // -----------------------------------------------------------------------------------------------------------------
     private static final String DRIVER_NAME = "org.h2.Driver";
 
@@ -86,4 +118,452 @@ public class MemoryH2Test extends MemoryTest {
             store(TypeInfo.class, context.getTypeInfo(), "memory.h2.typeInfo");
         }
     }
+
+    /**
+     * Asserts that a crawl with {@link H2MetadataProvider} results the same as the standard crawl.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void provider() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:provider")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE PARENT (ID INT PRIMARY KEY, NAME VARCHAR(255) NOT NULL)");
+                statement.execute("CREATE UNIQUE INDEX IDX_PARENT_NAME ON PARENT (NAME)");
+                statement.execute("CREATE TABLE CHILD (ID INT, SEQ INT, PARENT_ID INT,"
+                                  + " PRIMARY KEY (ID, SEQ), FOREIGN KEY (PARENT_ID) REFERENCES PARENT (ID))");
+                statement.execute("CREATE USER READER PASSWORD 'reader'");
+                statement.execute("GRANT SELECT ON PARENT TO READER");
+            }
+            try (H2MetadataProvider provider = new H2MetadataProvider(connection)) {
+                final MetadataCallMetrics metrics = new MetadataCallMetrics();
+                final List<Catalog> actual = assertEquivalentCrawl(
+                        connection, SUPPRESSION_PATHS, c -> c.setProvider(provider).addCallListener(metrics),
+                        "getColumns", "getIndexInfo");
+                assertEquals(metrics.getStatistics().get("getSchemaColumns").getCalls(), 2L);
+                assertFalse(actual.get(0).getSchemas().isEmpty());
+            }
+        }
+    }
+
+    /**
+     * Asserts that a context shared by multiple threads results the same as a context used by a single thread.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void concurrent() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:concurrent")) {
+            new SchemaGenerator(0L).prefix("C").schemas(2).tables(10).generate(connection);
+            final int threads = 4;
+            final ExecutorService executor = newFixedThreadPool(threads);
+            try (H2MetadataProvider provider = new H2MetadataProvider(connection)) {
+                final MetadataCallMetrics metrics = new MetadataCallMetrics();
+                // both contexts are shared by threads whose results are the same as those of the first
+                assertEquivalentCrawl(connection, SUPPRESSION_PATHS_OF_SAME_NAMES, c -> {
+                    final List<Future<List<Catalog>>> futures = new ArrayList<>();
+                    for (int i = 0; i < threads * 2; i++) {
+                        futures.add(executor.submit((Callable<List<Catalog>>) () -> getCatalogs(c)));
+                    }
+                    final List<Catalog> first = futures.get(0).get();
+                    for (final Future<List<Catalog>> future : futures) {
+                        assertEquivalent(first, future.get());
+                    }
+                    return first;
+                }, c -> c.setProvider(provider).addCallListener(metrics), "getColumns");
+                assertEquals(metrics.getStatistics().get("getCatalogs").getCalls(), threads * 2L);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Asserts that a provider prepares a statement again only while the result set of the former is open, regardless
+     * of threads.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void statements() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:statements")) {
+            connection.createStatement().execute("CREATE TABLE T (ID INT PRIMARY KEY)");
+            final AtomicInteger prepared = new AtomicInteger();
+            final Connection counting = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if ("prepareStatement".equals(method.getName())) {
+                            prepared.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (final InvocationTargetException ite) {
+                            throw ite.getCause();
+                        }
+                    });
+            try (H2MetadataProvider provider = new H2MetadataProvider(counting)) {
+                for (int i = 0; i < 16; i++) { // short-lived threads
+                    final Thread thread = new Thread(() -> {
+                        try (ResultSet results = provider.getSchemaColumns(null, "PUBLIC")) {
+                            assertTrue(results.next());
+                        } catch (final SQLException sqle) {
+                            throw new RuntimeException(sqle);
+                        }
+                    });
+                    thread.start();
+                    thread.join();
+                }
+                assertEquals(prepared.get(), 1);
+                try (ResultSet first = provider.getSchemaColumns(null, "PUBLIC");
+                     ResultSet second = provider.getSchemaColumns(null, "PUBLIC")) {
+                    assertTrue(first.next());
+                    assertTrue(second.next());
+                }
+                assertEquals(prepared.get(), 2);
+            }
+        }
+    }
+
+    /**
+     * Asserts that a pipelined crawl results the same as the standard crawl.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void pipeline() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:pipeline")) {
+            new SchemaGenerator(0L).prefix("L").schemas(2).tables(20).foreignKeys(2).generate(connection);
+            final ExecutorService executor = newFixedThreadPool(4);
+            try (H2MetadataProvider provider = new H2MetadataProvider(connection)) {
+                final MetadataCallMetrics metrics = new MetadataCallMetrics();
+                final List<Catalog> actual = assertEquivalentCrawl(
+                        connection, SUPPRESSION_PATHS_OF_SAME_NAMES,
+                        c -> c.setProvider(provider).setPipeline(executor, 3, 2).addCallListener(metrics));
+                assertEquals(metrics.getStatistics().get("getSchemaColumns").getCalls(), // once for each schema
+                             actual.get(0).getSchemas().stream().filter(s -> !s.getTables().isEmpty()).count());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Asserts that a stream binds records only as far as it is advanced, and shares bulk results across records.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void stream() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:stream")) {
+            new SchemaGenerator(0L).prefix("R").schemas(1).tables(10).generate(connection);
+            try (H2MetadataProvider provider = new H2MetadataProvider(connection)) {
+                final MetadataContext context = new MetadataContext(connection.getMetaData()).setProvider(provider);
+                context.addSuppressionPaths("column/isGeneratedcolumn", "table/pseudoColumns");
+                final List<Table> expected = context.getTables(null, "R0", null, new String[] {"TABLE"});
+                assertEquals(expected.size(), 10);
+                final MetadataCallMetrics metrics = new MetadataCallMetrics();
+                context.addCallListener(metrics);
+                try (Stream<Table> tables = context.streamTables(null, "R0", null, new String[] {"TABLE"})) {
+                    final Table table = tables.filter(t -> t.getTableName().endsWith("3")).findFirst().get();
+                    assertTrue(new MetadataFingerprint().same(table, expected.get(3)));
+                    assertNull(metrics.getStatistics().get("getTables")); // notified when closed
+                }
+                assertEquals(metrics.getStatistics().get("getTables").getRows(), 4L);
+                assertEquals(metrics.getStatistics().get("getSchemaColumns").getCalls(), 1L);
+                metrics.reset();
+                assertEquals(context.streamColumns(null, "R0", "T%", null).count(),
+                             expected.stream().mapToLong(t -> t.getColumns().size()).sum());
+                assertEquals(metrics.getStatistics().get("getColumns").getCalls(), 1L); // closed when exhausted
+            }
+        }
+    }
+
+    /**
+     * Asserts that {@link MetadataProviders#load(Connection)} loads an {@link H2MetadataProvider}.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void load() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:load");
+             MetadataProvider provider = MetadataProviders.load(connection)) {
+            assertTrue(provider instanceof H2MetadataProvider);
+        }
+    }
+
+    /**
+     * Asserts that per-call methods supported by a provider are invoked in place of those of {@link DatabaseMetaData}.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void perCall() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:perCall")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE PARENT (ID INT PRIMARY KEY)");
+                statement.execute("CREATE TABLE CHILD (ID INT PRIMARY KEY)");
+            }
+            final DatabaseMetaData metadata = connection.getMetaData();
+            final AtomicInteger primaryKeys = new AtomicInteger();
+            final MetadataProvider provider = new MetadataProvider() {
+                @Override
+                public ResultSet getTableTypes() throws SQLException {
+                    return connection.createStatement().executeQuery("SELECT 'VIRTUAL' TABLE_TYPE");
+                }
+
+                @Override
+                public ResultSet getPrimaryKeys(final String catalog, final String schema, final String table)
+                        throws SQLException {
+                    primaryKeys.incrementAndGet();
+                    return metadata.getPrimaryKeys(catalog, schema, table);
+                }
+            };
+            final MetadataContext context = new MetadataContext(metadata).setProvider(provider);
+            final List<TableType> tableTypes = context.getTableTypes();
+            assertEquals(tableTypes.size(), 1);
+            assertEquals(tableTypes.get(0).getTableType(), "VIRTUAL");
+            final List<Table> tables = context.getTables(null, "PUBLIC", null, null);
+            assertEquals(tables.size(), 2);
+            assertEquals(primaryKeys.get(), 2);
+            for (final Table table : tables) {
+                assertEquals(table.getPrimaryKeys().size(), 1);
+            }
+        }
+    }
+
+    /**
+     * Asserts that a method not supported by the driver is invoked only for the first table.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void unsupported() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:unsupported")) {
+            try (Statement statement = connection.createStatement()) {
+                for (int i = 0; i < 3; i++) {
+                    statement.execute("CREATE TABLE T" + i + " (ID INT PRIMARY KEY)");
+                }
+            }
+            final MetadataContext context = new MetadataContext(connection.getMetaData());
+            final MetadataCallMetrics metrics = new MetadataCallMetrics();
+            context.addCallListener(metrics);
+            final List<Table> tables = context.getTables(null, "PUBLIC", null, null);
+            assertEquals(tables.size(), 3);
+            assertEquals(metrics.getStatistics().get("getPseudoColumns").getCalls(), 1L); // null from H2 1.4
+            assertEquals(context.getUnsupportedMethods().get("getPseudoColumns"), Long.valueOf(2L));
+            assertEquals(metrics.getStatistics().get("getPrimaryKeys").getCalls(), 3L);
+        }
+    }
+
+    /**
+     * Asserts that a method not supported with a set of parameters is still invoked with its other sets.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void unsupportedParameters() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:unsupportedParameters")) {
+            try (Statement statement = connection.createStatement()) {
+                for (int i = 0; i < 3; i++) {
+                    statement.execute("CREATE TABLE T" + i + " (ID INT PRIMARY KEY)");
+                }
+            }
+            final MetadataContext context = new MetadataContext(connection.getMetaData());
+            context.setProvider(new MetadataProvider() {
+                @Override
+                public ResultSet getBestRowIdentifier(final String catalog, final String schema, final String table,
+                                                      final int scope, final boolean nullable)
+                        throws SQLException {
+                    if (scope == DatabaseMetaData.bestRowTemporary) {
+                        throw new SQLFeatureNotSupportedException("bestRowTemporary");
+                    }
+                    return null;
+                }
+            });
+            final MetadataCallMetrics metrics = new MetadataCallMetrics();
+            context.addCallListener(metrics);
+            final List<Table> tables = context.getTables(null, "PUBLIC", null, null);
+            assertEquals(tables.size(), 3);
+            assertEquals(metrics.getStatistics().get("getBestRowIdentifier").getCalls(), 7L);
+            assertEquals(context.getUnsupportedMethods().get("getBestRowIdentifier"), Long.valueOf(2L));
+            for (final Table table : tables) {
+                assertEquals(table.getBestRowIdentifiers().size(), 2, table.getTableName());
+            }
+        }
+    }
+
+    /**
+     * Asserts that best row identifiers bound with a single call of the widest scope are the same as those bound with
+     * a call for each scope, and that they are fetched for each schema with a provider.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void mergingBestRowScopes() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:mergingBestRowScopes")) {
+            // a single schema, for H2 mixes best row identifiers of tables of the same name in other schemas
+            new SchemaGenerator(0L).prefix("B").schemas(1).tables(5).generate(connection);
+            final MetadataContext standard = new MetadataContext(connection.getMetaData());
+            standard.addSuppressionPaths("schema/functions", "table/pseudoColumns");
+            final List<Table> expected = standard.getTables(null, "B0", null, new String[] {"TABLE"});
+            final MetadataContext context = new MetadataContext(connection.getMetaData())
+                    .setMergingBestRowScopes(true);
+            context.addSuppressionPaths("schema/functions", "table/pseudoColumns");
+            final MetadataCallMetrics metrics = new MetadataCallMetrics();
+            context.addCallListener(metrics);
+            final List<Table> actual = context.getTables(null, "B0", null, new String[] {"TABLE"});
+            assertEquals(actual.size(), 5);
+            // all scopes of the first table, for verification, and the widest of others
+            assertEquals(metrics.getStatistics().get("getBestRowIdentifier").getCalls(), 7L);
+            for (int i = 0; i < actual.size(); i++) {
+                final List<BestRowIdentifier> e = expected.get(i).getBestRowIdentifiers();
+                final List<BestRowIdentifier> a = actual.get(i).getBestRowIdentifiers();
+                assertEquals(a.size(), e.size());
+                assertFalse(a.isEmpty());
+                for (int j = 0; j < a.size(); j++) {
+                    assertEquals(a.get(j).getScope(), e.get(j).getScope());
+                    assertEquals(a.get(j).getColumnName(), e.get(j).getColumnName());
+                }
+            }
+            try (H2MetadataProvider provider = new H2MetadataProvider(connection)) {
+                final MetadataCallMetrics bulk = new MetadataCallMetrics();
+                assertEquivalentCrawl(
+                        connection, SUPPRESSION_PATHS,
+                        c -> c.setMergingBestRowScopes(true).setProvider(provider).addCallListener(bulk),
+                        "getBestRowIdentifier");
+                // each scope of B0, while verifying, and the widest of INFORMATION_SCHEMA
+                assertEquals(bulk.getStatistics().get("getSchemaBestRowIdentifier").getCalls(), 4L);
+            }
+        }
+    }
+
+    /**
+     * Asserts that scopes of best row identifiers are not merged when a driver reports identifiers only for a narrower
+     * scope.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void mergingDifferentBestRowScopes() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:mergingDifferentBestRowScopes")) {
+            try (Statement statement = connection.createStatement()) {
+                for (int i = 0; i < 3; i++) {
+                    statement.execute("CREATE TABLE T" + i + " (ID INT PRIMARY KEY)");
+                }
+            }
+            final MetadataProvider temporary = new MetadataProvider() {
+                @Override
+                public ResultSet getBestRowIdentifier(final String catalog, final String schema, final String table,
+                                                      final int scope, final boolean nullable)
+                        throws SQLException {
+                    if (scope != DatabaseMetaData.bestRowTemporary) {
+                        return null;
+                    }
+                    final Statement statement = connection.createStatement();
+                    statement.closeOnCompletion();
+                    return statement.executeQuery(
+                            "SELECT CAST(0 AS SMALLINT) SCOPE, '_ROWID_' COLUMN_NAME, -5 DATA_TYPE,"
+                            + " 'BIGINT' TYPE_NAME, 19 COLUMN_SIZE, CAST(NULL AS INT) BUFFER_LENGTH,"
+                            + " CAST(0 AS SMALLINT) DECIMAL_DIGITS, CAST(2 AS SMALLINT) PSEUDO_COLUMN");
+                }
+            };
+            final MetadataContext standard = new MetadataContext(connection.getMetaData()).setProvider(temporary);
+            standard.addSuppressionPaths("table/pseudoColumns");
+            final List<Table> expected = standard.getTables(null, "PUBLIC", null, null);
+            final MetadataContext context = new MetadataContext(connection.getMetaData()).setProvider(temporary)
+                    .setMergingBestRowScopes(true);
+            context.addSuppressionPaths("table/pseudoColumns");
+            final MetadataCallMetrics metrics = new MetadataCallMetrics();
+            context.addCallListener(metrics);
+            final List<Table> actual = context.getTables(null, "PUBLIC", null, null);
+            assertEquals(actual.size(), 3);
+            assertEquals(metrics.getStatistics().get("getBestRowIdentifier").getCalls(), 9L);
+            for (int i = 0; i < actual.size(); i++) {
+                final List<BestRowIdentifier> e = expected.get(i).getBestRowIdentifiers();
+                final List<BestRowIdentifier> a = actual.get(i).getBestRowIdentifiers();
+                assertEquals(a.size(), 3);
+                assertEquals(a.get(0).getColumnName(), "_ROWID_");
+                for (int j = 0; j < a.size(); j++) {
+                    assertEquals(a.get(j).getScope(), e.get(j).getScope());
+                    assertEquals(a.get(j).getColumnName(), e.get(j).getColumnName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that best row identifiers of a table, fetched for each schema with a provider, are not mixed with those
+     * of another table of the same name in another schema.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void sameNamedBestRowIdentifiers() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:sameNamedBestRowIdentifiers")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SCHEMA S1");
+                statement.execute("CREATE SCHEMA S2");
+                statement.execute("CREATE TABLE S1.T (ID INT PRIMARY KEY, V INT)");
+                statement.execute("CREATE TABLE S2.T (ID INT, V INT PRIMARY KEY)");
+            }
+            try (H2MetadataProvider provider = new H2MetadataProvider(connection)) {
+                for (final String[] expected : new String[][] {{"S1", "ID"}, {"S2", "V"}}) {
+                    final List<String> columns = new ArrayList<>();
+                    try (ResultSet results = provider.getSchemaBestRowIdentifier(
+                            null, expected[0], DatabaseMetaData.bestRowSession, true)) {
+                        while (results.next()) {
+                            columns.add(results.getString("TABLE_NAME") + "." + results.getString("COLUMN_NAME"));
+                        }
+                    }
+                    assertEquals(columns, singletonList("T." + expected[1]), expected[0]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that primitive boolean fields are read from records without warnings for null values.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void booleans() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:booleans")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE T (ID INT PRIMARY KEY, C INT)");
+                statement.execute("CREATE INDEX I ON T (C)");
+            }
+            final List<String> warnings = new ArrayList<>();
+            final Handler handler = new Handler() {
+                @Override
+                public void publish(final LogRecord record) {
+                    if (record.getMessage().startsWith("null value")) {
+                        warnings.add(record.getMessage());
+                    }
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            final java.util.logging.Logger logger = java.util.logging.Logger.getLogger(MetadataContext.class.getName());
+            logger.addHandler(handler);
+            try {
+                final MetadataContext context = new MetadataContext(connection.getMetaData());
+                context.addSuppressionPaths("typeInfo/numPrecRadix"); // NULLs from H2 1.4
+                final List<IndexInfo> indexInfo = context.getIndexInfo(null, "PUBLIC", "T", false, false);
+                assertEquals(indexInfo.size(), 2);
+                for (final IndexInfo info : indexInfo) {
+                    assertEquals(info.isNonUnique(), "I".equals(info.getIndexName()), info.getIndexName());
+                }
+                assertTrue(context.getTypeInfo().stream().anyMatch(TypeInfo::getCaseSensitive));
+            } finally {
+                logger.removeHandler(handler);
+            }
+            assertEquals(warnings, emptyList());
+        }
+    }
 }
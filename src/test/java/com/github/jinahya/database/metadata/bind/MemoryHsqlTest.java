@@ -27,13 +27,19 @@ import org.testng.annotations.Test;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.github.jinahya.database.metadata.bind.JaxbTests.store;
 import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static com.github.jinahya.database.metadata.bind.MetadataEquivalence.assertEquivalentCrawl;
 import static java.sql.DriverManager.getConnection;
+import static java.util.Arrays.asList;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Jin Kwon &lt;onacit_at_gmail.com&gt;
@@ -89,4 +95,108 @@ public class MemoryHsqlTest extends MemoryTest {
             store(TypeInfo.class, context.getTypeInfo(), "memory.hsql.typeInfo");
         }
     }
+
+    /**
+     * Asserts that an {@link HsqlMetadataProvider} binds the same information as {@link DatabaseMetaData} does.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void provider() throws Exception {
+        try (Connection connection = getConnection("jdbc:hsqldb:mem:provider")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE PARENT (ID INT PRIMARY KEY, NAME VARCHAR(255) NOT NULL)");
+                statement.execute("CREATE UNIQUE INDEX IDX_PARENT_NAME ON PARENT (NAME DESC)");
+                statement.execute("CREATE TABLE CHILD (ID INT, SEQ INT, PARENT_ID INT,"
+                                  + " PRIMARY KEY (SEQ, ID), FOREIGN KEY (PARENT_ID) REFERENCES PARENT (ID))");
+                statement.execute("CREATE USER READER PASSWORD 'reader'");
+                statement.execute("GRANT SELECT ON PARENT TO READER");
+                statement.execute("GRANT UPDATE (NAME) ON PARENT TO READER");
+            }
+            try (HsqlMetadataProvider provider = new HsqlMetadataProvider(connection)) {
+                assertEquivalentCrawl(
+                        connection, asList("column/numPrecRadix", "indexInfo/cardinality", "table/pseudoColumns"),
+                        c -> getCatalogs(c, true), c -> c.setProvider(provider),
+                        "getColumns", "getIndexInfo", "getPrimaryKeys", "getImportedKeys");
+            }
+        }
+    }
+
+    // asserts that rows of given result set are sorted by specified labels
+    private static void assertSorted(final ResultSet results, final String... labels) throws SQLException {
+        try (ResultSet closing = results) {
+            List<Comparable<Object>> previous = null;
+            int rows = 0;
+            while (closing.next()) {
+                final List<Comparable<Object>> current = new ArrayList<>();
+                for (final String label : labels) {
+                    @SuppressWarnings({"unchecked"})
+                    final Comparable<Object> value = (Comparable<Object>) closing.getObject(label);
+                    current.add(value);
+                }
+                if (previous != null) {
+                    for (int i = 0; i < labels.length; i++) {
+                        final int compared = String.valueOf(previous.get(i)).equals(String.valueOf(current.get(i)))
+                                             ? 0 : previous.get(i).compareTo(current.get(i));
+                        assertTrue(compared <= 0, labels[i] + ": " + previous + " > " + current);
+                        if (compared < 0) {
+                            break;
+                        }
+                    }
+                }
+                previous = current;
+                rows++;
+            }
+            assertTrue(rows > 1);
+        }
+    }
+
+    /**
+     * Asserts that an {@link HsqlMetadataProvider} returns rows in the orders specified by {@link DatabaseMetaData}.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void providerOrders() throws Exception {
+        try (Connection connection = getConnection("jdbc:hsqldb:mem:providerOrders")) {
+            try (Statement statement = connection.createStatement()) {
+                // created in the reverse order of names
+                statement.execute("CREATE TABLE ZED (ID INT PRIMARY KEY, B INT, A INT)");
+                statement.execute("CREATE INDEX IDX_ZED_B ON ZED (B)");
+                statement.execute("CREATE UNIQUE INDEX IDX_ZED_A ON ZED (A)");
+                statement.execute("CREATE TABLE ALPHA (Y INT, X INT, ZED_ID INT, PRIMARY KEY (Y, X),"
+                                  + " FOREIGN KEY (ZED_ID) REFERENCES ZED (ID))");
+                statement.execute("CREATE USER READER PASSWORD 'reader'");
+                statement.execute("GRANT SELECT, UPDATE ON ZED TO READER");
+                statement.execute("GRANT SELECT, INSERT ON ALPHA TO READER");
+                statement.execute("GRANT UPDATE (B, A) ON ZED TO READER");
+            }
+            try (HsqlMetadataProvider provider = new HsqlMetadataProvider(connection)) {
+                assertSorted(provider.getSchemaColumns(null, "PUBLIC"),
+                             "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "ORDINAL_POSITION");
+                assertSorted(provider.getSchemaColumnPrivileges(null, "PUBLIC"),
+                             "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "PRIVILEGE");
+                assertSorted(provider.getSchemaIndexInfo(null, "PUBLIC", false, false),
+                             "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "NON_UNIQUE", "TYPE", "INDEX_NAME",
+                             "ORDINAL_POSITION");
+                assertSorted(provider.getSchemaPrimaryKeys(null, "PUBLIC"),
+                             "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME");
+                assertSorted(provider.getSchemaTablePrivileges(null, "PUBLIC"),
+                             "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "PRIVILEGE");
+            }
+        }
+    }
+
+    /**
+     * Asserts that {@link MetadataProviders#load(Connection)} loads an {@link HsqlMetadataProvider}.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void load() throws Exception {
+        try (Connection connection = getConnection(CONNECTION_URL);
+             MetadataProvider provider = MetadataProviders.load(connection)) {
+            assertTrue(provider instanceof HsqlMetadataProvider);
+        }
+    }
 }
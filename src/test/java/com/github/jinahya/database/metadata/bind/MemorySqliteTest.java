@@ -29,13 +29,17 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
 import java.util.List;
 
 import static com.github.jinahya.database.metadata.bind.JaxbTests.store;
 import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static com.github.jinahya.database.metadata.bind.MetadataEquivalence.assertEquivalentCrawl;
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.sql.DriverManager.getConnection;
+import static java.util.Collections.singletonList;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertFalse;
 
 /**
  * Test for SQLite.
@@ -58,6 +62,19 @@ public class MemorySqliteTest extends MemoryTest {
     private static void afterClass() throws SQLException {
     }
 
+    // -------------------------------------------------------------------------
+    // the driver supports no getSchemas(String, String) for getCatalogs(MetadataContext, boolean) to reach tables
+    private static List<Catalog> catalogs(final MetadataContext context) throws SQLException {
+        final Schema schema = new Schema();
+        schema.setTableCatalog("");
+        schema.setTableSchem("");
+        schema.getTables().addAll(context.getTables(null, null, null, null));
+        final Catalog catalog = new Catalog();
+        catalog.setTableCat("");
+        catalog.getSchemas().add(schema);
+        return singletonList(catalog);
+    }
+
     // -------------------------------------------------------------------------
     @Test(enabled = true)
     public void test() throws Exception {
@@ -80,4 +97,31 @@ public class MemorySqliteTest extends MemoryTest {
             store(TypeInfo.class, context.getTypeInfo(), "memory.sqlite.typeInfo");
         }
     }
+
+    /**
+     * Asserts that a crawl with {@link SqliteMetadataProvider} results the same as the standard crawl.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void provider() throws Exception {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE parent (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                                  + " name VARCHAR(255) NOT NULL, price DECIMAL(10, 2) DEFAULT 0)");
+                statement.execute("CREATE UNIQUE INDEX idx_parent_name ON parent (name)");
+                statement.execute("CREATE TABLE child (id INTEGER, seq INTEGER, parent_id INTEGER, note,"
+                                  + " PRIMARY KEY (id, seq), FOREIGN KEY (parent_id) REFERENCES parent (id)"
+                                  + " ON DELETE CASCADE)");
+                statement.execute("CREATE INDEX idx_child_note ON child (note, parent_id)");
+                statement.execute("CREATE VIEW named AS SELECT id, name FROM parent");
+            }
+            try (SqliteMetadataProvider provider = new SqliteMetadataProvider(connection)) {
+                final List<Catalog> actual = assertEquivalentCrawl(
+                        connection, singletonList("table/pseudoColumns"), MemorySqliteTest::catalogs,
+                        c -> c.setProvider(provider), "getColumns", "getIndexInfo");
+                assertFalse(actual.get(0).getSchemas().get(0).getTables().isEmpty());
+            }
+        }
+    }
 }
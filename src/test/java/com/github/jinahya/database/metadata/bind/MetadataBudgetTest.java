@@ -0,0 +1,149 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLTimeoutException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.sql.DriverManager.getConnection;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test for {@link MetadataBudget}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataBudgetTest {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Test
+    public void expired() throws Exception {
+        final MetadataBudget budget = new MetadataBudget(1L, 0L, TimeUnit.NANOSECONDS);
+        Thread.sleep(1L);
+        assertTrue(budget.isExpired());
+        try (Connection connection = getConnection("jdbc:h2:mem:budget_expired")) {
+            final MetadataContext context = new MetadataContext(connection.getMetaData()).setBudget(budget);
+            expectThrows(SQLTimeoutException.class, context::getCatalogs);
+            assertEquals(budget.getOverruns(), 1);
+        }
+    }
+
+    @Test
+    public void cancelled() throws Exception {
+        final MetadataBudget budget = new MetadataBudget();
+        assertFalse(budget.isExhausted());
+        try (Connection connection = getConnection("jdbc:h2:mem:budget_cancelled")) {
+            connection.createStatement().execute("CREATE TABLE PARENT (ID INT PRIMARY KEY)");
+            final MetadataContext context = new MetadataContext(connection.getMetaData()).setBudget(budget);
+            context.addCallListener(call -> {
+                if (call.getMethod().equals("getColumns")) {
+                    budget.cancel();
+                }
+            });
+            final List<Catalog> catalogs = getCatalogs(context);
+            assertTrue(budget.isCancelled());
+            assertTrue(budget.getOverruns() > 0);
+            assertTrue(catalogs.stream().anyMatch(Catalog::isIncomplete));
+            assertTrue(catalogs.stream().flatMap(c -> c.getSchemas().stream()).anyMatch(Schema::isIncomplete));
+            assertEquals(catalogs.stream().flatMap(c -> c.getSchemas().stream())
+                                 .mapToLong(s -> s.getTables().size()).sum(), 1L);
+            expectThrows(SQLTimeoutException.class, context::getCatalogs);
+        }
+    }
+
+    @Test
+    public void callTimeout() throws Exception {
+        final MetadataBudget budget = new MetadataBudget(0L, 1L, TimeUnit.NANOSECONDS);
+        try (Connection connection = getConnection("jdbc:h2:mem:budget_call")) {
+            final MetadataContext context = new MetadataContext(connection.getMetaData()).setBudget(budget);
+            expectThrows(SQLTimeoutException.class, context::getCatalogs);
+            assertFalse(budget.isExhausted());
+            assertTrue(budget.getOverruns() > 0);
+        }
+    }
+
+    /**
+     * Asserts that the call timeout does not count nested calls, which take longer in total than the timeout.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void callTimeoutOfChildren() throws Exception {
+        final MetadataBudget budget = new MetadataBudget(0L, 500L, TimeUnit.MILLISECONDS);
+        try (Connection connection = getConnection("jdbc:h2:mem:budget_callChildren")) {
+            for (int i = 0; i < 3; i++) {
+                connection.createStatement().execute("CREATE TABLE T" + i + " (ID INT PRIMARY KEY)");
+            }
+            final MetadataContext context = new MetadataContext(connection.getMetaData()).setBudget(budget);
+            context.addSuppressionPaths("table/pseudoColumns");
+            context.setProvider(new MetadataProvider() {
+                @Override
+                public ResultSet getPrimaryKeys(final String catalog, final String schema, final String table) {
+                    try {
+                        Thread.sleep(300L);
+                    } catch (final InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null; // falls back to the driver
+                }
+            });
+            final List<Table> tables = context.getTables(null, "PUBLIC", null, null);
+            assertEquals(tables.size(), 3);
+            assertEquals(budget.getOverruns(), 0);
+            for (final Table table : tables) {
+                assertFalse(table.isIncomplete(), table.getTableName());
+                assertEquals(table.getPrimaryKeys().size(), 1, table.getTableName());
+            }
+        }
+    }
+
+    @Test
+    public void timedOut() throws Exception {
+        final MetadataBudget budget = new MetadataBudget();
+        try (Connection connection = getConnection("jdbc:h2:mem:budget_timedOut")) {
+            connection.createStatement().execute("CREATE TABLE PARENT (ID INT PRIMARY KEY)");
+            final MetadataContext context = new MetadataContext(connection.getMetaData()).setBudget(budget);
+            context.addSuppressionPaths("table/pseudoColumns");
+            context.setProvider(new MetadataProvider() {
+                @Override
+                public ResultSet getIndexInfo(final String catalog, final String schema, final String table,
+                                              final boolean unique, final boolean approximate)
+                        throws SQLTimeoutException {
+                    throw new SQLTimeoutException("timed out");
+                }
+            });
+            final List<Table> tables = context.getTables(null, "PUBLIC", "PARENT", null);
+            assertEquals(tables.size(), 1);
+            assertTrue(tables.get(0).isIncomplete());
+            assertFalse(tables.get(0).getColumns().isEmpty());
+            assertTrue(budget.getOverruns() > 0);
+        }
+    }
+}
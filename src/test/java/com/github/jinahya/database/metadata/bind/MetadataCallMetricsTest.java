@@ -0,0 +1,79 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.sql.DriverManager.getConnection;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for {@link MetadataCallMetrics}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataCallMetricsTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Test
+    public void histogram() {
+        final MetadataCallMetrics.Histogram histogram = new MetadataCallMetrics.Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.add(1000L); // 1us
+        }
+        histogram.add(1000000000L); // 1s
+        assertEquals(histogram.getCount(), 100L);
+        assertEquals(histogram.percentileMicros(50.0d), 2L);
+        assertTrue(histogram.percentileMicros(100.0d) >= 1000000L);
+    }
+
+    @Test
+    public void h2() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:metrics")) {
+            connection.createStatement().execute("CREATE TABLE PARENT (ID INT PRIMARY KEY)");
+            final MetadataContext context = new MetadataContext(connection.getMetaData());
+            context.addSuppressionPaths("column/isGeneratedcolumn", "schema/functions", "table/pseudoColumns");
+            final MetadataCallMetrics metrics = new MetadataCallMetrics();
+            context.addCallListener(metrics);
+            final List<Catalog> catalogs = getCatalogs(context);
+            logger.debug("report:\n{}", metrics.report());
+            final Map<String, MetadataCallMetrics.Statistics> statistics = metrics.getStatistics();
+            assertEquals(statistics.get("getCatalogs").getCalls(), 1L);
+            assertEquals(statistics.get("getCatalogs").getRows(), catalogs.size());
+            final long tables = catalogs.stream().flatMap(c -> c.getSchemas().stream())
+                    .mapToLong(s -> s.getTables().size()).sum();
+            assertEquals(statistics.get("getColumns").getCalls(), tables);
+            assertEquals(statistics.get("getBestRowIdentifier").getCalls(), tables * 3);
+            assertTrue(statistics.get("getColumns").getRows() > 0L);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static com.github.jinahya.database.metadata.bind.MetadataEquivalence.assertEquivalent;
+import static java.sql.DriverManager.getConnection;
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MetadataCapabilities} on H2.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+@Slf4j
+public class MetadataCapabilitiesTest {
+
+    private static void create(final Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE PARENT (ID INT PRIMARY KEY, NAME VARCHAR(255) NOT NULL)");
+            statement.execute("CREATE UNIQUE INDEX IDX_PARENT_NAME ON PARENT (NAME)");
+            statement.execute("CREATE TABLE CHILD (ID INT, SEQ INT, PARENT_ID INT,"
+                              + " PRIMARY KEY (ID, SEQ), FOREIGN KEY (PARENT_ID) REFERENCES PARENT (ID))");
+        }
+    }
+
+    /**
+     * Asserts that capabilities are probed once for each driver and that unsupported methods, but not empty ones, are
+     * suppressed.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void probe() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:capabilities_probe")) {
+            create(connection);
+            final MetadataCapabilities capabilities = MetadataCapabilities.of(connection.getMetaData());
+            log.debug("capabilities: {}", capabilities);
+            assertSame(MetadataCapabilities.of(connection.getMetaData()), capabilities);
+            final Map<String, MetadataCapabilities.Capability> map = capabilities.getCapabilities();
+            assertEquals(map.get("getColumns").getSupport(), MetadataCapabilities.Support.SUPPORTED);
+            assertTrue(map.get("getColumns").isExhaustive());
+            assertFalse(map.get("getPrimaryKeys").isExhaustive());
+            assertNotNull(map.get("getPrimaryKeys").getNullTable()); // H2 1.4 returns no rows
+            assertEquals(map.get("getColumns").getNullTable(), Boolean.TRUE);
+            assertNull(map.get("getTables").getNullTable());
+            assertEquals(map.get("getPseudoColumns").getSupport(), MetadataCapabilities.Support.UNSUPPORTED);
+            assertTrue(capabilities.getBulkMethods().contains("getColumns"));
+            assertTrue(capabilities.getSuppressionPaths().contains("table/pseudoColumns"));
+            assertTrue(capabilities.getSuppressionPaths().contains("schema/functions"));
+            // no UDTs in this database, which says nothing about others using the same driver
+            assertEquals(map.get("getUDTs").getSupport(), MetadataCapabilities.Support.EMPTY);
+            assertFalse(capabilities.getSuppressionPaths().contains("schema/UDTs"));
+        }
+    }
+
+    /**
+     * Asserts that stored capabilities are loaded as they were.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void storeAndLoad() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:capabilities_store")) {
+            create(connection);
+            final MetadataCapabilities expected = MetadataCapabilities.probe(connection.getMetaData());
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            expected.store(output);
+            final MetadataCapabilities actual = MetadataCapabilities.load(
+                    new ByteArrayInputStream(output.toByteArray()));
+            assertEquals(actual.getKey(), expected.getKey());
+            assertEquals(actual.getCapabilities().keySet(), expected.getCapabilities().keySet());
+            assertEquals(actual.getSuppressionPaths(), expected.getSuppressionPaths());
+            assertEquals(actual.getBulkMethods(), expected.getBulkMethods());
+            for (final String method : expected.getCapabilities().keySet()) {
+                final MetadataCapabilities.Capability e = expected.getCapabilities().get(method);
+                final MetadataCapabilities.Capability a = actual.getCapabilities().get(method);
+                assertEquals(a.getSupport(), e.getSupport(), method);
+                assertEquals(a.getNanos(), e.getNanos(), method);
+                assertEquals(a.getRows(), e.getRows(), method);
+                assertEquals(a.getNullTable(), e.getNullTable(), method);
+                assertEquals(a.getMissingLabels(), e.getMissingLabels(), method);
+            }
+        }
+    }
+
+    /**
+     * Asserts that capabilities are persisted in a directory and loaded back.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void persist() throws Exception {
+        final Path directory = Files.createTempDirectory("capabilities");
+        try (Connection connection = getConnection("jdbc:h2:mem:capabilities_persist")) {
+            create(connection);
+            final MetadataCapabilities stored = MetadataCapabilities.of(connection.getMetaData(), directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(files.count(), 1L);
+            }
+            final MetadataCapabilities loaded = MetadataCapabilities.of(connection.getMetaData(), directory);
+            assertEquals(loaded.getKey(), stored.getKey());
+            assertEquals(loaded.getSuppressionPaths(), stored.getSuppressionPaths());
+        }
+    }
+
+    /**
+     * Asserts that methods which failed are neither suppressed nor persisted, and are probed again.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void failed() throws Exception {
+        final Path directory = Files.createTempDirectory("capabilities");
+        try (Connection connection = getConnection("jdbc:h2:mem:capabilities_failed")) {
+            create(connection);
+            final DatabaseMetaData delegate = connection.getMetaData();
+            final AtomicBoolean failing = new AtomicBoolean(true);
+            final DatabaseMetaData metadata = (DatabaseMetaData) Proxy.newProxyInstance(
+                    DatabaseMetaData.class.getClassLoader(), new Class<?>[] {DatabaseMetaData.class},
+                    (proxy, method, args) -> {
+                        if ("getDriverVersion".equals(method.getName())) {
+                            return delegate.getDriverVersion() + " (failing)"; // not to share capabilities
+                        }
+                        if ("getIndexInfo".equals(method.getName()) && failing.get()) {
+                            throw new SQLException("transient");
+                        }
+                        try {
+                            return method.invoke(delegate, args);
+                        } catch (final InvocationTargetException ite) {
+                            throw ite.getCause();
+                        }
+                    });
+            final MetadataCapabilities failed = MetadataCapabilities.of(metadata, directory);
+            assertEquals(failed.getCapabilities().get("getIndexInfo").getSupport(),
+                         MetadataCapabilities.Support.FAILED);
+            assertFalse(failed.getSuppressionPaths().contains("table/indexInfo"));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(files.count(), 0L);
+            }
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            failed.store(output);
+            assertFalse(MetadataCapabilities.load(new ByteArrayInputStream(output.toByteArray()))
+                                .getCapabilities().containsKey("getIndexInfo"));
+            failing.set(false);
+            final MetadataCapabilities probed = MetadataCapabilities.of(metadata, directory);
+            assertEquals(probed.getCapabilities().get("getIndexInfo").getSupport(),
+                         MetadataCapabilities.Support.SUPPORTED);
+            assertEquals(probed.getCapabilities().get("getColumns").getNanos(),
+                         failed.getCapabilities().get("getColumns").getNanos()); // not probed again
+            assertSame(MetadataCapabilities.of(metadata), probed);
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(files.count(), 1L);
+            }
+        }
+    }
+
+    /**
+     * Asserts that a crawl planned with probed capabilities binds the same as a crawl with hand-picked suppressions of
+     * unsupported methods, without per-table calls for columns.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void apply() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:capabilities_apply")) {
+            new SchemaGenerator(0L).prefix("P").schemas(2).tables(5).generate(connection);
+            final MetadataContext standard = new MetadataContext(connection.getMetaData());
+            standard.addSuppressionPaths("schema/functions", "table/pseudoColumns"); // unsupported by H2 1.4
+            final List<Catalog> expected = getCatalogs(standard);
+            final MetadataCapabilities capabilities = MetadataCapabilities.probe(connection.getMetaData());
+            log.debug("suppression paths: {}", capabilities.getSuppressionPaths());
+            assertTrue(capabilities.getSuppressionPaths()
+                               .containsAll(asList("schema/functions", "table/pseudoColumns")));
+            log.debug("bulk methods: {}", capabilities.getBulkMethods());
+            final MetadataContext context = capabilities.apply(new MetadataContext(connection.getMetaData()));
+            assertNotNull(context.getProvider());
+            final MetadataCallMetrics metrics = new MetadataCallMetrics();
+            context.addCallListener(metrics);
+            final List<Catalog> actual = getCatalogs(context);
+            log.debug("report:\n{}", metrics.report());
+            assertNull(metrics.getStatistics().get("getColumns"));
+            assertEquivalent(expected, actual);
+        }
+    }
+}
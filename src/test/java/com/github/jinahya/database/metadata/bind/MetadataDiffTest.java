@@ -0,0 +1,170 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.COLUMN_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.COLUMN_TYPE_CHANGED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.FOREIGN_KEY_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.FOREIGN_KEY_CHANGED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.INDEX_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.PRIVILEGE_REVOKED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.TABLE_ADDED;
+import static com.github.jinahya.database.metadata.bind.MetadataChange.Type.TABLE_REMOVED;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Arrays.asList;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for {@link MetadataDiff}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataDiffTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    // -----------------------------------------------------------------------------------------------------------------
+    static List<Catalog> snapshot(final Consumer<Schema> customizer) {
+        final Catalog catalog = new Catalog();
+        catalog.setTableCat("CATALOG");
+        final Schema schema = new Schema();
+        schema.setTableCatalog(catalog.getTableCat());
+        schema.setTableSchem("PUBLIC");
+        catalog.getSchemas().add(schema);
+        for (final String name : asList("PARENT", "CHILD", "OTHER")) {
+            final Table table = new Table();
+            table.setTableCat(catalog.getTableCat());
+            table.setTableSchem(schema.getTableSchem());
+            table.setTableName(name);
+            table.setTableType("TABLE");
+            final Column column = new Column();
+            column.setColumnName("ID");
+            column.setDataType(java.sql.Types.INTEGER);
+            column.setTypeName("INTEGER");
+            column.setColumnSize(10);
+            table.getColumns().add(column);
+            final TablePrivilege privilege = new TablePrivilege();
+            privilege.setGrantee("PUBLIC");
+            privilege.setPrivilege("SELECT");
+            table.getTablePrivileges().add(privilege);
+            schema.getTables().add(table);
+        }
+        final ImportedKey importedKey = new ImportedKey();
+        importedKey.setPktableName("PARENT");
+        importedKey.setPkcolumnName("ID");
+        importedKey.setFktableName("CHILD");
+        importedKey.setFkcolumnName("ID");
+        importedKey.setKeySeq((short) 1);
+        importedKey.setFkName("FK_CHILD_PARENT");
+        schema.getTables().get(1).getImportedKeys().add(importedKey);
+        customizer.accept(schema);
+        return new ArrayList<>(asList(catalog));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Test
+    public void diffIdentical() {
+        final List<MetadataChange> changes = MetadataDiff.diff(snapshot(s -> {
+        }), snapshot(s -> {
+        }));
+        assertTrue(changes.isEmpty(), "changes: " + changes);
+    }
+
+    @Test
+    public void diff() {
+        final List<Catalog> source = snapshot(s -> {
+        });
+        final List<Catalog> target = snapshot(s -> {
+            s.getTables().removeIf(t -> t.getTableName().equals("OTHER"));
+            final Table added = new Table();
+            added.setTableName("ADDED");
+            s.getTables().add(added);
+            final Table parent = s.getTables().get(0);
+            parent.getColumns().get(0).setDataType(java.sql.Types.BIGINT);
+            parent.getColumns().get(0).setTypeName("BIGINT");
+            final Column column = new Column();
+            column.setColumnName("NAME");
+            parent.getColumns().add(column);
+            final IndexInfo indexInfo = new IndexInfo();
+            indexInfo.setIndexName("IDX_PARENT_NAME");
+            indexInfo.setColumnName("NAME");
+            indexInfo.setOrdinalPosition((short) 1);
+            parent.getIndexInfo().add(indexInfo);
+            parent.getTablePrivileges().clear();
+            final Table child = s.getTables().get(1);
+            child.getImportedKeys().get(0).setDeleteRule((short) java.sql.DatabaseMetaData.importedKeyRestrict);
+        });
+        final List<MetadataChange> changes = MetadataDiff.diff(source, target);
+        changes.forEach(c -> logger.debug("change: {}", c));
+        assertEquals(changes.size(), 7);
+        assertTrue(changes.stream().anyMatch(c -> c.getType() == TABLE_REMOVED
+                                                  && c.getPath().equals(asList("CATALOG", "PUBLIC", "OTHER"))));
+        assertTrue(changes.stream().anyMatch(c -> c.getType() == TABLE_ADDED
+                                                  && c.getPath().equals(asList("CATALOG", "PUBLIC", "ADDED"))));
+        assertTrue(changes.stream().anyMatch(c -> c.getType() == COLUMN_TYPE_CHANGED));
+        assertTrue(changes.stream().anyMatch(c -> c.getType() == COLUMN_ADDED));
+        assertTrue(changes.stream().anyMatch(c -> c.getType() == INDEX_ADDED));
+        assertTrue(changes.stream().anyMatch(c -> c.getType() == PRIVILEGE_REVOKED));
+        assertTrue(changes.stream().anyMatch(c -> c.getType() == FOREIGN_KEY_CHANGED
+                                                  && c.getPath().get(3).equals("FK_CHILD_PARENT")));
+    }
+
+    /**
+     * Asserts that foreign keys with empty names, as SQLite reports, are identified by their parent tables and their
+     * columns.
+     */
+    @Test
+    public void diffUnnamedForeignKeys() {
+        final Consumer<Schema> unnamed = s -> {
+            final Table child = s.getTables().get(1);
+            child.getImportedKeys().get(0).setFkName("");
+            final Column column = new Column();
+            column.setColumnName("PARENT_ID");
+            child.getColumns().add(column);
+        };
+        final List<Catalog> source = snapshot(unnamed);
+        final List<Catalog> target = snapshot(unnamed.andThen(s -> {
+            final ImportedKey importedKey = new ImportedKey();
+            importedKey.setPktableName("PARENT");
+            importedKey.setPkcolumnName("ID");
+            importedKey.setFktableName("CHILD");
+            importedKey.setFkcolumnName("PARENT_ID");
+            importedKey.setKeySeq((short) 1);
+            importedKey.setFkName("");
+            s.getTables().get(1).getImportedKeys().add(importedKey);
+        }));
+        assertTrue(MetadataDiff.diff(source, source).isEmpty());
+        final List<MetadataChange> changes = MetadataDiff.diff(source, target);
+        changes.forEach(c -> logger.debug("change: {}", c));
+        assertEquals(changes.size(), 1);
+        assertEquals(changes.get(0).getType(), FOREIGN_KEY_ADDED);
+        assertEquals(changes.get(0).getPath().get(3), "..PARENT(PARENT_ID)");
+    }
+}
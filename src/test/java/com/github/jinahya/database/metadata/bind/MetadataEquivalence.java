@@ -0,0 +1,345 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.github.jinahya.database.metadata.bind.Utils.fields;
+import static java.beans.Introspector.decapitalize;
+import static java.lang.String.join;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test utilities for asserting that two crawl strategies bind the same catalogs.
+ * <p>
+ * Catalogs are compared field by field with {@link Bind} labels, and lists of {@link Invoke} fields are compared
+ * element by element. Elements are matched by their identifying labels so that any order is accepted; the orders of
+ * elements are compared only by the labels which {@link java.sql.DatabaseMetaData} orders its results by, and the
+ * specified order is accepted even if the expected elements, e.g. from a driver, are not in it.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+@Slf4j
+final class MetadataEquivalence {
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // labels identifying elements of each type among their siblings; all labels for types not listed
+    private static final Map<Class<?>, String[]> IDENTITIES = new HashMap<>();
+
+    // labels by which DatabaseMetaData orders each type; any order for types not listed
+    private static final Map<Class<?>, String[]> ORDERS = new HashMap<>();
+
+    private static void put(final Class<?> type, final String[] identity, final String... order) {
+        IDENTITIES.put(type, identity);
+        if (order.length > 0) {
+            ORDERS.put(type, order);
+        }
+    }
+
+    static {
+        put(Attribute.class, new String[] {"ATTR_NAME"}, "TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "ORDINAL_POSITION");
+        put(BestRowIdentifier.class, new String[] {"SCOPE", "COLUMN_NAME"}, "SCOPE");
+        put(Catalog.class, new String[] {"TABLE_CAT"}, "TABLE_CAT");
+        put(Column.class, new String[] {"COLUMN_NAME"}, "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "ORDINAL_POSITION");
+        put(ColumnPrivilege.class, new String[] {"COLUMN_NAME", "GRANTOR", "GRANTEE", "PRIVILEGE"},
+            "COLUMN_NAME", "PRIVILEGE");
+        put(ExportedKey.class, new String[] {"FKTABLE_CAT", "FKTABLE_SCHEM", "FKTABLE_NAME", "FK_NAME", "KEY_SEQ"},
+            "FKTABLE_CAT", "FKTABLE_SCHEM", "FKTABLE_NAME", "KEY_SEQ");
+        put(Function.class, new String[] {"FUNCTION_NAME", "SPECIFIC_NAME"},
+            "FUNCTION_CAT", "FUNCTION_SCHEM", "FUNCTION_NAME", "SPECIFIC_NAME");
+        put(FunctionColumn.class, new String[] {"COLUMN_NAME", "COLUMN_TYPE", "ORDINAL_POSITION"});
+        put(ImportedKey.class, new String[] {"PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "FK_NAME", "KEY_SEQ"},
+            "PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "KEY_SEQ");
+        put(IndexInfo.class, new String[] {"INDEX_NAME", "TYPE", "ORDINAL_POSITION", "COLUMN_NAME"},
+            "NON_UNIQUE", "TYPE", "INDEX_NAME", "ORDINAL_POSITION");
+        put(PrimaryKey.class, new String[] {"COLUMN_NAME"}, "COLUMN_NAME");
+        put(Procedure.class, new String[] {"PROCEDURE_NAME", "SPECIFIC_NAME"},
+            "PROCEDURE_CAT", "PROCEDURE_SCHEM", "PROCEDURE_NAME", "SPECIFIC_NAME");
+        put(ProcedureColumn.class, new String[] {"COLUMN_NAME", "COLUMN_TYPE", "ORDINAL_POSITION"});
+        put(PseudoColumn.class, new String[] {"COLUMN_NAME"},
+            "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME");
+        put(Schema.class, new String[] {"TABLE_SCHEM"}, "TABLE_CATALOG", "TABLE_SCHEM");
+        put(Table.class, new String[] {"TABLE_NAME"}, "TABLE_TYPE", "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME");
+        put(TablePrivilege.class, new String[] {"GRANTOR", "GRANTEE", "PRIVILEGE"},
+            "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "PRIVILEGE");
+        put(UDT.class, new String[] {"TYPE_NAME"}, "DATA_TYPE", "TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME");
+        put(VersionColumn.class, new String[] {"COLUMN_NAME"});
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Customizes a context, e.g. with a provider, for a crawl compared with the standard crawl.
+     */
+    @FunctionalInterface
+    interface Customizer {
+
+        MetadataContext customize(MetadataContext context) throws Exception;
+    }
+
+    /**
+     * Crawls catalogs with a context.
+     */
+    @FunctionalInterface
+    interface Crawler {
+
+        List<Catalog> crawl(MetadataContext context) throws Exception;
+    }
+
+    /**
+     * Asserts that a crawl of all catalogs with a context customized by given customizer binds catalogs equivalent to
+     * those of the standard crawl.
+     *
+     * @param connection       the connection to crawl
+     * @param suppressionPaths the suppression paths of both contexts
+     * @param customizer       the customizer of the compared context
+     * @param absentCalls      names of methods which the customized crawl should not call
+     * @return the catalogs of the customized crawl.
+     * @throws Exception if any error occurs.
+     * @see #assertEquivalentCrawl(Connection, Collection, Crawler, Customizer, String...)
+     */
+    static List<Catalog> assertEquivalentCrawl(final Connection connection, final Collection<String> suppressionPaths,
+                                               final Customizer customizer, final String... absentCalls)
+            throws Exception {
+        return assertEquivalentCrawl(connection, suppressionPaths, c -> MetadataContext.getCatalogs(c), customizer,
+                                     absentCalls);
+    }
+
+    /**
+     * Asserts that a crawl with a context customized by given customizer binds catalogs equivalent to those of the
+     * standard crawl, with both contexts suppressing given paths, and that none of given methods is called by the
+     * customized crawl. Tests which assert on calls of the customized crawl add their own listeners with the
+     * customizer.
+     *
+     * @param connection       the connection to crawl
+     * @param suppressionPaths the suppression paths of both contexts
+     * @param crawler          the crawler for both contexts
+     * @param customizer       the customizer of the compared context
+     * @param absentCalls      names of methods which the customized crawl should not call
+     * @return the catalogs of the customized crawl.
+     * @throws Exception if any error occurs.
+     */
+    static List<Catalog> assertEquivalentCrawl(final Connection connection, final Collection<String> suppressionPaths,
+                                               final Crawler crawler, final Customizer customizer,
+                                               final String... absentCalls)
+            throws Exception {
+        final MetadataContext standard = new MetadataContext(connection.getMetaData());
+        suppressionPaths.forEach(standard::addSuppressionPaths);
+        final List<Catalog> expected = crawler.crawl(standard);
+        final MetadataContext context = customizer.customize(new MetadataContext(connection.getMetaData()));
+        suppressionPaths.forEach(context::addSuppressionPaths);
+        final MetadataCallMetrics metrics = new MetadataCallMetrics();
+        context.addCallListener(metrics);
+        final List<Catalog> actual = crawler.crawl(context);
+        log.debug("report:\n{}", metrics.report());
+        for (final String absentCall : absentCalls) {
+            assertNull(metrics.getStatistics().get(absentCall), absentCall);
+        }
+        assertEquivalent(expected, actual);
+        return actual;
+    }
+
+    /**
+     * Asserts that given lists of catalogs are equivalent.
+     *
+     * @param expected the expected catalogs
+     * @param actual   the actual catalogs
+     * @throws ReflectiveOperationException if a reflection error occurs.
+     */
+    static void assertEquivalent(final List<Catalog> expected, final List<Catalog> actual)
+            throws ReflectiveOperationException {
+        final List<String> differences = differences(expected, actual);
+        differences.forEach(d -> log.debug("difference: {}", d));
+        assertEquals(differences, emptyList(), "differences");
+    }
+
+    /**
+     * Finds differences between given lists of catalogs.
+     *
+     * @param expected the expected catalogs
+     * @param actual   the actual catalogs
+     * @return a list of differences; empty if equivalent.
+     * @throws ReflectiveOperationException if a reflection error occurs.
+     */
+    static List<String> differences(final List<Catalog> expected, final List<Catalog> actual)
+            throws ReflectiveOperationException {
+        final List<String> differences = new ArrayList<>();
+        list("", expected, actual, differences);
+        return differences;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static <T> T find(final Map<Class<?>, T> map, final Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            final T value = map.get(c);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    // the @Bind fields of given type sorted by their labels
+    private static List<Field> binds(final Class<?> type) {
+        return fields(type, Bind.class).entrySet().stream()
+                .sorted(Comparator.comparing(e -> e.getValue().label()))
+                .map(Map.Entry::getKey)
+                .collect(toList());
+    }
+
+    private static Object value(final Object element, final String label) throws ReflectiveOperationException {
+        for (final Field field : binds(element.getClass())) {
+            if (field.getAnnotation(Bind.class).label().equals(label)) {
+                field.setAccessible(true);
+                return field.get(element);
+            }
+        }
+        throw new NoSuchFieldException(label);
+    }
+
+    private static List<Object> values(final Object element, final String[] labels)
+            throws ReflectiveOperationException {
+        final List<Object> values = new ArrayList<>();
+        if (labels == null) {
+            for (final Field field : binds(element.getClass())) {
+                field.setAccessible(true);
+                values.add(field.get(element));
+            }
+            return values;
+        }
+        for (final String label : labels) {
+            values.add(value(element, label));
+        }
+        return values;
+    }
+
+    private static String path(final String parent, final Object element, final List<Object> identity) {
+        return parent + "/" + decapitalize(element.getClass().getSimpleName()) + identity;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static void list(final String path, final Collection<?> expected, final Collection<?> actual,
+                             final List<String> differences)
+            throws ReflectiveOperationException {
+        final List<?> e = expected == null ? emptyList() : new ArrayList<>(expected);
+        final List<?> a = actual == null ? emptyList() : new ArrayList<>(actual);
+        if (e.isEmpty() && a.isEmpty()) {
+            return;
+        }
+        final Class<?> type = (e.isEmpty() ? a : e).get(0).getClass();
+        // matches elements by their identities; duplicates in the order of appearance
+        final String[] identity = find(IDENTITIES, type);
+        final Map<List<Object>, List<Object>> remaining = new LinkedHashMap<>();
+        boolean matched = true;
+        for (final Object element : a) {
+            remaining.computeIfAbsent(values(element, identity), k -> new ArrayList<>()).add(element);
+        }
+        for (final Object element : e) {
+            final List<Object> key = values(element, identity);
+            final List<Object> candidates = remaining.get(key);
+            if (candidates == null || candidates.isEmpty()) {
+                differences.add(path(path, element, key) + ": missing");
+                matched = false;
+                continue;
+            }
+            element(path(path, element, key), element, candidates.remove(0), differences);
+        }
+        for (final Map.Entry<List<Object>, List<Object>> entry : remaining.entrySet()) {
+            for (final Object element : entry.getValue()) {
+                differences.add(path(path, element, entry.getKey()) + ": unexpected");
+                matched = false;
+            }
+        }
+        // compares orders only if all elements are matched
+        final String[] order = find(ORDERS, type);
+        if (matched && order != null) {
+            final List<List<Object>> eo = new ArrayList<>();
+            for (final Object element : e) {
+                eo.add(values(element, order));
+            }
+            final List<List<Object>> ao = new ArrayList<>();
+            for (final Object element : a) {
+                ao.add(values(element, order));
+            }
+            if (!eo.equals(ao) && !sorted(eo).equals(ao)) { // drivers may deviate from the specified orders
+                differences.add(path + ": order of " + decapitalize(type.getSimpleName()) + " by "
+                                + join(", ", order) + " expected " + eo + " but was " + ao);
+            }
+        }
+    }
+
+    // returns a copy of given keys sorted as DatabaseMetaData specifies; nulls first
+    private static List<List<Object>> sorted(final List<List<Object>> keys) {
+        final List<List<Object>> sorted = new ArrayList<>(keys);
+        sorted.sort((k1, k2) -> {
+            for (int i = 0; i < k1.size(); i++) {
+                @SuppressWarnings({"unchecked"})
+                final Comparable<Object> v1 = (Comparable<Object>) k1.get(i);
+                final Object v2 = k2.get(i);
+                final int compared = v1 == null ? (v2 == null ? 0 : -1) : (v2 == null ? 1 : v1.compareTo(v2));
+                if (compared != 0) {
+                    return compared;
+                }
+            }
+            return 0;
+        });
+        return sorted;
+    }
+
+    private static void element(final String path, final Object expected, final Object actual,
+                                final List<String> differences)
+            throws ReflectiveOperationException {
+        for (final Field field : binds(expected.getClass())) {
+            field.setAccessible(true);
+            final Object e = field.get(expected);
+            final Object a = field.get(actual);
+            if (!Objects.equals(e, a)) {
+                differences.add(path + ": " + field.getAnnotation(Bind.class).label() + " expected [" + e
+                                + "] but was [" + a + "]");
+            }
+        }
+        final List<Field> invokes = new ArrayList<>(fields(expected.getClass(), Invoke.class).keySet());
+        invokes.sort(Comparator.comparing(Field::getName));
+        for (final Field field : invokes) {
+            field.setAccessible(true);
+            list(path, (Collection<?>) field.get(expected), (Collection<?>) field.get(actual), differences);
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private MetadataEquivalence() {
+        super();
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.github.jinahya.database.metadata.bind.MetadataDiffTest.snapshot;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Collections.reverse;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for {@link MetadataEquivalence}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataEquivalenceTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static Consumer<Schema> grants(final boolean reversed) {
+        return s -> {
+            final List<TablePrivilege> privileges = s.getTables().get(0).getTablePrivileges();
+            final TablePrivilege privilege = new TablePrivilege();
+            privilege.setGrantee("READER");
+            privilege.setPrivilege("SELECT");
+            privileges.add(privilege);
+            if (reversed) {
+                reverse(privileges);
+            }
+        };
+    }
+
+    private static Consumer<Schema> columns(final boolean reversed) {
+        return s -> {
+            final List<Column> columns = s.getTables().get(0).getColumns();
+            columns.get(0).setOrdinalPosition(1);
+            final Column column = new Column();
+            column.setColumnName("NAME");
+            column.setOrdinalPosition(2);
+            columns.add(column);
+            if (reversed) {
+                reverse(columns);
+            }
+        };
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Asserts that elements in an order not mandated by {@link java.sql.DatabaseMetaData} are equivalent.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void equivalent() throws Exception {
+        MetadataEquivalence.assertEquivalent(snapshot(grants(false)), snapshot(grants(true)));
+    }
+
+    /**
+     * Asserts that changed values, missing elements and elements in different mandated orders are reported.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void differences() throws Exception {
+        assertTrue(MetadataEquivalence.differences(snapshot(columns(false)), snapshot(columns(false))).isEmpty());
+        {
+            final List<String> differences = MetadataEquivalence.differences(
+                    snapshot(columns(false)), snapshot(columns(true)));
+            differences.forEach(d -> logger.debug("difference: {}", d));
+            assertEquals(differences.size(), 1);
+            assertTrue(differences.get(0).contains("order of column"));
+        }
+        {
+            final List<String> differences = MetadataEquivalence.differences(snapshot(s -> {
+            }), snapshot(s -> {
+                s.getTables().remove(2);
+                s.getTables().get(0).getColumns().get(0).setTypeName("BIGINT");
+            }));
+            differences.forEach(d -> logger.debug("difference: {}", d));
+            assertEquals(differences.size(), 2);
+            assertTrue(differences.contains("/catalog[CATALOG]/schema[PUBLIC]/table[OTHER]: missing"));
+            assertTrue(differences.contains(
+                    "/catalog[CATALOG]/schema[PUBLIC]/table[PARENT]/column[ID]: TYPE_NAME expected [INTEGER]"
+                    + " but was [BIGINT]"));
+        }
+    }
+}
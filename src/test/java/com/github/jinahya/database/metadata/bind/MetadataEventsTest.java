@@ -0,0 +1,97 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.slf4j.Logger;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.sql.DriverManager.getConnection;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for {@link MetadataEvents}. The {@code jdk.jfr} module is used through reflection, as the main code does, so
+ * that this test compiles on Java 8.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataEventsTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Test
+    public void record() throws Exception {
+        final Class<?> recordingClass;
+        try {
+            recordingClass = Class.forName("jdk.jfr.Recording");
+        } catch (final ClassNotFoundException cnfe) {
+            throw new SkipException("no jdk.jfr", cnfe);
+        }
+        final Path path = Files.createTempFile("metadata", ".jfr");
+        try (AutoCloseable recording = (AutoCloseable) recordingClass.getConstructor().newInstance()) {
+            for (final String name : new String[] {MetadataEvents.METADATA_CALL, MetadataEvents.BIND_BATCH,
+                                                   MetadataEvents.CRAWL_PHASE}) {
+                recordingClass.getMethod("enable", String.class).invoke(recording, name);
+            }
+            recordingClass.getMethod("start").invoke(recording);
+            try (Connection connection = getConnection("jdbc:h2:mem:events")) {
+                final MetadataContext context = new MetadataContext(connection.getMetaData());
+                context.addSuppressionPaths("column/isGeneratedcolumn", "schema/functions", "table/pseudoColumns");
+                getCatalogs(context);
+            }
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", Path.class).invoke(recording, path);
+        }
+        try {
+            final List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                    .getMethod("readAllEvents", Path.class).invoke(null, path);
+            final Map<String, Long> counts = events.stream().map(MetadataEventsTest::name).collect(
+                    Collectors.groupingBy(n -> n.substring(n.lastIndexOf('.') + 1), Collectors.counting()));
+            logger.debug("counts: {}", counts);
+            assertTrue(counts.getOrDefault("MetadataCall", 0L) > 0L);
+            assertTrue(counts.getOrDefault("BindBatch", 0L) > 0L);
+            assertTrue(counts.getOrDefault("CrawlPhase", 0L) > 0L);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    // the name of the type of given recorded event
+    private static String name(final Object event) {
+        try {
+            final Object type = event.getClass().getMethod("getEventType").invoke(event);
+            return (String) type.getClass().getMethod("getName").invoke(type);
+        } catch (final ReflectiveOperationException roe) {
+            throw new RuntimeException(roe);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.jinahya.database.metadata.bind.MetadataDiffTest.snapshot;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for {@link MetadataFingerprint}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataFingerprintTest {
+
+    @Test
+    public void same() {
+        final List<Catalog> source = snapshot(s -> {
+        });
+        final List<Catalog> target = snapshot(s -> Collections.reverse(s.getTables()));
+        final MetadataFingerprint fingerprint = new MetadataFingerprint();
+        assertEquals(fingerprint.of(source), fingerprint.of(target));
+        assertTrue(fingerprint.same(source.get(0), target.get(0)));
+        assertEquals(new MetadataFingerprint().of(source), fingerprint.of(source));
+    }
+
+    @Test
+    public void different() {
+        final List<Catalog> source = snapshot(s -> {
+        });
+        final List<Catalog> target = snapshot(s -> s.getTables().get(0).getColumns().get(0).setColumnSize(19));
+        final MetadataFingerprint fingerprint = new MetadataFingerprint();
+        assertNotEquals(fingerprint.of(source), fingerprint.of(target));
+        final Schema sourceSchema = source.get(0).getSchemas().get(0);
+        final Schema targetSchema = target.get(0).getSchemas().get(0);
+        assertFalse(fingerprint.same(sourceSchema, targetSchema));
+        assertFalse(fingerprint.same(sourceSchema.getTables().get(0), targetSchema.getTables().get(0)));
+        assertTrue(fingerprint.same(sourceSchema.getTables().get(1), targetSchema.getTables().get(1)));
+        final List<MetadataChange> changes = MetadataDiff.diff(source, target);
+        assertEquals(changes.size(), 1);
+        final List<MetadataChange> pruned = new ArrayList<>();
+        MetadataDiff.diff(source, target, fingerprint, pruned::add);
+        assertEquals(pruned.size(), 1);
+        assertEquals(pruned.get(0).getPath(), changes.get(0).getPath());
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import org.h2.jdbcx.JdbcDataSource;
+import org.testng.annotations.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MetadataFleet}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+@Slf4j
+public class MetadataFleetTest {
+
+    private static DataSource dataSource(final String name) {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name);
+        return dataSource;
+    }
+
+    // a data source which fails to connect for given number of times
+    private static DataSource failing(final DataSource delegate, final int failures) {
+        final AtomicInteger count = new AtomicInteger();
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(), new Class<?>[] {DataSource.class}, (proxy, method, args) -> {
+                    if ("getConnection".equals(method.getName()) && count.getAndIncrement() < failures) {
+                        throw new SQLException("failing");
+                    }
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    // crawls catalogs only
+    private static final MetadataFleet.Crawl CATALOGS
+            = (connection, context) -> context.addSuppressionPaths("catalog/schemas").getCatalogs();
+
+    /**
+     * Asserts that all targets are crawled and stored without exceeding the concurrency.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void crawl() throws Exception {
+        final ExecutorService executor = newFixedThreadPool(8);
+        final Map<String, List<Catalog>> stored = new ConcurrentHashMap<>();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        try (MetadataFleet fleet = new MetadataFleet(executor, 2, (t, c) -> stored.put(t.getName(), c))) {
+            fleet.setCrawl((connection, context) -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    return CATALOGS.crawl(connection, context);
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+            for (int i = 0; i < 6; i++) {
+                fleet.submit(new MetadataFleet.Target("fleet" + i, dataSource("fleet" + i)));
+            }
+            assertTrue(fleet.await(30L, SECONDS));
+            final MetadataFleet.Progress progress = fleet.getProgress();
+            log.debug("progress: {}", progress);
+            assertEquals(progress.getSucceeded(), 6);
+            assertEquals(progress.getFailed(), 0);
+            assertEquals(progress.getPending(), 0);
+            assertEquals(progress.getRunning(), 0);
+            assertTrue(progress.getRows() >= 6L);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(stored.size(), 6);
+        assertEquals(stored.get("fleet3").get(0).getTableCat(), "FLEET3");
+        assertTrue(peak.get() <= 2);
+    }
+
+    /**
+     * Asserts that failed targets are retried with backoff and reported once all attempts failed.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void retry() throws Exception {
+        final ExecutorService executor = newFixedThreadPool(2);
+        final Map<String, List<Catalog>> stored = new ConcurrentHashMap<>();
+        try (MetadataFleet fleet = new MetadataFleet(executor, 2, (t, c) -> stored.put(t.getName(), c))) {
+            fleet.setCrawl(CATALOGS).setMaxAttempts(3).setBackoff(10L, 20L, MILLISECONDS);
+            fleet.submit(new MetadataFleet.Target("flaky", failing(dataSource("flaky"), 2)));
+            fleet.submit(new MetadataFleet.Target("broken", failing(dataSource("broken"), Integer.MAX_VALUE)));
+            assertTrue(fleet.await(30L, SECONDS));
+            final MetadataFleet.Progress progress = fleet.getProgress();
+            log.debug("progress: {}", progress);
+            assertEquals(progress.getSucceeded(), 1);
+            assertEquals(progress.getFailed(), 1);
+            assertEquals(progress.getAttempts(), 6L);
+            assertEquals(progress.getRetries(), 4L);
+            assertEquals(fleet.getFailures().keySet(), Collections.singleton("broken"));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(stored.keySet(), Collections.singleton("flaky"));
+    }
+
+    /**
+     * Asserts that targets of higher priorities are crawled first and that groups are served in turns.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void schedule() throws Exception {
+        final ExecutorService executor = newFixedThreadPool(1);
+        final List<String> crawled = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch blocking = new CountDownLatch(1);
+        try (MetadataFleet fleet = new MetadataFleet(executor, 1, (t, c) -> crawled.add(t.getName()))) {
+            fleet.setCrawl((connection, context) -> {
+                try {
+                    blocking.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                return CATALOGS.crawl(connection, context);
+            });
+            fleet.submit(new MetadataFleet.Target("blocker", dataSource("blocker")));
+            fleet.submit(new MetadataFleet.Target("a1", dataSource("a1")).group("a"));
+            fleet.submit(new MetadataFleet.Target("a2", dataSource("a2")).group("a"));
+            fleet.submit(new MetadataFleet.Target("b1", dataSource("b1")).group("b"));
+            fleet.submit(new MetadataFleet.Target("c1", dataSource("c1")).group("c").priority(5));
+            assertEquals(fleet.getProgress().getRunning(), 1);
+            assertEquals(fleet.getProgress().getPending(), 4);
+            blocking.countDown();
+            assertTrue(fleet.await(30L, SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        // c1 for its priority; b1 before a2 for a's turn has been served
+        assertEquals(crawled, asList("blocker", "c1", "a1", "b1", "a2"));
+    }
+
+    /**
+     * Asserts that a target regrouped while being crawled releases the group it was submitted in.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void regroup() throws Exception {
+        final ExecutorService executor = newFixedThreadPool(2);
+        final CountDownLatch blocking = new CountDownLatch(1);
+        try (MetadataFleet fleet = new MetadataFleet(executor, 2, (t, c) -> {
+        })) {
+            fleet.setCrawl((connection, context) -> {
+                try {
+                    blocking.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                return CATALOGS.crawl(connection, context);
+            });
+            final MetadataFleet.Target blocker = new MetadataFleet.Target("blocker", dataSource("blocker")).group("g");
+            fleet.submit(blocker);
+            fleet.submit(new MetadataFleet.Target("other", dataSource("other")).group("g"));
+            assertEquals(fleet.getProgress().getRunning(), 1);
+            blocker.group("h").priority(1);
+            blocking.countDown();
+            assertTrue(fleet.await(30L, SECONDS));
+            assertEquals(fleet.getProgress().getSucceeded(), 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.sql.DriverManager.getConnection;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test for {@link MetadataPublisher}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MetadataPublisherTest {
+
+    /**
+     * A subscriber queues items and requests nothing by itself.
+     */
+    private static class Queueing implements MetadataPublisher.Subscriber<Object> {
+
+        @Override
+        public void onSubscribe(final MetadataPublisher.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final Object item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        private MetadataPublisher.Subscription subscription;
+
+        private final BlockingQueue<Object> items = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private volatile Throwable error;
+    }
+
+    private static MetadataContext context(final Connection connection) throws Exception {
+        return new MetadataContext(connection.getMetaData())
+                .addSuppressionPaths("column/isGeneratedcolumn", "schema/functions", "table/pseudoColumns");
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Asserts that the crawl pauses while no items are requested and emits each instance after its children.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void backpressure() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:publisher_backpressure")) {
+            new SchemaGenerator(0L).prefix("B").schemas(1).tables(5).generate(connection);
+            final List<Catalog> expected = getCatalogs(context(connection), true);
+            final ExecutorService executor = newSingleThreadExecutor();
+            try {
+                final Queueing subscriber = new Queueing();
+                new MetadataPublisher(context(connection), executor).subscribe(subscriber);
+                assertNull(subscriber.items.poll(100L, MILLISECONDS));
+                subscriber.subscription.request(1L);
+                final List<Object> items = new ArrayList<>();
+                items.add(subscriber.items.poll(10L, SECONDS));
+                assertNotNull(items.get(0));
+                assertNull(subscriber.items.poll(100L, MILLISECONDS));
+                subscriber.subscription.request(Long.MAX_VALUE);
+                assertTrue(subscriber.done.await(10L, SECONDS));
+                assertNull(subscriber.error);
+                subscriber.items.drainTo(items);
+                final Map<Object, Integer> indices = new IdentityHashMap<>();
+                for (int i = 0; i < items.size(); i++) {
+                    indices.put(items.get(i), i);
+                }
+                final List<Table> tables = new ArrayList<>();
+                for (final Object item : items) {
+                    if (item instanceof Table) {
+                        tables.add((Table) item);
+                    }
+                }
+                assertEquals(tables.size(), expected.stream().flatMap(c -> c.getSchemas().stream())
+                        .mapToInt(s -> s.getTables().size()).sum());
+                for (final Table table : tables) {
+                    for (final Column column : table.getColumns()) {
+                        assertTrue(indices.get(column) < indices.get(table));
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Asserts that a cancelled subscription neither emits nor signals anymore.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void cancel() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:publisher_cancel")) {
+            new SchemaGenerator(0L).prefix("C").schemas(1).tables(5).generate(connection);
+            final ExecutorService executor = newSingleThreadExecutor();
+            final Queueing subscriber = new Queueing();
+            try {
+                new MetadataPublisher(context(connection), executor).subscribe(subscriber);
+                subscriber.subscription.request(3L);
+                for (int i = 0; i < 3; i++) {
+                    assertNotNull(subscriber.items.poll(10L, SECONDS));
+                }
+                subscriber.subscription.cancel();
+            } finally {
+                executor.shutdown();
+            }
+            assertTrue(executor.awaitTermination(10L, SECONDS));
+            assertTrue(subscriber.items.isEmpty());
+            assertFalse(subscriber.done.await(0L, SECONDS));
+        }
+    }
+
+    /**
+     * Asserts that a non-positive request is signalled as an error.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void illegalRequest() throws Exception {
+        try (Connection connection = getConnection("jdbc:h2:mem:publisher_illegal")) {
+            final ExecutorService executor = newSingleThreadExecutor();
+            final Queueing subscriber = new Queueing();
+            try {
+                new MetadataPublisher(context(connection), executor).subscribe(subscriber);
+                subscriber.subscription.request(0L);
+                assertTrue(subscriber.done.await(10L, SECONDS));
+            } finally {
+                executor.shutdown();
+            }
+            assertTrue(subscriber.error instanceof IllegalArgumentException);
+        }
+    }
+}
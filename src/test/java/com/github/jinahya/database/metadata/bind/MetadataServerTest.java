@@ -0,0 +1,198 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MetadataServer}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+@Slf4j
+public class MetadataServerTest {
+
+    // requests given path and returns the status with the body, if any
+    private static int get(final MetadataServer server, final String path, final String ifNoneMatch,
+                           final StringBuilder body, final String[] etag)
+            throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(
+                "http", "localhost", server.getAddress().getPort(), path).openConnection();
+        try {
+            if (ifNoneMatch != null) {
+                connection.setRequestProperty("If-None-Match", ifNoneMatch);
+            }
+            final int status = connection.getResponseCode();
+            etag[0] = connection.getHeaderField("ETag");
+            if (status == 200) {
+                try (InputStream input = connection.getInputStream()) {
+                    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    final byte[] buffer = new byte[8192];
+                    for (int r; (r = input.read(buffer)) != -1; ) {
+                        output.write(buffer, 0, r);
+                    }
+                    body.append(new String(output.toByteArray(), StandardCharsets.UTF_8));
+                }
+            }
+            return status;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Asserts resources, conditional requests and refreshes.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void serve() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:server");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE PARENT (ID INTEGER PRIMARY KEY)");
+            statement.execute("CREATE TABLE CHILD (ID INTEGER PRIMARY KEY, PARENT_ID INTEGER"
+                              + ", FOREIGN KEY (PARENT_ID) REFERENCES PARENT (ID))");
+            try (MetadataServer server = new MetadataServer(new InetSocketAddress("localhost", 0), () -> {
+                final MetadataContext context = new MetadataContext(connection.getMetaData());
+                context.addSuppressionPaths("schema/functions", "table/pseudoColumns");
+                return getCatalogs(context, true);
+            })) {
+                assertTrue(server.refresh());
+                assertFalse(server.refresh());
+                server.start();
+                final String[] etag = new String[1];
+                {
+                    final StringBuilder body = new StringBuilder();
+                    assertEquals(get(server, "/tables?schema=PUBLIC", null, body, etag), 200);
+                    log.debug("tables: {}", body);
+                    assertTrue(body.indexOf("\"TABLE_NAME\":\"PARENT\"") > 0);
+                    assertEquals(etag[0], '"' + server.getFingerprint() + '"');
+                }
+                final String first = etag[0];
+                assertEquals(get(server, "/tables?schema=PUBLIC", first, new StringBuilder(), etag), 304);
+                assertEquals(get(server, "/tables?schema=PUBLIC", "W/\"x\", " + first, new StringBuilder(), etag),
+                             304);
+                {
+                    final StringBuilder body = new StringBuilder();
+                    assertEquals(get(server, "/columns?schema=PUBLIC&table=CHILD", null, body, etag), 200);
+                    assertTrue(body.indexOf("\"COLUMN_NAME\":\"PARENT_ID\"") > 0);
+                }
+                {
+                    final StringBuilder body = new StringBuilder();
+                    assertEquals(get(server, "/keys?schema=PUBLIC&table=CHILD", null, body, etag), 200);
+                    assertTrue(body.indexOf("\"PKTABLE_NAME\":\"PARENT\"") > 0);
+                }
+                {
+                    final StringBuilder body = new StringBuilder();
+                    assertEquals(get(server, "/search?q=par&limit=10", null, body, etag), 200);
+                    assertTrue(body.indexOf("\"TABLE_NAME\":\"PARENT\"") > 0);
+                    assertTrue(body.indexOf("\"COLUMN_NAME\":\"PARENT_ID\"") > 0);
+                }
+                {
+                    final StringBuilder body = new StringBuilder();
+                    assertEquals(get(server, "/search?q=par&limit=1", null, body, etag), 200);
+                    assertEquals(body.toString().split("\"kind\":", -1).length - 1, 1);
+                }
+                assertEquals(get(server, "/search", null, new StringBuilder(), etag), 400);
+                assertEquals(get(server, "/unknown", null, new StringBuilder(), etag), 404);
+                statement.execute("CREATE TABLE ANOTHER (ID INTEGER)");
+                assertTrue(server.refresh());
+                {
+                    final StringBuilder body = new StringBuilder();
+                    assertEquals(get(server, "/tables?schema=PUBLIC", first, body, etag), 200);
+                    assertNotNull(etag[0]);
+                    assertNotEquals(etag[0], first);
+                    assertTrue(body.indexOf("\"TABLE_NAME\":\"ANOTHER\"") > 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that concurrent refreshes are serialized.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void refresh() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:refresh")) {
+            final AtomicInteger crawling = new AtomicInteger();
+            final AtomicInteger overlaps = new AtomicInteger();
+            try (MetadataServer server = new MetadataServer(new InetSocketAddress("localhost", 0), () -> {
+                if (crawling.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                try {
+                    Thread.sleep(50L);
+                    final MetadataContext context = new MetadataContext(connection.getMetaData());
+                    context.addSuppressionPaths("schema/functions", "table/pseudoColumns");
+                    return getCatalogs(context, true);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(ie);
+                } finally {
+                    crawling.decrementAndGet();
+                }
+            })) {
+                final ExecutorService executor = newFixedThreadPool(4);
+                try {
+                    final List<Future<Boolean>> futures = new ArrayList<>();
+                    for (int i = 0; i < 4; i++) {
+                        futures.add(executor.submit(server::refresh));
+                    }
+                    int changed = 0;
+                    for (final Future<Boolean> future : futures) {
+                        changed += future.get() ? 1 : 0;
+                    }
+                    assertEquals(changed, 1);
+                } finally {
+                    executor.shutdown();
+                }
+            }
+            assertEquals(overlaps.get(), 0);
+        }
+    }
+}
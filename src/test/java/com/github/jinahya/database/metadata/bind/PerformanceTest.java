@@ -0,0 +1,271 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.sql.DriverManager.getConnection;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * A performance regression gate which crawls generated schemas with a fixed set of benchmarks and compares metrics of
+ * each benchmark against a baseline file. Only metrics relative to the work done are compared, so that the baseline
+ * holds on other machines: the speedup of each provider over the driver, i.e. the ratio of their throughputs in rows
+ * per CPU second of the crawling thread, and the bytes allocated per bound row. Absolute throughputs are only logged,
+ * and the heap is not measured at all, for its usage mostly reflects the state of the JVM and of the drivers.
+ * <p>
+ * The size of generated schemas is set with {@code performance.schemas} and {@code performance.tables}, for each
+ * schema, and recorded in the baseline; a baseline is compared only with runs of the same size.
+ * <p>
+ * This test is excluded from the default build; run it with the {@code performance} profile.
+ * <pre>
+ * $ mvn -Pperformance test                            # compares against the baseline
+ * $ mvn -Pperformance -Dperformance.record=true test  # records a new baseline
+ * </pre>
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class PerformanceTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final Path BASELINE = Paths.get(
+            System.getProperty("performance.baseline", "src/test/resources/performance.baseline.properties"));
+
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("performance.threshold", "0.25"));
+
+    private static final boolean RECORD = Boolean.getBoolean("performance.record");
+
+    private static final int ITERATIONS = Integer.getInteger("performance.iterations", 5);
+
+    private static final long MILLIS = Long.getLong("performance.millis", 1000L);
+
+    private static final int SCHEMAS = Integer.getInteger("performance.schemas", 1);
+
+    private static final int TABLES = Integer.getInteger("performance.tables", 200);
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private interface Provider {
+
+        MetadataProvider create(Connection connection) throws SQLException;
+    }
+
+    private static final class Benchmark {
+
+        private Benchmark(final String name, final String url, final Provider provider, final boolean tables,
+                          final String suppressionPath, final String... otherPaths) {
+            super();
+            this.name = name;
+            this.url = url;
+            this.provider = provider;
+            this.tables = tables;
+            this.suppressionPath = suppressionPath;
+            this.otherPaths = otherPaths;
+        }
+
+        private final String name;
+
+        private final String url;
+
+        private final Provider provider;
+
+        // crawls tables of all schemas, rather than catalogs, for databases without schemas
+        private final boolean tables;
+
+        private final String suppressionPath;
+
+        private final String[] otherPaths;
+    }
+
+    private static final List<Benchmark> BENCHMARKS = new ArrayList<>();
+
+    static {
+        final String[] derby = {"column/charOctetLength", "column/numPrecRadix", "indexInfo/cardinality",
+                                "indexInfo/pages", "schema/functions", "schema/procedures", "schema/UDTs"};
+        final String derbyUrl = "jdbc:derby:memory:performance;create=true";
+        BENCHMARKS.add(new Benchmark("derby.jdbc", derbyUrl, c -> new JdbcMetadataProvider(c.getMetaData()), false,
+                                     "table/pseudoColumns", derby));
+        BENCHMARKS.add(new Benchmark("derby.provider", derbyUrl, DerbyMetadataProvider::new, false,
+                                     "table/pseudoColumns", derby));
+        final String h2Url = "jdbc:h2:mem:performance;DB_CLOSE_DELAY=-1";
+        BENCHMARKS.add(new Benchmark("h2.jdbc", h2Url, c -> new JdbcMetadataProvider(c.getMetaData()), false,
+                                     "schema/functions", "table/pseudoColumns"));
+        BENCHMARKS.add(new Benchmark("h2.provider", h2Url, H2MetadataProvider::new, false,
+                                     "schema/functions", "table/pseudoColumns"));
+        final String hsqlUrl = "jdbc:hsqldb:mem:performance";
+        BENCHMARKS.add(new Benchmark("hsql.jdbc", hsqlUrl, c -> new JdbcMetadataProvider(c.getMetaData()), false,
+                                     "table/pseudoColumns"));
+        BENCHMARKS.add(new Benchmark("hsql.provider", hsqlUrl, HsqlMetadataProvider::new, false,
+                                     "table/pseudoColumns"));
+        final String sqliteUrl = "jdbc:sqlite:file:performance?mode=memory&cache=shared";
+        BENCHMARKS.add(new Benchmark("sqlite.jdbc", sqliteUrl, c -> new JdbcMetadataProvider(c.getMetaData()), true,
+                                     "table/pseudoColumns"));
+        BENCHMARKS.add(new Benchmark("sqlite.provider", sqliteUrl, SqliteMetadataProvider::new, true,
+                                     "table/pseudoColumns"));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // crawls the database of given benchmark once and returns the number of bound rows
+    private static long crawl(final Benchmark benchmark, final Connection connection) throws Exception {
+        try (MetadataProvider provider = benchmark.provider.create(connection)) {
+            final MetadataContext context = new MetadataContext(connection.getMetaData()).setProvider(provider);
+            context.addSuppressionPaths(benchmark.suppressionPath, benchmark.otherPaths);
+            final MetadataCallMetrics metrics = new MetadataCallMetrics();
+            context.addCallListener(metrics);
+            if (benchmark.tables) {
+                context.getTables(null, null, null, null);
+            } else {
+                getCatalogs(context, true);
+            }
+            return metrics.getStatistics().values().stream().mapToLong(MetadataCallMetrics.Statistics::getRows).sum();
+        }
+    }
+
+    // crawls the database of given benchmark, puts its best metrics to specified properties and returns the throughput
+    private static double run(final Benchmark benchmark, final Properties measured) throws Exception {
+        try (Connection connection = getConnection(benchmark.url)) {
+            final boolean generated;
+            try (ResultSet tables = connection.getMetaData().getTables(null, null, "T00000", null)) {
+                generated = tables.next();
+            }
+            if (!generated) {
+                new SchemaGenerator(0L).prefix("P").schemas(SCHEMAS).tables(TABLES).columns(10).generate(connection);
+            }
+            double throughput = 0.0d;
+            double allocations = Double.MAX_VALUE;
+            for (int i = 0; i <= ITERATIONS; i++) { // the first one is for warming up
+                final long allocated = allocatedBytes();
+                final long started = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+                long elapsed;
+                long rows = 0L;
+                do { // crawls repeatedly for at least the minimum duration of an iteration
+                    rows += crawl(benchmark, connection);
+                    elapsed = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime() - started;
+                } while (elapsed < MILLIS * 1000000L);
+                if (i == 0) {
+                    continue;
+                }
+                throughput = Math.max(throughput, rows / (elapsed / 1000000000.0d));
+                allocations = Math.min(allocations, (allocatedBytes() - allocated) / (double) rows);
+            }
+            measured.setProperty(benchmark.name + ".allocations", String.format(Locale.ROOT, "%.1f", allocations));
+            logger.info("{}: {} rows/cpu-s, {} bytes/row", benchmark.name,
+                        String.format(Locale.ROOT, "%.1f", throughput),
+                        measured.getProperty(benchmark.name + ".allocations"));
+            return throughput;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Runs the benchmarks and asserts that no metric regresses beyond the threshold.
+     *
+     * @throws Exception if any error occurs.
+     */
+    @Test
+    public void benchmark() throws Exception {
+        final Properties measured = new Properties();
+        measured.setProperty("scale.schemas", Integer.toString(SCHEMAS));
+        measured.setProperty("scale.tables", Integer.toString(TABLES));
+        final Map<String, Double> throughputs = new HashMap<>();
+        for (final Benchmark benchmark : BENCHMARKS) {
+            throughputs.put(benchmark.name, run(benchmark, measured));
+        }
+        for (final Benchmark benchmark : BENCHMARKS) { // providers relative to the driver of the same database
+            final String database = benchmark.name.substring(0, benchmark.name.lastIndexOf('.'));
+            final Double jdbc = throughputs.get(database + ".jdbc");
+            if (benchmark.name.endsWith(".provider") && jdbc != null) {
+                measured.setProperty(database + ".speedup", String.format(
+                        Locale.ROOT, "%.2f", throughputs.get(benchmark.name) / jdbc));
+                logger.info("{}: {}x", database, measured.getProperty(database + ".speedup"));
+            }
+        }
+        if (RECORD) {
+            final List<String> lines = new ArrayList<>();
+            lines.add("# recorded with -Dperformance.record=true");
+            new TreeSet<>(measured.stringPropertyNames()).forEach(k -> lines.add(k + "=" + measured.getProperty(k)));
+            Files.write(BASELINE, lines, StandardCharsets.ISO_8859_1);
+            logger.info("recorded baseline to {}", BASELINE);
+            return;
+        }
+        final Properties baseline = new Properties();
+        try (InputStream input = Files.newInputStream(BASELINE)) {
+            baseline.load(input);
+        } catch (final IOException ioe) {
+            throw new IOException("failed to load baseline; record one with -Dperformance.record=true", ioe);
+        }
+        for (final String key : new String[] {"scale.schemas", "scale.tables"}) {
+            assertEquals(measured.getProperty(key), baseline.getProperty(key),
+                         key + " differs from the baseline; record one with -Dperformance.record=true");
+        }
+        final List<String> regressions = new ArrayList<>();
+        for (final String key : measured.stringPropertyNames()) {
+            if (key.startsWith("scale.")) {
+                continue;
+            }
+            final String expected = baseline.getProperty(key);
+            if (expected == null) {
+                logger.warn("no baseline for {}", key);
+                continue;
+            }
+            final double b = Double.parseDouble(expected);
+            final double m = Double.parseDouble(measured.getProperty(key));
+            // speedups are expected not to decrease; others are expected not to increase
+            final double ratio = key.endsWith(".speedup") ? (b - m) / b : (m - b) / b;
+            if (ratio > THRESHOLD) {
+                regressions.add(String.format(Locale.ROOT, "%s: %s -> %s (%+.1f%%)", key, expected,
+                                              measured.getProperty(key), (m - b) / b * 100.0d));
+            }
+        }
+        regressions.forEach(r -> logger.error("regression: {}", r));
+        assertEquals(regressions, new ArrayList<>(), "regressions beyond " + THRESHOLD);
+    }
+}
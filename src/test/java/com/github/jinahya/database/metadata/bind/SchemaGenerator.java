@@ -0,0 +1,363 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A test fixture generating synthetic schemas on H2, HSQLDB, Apache Derby and SQLite.
+ * <p>
+ * Each table has a composite primary key of {@code ID1} and {@code ID2}, followed by columns of random types, and
+ * composite foreign keys referencing preceding tables of the same schema. Routines and user defined types are created
+ * only where supported. SQLite has no schemas other than {@code main}, so the number of schemas is ignored.
+ * <p>
+ * All random choices are made with given seed so that the same parameters generate the same schemas.
+ * <pre>{@code
+ * new SchemaGenerator(1L).schemas(10).tables(1000).columns(12).generate(connection); // 10k tables
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+@Slf4j
+final class SchemaGenerator {
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Databases with their dialects.
+     */
+    enum Dialect {
+
+        H2 {
+            @Override
+            String routine(final String schema, final String name, final int index) {
+                return "CREATE ALIAS " + schema + "." + name + " FOR \"java.lang.Math.abs(int)\"";
+            }
+
+            @Override
+            String type(final String schema, final String name, final int index) {
+                // domains are not qualified with schemas in H2 1.4
+                return "CREATE DOMAIN " + schema + "_" + name + " AS VARCHAR(" + (index + 1) * 8 + ")";
+            }
+        },
+
+        HSQLDB {
+            @Override
+            String routine(final String schema, final String name, final int index) {
+                return "CREATE FUNCTION " + schema + "." + name + "(X INTEGER) RETURNS INTEGER RETURN X + " + index;
+            }
+
+            @Override
+            String type(final String schema, final String name, final int index) {
+                return "CREATE TYPE " + schema + "." + name + " AS VARCHAR(" + (index + 1) * 8 + ")";
+            }
+        },
+
+        DERBY {
+            @Override
+            String routine(final String schema, final String name, final int index) {
+                return "CREATE FUNCTION " + schema + "." + name + "(X INTEGER) RETURNS INTEGER PARAMETER STYLE JAVA"
+                       + " NO SQL LANGUAGE JAVA EXTERNAL NAME 'java.lang.Math.abs'";
+            }
+
+            @Override
+            String type(final String schema, final String name, final int index) {
+                return "CREATE TYPE " + schema + "." + name + " EXTERNAL NAME 'java.util.ArrayList' LANGUAGE JAVA";
+            }
+        },
+
+        SQLITE {
+            @Override
+            String schema(final String schema) {
+                return null;
+            }
+
+            @Override
+            String qualified(final String schema, final String name) {
+                return name;
+            }
+        };
+
+        static Dialect of(final Connection connection) throws SQLException {
+            final String name = connection.getMetaData().getDatabaseProductName();
+            switch (name) {
+                case "H2":
+                    return H2;
+                case "HSQL Database Engine":
+                    return HSQLDB;
+                case "Apache Derby":
+                    return DERBY;
+                case "SQLite":
+                    return SQLITE;
+                default:
+                    throw new IllegalArgumentException("unsupported database: " + name);
+            }
+        }
+
+        String schema(final String schema) {
+            return "CREATE SCHEMA " + schema;
+        }
+
+        String qualified(final String schema, final String name) {
+            return schema + "." + name;
+        }
+
+        String routine(final String schema, final String name, final int index) {
+            return null;
+        }
+
+        String type(final String schema, final String name, final int index) {
+            return null;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static final String[] TYPES = {
+            "INTEGER", "BIGINT", "SMALLINT", "VARCHAR(32)", "VARCHAR(255)", "CHAR(8)", "DECIMAL(10, 2)",
+            "DECIMAL(18, 4)", "DOUBLE", "DATE", "TIMESTAMP"
+    };
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a new instance with given seed.
+     *
+     * @param seed the seed for random choices
+     */
+    SchemaGenerator(final long seed) {
+        super();
+        this.seed = seed;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Generates schemas on given connection.
+     *
+     * @param connection the connection
+     * @return the names of generated tables, qualified with schema names.
+     * @throws SQLException if a database error occurs.
+     */
+    List<String> generate(final Connection connection) throws SQLException {
+        final Dialect dialect = Dialect.of(connection);
+        final Random random = new Random(seed);
+        final List<String> generated = new ArrayList<>();
+        final boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            final int schemas = dialect == Dialect.SQLITE ? 1 : this.schemas;
+            for (int s = 0; s < schemas; s++) {
+                final String schema = prefix + s;
+                final String create = dialect.schema(schema);
+                if (create != null) {
+                    statement.addBatch(create);
+                }
+                final List<String> tables = new ArrayList<>();
+                for (int t = 0; t < this.tables; t++) {
+                    final String table = dialect.qualified(schema, String.format("T%05d", t));
+                    final StringBuilder sql = new StringBuilder("CREATE TABLE ").append(table)
+                            .append(" (ID1 INTEGER NOT NULL, ID2 INTEGER NOT NULL");
+                    for (int c = 0; c < columns; c++) {
+                        sql.append(", C").append(c).append(' ').append(TYPES[random.nextInt(TYPES.length)]);
+                        if (random.nextInt(4) == 0) {
+                            sql.append(" NOT NULL");
+                        }
+                    }
+                    // columns precede constraints, as SQLite requires
+                    final StringBuilder constraints = new StringBuilder(", PRIMARY KEY (ID1, ID2)");
+                    for (int f = 0; f < foreignKeys && !tables.isEmpty(); f++) {
+                        final String referenced = tables.get(random.nextInt(tables.size()));
+                        sql.append(", F").append(f).append("_1 INTEGER, F").append(f).append("_2 INTEGER");
+                        constraints.append(", CONSTRAINT ").append(dialect == Dialect.SQLITE ? "" : schema + "_")
+                                .append(String.format("FK%05d_%d", t, f))
+                                .append(" FOREIGN KEY (F").append(f).append("_1, F").append(f).append("_2)")
+                                .append(" REFERENCES ").append(referenced).append(" (ID1, ID2)");
+                    }
+                    sql.append(constraints).append(')');
+                    statement.addBatch(sql.toString());
+                    for (int i = 0; i < indexes && columns > 0; i++) {
+                        final int first = random.nextInt(columns);
+                        final int second = random.nextInt(columns);
+                        statement.addBatch("CREATE " + (random.nextInt(4) == 0 ? "UNIQUE " : "") + "INDEX "
+                                           + dialect.qualified(schema, String.format("IX%05d_%d", t, i)) + " ON "
+                                           + table + " (C" + first + (second == first ? "" : ", C" + second) + ")");
+                    }
+                    tables.add(table);
+                    generated.add(table);
+                }
+                for (int v = 0; v < views && !tables.isEmpty(); v++) {
+                    statement.addBatch("CREATE VIEW " + dialect.qualified(schema, String.format("V%05d", v))
+                                       + " AS SELECT ID1, ID2 FROM " + tables.get(random.nextInt(tables.size())));
+                }
+                for (int r = 0; r < routines; r++) {
+                    final String routine = dialect.routine(schema, String.format("F%05d", r), r);
+                    if (routine != null) {
+                        statement.addBatch(routine);
+                    }
+                }
+                for (int u = 0; u < types; u++) {
+                    final String type = dialect.type(schema, String.format("D%05d", u), u);
+                    if (type != null) {
+                        statement.addBatch(type);
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+                log.debug("generated {} tables in {}", tables.size(), schema);
+            }
+        } catch (final SQLException sqle) {
+            connection.rollback();
+            throw sqle;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return generated;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Replaces the prefix of schema names. The default value is {@code S}.
+     *
+     * @param prefix new prefix
+     * @return this generator.
+     */
+    SchemaGenerator prefix(final String prefix) {
+        this.prefix = prefix;
+        return this;
+    }
+
+    /**
+     * Replaces the number of schemas. The default value is {@code 1}.
+     *
+     * @param schemas new number of schemas
+     * @return this generator.
+     */
+    SchemaGenerator schemas(final int schemas) {
+        this.schemas = schemas;
+        return this;
+    }
+
+    /**
+     * Replaces the number of tables for each schema. The default value is {@code 10}.
+     *
+     * @param tables new number of tables
+     * @return this generator.
+     */
+    SchemaGenerator tables(final int tables) {
+        this.tables = tables;
+        return this;
+    }
+
+    /**
+     * Replaces the number of non-key columns for each table. The default value is {@code 8}.
+     *
+     * @param columns new number of columns
+     * @return this generator.
+     */
+    SchemaGenerator columns(final int columns) {
+        this.columns = columns;
+        return this;
+    }
+
+    /**
+     * Replaces the number of indexes for each table. The default value is {@code 2}.
+     *
+     * @param indexes new number of indexes
+     * @return this generator.
+     */
+    SchemaGenerator indexes(final int indexes) {
+        this.indexes = indexes;
+        return this;
+    }
+
+    /**
+     * Replaces the number of composite foreign keys for each table. The default value is {@code 1}.
+     *
+     * @param foreignKeys new number of foreign keys
+     * @return this generator.
+     */
+    SchemaGenerator foreignKeys(final int foreignKeys) {
+        this.foreignKeys = foreignKeys;
+        return this;
+    }
+
+    /**
+     * Replaces the number of views for each schema. The default value is {@code 2}.
+     *
+     * @param views new number of views
+     * @return this generator.
+     */
+    SchemaGenerator views(final int views) {
+        this.views = views;
+        return this;
+    }
+
+    /**
+     * Replaces the number of routines for each schema. The default value is {@code 2}.
+     *
+     * @param routines new number of routines
+     * @return this generator.
+     */
+    SchemaGenerator routines(final int routines) {
+        this.routines = routines;
+        return this;
+    }
+
+    /**
+     * Replaces the number of user defined types for each schema. The default value is {@code 2}.
+     *
+     * @param types new number of types
+     * @return this generator.
+     */
+    SchemaGenerator types(final int types) {
+        this.types = types;
+        return this;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private final long seed;
+
+    private String prefix = "S";
+
+    private int schemas = 1;
+
+    private int tables = 10;
+
+    private int columns = 8;
+
+    private int indexes = 2;
+
+    private int foreignKeys = 1;
+
+    private int views = 2;
+
+    private int routines = 2;
+
+    private int types = 2;
+}
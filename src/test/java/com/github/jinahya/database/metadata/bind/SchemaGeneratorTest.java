@@ -0,0 +1,103 @@
+package com.github.jinahya.database.metadata.bind;
+
+/*-
+ * #%L
+ * database-metadata-bind
+ * %%
+ * Copyright (C) 2011 - 2019 Jinahya, Inc.
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.sql.DriverManager.getConnection;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Test for {@link SchemaGenerator}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class SchemaGeneratorTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    // -----------------------------------------------------------------------------------------------------------------
+    private static SchemaGenerator generator() {
+        return new SchemaGenerator(31L).prefix("G").schemas(2).tables(5).columns(4).foreignKeys(2);
+    }
+
+    // generates with given url and returns the columns and foreign keys of the first schema
+    private static List<String> generate(final String url) throws SQLException {
+        try (Connection connection = getConnection(url)) {
+            final List<String> tables = generator().generate(connection);
+            final boolean sqlite = SchemaGenerator.Dialect.of(connection) == SchemaGenerator.Dialect.SQLITE;
+            assertEquals(tables.size(), sqlite ? 5 : 10);
+            final MetadataContext context = new MetadataContext(connection.getMetaData());
+            context.addSuppressionPaths("table/pseudoColumns");
+            final List<String> signature = new ArrayList<>();
+            for (final Table table : context.getTables(null, sqlite ? null : "G0", "T%", null)) {
+                for (final Column column : table.getColumns()) {
+                    signature.add(table.getTableName() + "." + column.getColumnName() + " " + column.getDataType());
+                }
+                for (final ImportedKey key : table.getImportedKeys()) {
+                    signature.add(table.getTableName() + "." + key.getFkcolumnName() + " -> " + key.getPktableName()
+                                  + "." + key.getPkcolumnName());
+                }
+                assertEquals(table.getPrimaryKeys().size(), 2);
+            }
+            logger.debug("signature: {}", signature);
+            return signature;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    @Test
+    public void derby() throws SQLException {
+        final List<String> signature = generate("jdbc:derby:memory:generator1;create=true");
+        assertFalse(signature.isEmpty());
+        assertEquals(generate("jdbc:derby:memory:generator2;create=true"), signature);
+    }
+
+    @Test
+    public void h2() throws SQLException {
+        final List<String> signature = generate("jdbc:h2:mem:generator1");
+        assertFalse(signature.isEmpty());
+        assertEquals(generate("jdbc:h2:mem:generator2"), signature);
+    }
+
+    @Test
+    public void hsql() throws SQLException {
+        final List<String> signature = generate("jdbc:hsqldb:mem:generator1");
+        assertFalse(signature.isEmpty());
+        assertEquals(generate("jdbc:hsqldb:mem:generator2"), signature);
+    }
+
+    @Test
+    public void sqlite() throws SQLException {
+        final List<String> signature = generate("jdbc:sqlite::memory:");
+        assertFalse(signature.isEmpty());
+        assertEquals(generate("jdbc:sqlite::memory:"), signature);
+    }
+}